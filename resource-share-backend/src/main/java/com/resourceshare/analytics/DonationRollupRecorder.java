@@ -0,0 +1,110 @@
+package com.resourceshare.analytics;
+
+import com.resourceshare.enums.DonationMetric;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.event.ResourceTransitionEvent;
+import com.resourceshare.shard.ShardContext;
+import com.resourceshare.shard.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mantiene los agregados diarios de donaciones (donation_rollups) a partir de las transiciones confirmadas
+ * Cada transición solo suma 1 a un contador en memoria por (día, categoría, donante, métrica);
+ * cada analytics.rollups.flush-interval los contadores se suman a la tabla con un upsert por lotes
+ * La ciudad se toma del donante al escribir el lote
+ * Si la escritura falla, los contadores vuelven a la memoria y se reintentan en el siguiente lote
+ */
+@Component
+@Slf4j
+public class DonationRollupRecorder {
+
+    private static final String UPSERT_SQL = "INSERT INTO donation_rollups (day, category, city, metric, count) "
+            + "VALUES (?, ?, COALESCE((SELECT TRIM(city) FROM donors WHERE id = ?), ''), ?, ?) "
+            + "ON CONFLICT (day, category, city, metric) DO UPDATE SET count = donation_rollups.count + EXCLUDED.count";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private final Map<Key, Long> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Recibe cada transición después del commit de su transacción
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(ResourceTransitionEvent event) {
+        DonationMetric metric = DonationMetric.of(event.fromStatus(), event.toStatus());
+        if (metric == null || event.category() == null || event.donorId() == null) {
+            return;
+        }
+        Key key = new Key(event.occurredAt().toLocalDate(), event.category(), event.donorId(), metric);
+        pending.merge(key, 1L, Long::sum);
+    }
+
+    /**
+     * Suma los contadores acumulados a donation_rollups, un lote por región del donante
+     * También se llama antes de una reconstrucción, para no perder lo acumulado
+     */
+    @Scheduled(fixedDelayString = "${analytics.rollups.flush-interval}", initialDelayString = "${analytics.rollups.flush-interval}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // remove() es atómico: una transición que llega después crea una entrada nueva para el próximo lote
+        List<Map.Entry<Key, Long>> batch = new ArrayList<>();
+        for (Key key : pending.keySet()) {
+            Long count = pending.remove(key);
+            if (count != null) {
+                batch.add(Map.entry(key, count));
+            }
+        }
+
+        shardRouter.groupById(batch, entry -> entry.getKey().donorId()).forEach((shard, entries) -> {
+            try {
+                ShardContext.run(shard, () -> jdbcTemplate.batchUpdate(UPSERT_SQL, entries, entries.size(),
+                        (statement, entry) -> {
+                            Key key = entry.getKey();
+                            statement.setDate(1, Date.valueOf(key.day()));
+                            statement.setString(2, key.category().name());
+                            statement.setLong(3, key.donorId());
+                            statement.setString(4, key.metric().name());
+                            statement.setLong(5, entry.getValue());
+                        }));
+            } catch (DataAccessException e) {
+                log.warn("No se pudieron escribir {} agregados de donaciones, se reintentará: {}", entries.size(), e.getMessage());
+                entries.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Long::sum));
+            }
+        });
+    }
+
+    /**
+     * Indica si quedan contadores sin escribir de días anteriores o iguales a day (por un flush fallido)
+     */
+    public boolean hasPendingUntil(LocalDate day) {
+        return pending.keySet().stream().anyMatch(key -> !key.day().isAfter(day));
+    }
+
+    @PreDestroy
+    void stop() {
+        flush();
+    }
+
+    private record Key(LocalDate day, ResourceCategory category, Long donorId, DonationMetric metric) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.resourceshare.analytics;
+
+import com.resourceshare.dto.LifecycleStageStats;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.event.ResourceTransitionEvent;
+import com.resourceshare.shard.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.PackedHistogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histogramas del tiempo que los recursos pasan en cada estado (publicado → reclamado → entregado al receptor → entregado)
+ * Cada transición trae en el evento el momento en que el recurso entró en su estado anterior,
+ * así que medir no agrega consultas: solo se registra la duración en un HdrHistogram sin bloqueos
+ * Hay un histograma por estado, estado siguiente, categoría y región; los valores se acumulan desde que arrancó el nodo
+ * Métrica: resources.lifecycle.wait{status,next,category,region} con percentiles 0.5, 0.9 y 0.99
+ * Los recursos anteriores a status_changed_at no tienen fecha de entrada a su estado y no se miden
+ */
+@Component
+public class LifecycleHistograms {
+
+    // Dos dígitos significativos: error máximo del 1% en cada percentil, con histogramas compactos
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private final Map<Key, Stage> stages = new ConcurrentHashMap<>();
+
+    /**
+     * Registra la duración del estado que el recurso acaba de dejar (después del commit)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(ResourceTransitionEvent event) {
+        if (event.fromStatus() == null || event.fromStatusSince() == null || event.category() == null) {
+            return;
+        }
+        long millis = Duration.between(event.fromStatusSince(), event.occurredAt()).toMillis();
+        if (millis < 0) {
+            return;
+        }
+        Key key = new Key(event.fromStatus(), event.toStatus(), event.category(), shardRouter.forId(event.resourceId()));
+        stages.computeIfAbsent(key, this::newStage).record(millis);
+    }
+
+    /**
+     * Percentiles acumulados de cada etapa, opcionalmente filtrados por categoría y región
+     */
+    public List<LifecycleStageStats> snapshot(ResourceCategory category, String region) {
+        return stages.entrySet().stream()
+                .filter(entry -> category == null || entry.getKey().category() == category)
+                .filter(entry -> region == null || entry.getKey().region().equals(region))
+                .sorted(Map.Entry.comparingByKey(Comparator
+                        .comparing(Key::status)
+                        .thenComparing(Key::next)
+                        .thenComparing(Key::category)
+                        .thenComparing(Key::region)))
+                .map(entry -> entry.getValue().stats(entry.getKey()))
+                .toList();
+    }
+
+    private Stage newStage(Key key) {
+        Timer timer = Timer.builder("resources.lifecycle.wait")
+                .description("Tiempo que un recurso pasa en un estado antes de la siguiente transición")
+                .tag("status", key.status().name())
+                .tag("next", key.next().name())
+                .tag("category", key.category().name())
+                .tag("region", key.region())
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+        return new Stage(timer);
+    }
+
+    private record Key(ResourceStatus status, ResourceStatus next, ResourceCategory category, String region) {
+    }
+
+    /**
+     * Histograma de una etapa: el Recorder recibe las duraciones sin bloquear a los hilos de las peticiones
+     * y al consultar se vuelca en el acumulado
+     */
+    private static final class Stage {
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS, true);
+        private final Histogram total = new PackedHistogram(SIGNIFICANT_DIGITS);
+        private final Timer timer;
+        private Histogram interval;
+
+        private Stage(Timer timer) {
+            this.timer = timer;
+        }
+
+        private void record(long millis) {
+            recorder.recordValue(millis);
+            timer.record(millis, TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized LifecycleStageStats stats(Key key) {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            return LifecycleStageStats.builder()
+                    .status(key.status())
+                    .nextStatus(key.next())
+                    .category(key.category())
+                    .region(key.region())
+                    .count(total.getTotalCount())
+                    .p50Seconds(seconds(total.getValueAtPercentile(50)))
+                    .p90Seconds(seconds(total.getValueAtPercentile(90)))
+                    .p99Seconds(seconds(total.getValueAtPercentile(99)))
+                    .maxSeconds(seconds(total.getMaxValue()))
+                    .build();
+        }
+
+        private static double seconds(long millis) {
+            return millis / 1000.0;
+        }
+    }
+}
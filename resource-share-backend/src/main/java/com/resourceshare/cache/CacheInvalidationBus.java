@@ -0,0 +1,236 @@
+package com.resourceshare.cache;
+
+import com.resourceshare.config.CacheInvalidationProperties;
+import com.resourceshare.event.ResourceTransitionEvent;
+import com.resourceshare.shard.ShardContext;
+import com.resourceshare.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publica los cambios de recursos y usuarios a los demás nodos con Postgres NOTIFY
+ * Los cambios se encolan después del commit; un hilo los agrupa durante coalesceWindow, descarta
+ * repetidos y envía una notificación por región (el canal es de cada base de datos)
+ * Formato: "<nodo>|r:<id>:<secuencia>,u:<id>,n:<id>,s:<id>,..." (n: usuario registrado, s: búsqueda guardada)
+ * con un máximo de MAX_PAYLOAD bytes por notificación
+ * Si la cola se llena o NOTIFY falla, el cambio se pierde para los demás nodos; CacheInvalidationListener
+ * lo recupera comparando la secuencia de cambios
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+
+    // Postgres admite hasta 8000 bytes por notificación
+    static final int MAX_PAYLOAD = 7900;
+
+    @Autowired
+    private CacheInvalidationProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Identifica a este nodo para que su oyente ignore sus propias notificaciones
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private BlockingQueue<Change> queue;
+    private Thread senderThread;
+    private volatile boolean running;
+    private Counter sent;
+    private Counter dropped;
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        sent = Counter.builder("cache.invalidation.notifications").tag("outcome", "sent").register(meterRegistry);
+        dropped = Counter.builder("cache.invalidation.notifications").tag("outcome", "dropped").register(meterRegistry);
+        queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        running = true;
+        senderThread = new Thread(this::sendLoop, "cache-invalidation-sender");
+        senderThread.setDaemon(true);
+        senderThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (senderThread != null) {
+            senderThread.join(properties.getCoalesceWindow().toMillis() * 4 + 1000);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Cada transición confirmada (incluidos los vencimientos automáticos)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(ResourceTransitionEvent event) {
+        offer(new Change(Change.RESOURCE, event.resourceId(), event.changeSeq()));
+    }
+
+    /**
+     * Cambio de un recurso sin transición de estado; se envía cuando la transacción actual confirme
+     */
+    public void resourceChanged(Long resourceId, Long changeSeq) {
+        afterCommit(new Change(Change.RESOURCE, resourceId, changeSeq));
+    }
+
+    /**
+     * Cambio de los datos de un usuario (nombre incluido en las respuestas de sus recursos)
+     */
+    public void userChanged(Long userId) {
+        afterCommit(new Change(Change.USER, userId, null));
+    }
+
+    /**
+     * Usuario nuevo: los demás nodos agregan su email a su EmailBloomFilter
+     */
+    public void userRegistered(Long userId) {
+        afterCommit(new Change(Change.REGISTERED, userId, null));
+    }
+
+    /**
+     * Búsqueda guardada creada o eliminada: los demás nodos actualizan su índice de búsquedas
+     */
+    public void savedSearchChanged(Long savedSearchId) {
+        afterCommit(new Change(Change.SAVED_SEARCH, savedSearchId, null));
+    }
+
+    private void afterCommit(Change change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(change);
+                }
+            });
+        } else {
+            offer(change);
+        }
+    }
+
+    private void offer(Change change) {
+        if (queue != null && !queue.offer(change)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Espera el primer cambio, junta los que llegan durante la ventana y los envía agrupados
+     */
+    private void sendLoop() {
+        List<Change> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Change first = queue.poll(properties.getPollTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                Thread.sleep(properties.getCoalesceWindow().toMillis());
+                batch.add(first);
+                queue.drainTo(batch);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<Change> batch) {
+        // Un cambio por entidad, con la secuencia más alta
+        Map<String, Change> latest = new LinkedHashMap<>();
+        for (Change change : batch) {
+            latest.merge(change.key(), change, (a, b) -> a.changeSeq() != null
+                    && (b.changeSeq() == null || a.changeSeq() > b.changeSeq()) ? a : b);
+        }
+
+        shardRouter.groupById(latest.values(), Change::id).forEach((shard, changes) -> {
+            for (String payload : payloads(changes)) {
+                try {
+                    ShardContext.run(shard, () -> jdbcTemplate.queryForObject(
+                            "SELECT pg_notify(?, ?)", String.class, properties.getChannel(), payload));
+                    sent.increment();
+                } catch (DataAccessException e) {
+                    dropped.increment();
+                    log.warn("No se pudo notificar la invalidación a los demás nodos: {}", e.getMessage());
+                }
+            }
+        });
+    }
+
+    private List<String> payloads(List<Change> changes) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId).append('|');
+        int header = payload.length();
+        for (Change change : changes) {
+            String item = change.encode();
+            if (payload.length() + item.length() + 1 > MAX_PAYLOAD) {
+                payloads.add(payload.toString());
+                payload.setLength(header);
+            }
+            if (payload.length() > header) {
+                payload.append(',');
+            }
+            payload.append(item);
+        }
+        payloads.add(payload.toString());
+        return payloads;
+    }
+
+    /**
+     * Cambio de una entidad; changeSeq solo aplica a recursos
+     */
+    record Change(char type, Long id, Long changeSeq) {
+
+        static final char RESOURCE = 'r';
+        static final char USER = 'u';
+        static final char REGISTERED = 'n';
+        static final char SAVED_SEARCH = 's';
+
+        String key() {
+            return type + ":" + id;
+        }
+
+        String encode() {
+            return changeSeq != null ? key() + ':' + changeSeq : key();
+        }
+
+        static Change decode(String item) {
+            String[] parts = item.split(":");
+            return new Change(parts[0].charAt(0), Long.parseLong(parts[1]),
+                    parts.length > 2 ? Long.parseLong(parts[2]) : null);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.resourceshare.cache;
+
+import com.resourceshare.config.CacheInvalidationProperties;
+import com.resourceshare.service.ResourceClusterService;
+import com.resourceshare.service.ResourceReadCoalescer;
+import com.resourceshare.service.SavedSearchService;
+import com.resourceshare.shard.ShardContext;
+import com.resourceshare.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Oyente de invalidaciones de los demás nodos (Postgres LISTEN), uno por nodo
+ * Mantiene una conexión del pool por región escuchando el canal; las notificaciones que llegan juntas
+ * se aplican en un solo paso (cada id una vez) sobre ResourceReadCoalescer y ResourceClusterService,
+ * y un cambio de usuario descarta las respuestas que incluyen nombres; un usuario registrado en otro nodo
+ * se agrega a EmailBloomFilter, y una búsqueda guardada creada o eliminada en otro nodo se refleja en SavedSearchService
+ * Recuperación: cada checkInterval se comparan las secuencias de cambio asignadas en la BD durante
+ * el intervalo anterior con las recibidas por notificación, y se invalidan los recursos que faltan
+ * (notificaciones perdidas por cola llena, NOTIFY fallido o conexión caída)
+ * Métrica: cache.invalidation.evictions{source=notification|recovery}
+ */
+@Component
+@Slf4j
+public class CacheInvalidationListener {
+
+    @Autowired
+    private CacheInvalidationProperties properties;
+
+    @Autowired
+    private CacheInvalidationBus bus;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ResourceReadCoalescer readCoalescer;
+
+    @Autowired
+    private ResourceClusterService clusterService;
+
+    @Autowired
+    private ResourceFragmentCache fragmentCache;
+
+    @Autowired
+    private EmailBloomFilter emailFilter;
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<ShardState> states = new ArrayList<>();
+    private Thread listenerThread;
+    private volatile boolean running;
+    private Counter notifiedEvictions;
+    private Counter recoveredEvictions;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!properties.getChannel().matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("Nombre de canal inválido: " + properties.getChannel());
+        }
+        notifiedEvictions = Counter.builder("cache.invalidation.evictions").tag("source", "notification").register(meterRegistry);
+        recoveredEvictions = Counter.builder("cache.invalidation.evictions").tag("source", "recovery").register(meterRegistry);
+        shardRouter.shardNames().forEach(shard -> states.add(new ShardState(shard)));
+
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.join(properties.getPollTimeout().toMillis() * 4);
+        }
+    }
+
+    private void listenLoop() {
+        boolean reconnecting = false;
+        while (running) {
+            try {
+                for (ShardState state : states) {
+                    state.listen();
+                }
+                if (reconnecting) {
+                    // Los cambios de usuario no tienen versión: lo que pasó sin conexión se descarta completo
+                    evictUserDerived();
+                    // Los registros de otros nodos sin conexión no llegaron al filtro de emails
+                    emailFilter.rebuildAsync();
+                    savedSearchService.rebuild();
+                    log.info("Invalidación entre nodos: conexión recuperada");
+                }
+                long nextCheck = 0;
+                long pollMillis = Math.max(1, properties.getPollTimeout().toMillis() / states.size());
+                while (running) {
+                    for (ShardState state : states) {
+                        handle(state, state.pg.getNotifications((int) pollMillis));
+                    }
+                    if (System.currentTimeMillis() >= nextCheck) {
+                        for (ShardState state : states) {
+                            check(state);
+                        }
+                        nextCheck = System.currentTimeMillis() + properties.getCheckInterval().toMillis();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Invalidación entre nodos sin conexión, reintento en {}: {}", properties.getReconnectDelay(), e.getMessage());
+                reconnecting = true;
+                if (!pause()) {
+                    break;
+                }
+            } finally {
+                states.forEach(ShardState::close);
+            }
+        }
+    }
+
+    /**
+     * Aplica un grupo de notificaciones de una región; las de este nodo solo se registran
+     * (sus cachés ya se invalidaron con el evento local)
+     */
+    private void handle(ShardState state, PGNotification[] notifications) {
+        if (notifications == null || notifications.length == 0) {
+            return;
+        }
+        Set<Long> resourceIds = new LinkedHashSet<>();
+        Set<Long> registeredIds = new LinkedHashSet<>();
+        Set<Long> savedSearchIds = new LinkedHashSet<>();
+        boolean usersChanged = false;
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            int separator = payload.indexOf('|');
+            if (separator < 0) {
+                continue;
+            }
+            boolean remote = !payload.substring(0, separator).equals(bus.getNodeId());
+            for (String item : payload.substring(separator + 1).split(",")) {
+                CacheInvalidationBus.Change change = CacheInvalidationBus.Change.decode(item);
+                if (change.type() == CacheInvalidationBus.Change.RESOURCE) {
+                    if (change.changeSeq() != null) {
+                        state.notified.add(change.changeSeq());
+                    }
+                    if (remote) {
+                        resourceIds.add(change.id());
+                    }
+                } else if (change.type() == CacheInvalidationBus.Change.REGISTERED) {
+                    if (remote) {
+                        registeredIds.add(change.id());
+                    }
+                } else if (change.type() == CacheInvalidationBus.Change.SAVED_SEARCH) {
+                    if (remote) {
+                        savedSearchIds.add(change.id());
+                    }
+                } else if (remote) {
+                    usersChanged = true;
+                }
+            }
+        }
+        evictResources(state.shard, resourceIds);
+        notifiedEvictions.increment(resourceIds.size());
+        if (usersChanged) {
+            evictUserDerived();
+        }
+        emailFilter.addRegistered(state.shard, registeredIds);
+        savedSearchService.refresh(state.shard, savedSearchIds);
+    }
+
+    /**
+     * Compara las secuencias asignadas en el intervalo anterior con las notificadas
+     * Se revisa con un intervalo de retraso para no adelantarse a transacciones aún abiertas
+     */
+    private void check(ShardState state) throws SQLException {
+        long current;
+        try (Statement statement = state.connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT last_value FROM resource_change_seq")) {
+            resultSet.next();
+            current = resultSet.getLong(1);
+        }
+        if (state.checked == null) {
+            // Primera revisión: las cachés se llenaron después de este punto
+            state.checked = current;
+            state.observed = current;
+            return;
+        }
+        if (state.observed > state.checked) {
+            Set<Long> missed = missedChanges(state, state.checked, state.observed);
+            if (!missed.isEmpty()) {
+                log.info("Invalidación entre nodos: {} cambios recuperados sin notificación en {}", missed.size(), state.shard);
+                evictResources(state.shard, missed);
+                recoveredEvictions.increment(missed.size());
+            }
+            long checked = state.observed;
+            state.notified.removeIf(seq -> seq <= checked);
+            state.checked = checked;
+        }
+        state.observed = current;
+    }
+
+    private Set<Long> missedChanges(ShardState state, long from, long to) throws SQLException {
+        Set<Long> missed = new LinkedHashSet<>();
+        String sql = "SELECT id, change_seq FROM resources WHERE change_seq > ? AND change_seq <= ? "
+                + "UNION ALL SELECT resource_id, change_seq FROM sync_tombstones WHERE change_seq > ? AND change_seq <= ?";
+        try (PreparedStatement statement = state.connection.prepareStatement(sql)) {
+            statement.setLong(1, from);
+            statement.setLong(2, to);
+            statement.setLong(3, from);
+            statement.setLong(4, to);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    if (!state.notified.contains(resultSet.getLong(2))) {
+                        missed.add(resultSet.getLong(1));
+                    }
+                }
+            }
+        }
+        return missed;
+    }
+
+    private void evictResources(String shard, Set<Long> resourceIds) {
+        if (resourceIds.isEmpty()) {
+            return;
+        }
+        readCoalescer.evict(resourceIds);
+        ShardContext.run(shard, () -> clusterService.refresh(resourceIds));
+    }
+
+    private void evictUserDerived() {
+        fragmentCache.invalidateAll();
+        readCoalescer.invalidateAll();
+    }
+
+    // Retorna false si el hilo fue interrumpido (apagado de la aplicación)
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getReconnectDelay().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Conexión de escucha y estado de recuperación de una región
+     * checked: todas las secuencias hasta este valor ya se revisaron
+     * observed: last_value de la secuencia en la revisión anterior
+     * notified: secuencias mayores que checked recibidas por notificación
+     */
+    private final class ShardState {
+        private final String shard;
+        private final Set<Long> notified = new HashSet<>();
+        private Long checked;
+        private long observed;
+        private Connection connection;
+        private PGConnection pg;
+
+        private ShardState(String shard) {
+            this.shard = shard;
+        }
+
+        private void listen() throws SQLException {
+            connection = ShardContext.call(shard, () -> {
+                try {
+                    return dataSource.getConnection();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            });
+            pg = connection.unwrap(PGConnection.class);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN \"" + properties.getChannel() + "\"");
+            }
+        }
+
+        private void close() {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Error al cerrar la conexión de escucha: {}", e.getMessage());
+                }
+                connection = null;
+                pg = null;
+            }
+        }
+    }
+}
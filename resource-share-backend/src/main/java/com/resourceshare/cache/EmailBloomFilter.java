@@ -0,0 +1,285 @@
+package com.resourceshare.cache;
+
+import com.resourceshare.config.EmailFilterProperties;
+import com.resourceshare.shard.ShardContext;
+import com.resourceshare.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+/**
+ * Filtro de Bloom de los emails registrados (normalizados: sin espacios y en minúsculas)
+ * Responde "seguro que no existe" sin consultar la BD; solo los posibles positivos consultan la BD,
+ * y la restricción única de users sigue siendo la garantía final; con regiones esa restricción es por región,
+ * así que AuthService no usa el filtro y busca siempre en todas
+ * Se construye al arrancar leyendo los emails de todas las regiones por cursor, y se actualiza en cada
+ * registro (de este nodo, y de los demás por CacheInvalidationListener); mientras se construye, todas
+ * las comprobaciones van a la BD
+ * Si los registros superan la capacidad, se reconstruye con el doble de tamaño
+ * Métricas: auth.email.filter.checks{result=negative|positive|false_positive|unavailable},
+ * auth.email.filter.bits, hashes, insertions, expected_fpp (teórica) y observed_fpp
+ * (falsos positivos sobre los emails que no existían)
+ */
+@Component
+@Slf4j
+public class EmailBloomFilter {
+
+    private static final int FETCH_SIZE = 5_000;
+
+    @Autowired
+    private EmailFilterProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // null hasta que termina la primera construcción
+    private volatile Bits bits;
+    // Filtro en construcción: los registros que llegan mientras tanto se agregan también aquí
+    private volatile Bits building;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private Counter negatives;
+    private Counter positives;
+    private Counter falsePositives;
+    private Counter unavailable;
+
+    @PostConstruct
+    void init() {
+        negatives = counter("negative");
+        positives = counter("positive");
+        falsePositives = counter("false_positive");
+        unavailable = counter("unavailable");
+        Gauge.builder("auth.email.filter.bits", this, filter -> filter.bits != null ? filter.bits.size : 0)
+                .register(meterRegistry);
+        Gauge.builder("auth.email.filter.hashes", this, filter -> filter.bits != null ? filter.bits.hashes : 0)
+                .register(meterRegistry);
+        Gauge.builder("auth.email.filter.insertions", this, filter -> filter.bits != null ? filter.bits.insertions.get() : 0)
+                .register(meterRegistry);
+        Gauge.builder("auth.email.filter.expected_fpp", this, filter -> filter.bits != null ? filter.bits.expectedFpp() : 0)
+                .register(meterRegistry);
+        Gauge.builder("auth.email.filter.observed_fpp", this, EmailBloomFilter::observedFpp)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (properties.isEnabled()) {
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * Indica si el email existe: si el filtro lo descarta responde false sin consultar;
+     * si no, responde lo que diga database (la consulta a la BD)
+     */
+    public boolean exists(String email, Predicate<String> database) {
+        Bits current = bits;
+        if (current != null && !current.mightContain(normalize(email))) {
+            negatives.increment();
+            return false;
+        }
+        boolean found = database.test(email);
+        if (current == null) {
+            unavailable.increment();
+        } else if (found) {
+            positives.increment();
+        } else {
+            falsePositives.increment();
+        }
+        return found;
+    }
+
+    /**
+     * Agrega un email recién registrado
+     */
+    public void add(String email) {
+        String normalized = normalize(email);
+        Bits target = building;
+        if (target != null) {
+            target.add(normalized);
+        }
+        Bits current = bits;
+        if (current != null && current.add(normalized) > current.capacity) {
+            log.info("Filtro de emails: se superó la capacidad de {} emails, se reconstruye", current.capacity);
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * Agrega los emails de usuarios registrados en otro nodo (se leen por id en su región)
+     */
+    public void addRegistered(String shard, Collection<Long> userIds) {
+        if (!properties.isEnabled() || userIds.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(",", Collections.nCopies(userIds.size(), "?"));
+        List<String> emails = ShardContext.call(shard, () -> jdbcTemplate.queryForList(
+                "SELECT email FROM users WHERE id IN (" + placeholders + ")", String.class, userIds.toArray()));
+        emails.forEach(this::add);
+    }
+
+    /**
+     * Vuelve a construir el filtro en un hilo aparte (por ejemplo, después de perder notificaciones de otros nodos)
+     */
+    public void rebuildAsync() {
+        if (!properties.isEnabled() || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        Thread builder = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("No se pudo construir el filtro de emails, los registros consultan la BD: {}", e.getMessage());
+            } finally {
+                building = null;
+                rebuilding.set(false);
+            }
+        }, "email-filter-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void rebuild() {
+        long started = System.nanoTime();
+        long existing = shardRouter.scatterGather(() -> List.of(estimateUsers())).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+        Bits next = new Bits(Math.max(properties.getExpectedInsertions(), existing * 2), properties.getFalsePositiveRate());
+        building = next;
+
+        // Lectura por cursor (fetch size): la memoria queda acotada al lote, no a la cantidad de usuarios
+        shardRouter.forEachShard(() -> transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT email FROM users");
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, resultSet -> {
+            next.add(normalize(resultSet.getString(1)));
+        })));
+
+        bits = next;
+        log.info("Filtro de emails construido: {} emails, {} bits, {} funciones hash, en {} ms",
+                next.insertions.get(), next.size, next.hashes, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Filas estimadas de users según las estadísticas del planificador (-1 si la tabla nunca se analizó)
+    private long estimateUsers() {
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = 'users'::regclass", Long.class);
+        return rows != null ? Math.max(0, rows) : 0;
+    }
+
+    private double observedFpp() {
+        double fp = falsePositives.count();
+        double absent = fp + negatives.count();
+        return absent > 0 ? fp / absent : 0;
+    }
+
+    private Counter counter(String result) {
+        return Counter.builder("auth.email.filter.checks").tag("result", result).register(meterRegistry);
+    }
+
+    static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Arreglo de bits del filtro; se escribe sin bloqueos (AtomicLongArray)
+     * Las k posiciones salen de dos hashes de 64 bits combinados (h1 + i * h2)
+     */
+    static final class Bits {
+        private final long capacity;
+        private final long size;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private final AtomicLong insertions = new AtomicLong();
+
+        Bits(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            // m = -n ln(p) / ln(2)^2, k = m/n ln(2)
+            long optimalSize = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.size = Math.max(64, (optimalSize + 63) / 64 * 64);
+            this.hashes = Math.max(1, (int) Math.round((double) size / capacity * Math.log(2)));
+            this.words = new AtomicLongArray((int) (size / 64));
+        }
+
+        /**
+         * Marca el email y retorna la cantidad de inserciones
+         */
+        long add(String email) {
+            long[] hash = hash(email);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(hash[0] + i * hash[1], size);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = words.get(word);
+                while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                    current = words.get(word);
+                }
+            }
+            return insertions.incrementAndGet();
+        }
+
+        boolean mightContain(String email) {
+            long[] hash = hash(email);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(hash[0] + i * hash[1], size);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // (1 - e^(-k n / m))^k con las inserciones actuales
+        double expectedFpp() {
+            return Math.pow(1 - Math.exp(-hashes * (double) insertions.get() / size), hashes);
+        }
+
+        // FNV-1a de 64 bits, mezclado con el finalizador de MurmurHash3 para obtener dos hashes independientes
+        private static long[] hash(String email) {
+            long h = 0xcbf29ce484222325L;
+            for (byte b : email.getBytes(StandardCharsets.UTF_8)) {
+                h = (h ^ (b & 0xff)) * 0x100000001b3L;
+            }
+            // h2 impar para que recorra todas las posiciones
+            return new long[]{mix(h), mix(h ^ 0x9e3779b97f4a7c15L) | 1};
+        }
+
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb93fe1a85ec5L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
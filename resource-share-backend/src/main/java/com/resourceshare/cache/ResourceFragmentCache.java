@@ -0,0 +1,147 @@
+package com.resourceshare.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resourceshare.event.ResourceTransitionEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Caché de fragmentos JSON (UTF-8) ya serializados, uno por recurso
+ * La versión de cada fragmento es la secuencia de cambio del recurso: cualquier modificación la renueva,
+ * así un fragmento viejo nunca se entrega aunque la invalidación llegue tarde
+ * Es acotada por tamaño total en bytes y descarta primero los fragmentos usados hace más tiempo (LRU)
+ * Los listados JSON se arman uniendo fragmentos, sin volver a mapear ni serializar cada recurso
+ */
+@Component
+public class ResourceFragmentCache {
+
+    // Versión usada para los recursos archivados, que ya no cambian
+    public static final long ARCHIVED_VERSION = 0L;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cache.fragments.max-size}")
+    private DataSize maxSize;
+
+    private final Map<Long, Fragment> fragments = new LinkedHashMap<>(1024, 0.75f, true);
+    private long totalBytes;
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        hits = Counter.builder("resources.fragment.cache").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("resources.fragment.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Fragmento JSON del recurso en la versión indicada; si no está en caché se serializa y se guarda
+     * Sin versión (recurso anterior a la secuencia de cambios) se serializa sin guardar
+     */
+    public byte[] fragment(Long id, Long version, Supplier<?> response) {
+        if (version == null) {
+            misses.increment();
+            return serialize(response.get());
+        }
+        synchronized (fragments) {
+            Fragment cached = fragments.get(id);
+            if (cached != null && cached.version() == version) {
+                hits.increment();
+                return cached.json();
+            }
+        }
+
+        misses.increment();
+        byte[] json = serialize(response.get());
+        synchronized (fragments) {
+            Fragment previous = fragments.put(id, new Fragment(version, json));
+            if (previous != null) {
+                totalBytes -= previous.json().length;
+            }
+            totalBytes += json.length;
+            evictIfNeeded();
+        }
+        return json;
+    }
+
+    /**
+     * Une fragmentos en un arreglo JSON, copiando cada uno una sola vez a un buffer del tamaño exacto
+     */
+    public static byte[] joinArray(List<byte[]> parts) {
+        int size = 2 + Math.max(0, parts.size() - 1);
+        for (byte[] part : parts) {
+            size += part.length;
+        }
+        byte[] result = new byte[size];
+        int position = 0;
+        result[position++] = '[';
+        for (int i = 0; i < parts.size(); i++) {
+            if (i > 0) {
+                result[position++] = ',';
+            }
+            byte[] part = parts.get(i);
+            System.arraycopy(part, 0, result, position, part.length);
+            position += part.length;
+        }
+        result[position] = ']';
+        return result;
+    }
+
+    /**
+     * Libera el fragmento de un recurso que cambió de estado (la versión nueva lo reemplazará)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(ResourceTransitionEvent event) {
+        synchronized (fragments) {
+            Fragment removed = fragments.remove(event.resourceId());
+            if (removed != null) {
+                totalBytes -= removed.json().length;
+            }
+        }
+    }
+
+    /**
+     * Descarta todos los fragmentos (por ejemplo, cuando cambia el nombre de un usuario incluido en ellos)
+     */
+    public void invalidateAll() {
+        synchronized (fragments) {
+            fragments.clear();
+            totalBytes = 0;
+        }
+    }
+
+    private void evictIfNeeded() {
+        var iterator = fragments.values().iterator();
+        while (totalBytes > maxSize.toBytes() && iterator.hasNext()) {
+            totalBytes -= iterator.next().json().length;
+            iterator.remove();
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el recurso", e);
+        }
+    }
+
+    private record Fragment(long version, byte[] json) {
+    }
+}
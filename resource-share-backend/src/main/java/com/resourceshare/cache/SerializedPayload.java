@@ -0,0 +1,66 @@
+package com.resourceshare.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Resultado de una lectura junto con sus bytes ya serializados por formato (JSON, CBOR, Smile)
+ * Las peticiones agrupadas comparten el objeto y también la serialización
+ * El JSON puede venir ya armado (por ejemplo, unido desde fragmentos en caché); en ese caso
+ * el objeto solo se construye si algún cliente pide otro formato
+ */
+public class SerializedPayload<T> {
+
+    private final Supplier<T> valueSupplier;
+    private volatile T value;
+    private final Map<MediaType, byte[]> bytesByType = new ConcurrentHashMap<>();
+
+    public SerializedPayload(T value) {
+        this.value = value;
+        this.valueSupplier = () -> value;
+    }
+
+    private SerializedPayload(Supplier<T> valueSupplier, byte[] json) {
+        this.valueSupplier = valueSupplier;
+        this.bytesByType.put(MediaType.APPLICATION_JSON, json);
+    }
+
+    /**
+     * Payload con el JSON ya serializado; el valor se calcula de forma perezosa para los otros formatos
+     */
+    public static <T> SerializedPayload<T> withJson(Supplier<T> valueSupplier, byte[] json) {
+        return new SerializedPayload<>(valueSupplier, json);
+    }
+
+    public T getValue() {
+        T current = value;
+        if (current == null) {
+            synchronized (this) {
+                current = value;
+                if (current == null) {
+                    current = valueSupplier.get();
+                    value = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Bytes del valor en el formato indicado; se serializa una sola vez por formato
+     */
+    public byte[] bytes(MediaType mediaType, ObjectMapper mapper) {
+        return bytesByType.computeIfAbsent(mediaType, type -> {
+            try {
+                return mapper.writeValueAsBytes(getValue());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("No se pudo serializar la respuesta", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.resourceshare.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Escribe un SerializedPayload como respuesta HTTP en el formato que pide el header Accept
+ * Usa los mismos conversores Jackson registrados (JSON, CBOR, Smile), así el resultado es idéntico
+ * al que Spring produciría al serializar el objeto, pero reutilizando los bytes entre peticiones
+ */
+@Component
+public class SerializedResponseWriter {
+
+    @Autowired
+    private List<AbstractJackson2HttpMessageConverter> converters;
+
+    // JSON primero, para que Accept: */* (o sin Accept) responda JSON como el resto de la API
+    @PostConstruct
+    void init() {
+        converters = new ArrayList<>(converters);
+        converters.sort(Comparator.comparing(converter -> !(converter instanceof MappingJackson2HttpMessageConverter)));
+    }
+
+    public ResponseEntity<byte[]> write(SerializedPayload<?> payload, String acceptHeader) {
+        List<MediaType> accepted = new ArrayList<>(acceptHeader == null || acceptHeader.isBlank()
+                ? List.of(MediaType.APPLICATION_JSON)
+                : MediaType.parseMediaTypes(acceptHeader));
+        MimeTypeUtils.sortBySpecificity(accepted);
+
+        for (MediaType requested : accepted) {
+            for (AbstractJackson2HttpMessageConverter converter : converters) {
+                for (MediaType supported : converter.getSupportedMediaTypes()) {
+                    if (requested.isCompatibleWith(supported) && supported.isConcrete()) {
+                        ObjectMapper mapper = converter.getObjectMapper();
+                        MediaType contentType = new MediaType(supported.getType(), supported.getSubtype());
+                        return ResponseEntity.ok()
+                                .contentType(contentType)
+                                .body(payload.bytes(contentType, mapper));
+                    }
+                }
+            }
+        }
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.resourceshare.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Agrupador de lecturas idénticas concurrentes ("single flight")
+ * La primera petición de una clave ejecuta el cálculo; las que llegan mientras está en curso esperan
+ * y reciben el mismo resultado, y durante maxStaleness después de terminar se sigue entregando ese resultado
+ * Con maxStaleness = 0 solo se agrupan las peticiones simultáneas
+ * Los errores no se guardan: la siguiente petición vuelve a ejecutar el cálculo
+ * Los resultados vencidos se descartan al ejecutar un cálculo nuevo, a lo sumo una vez por maxStaleness,
+ * así que el mapa solo guarda las claves usadas en los últimos dos intervalos
+ * Métrica: resources.coalescing.requests{cache, outcome=executed|coalesced|recent}
+ */
+public class SingleFlightCache<K, V> {
+
+    private final Duration maxStaleness;
+    private final ConcurrentMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime());
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter recent;
+
+    public SingleFlightCache(String name, Duration maxStaleness, MeterRegistry meterRegistry) {
+        this.maxStaleness = maxStaleness;
+        this.executed = counter(meterRegistry, name, "executed");
+        this.coalesced = counter(meterRegistry, name, "coalesced");
+        this.recent = counter(meterRegistry, name, "recent");
+    }
+
+    /**
+     * Retorna el resultado de la clave, ejecutando loader solo si no hay uno en curso o suficientemente reciente
+     */
+    public V get(K key, Supplier<V> loader) {
+        while (true) {
+            Flight<V> current = flights.get(key);
+            if (current != null) {
+                if (!current.future.isDone()) {
+                    coalesced.increment();
+                    return join(current.future);
+                }
+                if (!current.future.isCompletedExceptionally() && isFresh(current, System.nanoTime())) {
+                    recent.increment();
+                    return current.future.join();
+                }
+            }
+
+            Flight<V> mine = new Flight<>();
+            boolean owner = current == null
+                    ? flights.putIfAbsent(key, mine) == null
+                    : flights.replace(key, current, mine);
+            if (!owner) {
+                // Otra petición empezó el cálculo al mismo tiempo: volver a mirar
+                continue;
+            }
+
+            executed.increment();
+            sweepExpired();
+            try {
+                V value = loader.get();
+                mine.completedAt = System.nanoTime();
+                mine.future.complete(value);
+                if (maxStaleness.isZero()) {
+                    // Sin reutilización: el resultado solo servía a las peticiones que esperaban
+                    flights.remove(key, mine);
+                }
+                return value;
+            } catch (RuntimeException | Error e) {
+                flights.remove(key, mine);
+                mine.future.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Descarta el resultado de una clave (por ejemplo, cuando los datos cambian)
+     * Las peticiones que ya esperan un cálculo en curso lo siguen recibiendo
+     */
+    public void invalidate(K key) {
+        flights.remove(key);
+    }
+
+    public void invalidateAll() {
+        flights.clear();
+    }
+
+    int size() {
+        return flights.size();
+    }
+
+    private boolean isFresh(Flight<V> flight, long now) {
+        return now - flight.completedAt <= maxStaleness.toNanos();
+    }
+
+    /**
+     * Elimina los resultados terminados que ya no se pueden reutilizar; solo un hilo barre por intervalo
+     */
+    private void sweepExpired() {
+        long now = System.nanoTime();
+        long next = nextSweep.get();
+        if (now - next < 0 || !nextSweep.compareAndSet(next, now + maxStaleness.toNanos())) {
+            return;
+        }
+        flights.entrySet().removeIf(entry -> entry.getValue().future.isDone() && !isFresh(entry.getValue(), now));
+    }
+
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Relanzar el error original del cálculo para que el llamador lo maneje igual que sin agrupar
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String outcome) {
+        return Counter.builder("resources.coalescing.requests")
+                .description("Lecturas atendidas por el agrupador, según si ejecutaron el cálculo o lo compartieron")
+                .tag("cache", name)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long completedAt;
+    }
+}
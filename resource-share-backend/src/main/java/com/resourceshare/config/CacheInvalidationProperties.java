@@ -0,0 +1,35 @@
+package com.resourceshare.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la invalidación de cachés entre nodos (Postgres LISTEN/NOTIFY)
+ * - coalesceWindow: los cambios confirmados dentro de esta ventana salen en una sola notificación
+ * - pollTimeout: espera máxima del oyente por notificaciones antes de revisar las demás regiones
+ * - checkInterval: cada cuánto se comparan las versiones de la BD con las notificadas para
+ *   recuperar notificaciones perdidas
+ * - reconnectDelay: espera antes de volver a escuchar si se pierde la conexión
+ */
+@Component
+@ConfigurationProperties(prefix = "cache.invalidation")
+@Data
+public class CacheInvalidationProperties {
+
+    private boolean enabled = true;
+
+    private String channel = "cache_invalidation";
+
+    private int queueCapacity = 10000;
+
+    private Duration coalesceWindow = Duration.ofMillis(100);
+
+    private Duration pollTimeout = Duration.ofMillis(500);
+
+    private Duration checkInterval = Duration.ofSeconds(30);
+
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+}
@@ -0,0 +1,38 @@
+package com.resourceshare.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuración de negociación de contenido
+ * Permite que los clientes (app Ionic/Capacitor) soliciten respuestas en formato binario
+ * mediante el header Accept: application/cbor o application/x-jackson-smile
+ * Si el cliente no lo pide, se sigue respondiendo en JSON como siempre
+ */
+@Configuration
+public class ContentNegotiationConfig {
+
+    /**
+     * Conversor CBOR construido con el mismo builder que usa Spring Boot para JSON
+     * Así las fechas (LocalDateTime) y demás opciones se serializan igual que en JSON
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(
+                builder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Conversor Smile (JSON binario de Jackson) con la misma configuración
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                builder.createXmlMapper(false).factory(new SmileFactory()).build());
+    }
+}
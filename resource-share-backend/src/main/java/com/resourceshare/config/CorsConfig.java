@@ -36,7 +36,8 @@ public class CorsConfig {
                 "Content-Type",
                 "X-Requested-With",
                 "Accept",
-                "Origin"
+                "Origin",
+                "Idempotency-Key"
         ));
         
         // Permitir credenciales (cookies, headers de autenticación)
@@ -0,0 +1,78 @@
+package com.resourceshare.config;
+
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuración del generador de datos sintéticos para pruebas de rendimiento (perfil dataset)
+ * Las proporciones (categorías, estados) no necesitan sumar 1: se normalizan
+ */
+@Component
+@ConfigurationProperties(prefix = "dataset")
+@Data
+public class DatasetProperties {
+
+    // Si es true, al arrancar se cargan los datos y la aplicación termina
+    private boolean generate = false;
+
+    // Semilla: con los mismos parámetros se generan los mismos datos
+    private long seed = 42;
+
+    private long users = 100_000;
+
+    // Fracción de usuarios que son donantes; el resto son receptores
+    private double donorRatio = 0.3;
+
+    private long resources = 500_000;
+
+    // Genera también el historial de eventos (resource_events) de cada recurso
+    private boolean events = true;
+
+    // Contraseña de todos los usuarios generados; se hashea una sola vez
+    private String password = "secret123";
+
+    // Ventana de fechas de publicación hacia atrás desde hoy
+    private Duration history = Duration.ofDays(180);
+
+    // Los recursos se agrupan alrededor de hotspotsPerCity barrios por ciudad
+    private int hotspotsPerCity = 8;
+    private double cityRadiusKm = 6;
+    private double hotspotRadiusKm = 0.8;
+
+    private double autoConfirmRatio = 0.3;
+
+    // Demoras medias entre etapas (distribución exponencial)
+    private Duration claimDelay = Duration.ofHours(8);
+    private Duration pickupDelay = Duration.ofHours(18);
+    private Duration deliveryDelay = Duration.ofHours(24);
+    private Duration cancelDelay = Duration.ofHours(48);
+
+    private Map<ResourceCategory, Double> categoryMix = new EnumMap<>(Map.of(
+            ResourceCategory.FOOD, 0.30,
+            ResourceCategory.CLOTHING, 0.20,
+            ResourceCategory.SCHOOL_SUPPLIES, 0.08,
+            ResourceCategory.HYGIENE, 0.08,
+            ResourceCategory.TOYS, 0.07,
+            ResourceCategory.BOOKS, 0.07,
+            ResourceCategory.FURNITURE, 0.06,
+            ResourceCategory.ELECTRONICS, 0.05,
+            ResourceCategory.TOOLS, 0.05,
+            ResourceCategory.OTHERS, 0.04));
+
+    private Map<ResourceStatus, Double> statusMix = new EnumMap<>(Map.of(
+            ResourceStatus.AVAILABLE, 0.15,
+            ResourceStatus.CLAIMED, 0.04,
+            ResourceStatus.IN_TRANSIT, 0.06,
+            ResourceStatus.DELIVERED, 0.60,
+            ResourceStatus.CANCELLED, 0.15));
+
+    // Filas acumuladas en memoria antes de enviarlas a COPY
+    private int copyBufferBytes = 1024 * 1024;
+}
@@ -0,0 +1,22 @@
+package com.resourceshare.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuración del filtro de Bloom de emails registrados (EmailBloomFilter)
+ * El tamaño se calcula para expectedInsertions emails con la tasa de falsos positivos indicada;
+ * si al arrancar hay más usuarios, se dimensiona para el doble de los existentes
+ */
+@Component
+@ConfigurationProperties(prefix = "auth.email-filter")
+@Data
+public class EmailFilterProperties {
+
+    private boolean enabled = true;
+
+    private long expectedInsertions = 1_000_000;
+
+    private double falsePositiveRate = 0.01;
+}
@@ -0,0 +1,33 @@
+package com.resourceshare.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuración del feed de recomendaciones para receptores
+ * El puntaje de cada recurso es la suma ponderada de cercanía, novedad y afinidad de categoría (cada una entre 0 y 1)
+ */
+@Component
+@ConfigurationProperties(prefix = "feed")
+@Data
+public class FeedProperties {
+
+    private double distanceWeight = 0.5;
+    private double recencyWeight = 0.3;
+    private double affinityWeight = 0.2;
+
+    // Distancia a la que la cercanía vale 1/e
+    private double distanceScaleKm = 5;
+
+    // Antigüedad a la que la novedad vale la mitad
+    private Duration recencyHalfLife = Duration.ofHours(48);
+
+    // Radio de candidatos cuando el receptor envía su ubicación
+    private double candidateRadiusKm = 25;
+
+    private int defaultLimit = 20;
+    private int maxLimit = 100;
+}
@@ -0,0 +1,31 @@
+package com.resourceshare.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuración de las claves de idempotencia (cabecera Idempotency-Key) para publicar y reclamar
+ */
+@Component
+@ConfigurationProperties(prefix = "idempotency")
+@Data
+public class IdempotencyProperties {
+
+    // Tiempo durante el cual un reintento con la misma clave recibe la primera respuesta
+    private Duration ttl = Duration.ofHours(24);
+
+    // Máximo de respuestas guardadas en memoria; al superarlo se descartan las más antiguas
+    private int maxEntries = 10_000;
+
+    // Espera máxima de un reintento mientras la primera petición con la misma clave sigue en curso
+    private Duration waitTimeout = Duration.ofSeconds(30);
+
+    // Guarda también las respuestas en la tabla idempotency_keys para compartirlas entre varias instancias
+    private boolean persistent = false;
+
+    // Cada cuánto se eliminan de la tabla las claves vencidas
+    private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,33 @@
+package com.resourceshare.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuración del diario de eventos de recursos
+ * Los eventos se encolan en memoria y se escriben en lotes; si la cola se llena o la BD falla,
+ * se guardan en archivos de segmento locales y se reenvían después
+ */
+@Component
+@ConfigurationProperties(prefix = "journal")
+@Data
+public class JournalProperties {
+
+    private int queueCapacity = 10_000;
+
+    private int batchSize = 200;
+
+    // Tiempo máximo que el escritor espera nuevos eventos antes de revisar si debe detenerse
+    private Duration pollTimeout = Duration.ofMillis(500);
+
+    private String segmentDir = "journal";
+
+    // Tamaño a partir del cual se abre un nuevo archivo de segmento
+    private long segmentMaxBytes = 16 * 1024 * 1024;
+
+    // Cada cuánto se intenta reenviar a la BD los segmentos pendientes
+    private Duration replayInterval = Duration.ofMinutes(1);
+}
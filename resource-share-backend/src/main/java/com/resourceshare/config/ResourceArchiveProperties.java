@@ -0,0 +1,33 @@
+package com.resourceshare.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuración del archivado de recursos terminales (DELIVERED y CANCELLED)
+ * El archivador trabaja en lotes pequeños con pausas entre ellos para no competir con el tráfico normal
+ */
+@Component
+@ConfigurationProperties(prefix = "resources.archive")
+@Data
+public class ResourceArchiveProperties {
+
+    private boolean enabled = true;
+
+    // Antigüedad mínima (desde la entrega o cancelación) para mover un recurso al histórico
+    private Duration after = Duration.ofDays(90);
+
+    // Cada cuánto se ejecuta el archivador
+    private Duration interval = Duration.ofHours(1);
+
+    private int batchSize = 200;
+
+    // Pausa entre lotes consecutivos
+    private Duration pause = Duration.ofMillis(200);
+
+    // Límite de lotes por ejecución; lo pendiente queda para la siguiente
+    private int maxBatchesPerRun = 50;
+}
@@ -0,0 +1,34 @@
+package com.resourceshare.config;
+
+import com.resourceshare.enums.ResourceCategory;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuración de vencimientos automáticos de recursos
+ * - claimTimeout: tiempo máximo en CLAIMED sin que el donante confirme el encuentro
+ * - listingTtl: tiempo máximo en AVAILABLE por categoría (ej. alimentos perecibles)
+ * Las categorías sin TTL configurado nunca vencen
+ */
+@Component
+@ConfigurationProperties(prefix = "resources.expiration")
+@Data
+public class ResourceExpirationProperties {
+
+    private boolean enabled = true;
+
+    // Resolución de la rueda de temporizadores
+    private Duration tick = Duration.ofMinutes(1);
+
+    private Duration claimTimeout = Duration.ofHours(48);
+
+    private Map<ResourceCategory, Duration> listingTtl = new EnumMap<>(ResourceCategory.class);
+
+    // Cantidad máxima de ids por sentencia UPDATE
+    private int batchSize = 500;
+}
@@ -0,0 +1,18 @@
+package com.resourceshare.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuración de las búsquedas de recursos cercanos (GET /api/resources/nearby y su versión en streaming)
+ */
+@Component
+@ConfigurationProperties(prefix = "resources.nearby")
+@Data
+public class ResourceNearbyProperties {
+
+    // Radio máximo: con radios mayores los rangos de geohash cubren casi todo el mapa y la consulta
+    // termina leyendo todos los recursos disponibles
+    private double maxRadiusKm = 50;
+}
@@ -0,0 +1,25 @@
+package com.resourceshare.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuración de los agregados diarios de donaciones (donation_rollups)
+ * Los contadores se acumulan en memoria y se suman a la tabla cada flushInterval
+ */
+@Component
+@ConfigurationProperties(prefix = "analytics.rollups")
+@Data
+public class RollupProperties {
+
+    private Duration flushInterval = Duration.ofSeconds(10);
+
+    // Días máximos que abarca una consulta de reporte o una reconstrucción
+    private int maxReportDays = 366;
+
+    // Tiempo máximo que una reconstrucción espera a que el diario de eventos escriba lo pendiente
+    private Duration rebuildDrainTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,46 @@
+package com.resourceshare.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración de particionamiento por región (sharding)
+ * - enabled: con false toda la aplicación usa spring.datasource, como siempre
+ * - shards: una base de datos por región; la primera es la región por defecto y, si no define url,
+ *   usa spring.datasource (así los datos existentes quedan en ella)
+ * - cities: qué usuarios pertenecen a la región
+ * - scatterThreads / scatterTimeout: pool y tiempo límite de las consultas que recorren todas las regiones
+ */
+@Component
+@ConfigurationProperties(prefix = "sharding")
+@Data
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    private int scatterThreads = 4;
+
+    private Duration scatterTimeout = Duration.ofSeconds(5);
+
+    @Data
+    public static class Shard {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        // Ciudades de la región, sin distinguir mayúsculas ni tildes
+        private List<String> cities = new ArrayList<>();
+    }
+}
@@ -0,0 +1,29 @@
+package com.resourceshare.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la sincronización incremental para clientes móviles
+ */
+@Component
+@ConfigurationProperties(prefix = "sync")
+@Data
+public class SyncProperties {
+
+    // Máximo de cambios por respuesta; el cliente repite con el token nuevo mientras hasMore sea true
+    private int pageSize = 500;
+
+    // Tiempo que se conservan las marcas de eliminación; tokens más antiguos piden resincronizar todo
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    // Retraso de los tokens: solo se entregan cambios cuya secuencia se asignó hace al menos este tiempo
+    // Debe superar la duración de las transacciones que modifican recursos
+    private Duration horizonLag = Duration.ofSeconds(5);
+
+    // Cada cuánto se eliminan las marcas vencidas
+    private Duration purgeInterval = Duration.ofHours(6);
+}
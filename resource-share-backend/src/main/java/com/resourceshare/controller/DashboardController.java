@@ -0,0 +1,30 @@
+package com.resourceshare.controller;
+
+import com.resourceshare.dto.DashboardResponse;
+import com.resourceshare.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST de la pantalla de inicio
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:8100"})
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    /**
+     * GET /api/dashboard
+     * Retorna en una sola llamada los contadores y recursos recientes de la pantalla de inicio
+     * (del donante o del receptor según el rol del usuario actual)
+     */
+    @GetMapping
+    public ResponseEntity<DashboardResponse> getDashboard(Authentication authentication) {
+        return ResponseEntity.ok(dashboardService.getDashboard(authentication.getName()));
+    }
+}
@@ -0,0 +1,160 @@
+package com.resourceshare.controller;
+
+import com.resourceshare.dto.ImageUploadResponse;
+import com.resourceshare.service.ImageStorageService;
+import com.resourceshare.service.ImageStorageService.StoredImage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Controlador REST de imágenes
+ * Permite subir imágenes de recursos y servirlas (originales y miniaturas) desde disco
+ * Las lecturas son públicas para que las etiquetas <img> funcionen sin token JWT
+ */
+@RestController
+@RequestMapping("/api/images")
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:8100"})
+public class ImageController {
+
+    // Las imágenes se identifican por su hash, así que su contenido nunca cambia
+    private static final String CACHE_IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic().immutable().getHeaderValue();
+    private static final String CACHE_SHORT = CacheControl.maxAge(Duration.ofMinutes(1))
+            .cachePublic().getHeaderValue();
+
+    // Atributos de petición con los que Tomcat (conector NIO) envía un archivo con sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    /**
+     * POST /api/images
+     * Sube una imagen (multipart, campo "file") y retorna su URL y la de su miniatura
+     * Si la misma imagen ya fue subida antes, se reutiliza el archivo existente
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImageUploadResponse> uploadImage(@RequestParam("file") MultipartFile file) {
+        ImageUploadResponse response = imageStorageService.store(file);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * GET /api/images/{hash}
+     * Sirve la imagen original (soporta peticiones Range y caché de larga duración)
+     */
+    @GetMapping("/{hash}")
+    public void getImage(@PathVariable String hash,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        StoredImage image = imageStorageService.findOriginal(hash).orElse(null);
+        if (image == null) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        writeImage(image, "", request, response);
+    }
+
+    /**
+     * GET /api/images/{hash}/thumbnail
+     * Sirve la miniatura de la imagen, usada en los listados
+     * Mientras la miniatura se genera se entrega el original con caché corta
+     */
+    @GetMapping("/{hash}/thumbnail")
+    public void getThumbnail(@PathVariable String hash,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        StoredImage image = imageStorageService.findThumbnail(hash).orElse(null);
+        if (image == null) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        writeImage(image, image.isFallback() ? "-original" : "-thumb", request, response);
+    }
+
+    /**
+     * Escribe el archivo en la respuesta
+     * Con Tomcat se delega en sendfile: el conector copia el archivo al socket desde el kernel, sin pasar por
+     * el heap; sin soporte de sendfile se copia desde el FileChannel con transferTo
+     * (a través de un buffer, porque el destino es el flujo del servlet y no un socket)
+     * Atiende If-None-Match (304) y un único rango de bytes (206)
+     */
+    private void writeImage(StoredImage image, String etagSuffix,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String etag = "\"" + image.getHash() + etagSuffix + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, image.isFallback() ? CACHE_SHORT : CACHE_IMMUTABLE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long size = Files.size(image.getPath());
+        long start = 0;
+        long end = size - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Solo se atiende un rango; con varios se entrega el archivo completo
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return;
+            }
+        }
+
+        long remaining = end - start + 1;
+        response.setContentType(image.getContentType());
+        response.setContentLengthLong(remaining);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat envía el archivo cuando el controlador retorna; el fin del rango es exclusivo
+            request.setAttribute(SENDFILE_FILENAME, image.getPath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(image.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+}
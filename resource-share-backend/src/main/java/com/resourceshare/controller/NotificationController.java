@@ -0,0 +1,61 @@
+package com.resourceshare.controller;
+
+import com.resourceshare.dto.NotificationResponse;
+import com.resourceshare.service.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controlador REST de la bandeja de notificaciones del usuario actual
+ */
+@RestController
+@RequestMapping("/api/notifications")
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:8100"})
+public class NotificationController {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    /**
+     * GET /api/notifications?unreadOnly=false
+     * Obtiene las notificaciones del usuario, de la más reciente a la más antigua
+     */
+    @GetMapping
+    public ResponseEntity<List<NotificationResponse>> getNotifications(
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            Authentication authentication) {
+        return ResponseEntity.ok(notificationService.getNotifications(authentication.getName(), unreadOnly));
+    }
+
+    /**
+     * GET /api/notifications/unread-count
+     * Cantidad de notificaciones sin leer, para el indicador del menú
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(Authentication authentication) {
+        return ResponseEntity.ok(Map.of("unread", notificationService.countUnread(authentication.getName())));
+    }
+
+    /**
+     * PUT /api/notifications/{id}/read
+     * Marca una notificación como leída
+     */
+    @PutMapping("/{id}/read")
+    public ResponseEntity<NotificationResponse> markRead(@PathVariable Long id, Authentication authentication) {
+        return ResponseEntity.ok(notificationService.markRead(id, authentication.getName()));
+    }
+
+    /**
+     * PUT /api/notifications/read-all
+     * Marca como leídas todas las notificaciones del usuario
+     */
+    @PutMapping("/read-all")
+    public ResponseEntity<Map<String, Integer>> markAllRead(Authentication authentication) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markAllRead(authentication.getName())));
+    }
+}
@@ -0,0 +1,73 @@
+package com.resourceshare.controller;
+
+import com.resourceshare.analytics.LifecycleHistograms;
+import com.resourceshare.dto.DonationReportRow;
+import com.resourceshare.dto.DonationRollupRebuildResponse;
+import com.resourceshare.dto.LifecycleStageStats;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.service.DonationReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controlador REST de reportes para ONG (solo administradores)
+ * Los reportes de donaciones leen los agregados diarios, no las tablas de recursos;
+ * los de ciclo de vida leen los histogramas en memoria de LifecycleHistograms
+ */
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:8100"})
+public class ReportController {
+
+    @Autowired
+    private DonationReportService donationReportService;
+
+    @Autowired
+    private LifecycleHistograms lifecycleHistograms;
+
+    /**
+     * GET /api/reports/donations?from=2026-01-01&to=2026-01-31&category=FOOD&city=Quito
+     * Donaciones publicadas, reclamadas y entregadas por día, categoría y ciudad del donante
+     * category y city son opcionales
+     */
+    @GetMapping("/donations")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<List<DonationReportRow>> getDonationReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) ResourceCategory category,
+            @RequestParam(required = false) String city) {
+        return ResponseEntity.ok(donationReportService.report(from, to, category, city));
+    }
+
+    /**
+     * POST /api/reports/donations/rebuild?from=2026-01-01&to=2026-01-31
+     * Recalcula los agregados del rango desde el historial de eventos (carga inicial o corrección); solo días anteriores a hoy
+     */
+    @PostMapping("/donations/rebuild")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<DonationRollupRebuildResponse> rebuildDonationReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(donationReportService.rebuild(from, to));
+    }
+
+    /**
+     * GET /api/reports/lifecycle?category=FOOD&region=default
+     * Percentiles (p50, p90, p99 y máximo, en segundos) del tiempo de espera en cada estado,
+     * por estado siguiente, categoría y región; acumulados desde el arranque de este nodo
+     */
+    @GetMapping("/lifecycle")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<List<LifecycleStageStats>> getLifecycleStats(
+            @RequestParam(required = false) ResourceCategory category,
+            @RequestParam(required = false) String region) {
+        return ResponseEntity.ok(lifecycleHistograms.snapshot(category, region));
+    }
+}
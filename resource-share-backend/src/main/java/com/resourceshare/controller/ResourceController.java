@@ -1,15 +1,35 @@
 package com.resourceshare.controller;
 
+import com.resourceshare.dto.BulkTransitionRequest;
+import com.resourceshare.dto.BulkTransitionResponse;
+import com.resourceshare.dto.ClusterResponse;
+import com.resourceshare.dto.ResourceEventResponse;
 import com.resourceshare.dto.ResourceRequest;
 import com.resourceshare.dto.ResourceResponse;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.geo.BoundingBox;
+import com.resourceshare.cache.SerializedResponseWriter;
+import com.resourceshare.service.IdempotencyService;
+import com.resourceshare.service.ResourceClusterService;
+import com.resourceshare.service.ResourceFeedService;
+import com.resourceshare.service.ResourceMarkerService;
+import com.resourceshare.service.ResourceMarkerService.MarkerColumns;
+import com.resourceshare.service.ResourceReadCoalescer;
 import com.resourceshare.service.ResourceService;
+import com.resourceshare.state.ResourceAction;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.EnumSet;
 import java.util.List;
 
 /**
@@ -25,23 +45,38 @@ public class ResourceController {
     @Autowired
     private ResourceService resourceService;
 
+    @Autowired
+    private ResourceClusterService resourceClusterService;
+
+    @Autowired
+    private ResourceMarkerService resourceMarkerService;
+
+    @Autowired
+    private ResourceFeedService resourceFeedService;
+
+    @Autowired
+    private ResourceReadCoalescer resourceReadCoalescer;
+
+    @Autowired
+    private SerializedResponseWriter serializedResponseWriter;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     /**
      * POST /api/resources
      * Publica un nuevo recurso para donación (solo DONOR)
      * El recurso se crea con estado AVAILABLE
+     * Con cabecera Idempotency-Key, los reintentos reciben la primera respuesta sin publicar de nuevo
      */
     @PostMapping
     public ResponseEntity<?> publishResource(
             @Valid @RequestBody ResourceRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
-        try {
-            String donorEmail = authentication.getName();
-            ResourceResponse response = resourceService.publishResource(request, donorEmail);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new ErrorResponse(e.getMessage()));
-        }
+        String donorEmail = authentication.getName();
+        return idempotencyService.execute(idempotencyKey, donorEmail, "publish", idempotencyService.fingerprint(request),
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(resourceService.publishResource(request, donorEmail)));
     }
 
     /**
@@ -50,21 +85,90 @@ public class ResourceController {
      * Solo retorna recursos con estado AVAILABLE
      */
     @GetMapping("/available")
-    public ResponseEntity<List<ResourceResponse>> getAvailableResources() {
-        List<ResourceResponse> resources = resourceService.getAvailableResources();
+    public ResponseEntity<byte[]> getAvailableResources(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        // Las peticiones simultáneas comparten la consulta y los bytes ya serializados
+        return serializedResponseWriter.write(resourceReadCoalescer.getAvailableResources(), accept);
+    }
+
+    /**
+     * GET /api/resources/feed?lat=-2.17&lon=-79.92&limit=20
+     * Obtiene los recursos disponibles ordenados para el receptor actual
+     * (cercanía, novedad y afinidad con las categorías que ya reclamó); lat, lon y limit son opcionales
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<List<ResourceResponse>> getFeed(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        String receiverEmail = authentication.getName();
+        List<ResourceResponse> resources = resourceFeedService.getFeed(receiverEmail, lat, lon, limit);
+        return ResponseEntity.ok(resources);
+    }
+
+    /**
+     * GET /api/resources/nearby?lat=-2.17&lon=-79.92&radiusKm=5
+     * Obtiene los recursos disponibles dentro del radio, ordenados por distancia
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<ResourceResponse>> getNearbyResources(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "5") double radiusKm) {
+        List<ResourceResponse> resources = resourceService.getNearbyResources(lat, lon, radiusKm);
         return ResponseEntity.ok(resources);
     }
 
+    /**
+     * GET /api/resources/clusters?bbox=oeste,sur,este,norte&zoom=12&category=FOOD
+     * Agrupa los recursos disponibles del área visible en celdas según el nivel de zoom del mapa
+     * Cada grupo trae su centroide, cantidad y desglose por categoría (category es opcional y repetible)
+     */
+    @GetMapping("/clusters")
+    public ResponseEntity<List<ClusterResponse>> getClusters(
+            @RequestParam String bbox,
+            @RequestParam int zoom,
+            @RequestParam(required = false) List<ResourceCategory> category) {
+        EnumSet<ResourceCategory> categories = category == null || category.isEmpty()
+                ? EnumSet.noneOf(ResourceCategory.class) : EnumSet.copyOf(category);
+        List<ClusterResponse> clusters = resourceClusterService.getClusters(BoundingBox.parse(bbox), zoom, categories);
+        return ResponseEntity.ok(clusters);
+    }
+
+    /**
+     * GET /api/resources/markers?status=AVAILABLE&bbox=oeste,sur,este,norte&category=FOOD
+     * Carga masiva de marcadores del mapa en formato columnar compacto (ver ResourceMarkerService)
+     * status por defecto es AVAILABLE; bbox y category son opcionales
+     * Se escribe directamente en la respuesta para no armar la lista completa de objetos en memoria
+     */
+    @GetMapping(value = "/markers", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void getMarkers(
+            @RequestParam(defaultValue = "AVAILABLE") ResourceStatus status,
+            @RequestParam(required = false) String bbox,
+            @RequestParam(required = false) List<ResourceCategory> category,
+            HttpServletResponse response) throws IOException {
+        BoundingBox area = bbox != null ? BoundingBox.parse(bbox) : null;
+        EnumSet<ResourceCategory> categories = category == null || category.isEmpty()
+                ? EnumSet.noneOf(ResourceCategory.class) : EnumSet.copyOf(category);
+
+        MarkerColumns columns = resourceMarkerService.loadMarkers(status, area, categories);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        resourceMarkerService.writeJson(columns, response.getOutputStream());
+    }
+
     /**
      * GET /api/resources/my-donations
      * Obtiene todos los recursos publicados por el donante actual
      * Incluye recursos en cualquier estado (AVAILABLE, CLAIMED, IN_TRANSIT, DELIVERED, CANCELLED)
+     * Con ?includeHistory=true incluye también los recursos archivados
      */
     @GetMapping("/my-donations")
-    public ResponseEntity<List<ResourceResponse>> getMyDonations(Authentication authentication) {
+    public ResponseEntity<byte[]> getMyDonations(
+            @RequestParam(defaultValue = "false") boolean includeHistory,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            Authentication authentication) {
         String donorEmail = authentication.getName();
-        List<ResourceResponse> resources = resourceService.getMyDonorResources(donorEmail);
-        return ResponseEntity.ok(resources);
+        return serializedResponseWriter.write(resourceService.getMyDonorResources(donorEmail, includeHistory), accept);
     }
 
     /**
@@ -74,22 +178,26 @@ public class ResourceController {
      * Usado para que el donante vea quién reclamó sus recursos y pueda confirmar el encuentro
      */
     @GetMapping("/donor/claimed")
-    public ResponseEntity<List<ResourceResponse>> getClaimedResourcesByDonor(Authentication authentication) {
+    public ResponseEntity<byte[]> getClaimedResourcesByDonor(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            Authentication authentication) {
         String donorEmail = authentication.getName();
-        List<ResourceResponse> resources = resourceService.getClaimedResourcesByDonor(donorEmail);
-        return ResponseEntity.ok(resources);
+        return serializedResponseWriter.write(resourceService.getClaimedResourcesByDonor(donorEmail), accept);
     }
 
     /**
      * GET /api/resources/my-received
      * Obtiene los recursos reclamados por el receptor actual
      * Incluye recursos en estado CLAIMED, IN_TRANSIT y DELIVERED
+     * Con ?includeHistory=true incluye también los recursos archivados
      */
     @GetMapping("/my-received")
-    public ResponseEntity<List<ResourceResponse>> getMyReceived(Authentication authentication) {
+    public ResponseEntity<byte[]> getMyReceived(
+            @RequestParam(defaultValue = "false") boolean includeHistory,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            Authentication authentication) {
         String receiverEmail = authentication.getName();
-        List<ResourceResponse> resources = resourceService.getMyReceivedResources(receiverEmail);
-        return ResponseEntity.ok(resources);
+        return serializedResponseWriter.write(resourceService.getMyReceivedResources(receiverEmail, includeHistory), accept);
     }
 
     /**
@@ -98,14 +206,20 @@ public class ResourceController {
      * Incluye información del donante y receptor (si aplica)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getResourceById(@PathVariable Long id) {
-        try {
-            ResourceResponse resource = resourceService.getResourceById(id);
-            return ResponseEntity.ok(resource);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ErrorResponse("Recurso no encontrado"));
-        }
+    public ResponseEntity<byte[]> getResourceById(@PathVariable Long id,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return serializedResponseWriter.write(resourceReadCoalescer.getResourceById(id), accept);
+    }
+
+    /**
+     * GET /api/resources/{id}/history
+     * Obtiene el historial de cambios de estado de un recurso (solo su donante o receptor)
+     * Cada entrada indica estado anterior, estado nuevo, quién lo hizo y cuándo
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<ResourceEventResponse>> getResourceHistory(@PathVariable Long id, Authentication authentication) {
+        List<ResourceEventResponse> history = resourceService.getResourceHistory(id, authentication.getName());
+        return ResponseEntity.ok(history);
     }
 
     /**
@@ -114,19 +228,16 @@ public class ResourceController {
      * Cambia el estado del recurso según configuración:
      * - Si autoConfirm = true: pasa directo a IN_TRANSIT
      * - Si autoConfirm = false: pasa a CLAIMED
+     * Con cabecera Idempotency-Key, los reintentos reciben la primera respuesta (incluso si fue un error)
      */
     @PostMapping("/{id}/claim")
     public ResponseEntity<?> claimResource(
             @PathVariable Long id,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
-        try {
-            String receiverEmail = authentication.getName();
-            ResourceResponse response = resourceService.claimResource(id, receiverEmail);
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new ErrorResponse(e.getMessage()));
-        }
+        String receiverEmail = authentication.getName();
+        return idempotencyService.execute(idempotencyKey, receiverEmail, "claim", idempotencyService.fingerprint("claim:" + id),
+                () -> ResponseEntity.ok(resourceService.claimResource(id, receiverEmail)));
     }
 
     /**
@@ -136,17 +247,40 @@ public class ResourceController {
      * Solo aplica para recursos con confirmación manual
      */
     @PutMapping("/{id}/confirm-pickup")
-    public ResponseEntity<?> confirmPickup(
+    public ResponseEntity<ResourceResponse> confirmPickup(
             @PathVariable Long id,
             Authentication authentication) {
-        try {
-            String donorEmail = authentication.getName();
-            ResourceResponse response = resourceService.confirmPickup(id, donorEmail);
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new ErrorResponse(e.getMessage()));
-        }
+        String donorEmail = authentication.getName();
+        ResourceResponse response = resourceService.confirmPickup(id, donorEmail);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * POST /api/resources/bulk/confirm-pickup
+     * Confirma el encuentro de varios recursos reclamados del donante en una sola transacción
+     * Body: { "ids": [1, 2, 3] }; los que no se pueden confirmar se informan en skipped
+     */
+    @PostMapping("/bulk/confirm-pickup")
+    public ResponseEntity<BulkTransitionResponse> bulkConfirmPickup(
+            @Valid @RequestBody BulkTransitionRequest request,
+            Authentication authentication) {
+        BulkTransitionResponse response = resourceService.bulkTransition(
+                ResourceAction.CONFIRM_PICKUP, request.getIds(), authentication.getName());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * POST /api/resources/bulk/cancel
+     * Cancela varios recursos del donante (AVAILABLE o CLAIMED) en una sola transacción
+     * Body: { "ids": [1, 2, 3] }; los que no se pueden cancelar se informan en skipped
+     */
+    @PostMapping("/bulk/cancel")
+    public ResponseEntity<BulkTransitionResponse> bulkCancel(
+            @Valid @RequestBody BulkTransitionRequest request,
+            Authentication authentication) {
+        BulkTransitionResponse response = resourceService.bulkTransition(
+                ResourceAction.CANCEL, request.getIds(), authentication.getName());
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -156,17 +290,12 @@ public class ResourceController {
      * Solo se puede cambiar si el recurso está en estado AVAILABLE
      */
     @PutMapping("/{id}/toggle-auto-confirm")
-    public ResponseEntity<?> toggleAutoConfirm(
+    public ResponseEntity<ResourceResponse> toggleAutoConfirm(
             @PathVariable Long id,
             Authentication authentication) {
-        try {
-            String donorEmail = authentication.getName();
-            ResourceResponse response = resourceService.toggleAutoConfirm(id, donorEmail);
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new ErrorResponse(e.getMessage()));
-        }
+        String donorEmail = authentication.getName();
+        ResourceResponse response = resourceService.toggleAutoConfirm(id, donorEmail);
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -176,17 +305,12 @@ public class ResourceController {
      * Registra la fecha de entrega final
      */
     @PatchMapping("/{id}/deliver")
-    public ResponseEntity<?> confirmDelivery(
+    public ResponseEntity<ResourceResponse> confirmDelivery(
             @PathVariable Long id,
             Authentication authentication) {
-        try {
-            String receiverEmail = authentication.getName();
-            ResourceResponse response = resourceService.confirmDelivery(id, receiverEmail);
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new ErrorResponse(e.getMessage()));
-        }
+        String receiverEmail = authentication.getName();
+        ResourceResponse response = resourceService.confirmDelivery(id, receiverEmail);
+        return ResponseEntity.ok(response);
     }
     
     /**
@@ -196,36 +320,11 @@ public class ResourceController {
      * Los recursos en IN_TRANSIT o DELIVERED no pueden ser cancelados
      */
     @DeleteMapping("/{id}/cancel")
-    public ResponseEntity<?> cancelResource(
+    public ResponseEntity<ResourceResponse> cancelResource(
             @PathVariable Long id,
             Authentication authentication) {
-        try {
-            String donorEmail = authentication.getName();
-            ResourceResponse response = resourceService.cancelResource(id, donorEmail);
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new ErrorResponse(e.getMessage()));
-        }
-    }
-
-    /**
-     * Clase interna para respuestas de error
-     * Retorna un mensaje de error en formato JSON consistente
-     */
-    private static class ErrorResponse {
-        private String message;
-
-        public ErrorResponse(String message) {
-            this.message = message;
-        }
-
-        public String getMessage() {
-            return message;
-        }
-
-        public void setMessage(String message) {
-            this.message = message;
-        }
+        String donorEmail = authentication.getName();
+        ResourceResponse response = resourceService.cancelResource(id, donorEmail);
+        return ResponseEntity.ok(response);
     }
 }
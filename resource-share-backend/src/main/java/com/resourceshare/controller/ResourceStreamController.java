@@ -0,0 +1,56 @@
+package com.resourceshare.controller;
+
+import com.resourceshare.service.ResourceStreamService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Controlador REST de lectura en streaming de recursos
+ * Alternativa a los listados de ResourceController para resultados grandes: las filas se envían
+ * en NDJSON a medida que se leen de la BD, sin armar la lista completa en memoria
+ * Las escrituras siguen pasando por ResourceService
+ */
+@RestController
+@RequestMapping("/api/resources/stream")
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:8100"})
+public class ResourceStreamController {
+
+    @Autowired
+    private ResourceStreamService resourceStreamService;
+
+    /**
+     * GET /api/resources/stream/available
+     * Recursos disponibles en NDJSON, en orden de id
+     */
+    @GetMapping("/available")
+    public void streamAvailable(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        resourceStreamService.streamAvailable(response.getOutputStream());
+    }
+
+    /**
+     * GET /api/resources/stream/nearby?lat=-2.17&lon=-79.92&radiusKm=5
+     * Recursos disponibles dentro del radio en NDJSON, sin ordenar por distancia
+     * (el cliente los ordena; así la primera fila sale sin esperar a la última)
+     */
+    @GetMapping("/nearby")
+    public void streamNearby(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            HttpServletResponse response) throws IOException {
+        try {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            resourceStreamService.streamNearby(lat, lon, radiusKm, response.getOutputStream());
+        } catch (IllegalArgumentException e) {
+            // La validación ocurre antes de escribir la primera fila: se quita el tipo NDJSON
+            // para que GlobalExceptionHandler responda 400 con un ErrorResponse en JSON
+            response.reset();
+            throw e;
+        }
+    }
+}
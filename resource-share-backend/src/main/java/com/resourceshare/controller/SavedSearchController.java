@@ -0,0 +1,57 @@
+package com.resourceshare.controller;
+
+import com.resourceshare.dto.SavedSearchRequest;
+import com.resourceshare.dto.SavedSearchResponse;
+import com.resourceshare.service.SavedSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST de búsquedas guardadas
+ * El usuario registra criterios (categorías, área, palabras clave) y recibe una notificación
+ * cada vez que se publica un recurso que los cumple
+ */
+@RestController
+@RequestMapping("/api/saved-searches")
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:8100"})
+public class SavedSearchController {
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    /**
+     * POST /api/saved-searches
+     * Crea una búsqueda guardada; debe tener al menos una categoría, un área (latitude, longitude, radiusKm)
+     * o palabras clave
+     */
+    @PostMapping
+    public ResponseEntity<SavedSearchResponse> createSavedSearch(@RequestBody SavedSearchRequest request,
+                                                                 Authentication authentication) {
+        SavedSearchResponse response = savedSearchService.createSavedSearch(request, authentication.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * GET /api/saved-searches
+     * Obtiene las búsquedas guardadas del usuario actual
+     */
+    @GetMapping
+    public ResponseEntity<List<SavedSearchResponse>> getMySavedSearches(Authentication authentication) {
+        return ResponseEntity.ok(savedSearchService.getMySavedSearches(authentication.getName()));
+    }
+
+    /**
+     * DELETE /api/saved-searches/{id}
+     * Elimina una búsqueda guardada del usuario actual
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSavedSearch(@PathVariable Long id, Authentication authentication) {
+        savedSearchService.deleteSavedSearch(id, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.resourceshare.controller;
+
+import com.resourceshare.dto.SyncResponse;
+import com.resourceshare.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST de sincronización incremental
+ * Permite a la app móvil mantener una copia local de sus recursos (donaciones y recibidos)
+ * descargando solo lo que cambió desde la última sincronización
+ */
+@RestController
+@RequestMapping("/api/sync")
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:8100"})
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    /**
+     * GET /api/sync?since=<token>
+     * Sin token retorna el estado completo; con token solo los cambios posteriores
+     * El cliente guarda el token de la respuesta y lo envía en la siguiente sincronización
+     */
+    @GetMapping
+    public ResponseEntity<SyncResponse> sync(@RequestParam(required = false) String since,
+                                             Authentication authentication) {
+        return ResponseEntity.ok(syncService.sync(authentication.getName(), since));
+    }
+}
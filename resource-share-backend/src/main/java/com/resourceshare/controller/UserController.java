@@ -1,12 +1,14 @@
 package com.resourceshare.controller;
 
+import com.resourceshare.dto.UserDirectoryPage;
 import com.resourceshare.dto.UserResponse;
 import com.resourceshare.dto.UserUpdateRequest;
 import com.resourceshare.entity.User;
+import com.resourceshare.enums.UserRole;
+import com.resourceshare.service.UserDirectoryService;
 import com.resourceshare.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -14,7 +16,7 @@ import org.springframework.web.bind.annotation.*;
 
 /**
  * Controlador REST de usuarios
- * Maneja operaciones relacionadas con el perfil del usuario actual
+ * Maneja operaciones relacionadas con el perfil del usuario actual y el directorio de usuarios (ADMIN)
  */
 @RestController
 @RequestMapping("/api/users")
@@ -24,6 +26,25 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserDirectoryService userDirectoryService;
+
+    /**
+     * GET /api/users?q=ana&role=DONOR&active=true&after=120&limit=50
+     * Directorio de usuarios para administradores, en orden de id
+     * q busca por prefijo de email, nombre o apellido; para la página siguiente se envía after = nextCursor
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<UserDirectoryPage> searchUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) UserRole role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(userDirectoryService.search(q, role, active, after, limit));
+    }
+
     /**
      * GET /api/users/me
      * Obtiene la información completa del usuario actualmente autenticado
@@ -31,19 +52,13 @@ public class UserController {
      */
     @GetMapping("/me")
     @PreAuthorize("hasRole('ROLE_DONOR') or hasRole('ROLE_RECEIVER')")
-    public ResponseEntity<?> getCurrentUser(Authentication authentication) {
-        try {
-            String email = authentication.getName();
-            User user = userService.getUserByEmail(email);
-            UserResponse userResponse = userService.convertToResponse(user);
-            
-            System.out.println("✅ Información del usuario obtenida: " + email);
-            return ResponseEntity.ok(userResponse);
-        } catch (RuntimeException e) {
-            System.out.println("❌ Error obteniendo usuario: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ErrorResponse(e.getMessage()));
-        }
+    public ResponseEntity<UserResponse> getCurrentUser(Authentication authentication) {
+        String email = authentication.getName();
+        User user = userService.getUserByEmail(email);
+        UserResponse userResponse = userService.convertToResponse(user);
+
+        System.out.println("✅ Información del usuario obtenida: " + email);
+        return ResponseEntity.ok(userResponse);
     }
 
     /**
@@ -53,39 +68,14 @@ public class UserController {
      */
     @PutMapping("/me")
     @PreAuthorize("hasRole('ROLE_DONOR') or hasRole('ROLE_RECEIVER')")
-    public ResponseEntity<?> updateCurrentUser(
+    public ResponseEntity<UserResponse> updateCurrentUser(
             @Valid @RequestBody UserUpdateRequest userUpdateRequest,
             Authentication authentication) {
-        try {
-            String email = authentication.getName();
-            User updatedUser = userService.updateUser(email, userUpdateRequest);
-            UserResponse userResponse = userService.convertToResponse(updatedUser);
-            
-            System.out.println("✅ Usuario actualizado: " + email);
-            return ResponseEntity.ok(userResponse);
-        } catch (RuntimeException e) {
-            System.out.println("❌ Error actualizando usuario: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new ErrorResponse(e.getMessage()));
-        }
-    }
-
-    /**
-     * Clase interna para respuestas de error
-     */
-    private static class ErrorResponse {
-        private String message;
-
-        public ErrorResponse(String message) {
-            this.message = message;
-        }
-
-        public String getMessage() {
-            return message;
-        }
+        String email = authentication.getName();
+        User updatedUser = userService.updateUser(email, userUpdateRequest);
+        UserResponse userResponse = userService.convertToResponse(updatedUser);
 
-        public void setMessage(String message) {
-            this.message = message;
-        }
+        System.out.println("✅ Usuario actualizado: " + email);
+        return ResponseEntity.ok(userResponse);
     }
 }
@@ -0,0 +1,72 @@
+package com.resourceshare.dataset;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Escritor de filas CSV hacia un COPY ... FROM STDIN de PostgreSQL
+ * Las filas se acumulan en un búfer y se envían por bloques; null se escribe como campo vacío (NULL en CSV)
+ * Las filas quedan guardadas solo al llamar a finish()
+ */
+final class CopyWriter implements AutoCloseable {
+
+    private final CopyIn copyIn;
+    private final int bufferBytes;
+    private final StringBuilder buffer;
+    private long rows;
+
+    CopyWriter(Connection connection, String table, String columns, int bufferBytes) throws SQLException {
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + table + " (" + columns + ") FROM STDIN (FORMAT csv)");
+        this.bufferBytes = bufferBytes;
+        this.buffer = new StringBuilder(bufferBytes + 1024);
+    }
+
+    void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            Object value = values[i];
+            if (value instanceof String text) {
+                buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else if (value != null) {
+                buffer.append(value);
+            }
+        }
+        buffer.append('\n');
+        rows++;
+        if (buffer.length() >= bufferBytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    /**
+     * Envía lo pendiente y confirma el COPY; retorna las filas escritas
+     */
+    long finish() throws SQLException {
+        flush();
+        copyIn.endCopy();
+        return rows;
+    }
+
+    /**
+     * Si el COPY no se confirmó con finish() (error a mitad de la carga), se cancela y no se guarda ninguna fila
+     */
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package com.resourceshare.dataset;
+
+import com.resourceshare.config.DatasetProperties;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.geo.GeoHash;
+import com.resourceshare.shard.ShardContext;
+import com.resourceshare.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generador y cargador de datos sintéticos para pruebas de rendimiento
+ * (--spring.profiles.active=dataset, combinable con sharded; ver application-dataset.properties)
+ * Genera usuarios, donantes, recursos y su historial de eventos con una distribución realista:
+ * usuarios repartidos por ciudad según su población, recursos agrupados alrededor de barrios de cada ciudad,
+ * mezcla de categorías y estados configurable, fechas coherentes con cada estado y pocos donantes muy activos
+ * Las filas se escriben con COPY (sin pasar por JPA) y la contraseña se hashea una sola vez para todos
+ * Los ids y las secuencias de cambio se reservan por bloques en las secuencias de la BD, así la carga
+ * se suma a los datos existentes y la aplicación sigue asignando ids después
+ * Cada región recibe los usuarios de sus ciudades; al terminar, la aplicación se cierra
+ */
+@Component
+@ConditionalOnProperty(name = "dataset.generate", havingValue = "true")
+@Slf4j
+public class DatasetLoader implements ApplicationRunner {
+
+    private static final String EMAIL_DOMAIN = "@dataset.test";
+
+    // Ciudades con su centro y su peso en la cantidad de usuarios y recursos
+    private static final List<City> CITIES = List.of(
+            new City("Guayaquil", -2.1709, -79.9224, 0.27),
+            new City("Quito", -0.1807, -78.4678, 0.25),
+            new City("Machala", -3.2581, -79.9554, 0.10),
+            new City("Esmeraldas", 0.9682, -79.6517, 0.10),
+            new City("Cuenca", -2.9001, -79.0059, 0.09),
+            new City("Manta", -0.9677, -80.7089, 0.08),
+            new City("Ambato", -1.2491, -78.6168, 0.06),
+            new City("Loja", -3.9931, -79.2042, 0.05));
+
+    private static final String[] FIRST_NAMES = {"Maria", "Jose", "Ana", "Luis", "Carmen", "Carlos", "Rosa", "Jorge",
+            "Lucia", "Miguel", "Elena", "Diego", "Sofia", "Andres", "Paula", "Pedro", "Daniela", "Juan", "Gabriela", "Fernando"};
+
+    private static final String[] LAST_NAMES = {"Garcia", "Rodriguez", "Lopez", "Martinez", "Zambrano", "Mendoza",
+            "Vera", "Cedeno", "Torres", "Morales", "Castillo", "Ortiz", "Romero", "Vargas", "Chavez", "Reyes",
+            "Suarez", "Bravo", "Molina", "Salazar"};
+
+    private static final String[] STREETS = {"Av. 9 de Octubre", "Av. Amazonas", "Calle Bolivar", "Calle Sucre",
+            "Av. de las Americas", "Calle Rocafuerte", "Av. Colon", "Calle Olmedo", "Av. Quito", "Calle Chile"};
+
+    private static final Map<ResourceCategory, String[]> TITLES = Map.of(
+            ResourceCategory.FOOD, new String[]{"Arroz 5 kg", "Enlatados variados", "Leche en polvo", "Frutas de temporada"},
+            ResourceCategory.CLOTHING, new String[]{"Ropa de niño", "Chompas de abrigo", "Zapatos talla 38", "Uniformes escolares"},
+            ResourceCategory.TOOLS, new String[]{"Juego de destornilladores", "Taladro", "Caja de herramientas"},
+            ResourceCategory.TOYS, new String[]{"Juguetes didácticos", "Peluches", "Rompecabezas"},
+            ResourceCategory.FURNITURE, new String[]{"Mesa de comedor", "Silla de escritorio", "Cama de una plaza"},
+            ResourceCategory.ELECTRONICS, new String[]{"Licuadora", "Televisor 32 pulgadas", "Laptop usada"},
+            ResourceCategory.BOOKS, new String[]{"Libros de texto", "Novelas", "Diccionario"},
+            ResourceCategory.HYGIENE, new String[]{"Kit de aseo", "Pañales", "Jabón y champú"},
+            ResourceCategory.SCHOOL_SUPPLIES, new String[]{"Cuadernos", "Mochila", "Útiles escolares"},
+            ResourceCategory.OTHERS, new String[]{"Artículos varios", "Cobijas", "Maletas"});
+
+    @Autowired
+    private DatasetProperties properties;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        String passwordHash = passwordEncoder.encode(properties.getPassword());
+
+        Map<String, List<City>> citiesByShard = new LinkedHashMap<>();
+        for (City city : CITIES) {
+            citiesByShard.computeIfAbsent(shardRouter.forCity(city.name()), shard -> new ArrayList<>()).add(city);
+        }
+
+        Totals totals = new Totals();
+        int shardIndex = 0;
+        for (Map.Entry<String, List<City>> entry : citiesByShard.entrySet()) {
+            SplittableRandom random = new SplittableRandom(properties.getSeed() + shardIndex++);
+            ShardContext.run(entry.getKey(), () -> {
+                try {
+                    loadShard(entry.getKey(), entry.getValue(), passwordHash, random, totals);
+                } catch (SQLException e) {
+                    throw new IllegalStateException("No se pudieron cargar los datos en " + entry.getKey(), e);
+                }
+            });
+        }
+
+        long seconds = Math.max(1, Duration.ofNanos(System.nanoTime() - started).toSeconds());
+        log.info("Datos sintéticos cargados en {} s: {} usuarios, {} recursos, {} eventos ({} filas/s)",
+                seconds, totals.users, totals.resources, totals.events,
+                (totals.users * 2 + totals.resources + totals.events) / seconds);
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    /**
+     * Carga los usuarios y recursos de las ciudades de una región (ShardContext ya apunta a ella)
+     */
+    private void loadShard(String shard, List<City> cities, String passwordHash, SplittableRandom random, Totals totals)
+            throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        Choice<ResourceCategory> categories = new Choice<>(properties.getCategoryMix());
+        Choice<ResourceStatus> statuses = new Choice<>(properties.getStatusMix());
+
+        try (Connection connection = dataSource.getConnection();
+             Connection eventConnection = dataSource.getConnection()) {
+
+            List<CityPlan> plans = new ArrayList<>();
+            long shardUsers = 0;
+            long shardResources = 0;
+            for (City city : cities) {
+                long users = Math.round(properties.getUsers() * city.weight() / totalWeight());
+                long donors = Math.round(users * properties.getDonorRatio());
+                long resources = donors > 0 ? Math.round(properties.getResources() * city.weight() / totalWeight()) : 0;
+                plans.add(new CityPlan(city, donors, users - donors, resources, hotspots(city, random)));
+                shardUsers += users;
+                shardResources += resources;
+            }
+
+            // Usuarios: por ciudad, primero los donantes y después los receptores (ids consecutivos)
+            long nextUserId = reserve(connection, "pg_get_serial_sequence('users', 'id')", shardUsers);
+            try (CopyWriter users = new CopyWriter(connection, "users",
+                    "id, email, password, first_name, last_name, phone, role, active, created_at",
+                    properties.getCopyBufferBytes())) {
+                for (CityPlan plan : plans) {
+                    plan.firstDonorId = nextUserId;
+                    plan.firstReceiverId = nextUserId + plan.donors;
+                    for (long i = 0; i < plan.donors + plan.receivers; i++) {
+                        long id = nextUserId++;
+                        LocalDateTime createdAt = now.minus(properties.getHistory())
+                                .minusMinutes(random.nextLong(365L * 24 * 60));
+                        users.row(id, email(id), passwordHash, firstName(id), lastName(id), phone(id),
+                                i < plan.donors ? "DONOR" : "RECEIVER", true, createdAt);
+                    }
+                }
+                totals.users += users.finish();
+            }
+
+            long nextResourceId = reserve(connection, "pg_get_serial_sequence('resources', 'id')", shardResources);
+            long nextChangeSeq = reserve(connection, "'resource_change_seq'", shardResources);
+            try (CopyWriter resources = new CopyWriter(connection, "resources",
+                    "id, title, description, category, status, donor_id, latitude, longitude, geohash, address, "
+                            + "receiver_id, image_url, auto_confirm, created_at, claimed_at, picked_up_at, delivered_at, "
+                            + "status_changed_at, change_seq",
+                    properties.getCopyBufferBytes());
+                 CopyWriter events = properties.isEvents()
+                         ? new CopyWriter(eventConnection, "resource_events",
+                         "resource_id, from_status, to_status, actor, occurred_at", properties.getCopyBufferBytes())
+                         : null) {
+                for (CityPlan plan : plans) {
+                    for (long i = 0; i < plan.resources; i++) {
+                        writeResource(nextResourceId++, nextChangeSeq++, plan, categories.pick(random),
+                                statuses.pick(random), random, now, resources, events);
+                    }
+                }
+                totals.resources += resources.finish();
+                if (events != null) {
+                    totals.events += events.finish();
+                }
+            }
+
+            try (CopyWriter donors = new CopyWriter(connection, "donors",
+                    "id, address, city, total_donations, completed_donations", properties.getCopyBufferBytes())) {
+                for (CityPlan plan : plans) {
+                    for (int i = 0; i < plan.donors; i++) {
+                        donors.row(plan.firstDonorId + i, address(plan.city, random), plan.city.name(),
+                                plan.totalDonations[i], plan.completedDonations[i]);
+                    }
+                }
+                donors.finish();
+            }
+
+            // Estadísticas del planificador al día para las consultas de las pruebas
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE users, donors, resources, resource_events");
+            }
+        }
+        log.info("Región {}: datos sintéticos cargados", shard);
+    }
+
+    /**
+     * Genera un recurso con fechas coherentes con su estado y, si corresponde, los eventos de cada transición
+     */
+    private void writeResource(long id, long changeSeq, CityPlan plan, ResourceCategory category, ResourceStatus status,
+                               SplittableRandom random, LocalDateTime now, CopyWriter resources, CopyWriter events)
+            throws SQLException {
+        boolean autoConfirm = random.nextDouble() < properties.getAutoConfirmRatio();
+        if (plan.receivers == 0 && status != ResourceStatus.CANCELLED) {
+            status = ResourceStatus.AVAILABLE;
+        }
+        if (status == ResourceStatus.CLAIMED && autoConfirm) {
+            // Con confirmación automática el reclamo pasa directo a IN_TRANSIT
+            status = ResourceStatus.IN_TRANSIT;
+        }
+
+        // Pocos donantes publican la mayoría de los recursos
+        double u = random.nextDouble();
+        int donorIndex = (int) (plan.donors * u * u);
+        long donorId = plan.firstDonorId + donorIndex;
+        long receiverId = plan.receivers > 0 ? plan.firstReceiverId + random.nextLong(plan.receivers) : 0;
+
+        double[] hotspot = plan.hotspots[random.nextInt(plan.hotspots.length)];
+        double latitude = hotspot[0] + random.nextGaussian() * properties.getHotspotRadiusKm() / 111.0;
+        double longitude = hotspot[1] + random.nextGaussian() * properties.getHotspotRadiusKm()
+                / (111.0 * Math.cos(Math.toRadians(latitude)));
+
+        // La mayoría se publica de día
+        LocalDateTime createdAt = now.minusSeconds(random.nextLong(Math.max(1, properties.getHistory().toSeconds())));
+        if (random.nextDouble() < 0.8) {
+            createdAt = createdAt.withHour(8 + random.nextInt(13));
+        }
+        LocalDateTime claimedAt = null;
+        LocalDateTime pickedUpAt = null;
+        LocalDateTime endedAt = null;
+        LocalDateTime last = createdAt;
+        switch (status) {
+            case CANCELLED -> last = endedAt = after(createdAt, properties.getCancelDelay(), random);
+            case CLAIMED, IN_TRANSIT, DELIVERED -> {
+                last = claimedAt = after(createdAt, properties.getClaimDelay(), random);
+                if (status != ResourceStatus.CLAIMED) {
+                    last = pickedUpAt = autoConfirm ? claimedAt : after(claimedAt, properties.getPickupDelay(), random);
+                }
+                if (status == ResourceStatus.DELIVERED) {
+                    last = endedAt = after(pickedUpAt, properties.getDeliveryDelay(), random);
+                }
+            }
+            default -> {
+            }
+        }
+
+        // Los recursos abiertos cambiaron de estado en las últimas 24 h (antes de que venzan);
+        // los terminados no pueden tener fechas futuras
+        long shiftSeconds = 0;
+        if (status == ResourceStatus.AVAILABLE || status == ResourceStatus.CLAIMED || status == ResourceStatus.IN_TRANSIT) {
+            shiftSeconds = Duration.between(last, now.minusSeconds(random.nextLong(24 * 3600))).toSeconds();
+        } else if (last.isAfter(now)) {
+            shiftSeconds = -Duration.between(now.minusSeconds(random.nextLong(3600)), last).toSeconds();
+        }
+        createdAt = shift(createdAt, shiftSeconds);
+        claimedAt = shift(claimedAt, shiftSeconds);
+        pickedUpAt = shift(pickedUpAt, shiftSeconds);
+        endedAt = shift(endedAt, shiftSeconds);
+        last = shift(last, shiftSeconds);
+
+        boolean hasReceiver = claimedAt != null;
+        // Las cancelaciones guardan su fecha solo en status_changed_at
+        LocalDateTime deliveredAt = status == ResourceStatus.DELIVERED ? endedAt : null;
+        String[] titles = TITLES.get(category);
+        resources.row(id, titles[random.nextInt(titles.length)], "Donación generada para pruebas de rendimiento",
+                category.name(), status.name(), donorId, latitude, longitude, GeoHash.encode(latitude, longitude),
+                address(plan.city, random), hasReceiver ? receiverId : null, null, autoConfirm,
+                createdAt, claimedAt, pickedUpAt, deliveredAt, last, changeSeq);
+
+        plan.totalDonations[donorIndex]++;
+        if (status == ResourceStatus.DELIVERED) {
+            plan.completedDonations[donorIndex]++;
+        }
+
+        if (events == null) {
+            return;
+        }
+        events.row(id, null, ResourceStatus.AVAILABLE.name(), email(donorId), createdAt);
+        if (status == ResourceStatus.CANCELLED) {
+            events.row(id, ResourceStatus.AVAILABLE.name(), ResourceStatus.CANCELLED.name(), email(donorId), endedAt);
+        }
+        if (hasReceiver) {
+            ResourceStatus claimed = autoConfirm ? ResourceStatus.IN_TRANSIT : ResourceStatus.CLAIMED;
+            events.row(id, ResourceStatus.AVAILABLE.name(), claimed.name(), email(receiverId), claimedAt);
+            if (!autoConfirm && pickedUpAt != null) {
+                events.row(id, ResourceStatus.CLAIMED.name(), ResourceStatus.IN_TRANSIT.name(), email(donorId), pickedUpAt);
+            }
+        }
+        if (status == ResourceStatus.DELIVERED) {
+            events.row(id, ResourceStatus.IN_TRANSIT.name(), ResourceStatus.DELIVERED.name(), email(receiverId), endedAt);
+        }
+    }
+
+    /**
+     * Reserva n valores consecutivos de la secuencia y retorna el primero
+     */
+    private long reserve(Connection connection, String sequence, long n) throws SQLException {
+        if (n == 0) {
+            return 0;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT setval(" + sequence + ", nextval(" + sequence + ") + " + (n - 1) + ")")) {
+            resultSet.next();
+            return resultSet.getLong(1) - n + 1;
+        }
+    }
+
+    private double[][] hotspots(City city, SplittableRandom random) {
+        double[][] hotspots = new double[Math.max(1, properties.getHotspotsPerCity())][];
+        for (int i = 0; i < hotspots.length; i++) {
+            double latitude = city.latitude() + random.nextGaussian() * properties.getCityRadiusKm() / 111.0;
+            double longitude = city.longitude() + random.nextGaussian() * properties.getCityRadiusKm()
+                    / (111.0 * Math.cos(Math.toRadians(city.latitude())));
+            hotspots[i] = new double[]{latitude, longitude};
+        }
+        return hotspots;
+    }
+
+    // Demora con distribución exponencial de media mean
+    private static LocalDateTime after(LocalDateTime from, Duration mean, SplittableRandom random) {
+        return from.plusSeconds((long) (-Math.log(1 - random.nextDouble()) * mean.toSeconds()));
+    }
+
+    private static LocalDateTime shift(LocalDateTime value, long seconds) {
+        return value != null ? value.plusSeconds(seconds) : null;
+    }
+
+    private static double totalWeight() {
+        return CITIES.stream().mapToDouble(City::weight).sum();
+    }
+
+    // Nombre, apellido, email y teléfono se derivan del id: no hace falta guardarlos para los eventos
+    private static String firstName(long id) {
+        return FIRST_NAMES[Math.floorMod(id * 0x9e3779b97f4a7c15L >>> 33, FIRST_NAMES.length)];
+    }
+
+    private static String lastName(long id) {
+        return LAST_NAMES[Math.floorMod(id * 0xc2b2ae3d27d4eb4fL >>> 33, LAST_NAMES.length)];
+    }
+
+    private static String email(long id) {
+        return (firstName(id) + '.' + lastName(id) + '.' + id + EMAIL_DOMAIN).toLowerCase(Locale.ROOT);
+    }
+
+    private static String phone(long id) {
+        String digits = Long.toString(Math.floorMod(id * 7919, 100_000_000L));
+        return "09" + "0".repeat(8 - digits.length()) + digits;
+    }
+
+    private static String address(City city, SplittableRandom random) {
+        return STREETS[random.nextInt(STREETS.length)] + " y " + STREETS[random.nextInt(STREETS.length)]
+                + ", " + city.name();
+    }
+
+    private record City(String name, double latitude, double longitude, double weight) {
+    }
+
+    /**
+     * Usuarios y recursos de una ciudad; los contadores de donaciones se acumulan al generar los recursos
+     */
+    private static final class CityPlan {
+        private final City city;
+        private final long donors;
+        private final long receivers;
+        private final long resources;
+        private final double[][] hotspots;
+        private final int[] totalDonations;
+        private final int[] completedDonations;
+        private long firstDonorId;
+        private long firstReceiverId;
+
+        private CityPlan(City city, long donors, long receivers, long resources, double[][] hotspots) {
+            this.city = city;
+            this.donors = donors;
+            this.receivers = receivers;
+            this.resources = resources;
+            this.hotspots = hotspots;
+            this.totalDonations = new int[(int) donors];
+            this.completedDonations = new int[(int) donors];
+        }
+    }
+
+    /**
+     * Elección ponderada entre los valores de un enum
+     */
+    private static final class Choice<T> {
+        private final List<T> values = new ArrayList<>();
+        private final double[] cumulative;
+
+        private Choice(Map<T, Double> weights) {
+            cumulative = new double[weights.size()];
+            double total = 0;
+            for (Map.Entry<T, Double> entry : weights.entrySet()) {
+                total += entry.getValue();
+                cumulative[values.size()] = total;
+                values.add(entry.getKey());
+            }
+            if (total <= 0) {
+                throw new IllegalArgumentException("Las proporciones del generador deben sumar más que cero");
+            }
+        }
+
+        private T pick(SplittableRandom random) {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            for (int i = 0; i < cumulative.length; i++) {
+                if (target < cumulative[i]) {
+                    return values.get(i);
+                }
+            }
+            return values.get(values.size() - 1);
+        }
+    }
+
+    private static final class Totals {
+        private long users;
+        private long resources;
+        private long events;
+    }
+}
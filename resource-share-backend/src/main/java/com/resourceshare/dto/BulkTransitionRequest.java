@@ -0,0 +1,22 @@
+package com.resourceshare.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Petición de una acción en lote sobre varios recursos del donante
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransitionRequest {
+
+    @NotEmpty(message = "Debe indicar al menos un recurso")
+    @Size(max = 500, message = "Máximo 500 recursos por petición")
+    private List<Long> ids;
+}
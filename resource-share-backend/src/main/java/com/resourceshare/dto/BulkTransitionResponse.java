@@ -0,0 +1,23 @@
+package com.resourceshare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado de una acción en lote
+ * updated: recursos modificados con su estado nuevo
+ * skipped: ids que no se modificaron (no existen, no son del donante o su estado no lo permite)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTransitionResponse {
+
+    private List<ResourceResponse> updated;
+    private List<Long> skipped;
+}
@@ -0,0 +1,29 @@
+package com.resourceshare.dto;
+
+import com.resourceshare.enums.ResourceCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Grupo de recursos disponibles para mostrar en el mapa como un solo marcador
+ * Usado en GET /api/resources/clusters
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClusterResponse {
+
+    // Centroide de los recursos del grupo
+    private Double latitude;
+    private Double longitude;
+
+    private Integer count;
+
+    // Cantidad de recursos por categoría dentro del grupo
+    private Map<ResourceCategory, Integer> categories;
+}
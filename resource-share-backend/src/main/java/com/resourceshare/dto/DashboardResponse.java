@@ -0,0 +1,38 @@
+package com.resourceshare.dto;
+
+import com.resourceshare.enums.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Datos de la pantalla de inicio en una sola respuesta (GET /api/dashboard)
+ * Los contadores de donante o de receptor quedan en null según el rol del usuario
+ * partial = true cuando alguna consulta no respondió a tiempo y sus datos se omitieron
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardResponse {
+
+    private UserRole role;
+    private String firstName;
+    private String email;
+
+    // Contadores del donante
+    private Long totalDonations;
+    private Long activeDonations;
+    private Long completedDonations;
+    private Long claimedCount;
+
+    // Contadores del receptor
+    private Long nearbyResources;
+    private Long claimedResources;
+
+    private List<ResourceResponse> recentResources;
+    private boolean partial;
+}
@@ -0,0 +1,27 @@
+package com.resourceshare.dto;
+
+import com.resourceshare.enums.ResourceCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Fila del reporte de donaciones: contadores de un día para una categoría y una ciudad
+ * city es "" cuando el donante no indicó ciudad
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DonationReportRow {
+
+    private LocalDate day;
+    private ResourceCategory category;
+    private String city;
+    private long published;
+    private long claimed;
+    private long delivered;
+}
@@ -0,0 +1,22 @@
+package com.resourceshare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Resultado de la reconstrucción de los agregados de donaciones (filas escritas en el rango)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DonationRollupRebuildResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private int rows;
+}
@@ -0,0 +1,17 @@
+package com.resourceshare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Respuesta de error con un mensaje en formato JSON consistente
+ * Usado por GlobalExceptionHandler
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorResponse {
+
+    private String message;
+}
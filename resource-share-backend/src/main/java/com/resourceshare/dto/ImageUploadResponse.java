@@ -0,0 +1,26 @@
+package com.resourceshare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Respuesta después de subir una imagen
+ * La URL retornada se usa como imageUrl al publicar un recurso
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageUploadResponse {
+
+    private String hash;
+    private String url;
+    private String thumbnailUrl;
+    private String contentType;
+    private long size;
+
+    // true si la imagen ya existía y no se volvió a guardar
+    private boolean deduplicated;
+}
@@ -0,0 +1,29 @@
+package com.resourceshare.dto;
+
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Percentiles del tiempo que los recursos pasan en un estado antes de pasar a nextStatus
+ * Los tiempos están en segundos y se acumulan desde el arranque del nodo que responde
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LifecycleStageStats {
+
+    private ResourceStatus status;
+    private ResourceStatus nextStatus;
+    private ResourceCategory category;
+    private String region;
+    private long count;
+    private double p50Seconds;
+    private double p90Seconds;
+    private double p99Seconds;
+    private double maxSeconds;
+}
@@ -0,0 +1,25 @@
+package com.resourceshare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notificación de la bandeja de entrada
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationResponse {
+
+    private Long id;
+    private Long resourceId;
+    private Long savedSearchId;
+    private String message;
+    private boolean read;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,25 @@
+package com.resourceshare.dto;
+
+import com.resourceshare.enums.ResourceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transición registrada en el historial de un recurso
+ * Usado en GET /api/resources/{id}/history
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResourceEventResponse {
+
+    private ResourceStatus fromStatus;
+    private ResourceStatus toStatus;
+    private String actor;
+    private LocalDateTime occurredAt;
+}
@@ -36,10 +36,12 @@ public class ResourceResponse {
     private String receiverName;
 
     private String imageUrl;
+    private String thumbnailUrl;
 
     private Boolean autoConfirm;
 
     private LocalDateTime createdAt;
     private LocalDateTime claimedAt;
+    private LocalDateTime pickedUpAt;
     private LocalDateTime deliveredAt;
 }
@@ -0,0 +1,28 @@
+package com.resourceshare.dto;
+
+import com.resourceshare.enums.ResourceCategory;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Datos de entrada para crear una búsqueda guardada
+ * Enviado al endpoint POST /api/saved-searches; los criterios omitidos no filtran
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearchRequest {
+
+    private Set<ResourceCategory> categories;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    private Double radiusKm;
+
+    private String keywords;
+}
@@ -0,0 +1,28 @@
+package com.resourceshare.dto;
+
+import com.resourceshare.enums.ResourceCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Búsqueda guardada del usuario
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SavedSearchResponse {
+
+    private Long id;
+    private Set<ResourceCategory> categories;
+    private Double latitude;
+    private Double longitude;
+    private Double radiusKm;
+    private String keywords;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,28 @@
+package com.resourceshare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Respuesta de GET /api/sync
+ * upserts: recursos nuevos o modificados a guardar en el cliente
+ * removed: ids a quitar del cliente (cancelados, reclamos vencidos o archivados)
+ * fullResync: el token era demasiado antiguo; el cliente debe vaciar sus datos antes de aplicar la respuesta
+ * hasMore: quedan cambios; repetir con el token recibido
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncResponse {
+
+    private String token;
+    private boolean fullResync;
+    private boolean hasMore;
+    private List<ResourceResponse> upserts;
+    private List<Long> removed;
+}
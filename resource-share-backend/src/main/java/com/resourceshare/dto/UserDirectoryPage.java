@@ -0,0 +1,24 @@
+package com.resourceshare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página del directorio de usuarios (GET /api/users)
+ * nextCursor: id a enviar como after para la página siguiente; null si no hay más
+ * approximateTotal: total estimado por el planificador de PostgreSQL, no un COUNT(*) exacto
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserDirectoryPage {
+
+    private List<UserResponse> users;
+    private Long nextCursor;
+    private long approximateTotal;
+}
@@ -0,0 +1,82 @@
+package com.resourceshare.entity;
+
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Recurso en estado terminal (DELIVERED o CANCELLED) movido al histórico
+ * Tiene las mismas columnas que Resource para poder copiarse con un INSERT ... SELECT,
+ * así la tabla resources solo conserva los recursos activos y recientes
+ */
+@Entity
+@Table(name = "resources_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedResource {
+
+    // Se conserva el mismo id que tenía en la tabla resources
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 1000, nullable = false)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ResourceCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ResourceStatus status;
+
+    @ManyToOne
+    @JoinColumn(name = "donor_id", nullable = false)
+    private User donor;
+
+    @Column(nullable = false)
+    private Double latitude;
+
+    @Column(nullable = false)
+    private Double longitude;
+
+    @Column(length = 12)
+    private String geohash;
+
+    @Column(length = 500)
+    private String address;
+
+    @ManyToOne
+    @JoinColumn(name = "receiver_id")
+    private User receiver;
+
+    @Column(length = 1000)
+    private String imageUrl;
+
+    @Column(name = "auto_confirm", nullable = false)
+    private Boolean autoConfirm;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime claimedAt;
+
+    private LocalDateTime pickedUpAt;
+
+    private LocalDateTime deliveredAt;
+
+    // Momento en que el recurso llegó a su estado terminal (la fecha de cancelación en los CANCELLED)
+    private LocalDateTime statusChangedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
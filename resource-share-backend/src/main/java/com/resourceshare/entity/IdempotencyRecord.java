@@ -0,0 +1,47 @@
+package com.resourceshare.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Primera respuesta de una operación enviada con cabecera Idempotency-Key
+ * Solo se usa con idempotency.persistent=true, para que los reintentos que llegan a otra instancia
+ * reciban la misma respuesta; status nulo indica que la operación sigue en curso
+ */
+@Entity
+@Table(name = "idempotency_keys",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_email", "operation", "idempotency_key"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_email", nullable = false)
+    private String userEmail;
+
+    @Column(nullable = false, length = 32)
+    private String operation;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    // Huella de la petición original; la misma clave con otra petición se rechaza
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    private Integer status;
+
+    @Column(columnDefinition = "bytea")
+    private byte[] body;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
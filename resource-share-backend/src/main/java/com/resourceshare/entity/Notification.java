@@ -0,0 +1,45 @@
+package com.resourceshare.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notificación en la bandeja de entrada de un usuario
+ * Guarda el id y título del recurso sin clave foránea, para sobrevivir al archivado del recurso
+ */
+@Entity
+@Table(name = "notifications")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Notification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private Long resourceId;
+
+    // Búsqueda guardada que originó la notificación
+    private Long savedSearchId;
+
+    @Column(nullable = false, length = 500)
+    private String message;
+
+    @Column(name = "is_read", nullable = false)
+    private boolean read = false;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
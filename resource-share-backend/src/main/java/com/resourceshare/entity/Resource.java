@@ -55,6 +55,10 @@ public class Resource {
     @Column(nullable = false)
     private Double longitude;
 
+    // Geohash de latitude/longitude, indexado junto con status para las consultas por área
+    @Column(length = 12)
+    private String geohash;
+
     @Column(length = 500)
     private String address;
 
@@ -74,5 +78,15 @@ public class Resource {
 
     private LocalDateTime claimedAt;
 
+    // Momento en que el donante entregó el recurso al receptor (paso a IN_TRANSIT)
+    private LocalDateTime pickedUpAt;
+
     private LocalDateTime deliveredAt;
+
+    // Momento en que el recurso entró en su estado actual; null en recursos anteriores a esta columna
+    private LocalDateTime statusChangedAt;
+
+    // Secuencia de cambio (resource_change_seq), renovada en cada modificación; usada por la sincronización incremental
+    @Column(name = "change_seq")
+    private Long changeSeq;
 }
@@ -0,0 +1,43 @@
+package com.resourceshare.entity;
+
+import com.resourceshare.enums.ResourceStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada del diario de eventos de recursos (solo inserción)
+ * Registra cada cambio de estado con su actor y fecha para auditoría y analítica
+ * No tiene clave foránea hacia resources para sobrevivir al archivado de recursos
+ */
+@Entity
+@Table(name = "resource_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long resourceId;
+
+    // Null cuando el evento es la publicación del recurso
+    @Enumerated(EnumType.STRING)
+    private ResourceStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ResourceStatus toStatus;
+
+    @Column(nullable = false)
+    private String actor;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,54 @@
+package com.resourceshare.entity;
+
+import com.resourceshare.enums.ResourceCategory;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Búsqueda guardada de un usuario
+ * Cuando se publica un recurso que cumple todos sus criterios, el usuario recibe una notificación
+ * Criterios vacíos no filtran: sin categorías = todas, sin área = cualquier lugar, sin palabras = cualquier texto
+ */
+@Entity
+@Table(name = "saved_searches")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "saved_search_categories", joinColumns = @JoinColumn(name = "saved_search_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", nullable = false)
+    private Set<ResourceCategory> categories = EnumSet.noneOf(ResourceCategory.class);
+
+    // Centro y radio del área; los tres son null cuando la búsqueda no filtra por ubicación
+    private Double latitude;
+
+    private Double longitude;
+
+    private Double radiusKm;
+
+    // Palabras separadas por espacios; todas deben aparecer en el título o la descripción
+    @Column(length = 500)
+    private String keywords;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,39 @@
+package com.resourceshare.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de eliminación para la sincronización incremental
+ * Indica que un recurso salió de las vistas de un usuario sin que la fila lo refleje:
+ * el reclamo del receptor venció o el recurso se movió al histórico
+ * Las cancelaciones no necesitan marca porque la propia fila queda en estado CANCELLED
+ */
+@Entity
+@Table(name = "sync_tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long resourceId;
+
+    // Tomada de resource_change_seq, así se ordena junto con los cambios de los recursos
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,25 @@
+package com.resourceshare.enums;
+
+/**
+ * Métricas de los reportes de donaciones
+ * PUBLISHED: recurso publicado; CLAIMED: reclamado o retirado directamente; DELIVERED: entrega confirmada
+ */
+public enum DonationMetric {
+    PUBLISHED,
+    CLAIMED,
+    DELIVERED;
+
+    /**
+     * Métrica que cuenta la transición, o null si la transición no se reporta
+     * (cancelaciones, vencimientos y el paso de reclamado a en tránsito)
+     */
+    public static DonationMetric of(ResourceStatus from, ResourceStatus to) {
+        if (from == null) {
+            return to == ResourceStatus.AVAILABLE ? PUBLISHED : null;
+        }
+        if (from == ResourceStatus.AVAILABLE && (to == ResourceStatus.CLAIMED || to == ResourceStatus.IN_TRANSIT)) {
+            return CLAIMED;
+        }
+        return to == ResourceStatus.DELIVERED ? DELIVERED : null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.resourceshare.event;
+
+import com.resourceshare.entity.Resource;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de cambio de estado de un recurso
+ * Se publica en cada transición (publicación, reclamo, confirmaciones, cancelación y vencimientos)
+ * con una foto de los datos del recurso, para que los oyentes no tengan que volver a consultarlo
+ * fromStatus es null cuando el recurso se acaba de publicar
+ * fromStatusSince es el momento en que el recurso entró en fromStatus (null al publicar y en recursos antiguos)
+ * changeSeq es la secuencia de cambio que dejó la transición (la usa la invalidación entre nodos)
+ */
+public record ResourceTransitionEvent(
+        Long resourceId,
+        ResourceStatus fromStatus,
+        LocalDateTime fromStatusSince,
+        ResourceStatus toStatus,
+        String actor,
+        LocalDateTime occurredAt,
+        ResourceCategory category,
+        Double latitude,
+        Double longitude,
+        Long donorId,
+        Long receiverId,
+        Long changeSeq
+) {
+
+    // Actor usado para las transiciones automáticas (vencimientos)
+    public static final String SYSTEM_ACTOR = "system";
+
+    /**
+     * Crea el evento a partir del recurso ya modificado
+     * receiverId es el receptor vigente antes del cambio si la transición lo quitó
+     */
+    public static ResourceTransitionEvent of(Resource resource, ResourceStatus fromStatus, LocalDateTime fromStatusSince,
+                                             String actor, Long receiverId) {
+        return new ResourceTransitionEvent(
+                resource.getId(),
+                fromStatus,
+                fromStatusSince,
+                resource.getStatus(),
+                actor,
+                resource.getStatusChangedAt() != null ? resource.getStatusChangedAt() : LocalDateTime.now(),
+                resource.getCategory(),
+                resource.getLatitude(),
+                resource.getLongitude(),
+                resource.getDonor().getId(),
+                receiverId,
+                resource.getChangeSeq()
+        );
+    }
+
+    public static ResourceTransitionEvent of(Resource resource, ResourceStatus fromStatus, LocalDateTime fromStatusSince,
+                                             String actor) {
+        return of(resource, fromStatus, fromStatusSince, actor,
+                resource.getReceiver() != null ? resource.getReceiver().getId() : null);
+    }
+}
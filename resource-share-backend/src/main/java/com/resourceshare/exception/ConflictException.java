@@ -0,0 +1,18 @@
+package com.resourceshare.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * La operación no es posible en el estado actual, o el dato ya existe (409)
+ */
+public class ConflictException extends DomainException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.CONFLICT;
+    }
+}
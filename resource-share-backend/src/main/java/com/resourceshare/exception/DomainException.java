@@ -0,0 +1,20 @@
+package com.resourceshare.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Resultado esperado de una regla de negocio (recurso inexistente, sin permiso, estado inválido)
+ * No captura la traza de la pila: son el camino común en ráfagas de reclamos y la traza no aporta nada
+ * GlobalExceptionHandler las traduce a su código HTTP con un ErrorResponse
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+
+    /**
+     * Código HTTP con el que se responde
+     */
+    public abstract HttpStatus getStatus();
+}
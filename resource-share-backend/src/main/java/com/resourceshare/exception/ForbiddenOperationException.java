@@ -0,0 +1,18 @@
+package com.resourceshare.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * El usuario no tiene permiso sobre el recurso (403)
+ */
+public class ForbiddenOperationException extends DomainException {
+
+    public ForbiddenOperationException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.FORBIDDEN;
+    }
+}
@@ -0,0 +1,91 @@
+package com.resourceshare.exception;
+
+import com.resourceshare.dto.ErrorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+/**
+ * Traduce las excepciones de los controladores a respuestas HTTP con un ErrorResponse
+ * - DomainException: el código HTTP de la regla de negocio (404, 403, 409; 503 con Retry-After)
+ * - Validación y parámetros inválidos: 400
+ * - Credenciales inválidas: 401; sin permiso para el endpoint: 403
+ * - Fallos de almacenamiento: 500 (se registran con su causa)
+ */
+@RestControllerAdvice
+@Slf4j
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ErrorResponse> handleDomain(DomainException e) {
+        return toResponse(e);
+    }
+
+    @ExceptionHandler(UsernameNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleUserNotFound(UsernameNotFoundException e) {
+        return error(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ErrorResponse> handleAuthentication(AuthenticationException e) {
+        return error(HttpStatus.UNAUTHORIZED, "Credenciales inválidas");
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException e) {
+        return error(HttpStatus.FORBIDDEN, "No tienes permiso para realizar esta operación");
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException e) {
+        FieldError fieldError = e.getBindingResult().getFieldError();
+        String message = fieldError != null
+                ? fieldError.getField() + ": " + fieldError.getDefaultMessage()
+                : "Datos inválidos";
+        return error(HttpStatus.BAD_REQUEST, message);
+    }
+
+    @ExceptionHandler({
+            IllegalArgumentException.class,
+            HttpMessageNotReadableException.class,
+            MethodArgumentTypeMismatchException.class,
+            MissingServletRequestParameterException.class
+    })
+    public ResponseEntity<ErrorResponse> handleBadRequest(Exception e) {
+        String message = e instanceof IllegalArgumentException ? e.getMessage() : "Petición inválida";
+        return error(HttpStatus.BAD_REQUEST, message);
+    }
+
+    @ExceptionHandler(StorageException.class)
+    public ResponseEntity<ErrorResponse> handleStorage(StorageException e) {
+        log.error(e.getMessage(), e);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+    }
+
+    /**
+     * Respuesta de una regla de negocio; también la usa IdempotencyService para guardar el resultado
+     */
+    public static ResponseEntity<ErrorResponse> toResponse(DomainException e) {
+        if (e instanceof ServiceUnavailableException unavailable) {
+            return ResponseEntity.status(e.getStatus())
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(unavailable.getRetryAfterSeconds()))
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+        return error(e.getStatus(), e.getMessage());
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(new ErrorResponse(message));
+    }
+}
@@ -0,0 +1,18 @@
+package com.resourceshare.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * El recurso o usuario solicitado no existe (404)
+ */
+public class NotFoundException extends DomainException {
+
+    public NotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
+}
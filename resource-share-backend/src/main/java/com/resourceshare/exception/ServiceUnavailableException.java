@@ -0,0 +1,31 @@
+package com.resourceshare.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * El servicio todavía no puede atender la operación y el cliente debe reintentar más tarde (503)
+ * GlobalExceptionHandler agrega la cabecera Retry-After
+ */
+public class ServiceUnavailableException extends DomainException {
+
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+
+    /**
+     * Segundos que el cliente debe esperar antes de reintentar (al menos 1)
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
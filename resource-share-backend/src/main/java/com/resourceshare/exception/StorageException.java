@@ -0,0 +1,12 @@
+package com.resourceshare.exception;
+
+/**
+ * Fallo al leer o escribir archivos en el almacenamiento local (500)
+ * A diferencia de DomainException conserva la causa y la traza: es un error del servidor
+ */
+public class StorageException extends RuntimeException {
+
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,41 @@
+package com.resourceshare.geo;
+
+/**
+ * Rectángulo geográfico (oeste, sur, este, norte) en grados
+ * No contempla cajas que cruzan el antimeridiano
+ */
+public record BoundingBox(double minLongitude, double minLatitude, double maxLongitude, double maxLatitude) {
+
+    public BoundingBox {
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            throw new IllegalArgumentException("bbox inválido: el mínimo debe ser menor que el máximo");
+        }
+        if (minLatitude < -90 || maxLatitude > 90 || minLongitude < -180 || maxLongitude > 180) {
+            throw new IllegalArgumentException("bbox fuera de rango");
+        }
+    }
+
+    /**
+     * Interpreta el formato "oeste,sur,este,norte" usado en los parámetros ?bbox=
+     */
+    public static BoundingBox parse(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox debe tener el formato oeste,sur,este,norte");
+        }
+        try {
+            return new BoundingBox(
+                    Double.parseDouble(parts[0].trim()),
+                    Double.parseDouble(parts[1].trim()),
+                    Double.parseDouble(parts[2].trim()),
+                    Double.parseDouble(parts[3].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bbox contiene valores no numéricos");
+        }
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        return latitude >= minLatitude && latitude <= maxLatitude
+                && longitude >= minLongitude && longitude <= maxLongitude;
+    }
+}
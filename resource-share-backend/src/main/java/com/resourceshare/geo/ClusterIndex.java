@@ -0,0 +1,204 @@
+package com.resourceshare.geo;
+
+import com.resourceshare.enums.ResourceCategory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice de agrupamiento de marcadores por nivel de zoom
+ * Para cada nivel mantiene contadores por celda de una grilla Web Mercator (la misma proyección del mapa),
+ * con conteo y suma de coordenadas por categoría; agregar o quitar un punto actualiza una celda por nivel
+ * Las consultas solo leen las celdas del área visible, sin recorrer los recursos
+ */
+public class ClusterIndex {
+
+    // Cada tesela del mapa se divide en 4x4 celdas (~64 px por celda en teselas de 256 px)
+    private static final int CELL_BITS_PER_TILE = 2;
+    private static final int CATEGORIES = ResourceCategory.values().length;
+
+    private final int maxZoom;
+    private final List<Map<Long, Cell>> levels;
+    private final Map<Long, Point> points = new ConcurrentHashMap<>();
+
+    public ClusterIndex(int maxZoom) {
+        this.maxZoom = maxZoom;
+        this.levels = new ArrayList<>(maxZoom + 1);
+        for (int zoom = 0; zoom <= maxZoom; zoom++) {
+            levels.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Agrega un recurso; no hace nada si ya estaba indexado
+     */
+    public void add(Long id, double latitude, double longitude, ResourceCategory category) {
+        Point point = new Point(latitude, longitude, category);
+        if (points.putIfAbsent(id, point) != null) {
+            return;
+        }
+        for (int zoom = 0; zoom <= maxZoom; zoom++) {
+            // compute es atómico por clave, así una celda no se elimina mientras se le agrega un punto
+            levels.get(zoom).compute(cellKey(point, zoom), (key, cell) -> {
+                Cell target = cell != null ? cell : new Cell();
+                target.add(point, 1);
+                return target;
+            });
+        }
+    }
+
+    /**
+     * Quita un recurso; no hace nada si no estaba indexado
+     */
+    public void remove(Long id) {
+        Point point = points.remove(id);
+        if (point == null) {
+            return;
+        }
+        for (int zoom = 0; zoom <= maxZoom; zoom++) {
+            Map<Long, Cell> level = levels.get(zoom);
+            long key = cellKey(point, zoom);
+            // Elimina la celda cuando queda vacía
+            level.compute(key, (k, cell) -> {
+                if (cell == null) {
+                    return null;
+                }
+                cell.add(point, -1);
+                return cell.isEmpty() ? null : cell;
+            });
+        }
+    }
+
+    /**
+     * Retorna los grupos de un nivel de zoom dentro del área, opcionalmente filtrados por categorías
+     * Un zoom mayor a maxZoom se atiende con el último nivel
+     */
+    public List<Cluster> query(BoundingBox bbox, int zoom, Set<ResourceCategory> categories) {
+        int level = Math.max(0, Math.min(zoom, maxZoom));
+        Set<ResourceCategory> filter = categories == null || categories.isEmpty()
+                ? EnumSet.allOf(ResourceCategory.class) : categories;
+
+        int bits = level + CELL_BITS_PER_TILE;
+        long minX = cellX(bbox.minLongitude(), bits);
+        long maxX = cellX(bbox.maxLongitude(), bits);
+        long minY = cellY(bbox.maxLatitude(), bits);
+        long maxY = cellY(bbox.minLatitude(), bits);
+
+        Map<Long, Cell> cells = levels.get(level);
+        List<Cluster> clusters = new ArrayList<>();
+
+        // Si el área tiene menos celdas que el nivel se recorre el rango; si no, se recorren las celdas ocupadas
+        long area = (maxX - minX + 1) * (maxY - minY + 1);
+        if (area <= cells.size()) {
+            for (long x = minX; x <= maxX; x++) {
+                for (long y = minY; y <= maxY; y++) {
+                    Cell cell = cells.get(key(x, y));
+                    if (cell != null) {
+                        addCluster(clusters, cell, filter);
+                    }
+                }
+            }
+        } else {
+            for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                long x = entry.getKey() >>> 32;
+                long y = entry.getKey() & 0xFFFFFFFFL;
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    addCluster(clusters, entry.getValue(), filter);
+                }
+            }
+        }
+        return clusters;
+    }
+
+    private void addCluster(List<Cluster> clusters, Cell cell, Set<ResourceCategory> filter) {
+        Cluster cluster = cell.toCluster(filter);
+        if (cluster != null) {
+            clusters.add(cluster);
+        }
+    }
+
+    private long cellKey(Point point, int zoom) {
+        int bits = zoom + CELL_BITS_PER_TILE;
+        return key(cellX(point.longitude, bits), cellY(point.latitude, bits));
+    }
+
+    private static long key(long x, long y) {
+        return (x << 32) | y;
+    }
+
+    private static long cellX(double longitude, int bits) {
+        long cells = 1L << bits;
+        long x = (long) Math.floor((longitude + 180.0) / 360.0 * cells);
+        return Math.max(0, Math.min(cells - 1, x));
+    }
+
+    private static long cellY(double latitude, int bits) {
+        long cells = 1L << bits;
+        // Web Mercator: la proyección se corta en ±85.0511°, igual que las teselas del mapa
+        double clamped = Math.max(-85.05112878, Math.min(85.05112878, latitude));
+        double radians = Math.toRadians(clamped);
+        double y = (1.0 - Math.log(Math.tan(radians) + 1.0 / Math.cos(radians)) / Math.PI) / 2.0 * cells;
+        return Math.max(0, Math.min(cells - 1, (long) Math.floor(y)));
+    }
+
+    private record Point(double latitude, double longitude, ResourceCategory category) {
+    }
+
+    /**
+     * Contadores de una celda, desglosados por categoría
+     */
+    private static final class Cell {
+        private final int[] counts = new int[CATEGORIES];
+        private final double[] latitudeSums = new double[CATEGORIES];
+        private final double[] longitudeSums = new double[CATEGORIES];
+        private int total;
+
+        synchronized void add(Point point, int delta) {
+            int c = point.category.ordinal();
+            counts[c] += delta;
+            latitudeSums[c] += delta * point.latitude;
+            longitudeSums[c] += delta * point.longitude;
+            total += delta;
+        }
+
+        synchronized boolean isEmpty() {
+            return total <= 0;
+        }
+
+        synchronized Cluster toCluster(Set<ResourceCategory> filter) {
+            int count = 0;
+            double latitude = 0;
+            double longitude = 0;
+            Map<ResourceCategory, Integer> breakdown = new EnumMap<>(ResourceCategory.class);
+            for (ResourceCategory category : filter) {
+                int c = category.ordinal();
+                if (counts[c] > 0) {
+                    count += counts[c];
+                    latitude += latitudeSums[c];
+                    longitude += longitudeSums[c];
+                    breakdown.put(category, counts[c]);
+                }
+            }
+            return count == 0 ? null : new Cluster(latitude / count, longitude / count, count, breakdown);
+        }
+    }
+
+    /**
+     * Grupo de recursos: centroide, cantidad total y desglose por categoría
+     */
+    public record Cluster(double latitude, double longitude, int count, Map<ResourceCategory, Integer> categories) {
+    }
+}
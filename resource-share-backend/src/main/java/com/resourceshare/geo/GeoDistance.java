@@ -0,0 +1,39 @@
+package com.resourceshare.geo;
+
+/**
+ * Cálculos de distancia sobre la esfera terrestre
+ */
+public final class GeoDistance {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoDistance() {
+    }
+
+    /**
+     * Distancia en kilómetros entre dos puntos (fórmula de haversine)
+     */
+    public static double kilometers(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLat = Math.toRadians(latitude2 - latitude1);
+        double dLon = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Rectángulo que contiene el círculo de radio radiusKm alrededor del punto
+     * Se recorta a los límites válidos; no contempla el antimeridiano
+     */
+    public static BoundingBox boundingBox(double latitude, double longitude, double radiusKm) {
+        double dLat = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double cos = Math.cos(Math.toRadians(latitude));
+        double dLon = cos < 1e-6 ? 180 : Math.min(180, dLat / cos);
+        return new BoundingBox(
+                Math.max(-180, longitude - dLon),
+                Math.max(-90, latitude - dLat),
+                Math.min(180, longitude + dLon),
+                Math.min(90, latitude + dLat));
+    }
+}
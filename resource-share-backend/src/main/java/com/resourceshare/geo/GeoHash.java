@@ -0,0 +1,159 @@
+package com.resourceshare.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Codificación geohash (base 32) de coordenadas
+ * Puntos cercanos comparten prefijo, así un área se traduce en pocos rangos de texto que un índice B-tree resuelve
+ */
+public final class GeoHash {
+
+    /**
+     * Precisión guardada en la columna resources.geohash (~5 m x 5 m)
+     */
+    public static final int STORED_PRECISION = 9;
+
+    private static final String ALPHABET = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    // Máximo de celdas con que se cubre un área antes de bajar la precisión
+    private static final int MAX_COVER_CELLS = 16;
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude) {
+        return encode(latitude, longitude, STORED_PRECISION);
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int value = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    value = (value << 1) | 1;
+                    minLon = mid;
+                } else {
+                    value <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    value = (value << 1) | 1;
+                    minLat = mid;
+                } else {
+                    value <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(ALPHABET.charAt(value));
+                bit = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Rangos [desde, hasta) de geohash que cubren el área
+     * Se usa la mayor precisión con la que el área cabe en MAX_COVER_CELLS celdas,
+     * y las celdas consecutivas en orden geohash se fusionan en un solo rango
+     * Los rangos pueden incluir puntos fuera del área: el filtro exacto se aplica después
+     */
+    public static List<Range> coveringRanges(BoundingBox box) {
+        TreeSet<String> cells = new TreeSet<>();
+        for (int precision = STORED_PRECISION; precision >= 1; precision--) {
+            cells = coveringCells(box, precision, MAX_COVER_CELLS);
+            if (cells != null) {
+                break;
+            }
+        }
+
+        List<Range> ranges = new ArrayList<>();
+        if (cells == null) {
+            // El área es casi el mundo entero: un rango sin límites
+            ranges.add(new Range("", null));
+            return ranges;
+        }
+
+        Range current = null;
+        for (String cell : cells) {
+            String upper = successor(cell);
+            if (current != null && cell.equals(current.to())) {
+                current = new Range(current.from(), upper);
+            } else {
+                if (current != null) {
+                    ranges.add(current);
+                }
+                current = new Range(cell, upper);
+            }
+        }
+        ranges.add(current);
+        return ranges;
+    }
+
+    /**
+     * Celdas de la precisión indicada que tocan el área, en orden geohash, o null si son más de maxCells
+     */
+    public static TreeSet<String> coveringCells(BoundingBox box, int precision, int maxCells) {
+        int lonBits = (precision * 5 + 1) / 2;
+        int latBits = precision * 5 / 2;
+        double cellWidth = 360.0 / (1L << lonBits);
+        double cellHeight = 180.0 / (1L << latBits);
+
+        long columns = (long) Math.floor((box.maxLongitude() + 180) / cellWidth)
+                - (long) Math.floor((box.minLongitude() + 180) / cellWidth) + 1;
+        long rows = (long) Math.floor((box.maxLatitude() + 90) / cellHeight)
+                - (long) Math.floor((box.minLatitude() + 90) / cellHeight) + 1;
+        if (columns * rows > maxCells) {
+            return null;
+        }
+
+        TreeSet<String> cells = new TreeSet<>();
+        for (long row = 0; row < rows; row++) {
+            double latitude = Math.min(box.maxLatitude(), box.minLatitude() + row * cellHeight);
+            for (long column = 0; column < columns; column++) {
+                double longitude = Math.min(box.maxLongitude(), box.minLongitude() + column * cellWidth);
+                cells.add(encode(latitude, longitude, precision));
+            }
+        }
+        // Las esquinas superiores pueden caer en una celda que el paso no alcanzó
+        cells.add(encode(box.maxLatitude(), box.maxLongitude(), precision));
+        cells.add(encode(box.minLatitude(), box.maxLongitude(), precision));
+        cells.add(encode(box.maxLatitude(), box.minLongitude(), precision));
+        return cells;
+    }
+
+    /**
+     * Menor cadena mayor que todas las que empiezan con el prefijo (incrementa el último carácter con acarreo)
+     * Retorna null si el prefijo es todo "z" (no hay límite superior)
+     */
+    static String successor(String prefix) {
+        char[] chars = prefix.toCharArray();
+        for (int i = chars.length - 1; i >= 0; i--) {
+            int index = ALPHABET.indexOf(chars[i]);
+            if (index < ALPHABET.length() - 1) {
+                chars[i] = ALPHABET.charAt(index + 1);
+                return new String(chars, 0, i + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rango de geohash: from inclusivo, to exclusivo (null = sin límite superior)
+     */
+    public record Range(String from, String to) {
+    }
+}
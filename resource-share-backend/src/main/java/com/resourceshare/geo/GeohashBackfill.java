@@ -0,0 +1,53 @@
+package com.resourceshare.geo;
+
+import com.resourceshare.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Completa la columna geohash de los recursos creados antes de que existiera
+ * Se ejecuta al iniciar, por lotes y en cada región, y no hace nada cuando todos los recursos ya la tienen
+ */
+@Component
+@Slf4j
+public class GeohashBackfill {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        shardRouter.forEachShard(this::backfillShard);
+    }
+
+    private void backfillShard() {
+        int total = 0;
+        while (true) {
+            List<Object[]> batch = jdbcTemplate.query(
+                    "SELECT id, latitude, longitude FROM resources WHERE geohash IS NULL ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new Object[]{
+                            GeoHash.encode(rs.getDouble("latitude"), rs.getDouble("longitude")),
+                            rs.getLong("id")},
+                    BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+            jdbcTemplate.batchUpdate("UPDATE resources SET geohash = ? WHERE id = ? AND geohash IS NULL", batch);
+            total += batch.size();
+        }
+        if (total > 0) {
+            log.info("Geohash calculado para {} recursos existentes", total);
+        }
+    }
+}
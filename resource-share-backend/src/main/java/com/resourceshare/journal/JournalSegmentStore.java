@@ -0,0 +1,176 @@
+package com.resourceshare.journal;
+
+import com.resourceshare.config.JournalProperties;
+import com.resourceshare.entity.ResourceEvent;
+import com.resourceshare.enums.ResourceStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Almacén local de segmentos del diario de eventos
+ * Guarda en disco los eventos que no se pudieron escribir en la BD (cola llena o BD caída)
+ * Cada escritura se sincroniza con fsync antes de retornar, así un evento aceptado no se pierde
+ * Formato: una línea por evento con campos separados por tabulador
+ */
+@Component
+@Slf4j
+public class JournalSegmentStore {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String NO_STATUS = "-";
+
+    @Autowired
+    private JournalProperties properties;
+
+    private Path directory;
+    private FileChannel channel;
+    private BufferedWriter writer;
+    private long sequence;
+
+    private final ReentrantLock replayLock = new ReentrantLock();
+
+    @PostConstruct
+    void init() throws IOException {
+        directory = Files.createDirectories(Paths.get(properties.getSegmentDir()).toAbsolutePath());
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        closeCurrentSegment();
+    }
+
+    /**
+     * Agrega eventos al segmento actual y fuerza su escritura en disco
+     */
+    public synchronized void append(List<ResourceEvent> events) {
+        try {
+            if (writer == null || channel.size() >= properties.getSegmentMaxBytes()) {
+                openNewSegment();
+            }
+            for (ResourceEvent event : events) {
+                writer.write(format(event));
+                writer.newLine();
+            }
+            writer.flush();
+            channel.force(false);
+        } catch (IOException e) {
+            // Último recurso: si tampoco se puede escribir en disco, el evento queda solo en el log
+            log.error("No se pudieron guardar {} eventos del diario en disco: {}", events.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reenvía los segmentos pendientes, en orden, y borra cada uno después de escribirlo
+     * Solo se toma el lock para cerrar el segmento actual y listar los cerrados: la lectura y el envío a la BD
+     * (que puede ser lento justo cuando hay segmentos) no bloquean a append
+     * Si el escritor falla se detiene y el segmento queda para el próximo intento
+     * (entrega al menos una vez: un segmento reenviado a medias puede duplicar algunas filas)
+     */
+    public int replay(Consumer<List<ResourceEvent>> sink, int batchSize) throws IOException {
+        if (!replayLock.tryLock()) {
+            // Ya hay un reenvío en curso
+            return 0;
+        }
+        try {
+            int replayed = 0;
+            for (Path segment : closeAndListSegments()) {
+                List<ResourceEvent> events = Files.readAllLines(segment, StandardCharsets.UTF_8).stream()
+                        .filter(line -> !line.isBlank())
+                        .map(this::parse)
+                        .collect(Collectors.toList());
+                for (int i = 0; i < events.size(); i += batchSize) {
+                    sink.accept(events.subList(i, Math.min(events.size(), i + batchSize)));
+                }
+                Files.delete(segment);
+                replayed += events.size();
+            }
+            return replayed;
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    // Los eventos agregados desde aquí van a un segmento nuevo, que no está en la lista
+    private synchronized List<Path> closeAndListSegments() throws IOException {
+        closeCurrentSegment();
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Indica si hay eventos en disco que todavía no se reenviaron a la BD
+     */
+    public synchronized boolean hasSegments() throws IOException {
+        if (writer != null) {
+            return true;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.anyMatch(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX));
+        }
+    }
+
+    private void openNewSegment() throws IOException {
+        closeCurrentSegment();
+        // Nombre ordenable: milisegundos con ancho fijo más un contador para segmentos del mismo instante
+        String name = String.format("%s%015d-%06d%s", SEGMENT_PREFIX, System.currentTimeMillis(), sequence++, SEGMENT_SUFFIX);
+        channel = FileChannel.open(directory.resolve(name),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+    }
+
+    private void closeCurrentSegment() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Error cerrando segmento del diario: {}", e.getMessage());
+            }
+            writer = null;
+            channel = null;
+        }
+    }
+
+    private String format(ResourceEvent event) {
+        return String.join("\t",
+                String.valueOf(event.getResourceId()),
+                event.getFromStatus() != null ? event.getFromStatus().name() : NO_STATUS,
+                event.getToStatus().name(),
+                event.getActor(),
+                event.getOccurredAt().toString());
+    }
+
+    private ResourceEvent parse(String line) {
+        String[] fields = line.split("\t");
+        ResourceEvent event = new ResourceEvent();
+        event.setResourceId(Long.valueOf(fields[0]));
+        event.setFromStatus(NO_STATUS.equals(fields[1]) ? null : ResourceStatus.valueOf(fields[1]));
+        event.setToStatus(ResourceStatus.valueOf(fields[2]));
+        event.setActor(fields[3]);
+        event.setOccurredAt(LocalDateTime.parse(fields[4]));
+        return event;
+    }
+}
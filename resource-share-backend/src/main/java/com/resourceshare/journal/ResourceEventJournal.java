@@ -0,0 +1,221 @@
+package com.resourceshare.journal;
+
+import com.resourceshare.config.JournalProperties;
+import com.resourceshare.entity.ResourceEvent;
+import com.resourceshare.event.ResourceTransitionEvent;
+import com.resourceshare.shard.ShardContext;
+import com.resourceshare.shard.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diario de eventos de recursos con escritura diferida en lotes
+ * Las transiciones confirmadas se encolan en memoria (cola acotada) y un hilo escritor las inserta
+ * en resource_events con JDBC batch, fuera del camino de reclamo/entrega
+ * Si la cola está llena o la BD falla, los eventos se guardan en segmentos locales y se reenvían después
+ * Con la cola llena los eventos pasan a una cola de desborde sin límite que otro hilo escribe en disco en lotes
+ * (un fsync por lote), así el hilo de la petición nunca espera al disco ni al lock de los segmentos
+ */
+@Component
+@Slf4j
+public class ResourceEventJournal {
+
+    private static final long DRAIN_POLL_MILLIS = 20;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO resource_events (resource_id, from_status, to_status, actor, occurred_at) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JournalSegmentStore segmentStore;
+
+    @Autowired
+    private JournalProperties properties;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private BlockingQueue<ResourceEvent> queue;
+    private BlockingQueue<ResourceEvent> overflow;
+    private Thread writerThread;
+    private Thread overflowThread;
+    private volatile boolean running;
+
+    // Eventos aceptados que todavía no se escribieron en la BD ni en un segmento
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        running = true;
+        writerThread = new Thread(this::writeLoop, "journal-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        overflow = new LinkedBlockingQueue<>();
+        overflowThread = new Thread(this::overflowLoop, "journal-overflow");
+        overflowThread.setDaemon(true);
+        overflowThread.start();
+    }
+
+    /**
+     * Detiene los escritores después de vaciar las colas
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(properties.getPollTimeout().toMillis() * 4);
+        overflowThread.join(properties.getPollTimeout().toMillis() * 4);
+        List<ResourceEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        overflow.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            segmentStore.append(remaining);
+        }
+    }
+
+    /**
+     * Recibe cada transición después del commit de su transacción
+     * Nunca bloquea al hilo de la petición: si la cola está llena el evento pasa a la cola de desborde
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(ResourceTransitionEvent event) {
+        ResourceEvent entry = new ResourceEvent(null, event.resourceId(), event.fromStatus(),
+                event.toStatus(), event.actor(), event.occurredAt());
+        inFlight.incrementAndGet();
+        if (!queue.offer(entry)) {
+            overflow.add(entry);
+        }
+    }
+
+    /**
+     * Reenvía a la BD los segmentos guardados en disco
+     */
+    @Scheduled(fixedDelayString = "${journal.replay-interval}")
+    public void replaySegments() {
+        try {
+            int replayed = segmentStore.replay(this::insert, properties.getBatchSize());
+            if (replayed > 0) {
+                log.info("Diario: {} eventos reenviados desde segmentos locales", replayed);
+            }
+        } catch (IOException | DataAccessException e) {
+            log.warn("No se pudieron reenviar los segmentos del diario: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Espera a que se escriba todo lo encolado y reenvía los segmentos en disco
+     * Retorna true si todos los eventos aceptados hasta ahora quedaron en resource_events
+     * Lo usa la reconstrucción de agregados, que recalcula desde resource_events
+     */
+    public boolean drain(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            Thread.sleep(DRAIN_POLL_MILLIS);
+        }
+        try {
+            segmentStore.replay(this::insert, properties.getBatchSize());
+            return !segmentStore.hasSegments();
+        } catch (IOException | DataAccessException e) {
+            log.warn("No se pudieron reenviar los segmentos del diario: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Bucle del escritor: espera el primer evento y toma todos los que ya están en cola (hasta batchSize),
+     * así con poca carga escribe enseguida y con mucha carga agrupa automáticamente
+     */
+    private void writeLoop() {
+        List<ResourceEvent> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                ResourceEvent first = queue.poll(properties.getPollTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                inFlight.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Bucle del hilo de desborde: escribe en segmentos todo lo acumulado desde la última escritura
+     */
+    private void overflowLoop() {
+        List<ResourceEvent> batch = new ArrayList<>();
+        while (running || !overflow.isEmpty()) {
+            try {
+                ResourceEvent first = overflow.poll(properties.getPollTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                overflow.drainTo(batch);
+                segmentStore.append(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                inFlight.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<ResourceEvent> batch) {
+        try {
+            insert(batch);
+        } catch (DataAccessException e) {
+            log.warn("BD no disponible para el diario, {} eventos guardados en disco: {}", batch.size(), e.getMessage());
+            segmentStore.append(new ArrayList<>(batch));
+        }
+    }
+
+    // Cada evento se guarda en la región de su recurso
+    private void insert(List<ResourceEvent> batch) {
+        shardRouter.groupById(batch, ResourceEvent::getResourceId)
+                .forEach((shard, events) -> ShardContext.run(shard, () -> insertInCurrentShard(events)));
+    }
+
+    private void insertInCurrentShard(List<ResourceEvent> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, event) -> {
+            statement.setLong(1, event.getResourceId());
+            statement.setString(2, event.getFromStatus() != null ? event.getFromStatus().name() : null);
+            statement.setString(3, event.getToStatus().name());
+            statement.setString(4, event.getActor());
+            statement.setTimestamp(5, Timestamp.valueOf(event.getOccurredAt()));
+        });
+    }
+}
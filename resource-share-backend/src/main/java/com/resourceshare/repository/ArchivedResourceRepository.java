@@ -0,0 +1,70 @@
+package com.resourceshare.repository;
+
+import com.resourceshare.entity.ArchivedResource;
+import com.resourceshare.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio del histórico de recursos
+ * Contiene los recursos terminales movidos fuera de la tabla resources
+ */
+@Repository
+public interface ArchivedResourceRepository extends JpaRepository<ArchivedResource, Long> {
+
+    /**
+     * Recursos históricos publicados por un donante
+     */
+    List<ArchivedResource> findByDonor(User donor);
+
+    /**
+     * Recursos históricos recibidos por un receptor
+     */
+    List<ArchivedResource> findByReceiver(User receiver);
+
+    /**
+     * Cantidad de recursos históricos del receptor por categoría
+     */
+    @Query("SELECT a.category AS category, COUNT(a) AS total FROM ArchivedResource a WHERE a.receiver = :receiver " +
+           "GROUP BY a.category")
+    List<ResourceRepository.CategoryCountView> countByReceiverGroupByCategory(@Param("receiver") User receiver);
+
+    /**
+     * Bloquea y retorna un lote de ids de recursos terminales anteriores al corte
+     * Las entregas se miden por delivered_at y las cancelaciones por status_changed_at
+     * SKIP LOCKED evita esperar por filas que otra transacción esté modificando
+     */
+    @Query(value = "SELECT id FROM resources " +
+                   "WHERE (status = 'DELIVERED' AND delivered_at < :cutoff) " +
+                   "OR (status = 'CANCELLED' AND status_changed_at < :cutoff) " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Copia un lote de recursos de la tabla resources al histórico
+     */
+    @Modifying
+    @Query(value = "INSERT INTO resources_archive (id, title, description, category, status, donor_id, " +
+                   "latitude, longitude, geohash, address, receiver_id, image_url, auto_confirm, " +
+                   "created_at, claimed_at, picked_up_at, delivered_at, status_changed_at, archived_at) " +
+                   "SELECT id, title, description, category, status, donor_id, " +
+                   "latitude, longitude, geohash, address, receiver_id, image_url, auto_confirm, " +
+                   "created_at, claimed_at, picked_up_at, delivered_at, status_changed_at, :archivedAt " +
+                   "FROM resources WHERE id IN (:ids)",
+           nativeQuery = true)
+    int copyFromResources(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Elimina de la tabla resources un lote ya copiado al histórico
+     */
+    @Modifying
+    @Query(value = "DELETE FROM resources WHERE id IN (:ids)", nativeQuery = true)
+    int deleteFromResources(@Param("ids") List<Long> ids);
+}
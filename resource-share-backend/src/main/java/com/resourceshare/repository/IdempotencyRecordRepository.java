@@ -0,0 +1,61 @@
+package com.resourceshare.repository;
+
+import com.resourceshare.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repositorio de respuestas guardadas por clave de idempotencia
+ * Cada método corre en su propia transacción corta, separada de la operación que protege
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByUserEmailAndOperationAndIdempotencyKey(String userEmail, String operation, String idempotencyKey);
+
+    /**
+     * Reserva la clave marcándola en curso; retorna 0 si otra instancia ya la reservó
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_keys (user_email, operation, idempotency_key, fingerprint, created_at) " +
+                   "VALUES (:userEmail, :operation, :key, :fingerprint, :now) " +
+                   "ON CONFLICT (user_email, operation, idempotency_key) DO NOTHING",
+           nativeQuery = true)
+    int reserve(@Param("userEmail") String userEmail, @Param("operation") String operation, @Param("key") String key,
+                @Param("fingerprint") String fingerprint, @Param("now") LocalDateTime now);
+
+    /**
+     * Guarda la respuesta de una clave reservada
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.body = :body " +
+           "WHERE r.userEmail = :userEmail AND r.operation = :operation AND r.idempotencyKey = :key")
+    int complete(@Param("userEmail") String userEmail, @Param("operation") String operation, @Param("key") String key,
+                 @Param("status") int status, @Param("body") byte[] body);
+
+    /**
+     * Libera una clave reservada cuya operación falló sin respuesta definitiva, para permitir el reintento
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r " +
+           "WHERE r.userEmail = :userEmail AND r.operation = :operation AND r.idempotencyKey = :key AND r.status IS NULL")
+    int release(@Param("userEmail") String userEmail, @Param("operation") String operation, @Param("key") String key);
+
+    /**
+     * Elimina las claves anteriores al corte de vigencia
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
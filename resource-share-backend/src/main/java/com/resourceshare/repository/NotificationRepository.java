@@ -0,0 +1,34 @@
+package com.resourceshare.repository;
+
+import com.resourceshare.entity.Notification;
+import com.resourceshare.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio de notificaciones de la bandeja de entrada
+ */
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    List<Notification> findByUserOrderByCreatedAtDescIdDesc(User user);
+
+    List<Notification> findByUserAndReadFalseOrderByCreatedAtDescIdDesc(User user);
+
+    long countByUserAndReadFalse(User user);
+
+    Optional<Notification> findByIdAndUser(Long id, User user);
+
+    /**
+     * Marca como leídas todas las notificaciones pendientes del usuario
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user = :user AND n.read = false")
+    int markAllRead(@Param("user") User user);
+}
@@ -0,0 +1,20 @@
+package com.resourceshare.repository;
+
+import com.resourceshare.entity.ResourceEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositorio del diario de eventos de recursos
+ * Las inserciones se hacen en lote desde ResourceEventJournal, aquí solo se consulta
+ */
+@Repository
+public interface ResourceEventRepository extends JpaRepository<ResourceEvent, Long> {
+
+    /**
+     * Historial de transiciones de un recurso en orden cronológico
+     */
+    List<ResourceEvent> findByResourceIdOrderByOccurredAtAscIdAsc(Long resourceId);
+}
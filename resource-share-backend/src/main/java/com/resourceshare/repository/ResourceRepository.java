@@ -2,10 +2,17 @@ package com.resourceshare.repository;
 
 import com.resourceshare.entity.Resource;
 import com.resourceshare.entity.User;
+import com.resourceshare.enums.ResourceCategory;
 import com.resourceshare.enums.ResourceStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,7 +20,7 @@ import java.util.List;
  * Proporciona métodos para acceder a la tabla resources en la base de datos
  */
 @Repository
-public interface ResourceRepository extends JpaRepository<Resource, Long> {
+public interface ResourceRepository extends JpaRepository<Resource, Long>, ResourceRepositoryCustom {
 
     /**
      * Busca todos los recursos con un estado específico
@@ -44,4 +51,132 @@ public interface ResourceRepository extends JpaRepository<Resource, Long> {
      * Útil para obtener recursos IN_TRANSIT o CLAIMED de un receptor
      */
     List<Resource> findByReceiverAndStatus(User receiver, ResourceStatus status);
+
+    /**
+     * Obtiene solo id, categoría y fechas de los recursos en un estado
+     * Usado para reconstruir los vencimientos al iniciar sin cargar entidades completas
+     */
+    @Query("SELECT r.id AS id, r.category AS category, r.createdAt AS createdAt, r.claimedAt AS claimedAt " +
+           "FROM Resource r WHERE r.status = :status")
+    List<DeadlineView> findDeadlinesByStatus(@Param("status") ResourceStatus status);
+
+    /**
+     * Devuelve a AVAILABLE los recursos CLAIMED cuyo plazo de confirmación venció
+     * La condición sobre estado y fecha evita pisar recursos que cambiaron mientras tanto
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Resource r SET r.status = com.resourceshare.enums.ResourceStatus.AVAILABLE, " +
+           "r.receiver = null, r.claimedAt = null, r.statusChangedAt = :now, " +
+           "r.changeSeq = function('nextval', 'resource_change_seq') " +
+           "WHERE r.id IN :ids AND r.status = com.resourceshare.enums.ResourceStatus.CLAIMED " +
+           "AND r.claimedAt <= :cutoff")
+    int releaseExpiredClaims(@Param("ids") Collection<Long> ids,
+                             @Param("cutoff") LocalDateTime cutoff,
+                             @Param("now") LocalDateTime now);
+
+    /**
+     * Cancela los recursos AVAILABLE de una categoría publicados antes del corte (TTL vencido)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Resource r SET r.status = com.resourceshare.enums.ResourceStatus.CANCELLED, " +
+           "r.statusChangedAt = :now, r.changeSeq = function('nextval', 'resource_change_seq') " +
+           "WHERE r.id IN :ids AND r.status = com.resourceshare.enums.ResourceStatus.AVAILABLE " +
+           "AND r.category = :category AND r.createdAt <= :cutoff")
+    int expireListings(@Param("ids") Collection<Long> ids,
+                       @Param("category") ResourceCategory category,
+                       @Param("cutoff") LocalDateTime cutoff,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Obtiene solo id, categoría y coordenadas de los recursos en un estado
+     * Usado para construir el índice de agrupamiento del mapa
+     */
+    @Query("SELECT r.id AS id, r.category AS category, r.latitude AS latitude, r.longitude AS longitude " +
+           "FROM Resource r WHERE r.status = :status")
+    List<LocationView> findLocationsByStatus(@Param("status") ResourceStatus status);
+
+    /**
+     * Siguiente valor de la secuencia de cambios, asignado a un recurso cada vez que se modifica
+     */
+    @Query(value = "SELECT nextval('resource_change_seq')", nativeQuery = true)
+    long nextChangeSeq();
+
+    /**
+     * Recursos donde el usuario es donante o receptor modificados después de since y hasta until (incluido)
+     * Usado por la sincronización incremental de los clientes móviles
+     */
+    @Query("SELECT r FROM Resource r WHERE (r.donor = :user OR r.receiver = :user) " +
+           "AND r.changeSeq > :since AND r.changeSeq <= :until ORDER BY r.changeSeq")
+    List<Resource> findChangedForUser(@Param("user") User user, @Param("since") long since, @Param("until") long until,
+                                      Pageable pageable);
+
+    /**
+     * Cantidad de recursos en un estado
+     */
+    long countByStatus(ResourceStatus status);
+
+    /**
+     * Cantidad de recursos del donante por estado
+     */
+    @Query("SELECT r.status AS status, COUNT(r) AS total FROM Resource r WHERE r.donor = :donor GROUP BY r.status")
+    List<StatusCountView> countByDonorGroupByStatus(@Param("donor") User donor);
+
+    /**
+     * Cantidad de recursos del receptor por estado
+     */
+    @Query("SELECT r.status AS status, COUNT(r) AS total FROM Resource r WHERE r.receiver = :receiver GROUP BY r.status")
+    List<StatusCountView> countByReceiverGroupByStatus(@Param("receiver") User receiver);
+
+    /**
+     * Cantidad de recursos del receptor por categoría
+     */
+    @Query("SELECT r.category AS category, COUNT(r) AS total FROM Resource r WHERE r.receiver = :receiver " +
+           "GROUP BY r.category")
+    List<CategoryCountView> countByReceiverGroupByCategory(@Param("receiver") User receiver);
+
+    /**
+     * Recursos más recientes de un donante
+     */
+    List<Resource> findByDonorOrderByCreatedAtDesc(User donor, Pageable pageable);
+
+    /**
+     * Recursos más recientes en un estado
+     */
+    List<Resource> findByStatusOrderByCreatedAtDesc(ResourceStatus status, Pageable pageable);
+
+    /**
+     * Proyección con los datos necesarios para calcular vencimientos
+     */
+    interface DeadlineView {
+        Long getId();
+        ResourceCategory getCategory();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getClaimedAt();
+    }
+
+    /**
+     * Proyección con la ubicación de un recurso
+     */
+    interface LocationView {
+        Long getId();
+        ResourceCategory getCategory();
+        Double getLatitude();
+        Double getLongitude();
+    }
+
+    /**
+     * Proyección con la cantidad de recursos de una categoría
+     */
+    interface CategoryCountView {
+        ResourceCategory getCategory();
+        Long getTotal();
+    }
+
+    /**
+     * Proyección con la cantidad de recursos de un estado
+     */
+    interface StatusCountView {
+        ResourceStatus getStatus();
+        Long getTotal();
+    }
 }
@@ -0,0 +1,43 @@
+package com.resourceshare.repository;
+
+import com.resourceshare.entity.Resource;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.geo.BoundingBox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Consultas espaciales de recursos que se arman dinámicamente (ver ResourceRepositoryImpl)
+ */
+public interface ResourceRepositoryCustom {
+
+    /**
+     * Recursos en un estado dentro del rectángulo
+     */
+    List<Resource> findByStatusInBoundingBox(ResourceStatus status, BoundingBox box);
+
+    /**
+     * Recursos en un estado a menos de radiusKm del punto, ordenados del más cercano al más lejano
+     */
+    List<Resource> findByStatusWithinRadius(ResourceStatus status, double latitude, double longitude, double radiusKm);
+
+    /**
+     * Datos de puntaje (sin entidades) de los recursos en un estado
+     */
+    List<FeedCandidate> findFeedCandidatesByStatus(ResourceStatus status);
+
+    /**
+     * Datos de puntaje (sin entidades) de los recursos en un estado a menos de radiusKm del punto
+     */
+    List<FeedCandidate> findFeedCandidatesWithinRadius(ResourceStatus status, double latitude, double longitude,
+                                                       double radiusKm);
+
+    /**
+     * Columnas que usa el feed para puntuar un recurso antes de decidir si se carga completo
+     */
+    record FeedCandidate(Long id, ResourceCategory category, Double latitude, Double longitude,
+                         LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.resourceshare.repository;
+
+import com.resourceshare.entity.Resource;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.geo.BoundingBox;
+import com.resourceshare.geo.GeoDistance;
+import com.resourceshare.geo.GeoHash;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación de las consultas espaciales sobre la columna geohash
+ * El área se traduce en unos pocos rangos de prefijos geohash que usan el índice (status, geohash);
+ * luego se filtra por coordenadas exactas porque las celdas cubren algo más que el área pedida
+ */
+public class ResourceRepositoryImpl implements ResourceRepositoryCustom {
+
+    private static final String FEED_COLUMNS = "SELECT r.id, r.category, r.latitude, r.longitude, r.createdAt";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Resource> findByStatusInBoundingBox(ResourceStatus status, BoundingBox box) {
+        return queryRanges(status, box).stream()
+                .filter(resource -> box.contains(resource.getLatitude(), resource.getLongitude()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Resource> findByStatusWithinRadius(ResourceStatus status, double latitude, double longitude, double radiusKm) {
+        BoundingBox box = GeoDistance.boundingBox(latitude, longitude, radiusKm);
+        return queryRanges(status, box).stream()
+                .filter(resource -> distance(resource, latitude, longitude) <= radiusKm)
+                .sorted(Comparator.comparingDouble(resource -> distance(resource, latitude, longitude)))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<FeedCandidate> findFeedCandidatesByStatus(ResourceStatus status) {
+        return entityManager.createQuery(FEED_COLUMNS + " FROM Resource r WHERE r.status = :status", Object[].class)
+                .setParameter("status", status)
+                .getResultStream()
+                .map(ResourceRepositoryImpl::toFeedCandidate)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<FeedCandidate> findFeedCandidatesWithinRadius(ResourceStatus status, double latitude, double longitude,
+                                                              double radiusKm) {
+        BoundingBox box = GeoDistance.boundingBox(latitude, longitude, radiusKm);
+        return queryRanges(FEED_COLUMNS, Object[].class, status, box).stream()
+                .map(ResourceRepositoryImpl::toFeedCandidate)
+                .filter(candidate -> GeoDistance.kilometers(latitude, longitude,
+                        candidate.latitude(), candidate.longitude()) <= radiusKm)
+                .collect(Collectors.toList());
+    }
+
+    private List<Resource> queryRanges(ResourceStatus status, BoundingBox box) {
+        return queryRanges("SELECT r", Resource.class, status, box);
+    }
+
+    private <T> List<T> queryRanges(String select, Class<T> type, ResourceStatus status, BoundingBox box) {
+        List<GeoHash.Range> ranges = GeoHash.coveringRanges(box);
+
+        StringBuilder jpql = new StringBuilder(select).append(" FROM Resource r WHERE r.status = :status AND (");
+        for (int i = 0; i < ranges.size(); i++) {
+            if (i > 0) {
+                jpql.append(" OR ");
+            }
+            jpql.append("(r.geohash >= :from").append(i);
+            if (ranges.get(i).to() != null) {
+                jpql.append(" AND r.geohash < :to").append(i);
+            }
+            jpql.append(')');
+        }
+        jpql.append(')');
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), type)
+                .setParameter("status", status);
+        for (int i = 0; i < ranges.size(); i++) {
+            query.setParameter("from" + i, ranges.get(i).from());
+            if (ranges.get(i).to() != null) {
+                query.setParameter("to" + i, ranges.get(i).to());
+            }
+        }
+        return query.getResultList();
+    }
+
+    private static FeedCandidate toFeedCandidate(Object[] row) {
+        return new FeedCandidate((Long) row[0], (ResourceCategory) row[1], (Double) row[2], (Double) row[3],
+                (LocalDateTime) row[4]);
+    }
+
+    private double distance(Resource resource, double latitude, double longitude) {
+        return GeoDistance.kilometers(latitude, longitude, resource.getLatitude(), resource.getLongitude());
+    }
+}
@@ -0,0 +1,20 @@
+package com.resourceshare.repository;
+
+import com.resourceshare.entity.SavedSearch;
+import com.resourceshare.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio de búsquedas guardadas
+ */
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+
+    List<SavedSearch> findByUserOrderByCreatedAtDesc(User user);
+
+    Optional<SavedSearch> findByIdAndUser(Long id, User user);
+}
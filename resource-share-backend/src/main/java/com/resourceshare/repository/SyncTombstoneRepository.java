@@ -0,0 +1,52 @@
+package com.resourceshare.repository;
+
+import com.resourceshare.entity.SyncTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio de marcas de eliminación de la sincronización incremental
+ */
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    /**
+     * Marcas del usuario con secuencia entre from y to (ambos incluidos), en orden de secuencia
+     */
+    List<SyncTombstone> findByUserIdAndChangeSeqBetweenOrderByChangeSeq(Long userId, Long from, Long to, Pageable pageable);
+
+    /**
+     * Registra que un recurso salió de las vistas de un usuario
+     */
+    @Modifying
+    @Query(value = "INSERT INTO sync_tombstones (user_id, resource_id, change_seq, created_at) " +
+                   "VALUES (:userId, :resourceId, nextval('resource_change_seq'), :now)",
+           nativeQuery = true)
+    int insertTombstone(@Param("userId") Long userId, @Param("resourceId") Long resourceId, @Param("now") LocalDateTime now);
+
+    /**
+     * Registra marcas para el donante y el receptor de un lote de recursos que se va a mover al histórico
+     */
+    @Modifying
+    @Query(value = "INSERT INTO sync_tombstones (user_id, resource_id, change_seq, created_at) " +
+                   "SELECT user_id, id, nextval('resource_change_seq'), :now FROM (" +
+                   "SELECT donor_id AS user_id, id FROM resources WHERE id IN (:ids) " +
+                   "UNION ALL SELECT receiver_id AS user_id, id FROM resources WHERE id IN (:ids) AND receiver_id IS NOT NULL" +
+                   ") affected",
+           nativeQuery = true)
+    int insertForResources(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Elimina las marcas anteriores al corte de retención
+     */
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,158 @@
+package com.resourceshare.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rueda de temporizadores jerárquica (estilo timers del kernel de Linux)
+ * Programar, cancelar y expirar un elemento cuesta O(1); no hay que recorrer todos los elementos en cada tick
+ * Cada nivel tiene 64 ranuras; el nivel N cubre 64^(N+1) ticks y sus elementos bajan de nivel
+ * ("cascada") a medida que se acerca su vencimiento
+ * Los métodos son sincronizados porque se programa desde los hilos de petición y se avanza desde el scheduler
+ */
+public class HierarchicalTimerWheel<T> {
+
+    private static final int BITS_PER_LEVEL = 6;
+    private static final int SLOTS_PER_LEVEL = 1 << BITS_PER_LEVEL;
+    private static final int SLOT_MASK = SLOTS_PER_LEVEL - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (BITS_PER_LEVEL * LEVELS)) - 1;
+
+    private final long tickMillis;
+    // slots.get(nivel).get(ranura)
+    private final List<List<ArrayDeque<Timer<T>>>> slots;
+    private final List<Timer<T>> overdue = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimerWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        List<List<ArrayDeque<Timer<T>>>> levels = new ArrayList<>(LEVELS);
+        for (int level = 0; level < LEVELS; level++) {
+            List<ArrayDeque<Timer<T>>> levelSlots = new ArrayList<>(SLOTS_PER_LEVEL);
+            for (int slot = 0; slot < SLOTS_PER_LEVEL; slot++) {
+                levelSlots.add(new ArrayDeque<>());
+            }
+            levels.add(List.copyOf(levelSlots));
+        }
+        this.slots = List.copyOf(levels);
+    }
+
+    /**
+     * Programa un elemento para que expire en deadlineMillis (epoch en milisegundos)
+     * Retorna el temporizador para poder cancelarlo después
+     */
+    public synchronized Timer<T> schedule(T item, long deadlineMillis) {
+        // Redondear hacia arriba para no expirar antes del vencimiento real
+        Timer<T> timer = new Timer<>(item, (deadlineMillis + tickMillis - 1) / tickMillis);
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Cancela un temporizador; se descarta de forma perezosa cuando su ranura se procesa
+     */
+    public synchronized void cancel(Timer<T> timer) {
+        if (!timer.cancelled) {
+            timer.cancelled = true;
+            size--;
+        }
+    }
+
+    /**
+     * Avanza la rueda hasta nowMillis y retorna los elementos vencidos
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        collect(overdue, expired);
+        overdue.clear();
+
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            // Bajar los elementos de los niveles superiores cuando el nivel inferior da la vuelta
+            for (int level = 1; level < LEVELS; level++) {
+                if ((currentTick & ((1L << (BITS_PER_LEVEL * level)) - 1)) != 0) {
+                    break;
+                }
+                ArrayDeque<Timer<T>> slot = slot(level, currentTick);
+                List<Timer<T>> cascading = new ArrayList<>(slot);
+                slot.clear();
+                for (Timer<T> timer : cascading) {
+                    if (!timer.cancelled) {
+                        place(timer);
+                    }
+                }
+            }
+
+            ArrayDeque<Timer<T>> slot = slot(0, currentTick);
+            collect(slot, expired);
+            slot.clear();
+            collect(overdue, expired);
+            overdue.clear();
+        }
+        return expired;
+    }
+
+    /**
+     * Cantidad de temporizadores activos (no cancelados ni expirados)
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void collect(Iterable<Timer<T>> timers, List<T> expired) {
+        for (Timer<T> timer : timers) {
+            if (!timer.cancelled) {
+                timer.cancelled = true;
+                size--;
+                expired.add(timer.item);
+            }
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.deadlineTick - currentTick;
+        if (delta <= 0) {
+            overdue.add(timer);
+            return;
+        }
+
+        // Los vencimientos más lejanos que la rueda se ubican en el último nivel y vuelven a bajar en cada cascada
+        long tick = delta > MAX_DELTA ? currentTick + MAX_DELTA : timer.deadlineTick;
+        long clampedDelta = tick - currentTick;
+
+        int level = 0;
+        while (level < LEVELS - 1 && clampedDelta >= (1L << (BITS_PER_LEVEL * (level + 1)))) {
+            level++;
+        }
+        slot(level, tick).add(timer);
+    }
+
+    // Ranura del nivel que corresponde a un tick
+    private ArrayDeque<Timer<T>> slot(int level, long tick) {
+        return slots.get(level).get((int) ((tick >>> (BITS_PER_LEVEL * level)) & SLOT_MASK));
+    }
+
+    /**
+     * Temporizador programado en la rueda
+     */
+    public static final class Timer<T> {
+        private final T item;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        private Timer(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.resourceshare.scheduling;
+
+import com.resourceshare.config.ResourceArchiveProperties;
+import com.resourceshare.repository.ArchivedResourceRepository;
+import com.resourceshare.repository.SyncTombstoneRepository;
+import com.resourceshare.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Archivador en segundo plano de recursos terminales
+ * Mueve los recursos DELIVERED y CANCELLED antiguos a resources_archive para que las consultas
+ * frecuentes (findByStatus, findByDonor) trabajen sobre una tabla pequeña
+ * Cada lote es una transacción corta: bloquea con SKIP LOCKED, copia y elimina
+ * Con varias regiones, cada una se archiva por separado en su base de datos
+ */
+@Component
+@Slf4j
+public class ResourceArchiver {
+
+    @Autowired
+    private ArchivedResourceRepository archivedResourceRepository;
+
+    @Autowired
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Autowired
+    private ResourceArchiveProperties properties;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Scheduled(fixedDelayString = "${resources.archive.interval}", initialDelayString = "${resources.archive.interval}")
+    public void archive() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        shardRouter.forEachShard(this::archiveShard);
+    }
+
+    private void archiveShard() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getAfter());
+        int archived = 0;
+
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            Integer moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            int count = moved != null ? moved : 0;
+            archived += count;
+
+            if (count < properties.getBatchSize()) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            log.info("Archivador: {} recursos movidos al histórico", archived);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = archivedResourceRepository.lockArchivableIds(cutoff, properties.getBatchSize());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Los recursos archivados salen de las vistas sincronizadas del donante y del receptor
+        syncTombstoneRepository.insertForResources(ids, now);
+        archivedResourceRepository.copyFromResources(ids, now);
+        return archivedResourceRepository.deleteFromResources(ids);
+    }
+
+    // Retorna false si el hilo fue interrumpido (apagado de la aplicación)
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.resourceshare.scheduling;
+
+import com.resourceshare.config.ResourceExpirationProperties;
+import com.resourceshare.entity.Resource;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.event.ResourceTransitionEvent;
+import com.resourceshare.repository.ResourceRepository;
+import com.resourceshare.repository.ResourceRepository.DeadlineView;
+import com.resourceshare.repository.SyncTombstoneRepository;
+import com.resourceshare.scheduling.HierarchicalTimerWheel.Timer;
+import com.resourceshare.shard.ShardContext;
+import com.resourceshare.shard.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Programador de vencimientos de recursos
+ * - Reclamos sin confirmar: vuelven a AVAILABLE cuando pasa claimTimeout desde claimedAt
+ * - Publicaciones con TTL por categoría: pasan a CANCELLED cuando pasa el TTL desde createdAt
+ * Los vencimientos viven en una rueda de temporizadores reconstruida desde la BD al iniciar,
+ * así cada tick solo procesa lo que vence y no recorre la tabla completa
+ */
+@Component
+@Slf4j
+public class ResourceExpirationScheduler {
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Autowired
+    private ResourceExpirationProperties properties;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private HierarchicalTimerWheel<Expiration> wheel;
+
+    // Temporizador activo por recurso, para poder cancelarlo cuando el recurso cambia de estado
+    private final Map<Long, Timer<Expiration>> claimTimers = new ConcurrentHashMap<>();
+    private final Map<Long, Timer<Expiration>> listingTimers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        wheel = new HierarchicalTimerWheel<>(properties.getTick().toMillis(), System.currentTimeMillis());
+    }
+
+    /**
+     * Reconstruye la rueda con los recursos AVAILABLE y CLAIMED existentes
+     * Los vencimientos que ya pasaron se procesan en el primer tick
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        shardRouter.forEachShard(() -> {
+            List<DeadlineView> available = resourceRepository.findDeadlinesByStatus(ResourceStatus.AVAILABLE);
+            available.forEach(view -> scheduleListingExpiration(view.getId(), view.getCategory(), view.getCreatedAt()));
+
+            List<DeadlineView> claimed = resourceRepository.findDeadlinesByStatus(ResourceStatus.CLAIMED);
+            claimed.forEach(view -> scheduleClaimExpiration(view.getId(), view.getClaimedAt()));
+        });
+
+        log.info("Rueda de vencimientos reconstruida: {} temporizadores activos", wheel.size());
+    }
+
+    /**
+     * Programa el vencimiento de una publicación según el TTL de su categoría
+     * No hace nada si la categoría no tiene TTL configurado
+     */
+    public void scheduleListingExpiration(Long resourceId, ResourceCategory category, LocalDateTime createdAt) {
+        Duration ttl = properties.getListingTtl().get(category);
+        if (!properties.isEnabled() || ttl == null || createdAt == null) {
+            return;
+        }
+        Expiration expiration = new Expiration(ExpirationType.LISTING, resourceId, category);
+        replace(listingTimers, resourceId, wheel.schedule(expiration, toMillis(createdAt.plus(ttl))));
+    }
+
+    /**
+     * Programa el vencimiento de un reclamo pendiente de confirmación
+     */
+    public void scheduleClaimExpiration(Long resourceId, LocalDateTime claimedAt) {
+        if (!properties.isEnabled() || claimedAt == null) {
+            return;
+        }
+        Expiration expiration = new Expiration(ExpirationType.CLAIM, resourceId, null);
+        replace(claimTimers, resourceId, wheel.schedule(expiration, toMillis(claimedAt.plus(properties.getClaimTimeout()))));
+    }
+
+    /**
+     * Cancela el vencimiento del reclamo (el donante confirmó o canceló)
+     */
+    public void cancelClaimExpiration(Long resourceId) {
+        Timer<Expiration> timer = claimTimers.remove(resourceId);
+        if (timer != null) {
+            wheel.cancel(timer);
+        }
+    }
+
+    /**
+     * Cancela el vencimiento de la publicación (el recurso se canceló)
+     */
+    public void cancelListingExpiration(Long resourceId) {
+        Timer<Expiration> timer = listingTimers.remove(resourceId);
+        if (timer != null) {
+            wheel.cancel(timer);
+        }
+    }
+
+    /**
+     * Avanza la rueda y aplica los vencimientos en UPDATEs condicionales por lotes
+     */
+    @Scheduled(fixedDelayString = "${resources.expiration.tick}")
+    public void processExpirations() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<Expiration> expired = wheel.advance(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        List<Long> claims = new ArrayList<>();
+        Map<ResourceCategory, List<Long>> listings = new EnumMap<>(ResourceCategory.class);
+        for (Expiration expiration : expired) {
+            if (expiration.type() == ExpirationType.CLAIM) {
+                forget(claimTimers, expiration);
+                claims.add(expiration.resourceId());
+            } else {
+                forget(listingTimers, expiration);
+                listings.computeIfAbsent(expiration.category(), c -> new ArrayList<>()).add(expiration.resourceId());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int released = 0;
+        for (List<Long> batch : partition(claims)) {
+            released += inShardOf(batch, () -> releaseClaims(batch, now));
+        }
+
+        int cancelled = 0;
+        for (Map.Entry<ResourceCategory, List<Long>> entry : listings.entrySet()) {
+            LocalDateTime cutoff = now.minus(properties.getListingTtl().getOrDefault(entry.getKey(), Duration.ZERO));
+            for (List<Long> batch : partition(entry.getValue())) {
+                cancelled += inShardOf(batch, () -> expireListings(batch, entry.getKey(), cutoff, now));
+            }
+        }
+
+        log.info("Vencimientos aplicados: {} reclamos liberados, {} publicaciones canceladas", released, cancelled);
+    }
+
+    /**
+     * Libera un lote de reclamos vencidos, vuelve a programar el TTL de los recursos
+     * que regresaron a AVAILABLE y publica sus transiciones
+     */
+    private int releaseClaims(List<Long> batch, LocalDateTime now) {
+        Integer released = transactionTemplate.execute(status -> {
+            Map<Long, Resource> before = loadById(batch);
+            int updated = resourceRepository.releaseExpiredClaims(batch, now.minus(properties.getClaimTimeout()), now);
+            if (updated > 0) {
+                for (Resource resource : resourceRepository.findAllById(batch)) {
+                    Resource previous = before.get(resource.getId());
+                    if (previous.getStatus() == ResourceStatus.CLAIMED && resource.getStatus() == ResourceStatus.AVAILABLE) {
+                        scheduleListingExpiration(resource.getId(), resource.getCategory(), resource.getCreatedAt());
+                        Long previousReceiverId = previous.getReceiver() != null ? previous.getReceiver().getId() : null;
+                        if (previousReceiverId != null) {
+                            // El recurso sale de las vistas sincronizadas del receptor que no confirmó
+                            syncTombstoneRepository.insertTombstone(previousReceiverId, resource.getId(), now);
+                        }
+                        eventPublisher.publishEvent(ResourceTransitionEvent.of(resource, ResourceStatus.CLAIMED,
+                                previous.getStatusChangedAt(), ResourceTransitionEvent.SYSTEM_ACTOR, previousReceiverId));
+                    }
+                }
+            }
+            return updated;
+        });
+        return released != null ? released : 0;
+    }
+
+    /**
+     * Cancela un lote de publicaciones vencidas de una categoría y publica sus transiciones
+     */
+    private int expireListings(List<Long> batch, ResourceCategory category, LocalDateTime cutoff, LocalDateTime now) {
+        Integer expired = transactionTemplate.execute(status -> {
+            Map<Long, Resource> before = loadById(batch);
+            int updated = resourceRepository.expireListings(batch, category, cutoff, now);
+            if (updated > 0) {
+                for (Resource resource : resourceRepository.findAllById(batch)) {
+                    Resource previous = before.get(resource.getId());
+                    if (previous.getStatus() == ResourceStatus.AVAILABLE && resource.getStatus() == ResourceStatus.CANCELLED) {
+                        eventPublisher.publishEvent(ResourceTransitionEvent.of(resource, ResourceStatus.AVAILABLE,
+                                previous.getStatusChangedAt(), ResourceTransitionEvent.SYSTEM_ACTOR));
+                    }
+                }
+            }
+            return updated;
+        });
+        return expired != null ? expired : 0;
+    }
+
+    // Estado previo del lote; el UPDATE masivo limpia el contexto y las lecturas siguientes traen el estado nuevo
+    private Map<Long, Resource> loadById(List<Long> ids) {
+        return resourceRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+    }
+
+    private void replace(Map<Long, Timer<Expiration>> timers, Long resourceId, Timer<Expiration> timer) {
+        Timer<Expiration> previous = timers.put(resourceId, timer);
+        if (previous != null) {
+            wheel.cancel(previous);
+        }
+    }
+
+    // Quita el temporizador vencido del mapa salvo que ya haya sido reemplazado por uno nuevo
+    private void forget(Map<Long, Timer<Expiration>> timers, Expiration expiration) {
+        timers.computeIfPresent(expiration.resourceId(), (id, timer) -> timer.getItem() == expiration ? null : timer);
+    }
+
+    // Lotes de hasta batchSize ids, todos de la misma región
+    private List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> batches = new ArrayList<>();
+        for (List<Long> shardIds : shardRouter.groupById(ids, Function.identity()).values()) {
+            for (int i = 0; i < shardIds.size(); i += properties.getBatchSize()) {
+                batches.add(shardIds.subList(i, Math.min(shardIds.size(), i + properties.getBatchSize())));
+            }
+        }
+        return batches;
+    }
+
+    private int inShardOf(List<Long> batch, Supplier<Integer> operation) {
+        return ShardContext.call(shardRouter.forId(batch.get(0)), operation);
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private enum ExpirationType {
+        CLAIM,
+        LISTING
+    }
+
+    private record Expiration(ExpirationType type, Long resourceId, ResourceCategory category) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.resourceshare.search;
+
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.geo.GeoDistance;
+import com.resourceshare.geo.GeoHash;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice inverso de búsquedas guardadas
+ * En lugar de evaluar cada búsqueda contra cada recurso nuevo, las búsquedas se registran por categoría
+ * y por celda geohash del área que cubren; un recurso nuevo solo consulta la lista de su categoría y su celda
+ * (más las búsquedas sin área de esa categoría) y luego se verifican distancia exacta y palabras clave
+ */
+public class SavedSearchIndex {
+
+    // Celdas de ~39 km x 20 km; un radio de pocos km toca entre 1 y 4 celdas
+    private static final int CELL_PRECISION = 4;
+
+    // Áreas que tocan más celdas se tratan como búsquedas sin área (solo se filtran por distancia exacta)
+    private static final int MAX_CELLS = 64;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<ResourceCategory, Map<String, List<Entry>>> byCell = new EnumMap<>(ResourceCategory.class);
+    private final Map<ResourceCategory, List<Entry>> anywhere = new EnumMap<>(ResourceCategory.class);
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SavedSearchIndex() {
+        for (ResourceCategory category : ResourceCategory.values()) {
+            byCell.put(category, new HashMap<>());
+            anywhere.put(category, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Registra (o reemplaza) una búsqueda
+     * categories vacío = todas las categorías; radiusKm null = sin área
+     */
+    public void add(Long id, Long userId, Set<ResourceCategory> categories,
+                    Double latitude, Double longitude, Double radiusKm, String keywords) {
+        String[] words = keywords == null || keywords.isBlank()
+                ? new String[0] : WHITESPACE.split(normalize(keywords).trim());
+        TreeSet<String> cells = radiusKm != null
+                ? GeoHash.coveringCells(GeoDistance.boundingBox(latitude, longitude, radiusKm), CELL_PRECISION, MAX_CELLS)
+                : null;
+        Set<ResourceCategory> targets = categories == null || categories.isEmpty()
+                ? Set.of(ResourceCategory.values()) : Set.copyOf(categories);
+        Entry entry = new Entry(id, userId, latitude, longitude, radiusKm, words, targets, cells);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            entries.put(id, entry);
+            for (ResourceCategory category : targets) {
+                if (cells == null) {
+                    anywhere.get(category).add(entry);
+                } else {
+                    Map<String, List<Entry>> categoryCells = byCell.get(category);
+                    for (String cell : cells) {
+                        categoryCells.computeIfAbsent(cell, c -> new ArrayList<>()).add(entry);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Búsquedas que coinciden con un recurso recién publicado
+     */
+    public List<Match> match(ResourceCategory category, double latitude, double longitude, String title, String description) {
+        String text = normalize(title + " " + (description != null ? description : ""));
+        String cell = GeoHash.encode(latitude, longitude, CELL_PRECISION);
+        List<Match> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            collect(byCell.get(category).get(cell), latitude, longitude, text, matches);
+            collect(anywhere.get(category), latitude, longitude, text, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    private void collect(List<Entry> candidates, double latitude, double longitude, String text, List<Match> matches) {
+        if (candidates == null) {
+            return;
+        }
+        for (Entry entry : candidates) {
+            if (entry.radiusKm() != null
+                    && GeoDistance.kilometers(entry.latitude(), entry.longitude(), latitude, longitude) > entry.radiusKm()) {
+                continue;
+            }
+            if (containsAll(text, entry.keywords())) {
+                matches.add(new Match(entry.id(), entry.userId()));
+            }
+        }
+    }
+
+    private boolean containsAll(String text, String[] keywords) {
+        for (String keyword : keywords) {
+            if (!text.contains(keyword)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removeLocked(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (ResourceCategory category : entry.categories()) {
+            if (entry.cells() == null) {
+                anywhere.get(category).remove(entry);
+                continue;
+            }
+            Map<String, List<Entry>> categoryCells = byCell.get(category);
+            for (String cell : entry.cells()) {
+                List<Entry> list = categoryCells.get(cell);
+                if (list != null && list.remove(entry) && list.isEmpty()) {
+                    categoryCells.remove(cell);
+                }
+            }
+        }
+    }
+
+    // Minúsculas y sin tildes, para que "niño" coincida con "nino"
+    private static String normalize(String value) {
+        return DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // cells es null cuando la búsqueda no tiene área o su área es demasiado grande para indexarla por celdas
+    private record Entry(Long id, Long userId, Double latitude, Double longitude, Double radiusKm, String[] keywords,
+                         Set<ResourceCategory> categories, TreeSet<String> cells) {
+    }
+
+    /**
+     * Búsqueda que coincidió y su dueño
+     */
+    public record Match(Long savedSearchId, Long userId) {
+    }
+}
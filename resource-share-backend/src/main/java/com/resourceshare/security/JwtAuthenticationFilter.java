@@ -1,5 +1,7 @@
 package com.resourceshare.security;
 
+import com.resourceshare.shard.ShardContext;
+import com.resourceshare.shard.ShardRouter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +20,7 @@ import java.io.IOException;
 /**
  * Filtro que intercepta cada petición HTTP
  * Extrae el token JWT del header Authorization y valida al usuario
+ * Fija la región (shard) del usuario para toda la petición, antes de abrir cualquier transacción
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -28,6 +31,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private ShardRouter shardRouter;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -39,6 +45,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Si existe token y es válido, autenticar al usuario
             if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
                 String email = tokenProvider.getEmailFromToken(jwt);
+                String shard = tokenProvider.getShardFromToken(jwt);
+                if (!shardRouter.exists(shard)) {
+                    // Token anterior al particionamiento o regiones reconfiguradas
+                    shard = shardRouter.locateUser(email);
+                }
+                ShardContext.set(shard != null ? shard : shardRouter.defaultShard());
                 UserDetails userDetails = userDetailsService.loadUserByUsername(email);
 
                 UsernamePasswordAuthenticationToken authentication =
@@ -55,7 +67,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.error("No se pudo establecer la autenticación del usuario", ex);
         }
 
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ShardContext.clear();
+        }
     }
 
     /**
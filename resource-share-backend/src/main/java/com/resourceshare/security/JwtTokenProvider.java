@@ -1,5 +1,6 @@
 package com.resourceshare.security;
 
+import com.resourceshare.shard.ShardContext;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,6 +14,7 @@ import java.util.Date;
 /**
  * Proveedor de tokens JWT
  * Genera tokens al login y los valida en cada petición
+ * El token incluye la región (shard) del usuario para dirigir sus peticiones sin buscarlo en todas
  */
 @Component
 public class JwtTokenProvider {
@@ -23,6 +25,8 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    private static final String SHARD_CLAIM = "shard";
+
     /**
      * Genera un token JWT para el usuario autenticado
      */
@@ -33,6 +37,7 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .setSubject(username)
+                .claim(SHARD_CLAIM, ShardContext.current())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(getSigningKey())
@@ -48,6 +53,7 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .setSubject(email)
+                .claim(SHARD_CLAIM, ShardContext.current())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(getSigningKey())
@@ -67,6 +73,19 @@ public class JwtTokenProvider {
         return claims.getSubject();
     }
 
+    /**
+     * Obtiene la región del usuario desde el token (null en tokens emitidos antes del particionamiento)
+     */
+    public String getShardFromToken(String token) {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(getSigningKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+
+        return claims.get(SHARD_CLAIM, String.class);
+    }
+
     /**
      * Valida si el token es correcto y no ha expirado
      */
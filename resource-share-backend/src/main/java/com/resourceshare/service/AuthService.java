@@ -1,26 +1,35 @@
 package com.resourceshare.service;
 
+import com.resourceshare.cache.CacheInvalidationBus;
+import com.resourceshare.cache.EmailBloomFilter;
 import com.resourceshare.dto.AuthResponse;
 import com.resourceshare.dto.LoginRequest;
 import com.resourceshare.dto.RegisterRequest;
 import com.resourceshare.entity.Donor;
 import com.resourceshare.entity.User;
 import com.resourceshare.enums.UserRole;
+import com.resourceshare.exception.ConflictException;
+import com.resourceshare.exception.NotFoundException;
 import com.resourceshare.repository.DonorRepository;
 import com.resourceshare.repository.UserRepository;
 import com.resourceshare.security.JwtTokenProvider;
+import com.resourceshare.shard.ShardContext;
+import com.resourceshare.shard.ShardRouter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Servicio de autenticación y registro de usuarios
  * Maneja login, registro y generación de tokens JWT
+ * Es el único punto donde el usuario aún no tiene región: el registro la toma de la ciudad
+ * y el login la busca en todas las regiones
  */
 @Service
 public class AuthService {
@@ -40,16 +49,51 @@ public class AuthService {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EmailBloomFilter emailFilter;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
     /**
      * Registra un nuevo usuario en el sistema
      * Si el rol es DONOR, crea también el registro en la tabla donors
+     * El usuario se guarda en la región de su ciudad; la transacción se abre después de fijarla
+     * Con una sola BD los emails nuevos se descartan con el filtro de Bloom sin consultarla; si otro nodo registró
+     * el mismo email y aún no se enteró, la restricción única de users rechaza la inserción
+     * Con regiones la restricción única solo cubre cada región, así que siempre se busca el email en todas
+     * El filtro se actualiza después del commit: un registro revertido no deja su email marcado
      */
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
-        // Validar que el email no exista
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("El email ya está registrado");
+        // Validar que el email no exista en ninguna región
+        if (emailExists(request.getEmail())) {
+            throw new ConflictException("El email ya está registrado");
+        }
+        AuthResponse response;
+        try {
+            response = ShardContext.call(shardRouter.forCity(request.getCity()),
+                    () -> transactionTemplate.execute(status -> createUser(request)));
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("El email ya está registrado");
         }
+        emailFilter.add(response.getEmail());
+        return response;
+    }
+
+    private boolean emailExists(String email) {
+        if (shardRouter.isEnabled()) {
+            return shardRouter.locateUser(email) != null;
+        }
+        return emailFilter.exists(email, candidate -> shardRouter.locateUser(candidate) != null);
+    }
+
+    private AuthResponse createUser(RegisterRequest request) {
 
         // Crear usuario
         User user = new User();
@@ -62,6 +106,7 @@ public class AuthService {
         user.setActive(true);
 
         User savedUser = userRepository.save(user);
+        invalidationBus.userRegistered(savedUser.getId());
 
         // Si es DONOR, crear registro adicional en la tabla donors
         if (request.getRole() == UserRole.DONOR) {
@@ -94,6 +139,15 @@ public class AuthService {
      * Retorna token JWT si las credenciales son válidas
      */
     public AuthResponse login(LoginRequest request) {
+        if (!shardRouter.isEnabled()) {
+            return authenticate(request);
+        }
+        // Si el email no existe en ninguna región, la autenticación falla en la región por defecto
+        String shard = shardRouter.locateUser(request.getEmail());
+        return ShardContext.call(shard != null ? shard : shardRouter.defaultShard(), () -> authenticate(request));
+    }
+
+    private AuthResponse authenticate(LoginRequest request) {
         // Autenticar con Spring Security
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
@@ -109,7 +163,7 @@ public class AuthService {
 
         // Obtener datos del usuario
         User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+                .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
 
         // Construir respuesta
         return AuthResponse.builder()
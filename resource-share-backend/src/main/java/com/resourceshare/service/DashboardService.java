@@ -0,0 +1,188 @@
+package com.resourceshare.service;
+
+import com.resourceshare.dto.DashboardResponse;
+import com.resourceshare.dto.ResourceResponse;
+import com.resourceshare.entity.Resource;
+import com.resourceshare.entity.User;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.enums.UserRole;
+import com.resourceshare.exception.NotFoundException;
+import com.resourceshare.repository.ResourceRepository;
+import com.resourceshare.repository.ResourceRepository.StatusCountView;
+import com.resourceshare.repository.UserRepository;
+import com.resourceshare.shard.ShardContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de la pantalla de inicio
+ * Arma en una sola respuesta los contadores y recursos recientes que la pantalla muestra,
+ * ejecutando en paralelo las consultas independientes en un pool de hilos acotado
+ * Cada consulta tiene su propio tiempo límite: si no responde a tiempo (o el pool está lleno)
+ * se omite su dato y la respuesta se marca como parcial, en lugar de fallar completa
+ * El tiempo límite también se aplica a la consulta en la BD (timeout de la transacción), así una consulta lenta
+ * se cancela y libera su hilo y su conexión en lugar de seguir ocupándolos después de omitirse
+ */
+@Service
+@Slf4j
+public class DashboardService {
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ResourceService resourceService;
+
+    @Value("${dashboard.threads}")
+    private int threads;
+
+    @Value("${dashboard.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${dashboard.branch-timeout}")
+    private Duration branchTimeout;
+
+    @Value("${dashboard.recent-items}")
+    private int recentItems;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate branchTransaction;
+
+    @PostConstruct
+    void init() {
+        // El timeout de la transacción es en segundos; Hibernate lo aplica como query timeout de cada consulta
+        branchTransaction = new TransactionTemplate(transactionManager);
+        branchTransaction.setReadOnly(true);
+        branchTransaction.setTimeout((int) Math.max(1, (branchTimeout.toMillis() + 999) / 1000));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Obtiene los datos de inicio del usuario según su rol
+     */
+    public DashboardResponse getDashboard(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
+
+        DashboardResponse.DashboardResponseBuilder builder = DashboardResponse.builder()
+                .role(user.getRole())
+                .firstName(user.getFirstName())
+                .email(user.getEmail());
+        AtomicBoolean partial = new AtomicBoolean(false);
+
+        if (user.getRole() == UserRole.DONOR) {
+            CompletableFuture<Map<ResourceStatus, Long>> counts = branch("conteos del donante",
+                    () -> toMap(resourceRepository.countByDonorGroupByStatus(user)), partial);
+            CompletableFuture<List<ResourceResponse>> recent = branch("donaciones recientes",
+                    () -> mapAll(resourceRepository.findByDonorOrderByCreatedAtDesc(user, PageRequest.of(0, recentItems))),
+                    partial);
+
+            Map<ResourceStatus, Long> byStatus = counts.join();
+            if (byStatus != null) {
+                builder.totalDonations(byStatus.values().stream().mapToLong(Long::longValue).sum())
+                        .activeDonations(byStatus.getOrDefault(ResourceStatus.AVAILABLE, 0L))
+                        .completedDonations(byStatus.getOrDefault(ResourceStatus.DELIVERED, 0L))
+                        .claimedCount(byStatus.getOrDefault(ResourceStatus.CLAIMED, 0L)
+                                + byStatus.getOrDefault(ResourceStatus.IN_TRANSIT, 0L));
+            }
+            builder.recentResources(recent.join());
+        } else {
+            CompletableFuture<Long> available = branch("recursos disponibles",
+                    () -> resourceRepository.countByStatus(ResourceStatus.AVAILABLE), partial);
+            CompletableFuture<Map<ResourceStatus, Long>> received = branch("conteos del receptor",
+                    () -> toMap(resourceRepository.countByReceiverGroupByStatus(user)), partial);
+            CompletableFuture<List<ResourceResponse>> recent = branch("disponibles recientes",
+                    () -> mapAll(resourceRepository.findByStatusOrderByCreatedAtDesc(
+                            ResourceStatus.AVAILABLE, PageRequest.of(0, recentItems))),
+                    partial);
+
+            builder.nearbyResources(available.join());
+            Map<ResourceStatus, Long> byStatus = received.join();
+            if (byStatus != null) {
+                builder.claimedResources(byStatus.getOrDefault(ResourceStatus.CLAIMED, 0L)
+                        + byStatus.getOrDefault(ResourceStatus.IN_TRANSIT, 0L)
+                        + byStatus.getOrDefault(ResourceStatus.DELIVERED, 0L));
+            }
+            builder.recentResources(recent.join());
+        }
+
+        return builder.partial(partial.get()).build();
+    }
+
+    /**
+     * Ejecuta una consulta en el pool; si falla, se rechaza o excede el tiempo límite retorna null
+     * y marca la respuesta como parcial
+     */
+    private <T> CompletableFuture<T> branch(String name, Supplier<T> query, AtomicBoolean partial) {
+        CompletableFuture<T> future;
+        try {
+            // La consulta se ejecuta en la región del usuario aunque corra en otro hilo
+            future = CompletableFuture.supplyAsync(
+                    ShardContext.propagate(() -> branchTransaction.execute(status -> query.get())), executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Dashboard: pool lleno, se omite {}", name);
+            partial.set(true);
+            return CompletableFuture.completedFuture(null);
+        }
+        return future
+                .orTimeout(branchTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(error -> {
+                    log.warn("Dashboard: se omite {} ({})", name, error.toString());
+                    partial.set(true);
+                    return null;
+                });
+    }
+
+    private Map<ResourceStatus, Long> toMap(List<StatusCountView> counts) {
+        Map<ResourceStatus, Long> byStatus = new EnumMap<>(ResourceStatus.class);
+        counts.forEach(view -> byStatus.put(view.getStatus(), view.getTotal()));
+        return byStatus;
+    }
+
+    private List<ResourceResponse> mapAll(List<Resource> resources) {
+        return resources.stream()
+                .map(resourceService::mapToResponse)
+                .collect(Collectors.toList());
+    }
+}
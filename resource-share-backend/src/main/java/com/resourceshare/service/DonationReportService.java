@@ -0,0 +1,178 @@
+package com.resourceshare.service;
+
+import com.resourceshare.analytics.DonationRollupRecorder;
+import com.resourceshare.config.RollupProperties;
+import com.resourceshare.dto.DonationReportRow;
+import com.resourceshare.dto.DonationRollupRebuildResponse;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.exception.ServiceUnavailableException;
+import com.resourceshare.journal.ResourceEventJournal;
+import com.resourceshare.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio de reportes de donaciones para ONG (publicadas, reclamadas y entregadas por día, categoría y ciudad)
+ * Los reportes leen solo donation_rollups, nunca las tablas de recursos
+ * rebuild() recalcula un rango de días desde el diario de eventos (resource_events), para cargar el historial
+ * o corregir los agregados; recorre los recursos y su archivo, así que conviene usarlo en horas de poco tráfico
+ * resource_events se escribe en diferido, así que solo se reconstruyen días cerrados (anteriores a hoy) y después
+ * de vaciar el diario y los contadores de este nodo: a esos días ya no llegan transiciones nuevas y todas las
+ * ocurridas ya están en resource_events
+ * Con varios nodos, los demás escriben su diario y sus contadores en segundos, salvo que su BD haya fallado
+ */
+@Service
+@Slf4j
+public class DonationReportService {
+
+    private static final String REPORT_SQL = "SELECT day, category, city, "
+            + "COALESCE(SUM(count) FILTER (WHERE metric = 'PUBLISHED'), 0), "
+            + "COALESCE(SUM(count) FILTER (WHERE metric = 'CLAIMED'), 0), "
+            + "COALESCE(SUM(count) FILTER (WHERE metric = 'DELIVERED'), 0) "
+            + "FROM donation_rollups WHERE day BETWEEN ? AND ?";
+
+    // Recursos vigentes y archivados
+    private static final String ALL_RESOURCES = "(SELECT id, category, status, created_at, claimed_at, delivered_at, donor_id FROM resources "
+            + "UNION ALL SELECT id, category, status, created_at, claimed_at, delivered_at, donor_id FROM resources_archive) r ";
+
+    // Misma clasificación que DonationMetric.of(); los recursos sin eventos en el diario (anteriores a él)
+    // se cuentan por sus fechas de publicación, reclamo y entrega
+    private static final String REBUILD_SQL = "INSERT INTO donation_rollups (day, category, city, metric, count) "
+            + "SELECT day, category, city, metric, COUNT(*) FROM ("
+            + "SELECT CAST(e.occurred_at AS DATE) AS day, r.category, COALESCE(TRIM(d.city), '') AS city, "
+            + "CASE WHEN e.from_status IS NULL AND e.to_status = 'AVAILABLE' THEN 'PUBLISHED' "
+            + "WHEN e.from_status = 'AVAILABLE' AND e.to_status IN ('CLAIMED', 'IN_TRANSIT') THEN 'CLAIMED' "
+            + "WHEN e.from_status IS NOT NULL AND e.to_status = 'DELIVERED' THEN 'DELIVERED' END AS metric "
+            + "FROM resource_events e JOIN " + ALL_RESOURCES + "ON r.id = e.resource_id "
+            + "LEFT JOIN donors d ON d.id = r.donor_id "
+            + "WHERE e.occurred_at >= ? AND e.occurred_at < ? "
+            + "UNION ALL "
+            + "SELECT v.day, r.category, COALESCE(TRIM(d.city), ''), v.metric FROM " + ALL_RESOURCES
+            + "LEFT JOIN donors d ON d.id = r.donor_id "
+            + "CROSS JOIN LATERAL (VALUES (CAST(r.created_at AS DATE), 'PUBLISHED'), (CAST(r.claimed_at AS DATE), 'CLAIMED'), "
+            + "(CASE WHEN r.status = 'DELIVERED' THEN CAST(r.delivered_at AS DATE) END, 'DELIVERED')) v(day, metric) "
+            + "WHERE NOT EXISTS (SELECT 1 FROM resource_events e WHERE e.resource_id = r.id)"
+            + ") t WHERE metric IS NOT NULL AND day BETWEEN ? AND ? "
+            + "GROUP BY day, category, city, metric";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private DonationRollupRecorder rollupRecorder;
+
+    @Autowired
+    private ResourceEventJournal eventJournal;
+
+    @Autowired
+    private RollupProperties properties;
+
+    /**
+     * Contadores por día, categoría y ciudad entre from y to (ambos incluidos), ordenados por día
+     * category y city son filtros opcionales; city no distingue mayúsculas
+     */
+    public List<DonationReportRow> report(LocalDate from, LocalDate to, ResourceCategory category, String city) {
+        validateRange(from, to);
+
+        StringBuilder sql = new StringBuilder(REPORT_SQL);
+        List<Object> params = new ArrayList<>(List.of(Date.valueOf(from), Date.valueOf(to)));
+        if (category != null) {
+            sql.append(" AND category = ?");
+            params.add(category.name());
+        }
+        if (city != null && !city.isBlank()) {
+            sql.append(" AND LOWER(city) = LOWER(?)");
+            params.add(city.trim());
+        }
+        sql.append(" GROUP BY day, category, city");
+
+        List<DonationReportRow> rows = shardRouter.scatterGather(() -> jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> DonationReportRow.builder()
+                        .day(rs.getDate(1).toLocalDate())
+                        .category(ResourceCategory.valueOf(rs.getString(2)))
+                        .city(rs.getString(3))
+                        .published(rs.getLong(4))
+                        .claimed(rs.getLong(5))
+                        .delivered(rs.getLong(6))
+                        .build(),
+                params.toArray()));
+
+        // Una ciudad puede tener filas en más de una región (donantes de ciudades sin región asignada)
+        Map<List<Object>, DonationReportRow> merged = new LinkedHashMap<>();
+        for (DonationReportRow row : rows) {
+            merged.merge(List.of(row.getDay(), row.getCategory(), row.getCity()), row, (a, b) -> {
+                a.setPublished(a.getPublished() + b.getPublished());
+                a.setClaimed(a.getClaimed() + b.getClaimed());
+                a.setDelivered(a.getDelivered() + b.getDelivered());
+                return a;
+            });
+        }
+        return merged.values().stream()
+                .sorted(Comparator.comparing(DonationReportRow::getDay)
+                        .thenComparing(DonationReportRow::getCategory)
+                        .thenComparing(DonationReportRow::getCity))
+                .toList();
+    }
+
+    /**
+     * Recalcula los agregados de los días entre from y to (ambos incluidos) en cada región
+     * Primero se escriben el diario de eventos y los contadores pendientes; cada región se reemplaza en una transacción
+     */
+    public DonationRollupRebuildResponse rebuild(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        if (!to.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Solo se pueden reconstruir días cerrados (anteriores a hoy)");
+        }
+        try {
+            if (!eventJournal.drain(properties.getRebuildDrainTimeout())) {
+                throw new ServiceUnavailableException("El diario de eventos tiene escrituras pendientes, intenta más tarde",
+                        properties.getRebuildDrainTimeout());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Reconstrucción interrumpida", properties.getRebuildDrainTimeout());
+        }
+        rollupRecorder.flush();
+        if (rollupRecorder.hasPendingUntil(to)) {
+            throw new ServiceUnavailableException("No se pudieron escribir los agregados pendientes, intenta más tarde",
+                    properties.getFlushInterval());
+        }
+
+        AtomicInteger rows = new AtomicInteger();
+        shardRouter.forEachShard(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM donation_rollups WHERE day BETWEEN ? AND ?", Date.valueOf(from), Date.valueOf(to));
+            rows.addAndGet(jdbcTemplate.update(REBUILD_SQL,
+                    from.atStartOfDay(), to.plusDays(1).atStartOfDay(), Date.valueOf(from), Date.valueOf(to)));
+        }));
+        log.info("Agregados de donaciones reconstruidos entre {} y {}: {} filas", from, to, rows.get());
+        return new DonationRollupRebuildResponse(from, to, rows.get());
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("La fecha inicial debe ser anterior o igual a la final");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= properties.getMaxReportDays()) {
+            throw new IllegalArgumentException("El rango no puede superar " + properties.getMaxReportDays() + " días");
+        }
+    }
+}
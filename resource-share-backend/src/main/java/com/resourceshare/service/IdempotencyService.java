@@ -0,0 +1,332 @@
+package com.resourceshare.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resourceshare.config.IdempotencyProperties;
+import com.resourceshare.dto.ErrorResponse;
+import com.resourceshare.entity.IdempotencyRecord;
+import com.resourceshare.exception.DomainException;
+import com.resourceshare.exception.GlobalExceptionHandler;
+import com.resourceshare.repository.IdempotencyRecordRepository;
+import com.resourceshare.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Servicio de claves de idempotencia para operaciones que la app móvil reintenta (publicar, reclamar)
+ * La primera respuesta de cada clave (por usuario y operación) se guarda en memoria durante idempotency.ttl;
+ * los reintentos la reciben sin volver a ejecutar la operación ni consultar la BD
+ * Un reintento que llega mientras la primera petición sigue en curso espera su resultado
+ * (como máximo idempotency.wait-timeout; después recibe 409 y puede volver a intentar)
+ * Se guardan las respuestas 2xx y 4xx (incluidas las DomainException); las 5xx y las demás excepciones
+ * liberan la clave para poder reintentar
+ * Con idempotency.persistent=true las respuestas se guardan también en idempotency_keys (varias instancias)
+ * Las respuestas repetidas se vuelven a negociar según Accept (JSON, CBOR o Smile), como la primera
+ * Métrica: resources.idempotency{outcome=executed|replayed|conflict}
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String IN_PROGRESS_MESSAGE =
+            "La petición con esta clave de idempotencia está en curso, reintenta en unos segundos";
+
+    @Autowired
+    private IdempotencyProperties properties;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    // En orden de inserción: con un TTL fijo, las entradas más antiguas son las primeras en vencer
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private Counter executed;
+    private Counter replayed;
+    private Counter conflicts;
+
+    @PostConstruct
+    void init() {
+        executed = counter("executed");
+        replayed = counter("replayed");
+        conflicts = counter("conflict");
+    }
+
+    /**
+     * Ejecuta la operación una sola vez por clave; sin clave se ejecuta siempre
+     * fingerprint identifica la petición (ver fingerprint()) para rechazar una clave reutilizada con otros datos
+     */
+    public ResponseEntity<?> execute(String key, String userEmail, String operation, String fingerprint,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return error(HttpStatus.BAD_REQUEST, "La clave de idempotencia es demasiado larga");
+        }
+
+        String scope = operation + ':' + userEmail + ':' + key;
+        long now = System.nanoTime();
+        Entry mine = new Entry(fingerprint, now + properties.getTtl().toNanos());
+        Entry current;
+        synchronized (entries) {
+            evictExpired(now);
+            current = entries.get(scope);
+            if (current == null) {
+                entries.put(scope, mine);
+            }
+        }
+
+        if (current != null) {
+            if (!current.fingerprint.equals(fingerprint)) {
+                conflicts.increment();
+                return error(HttpStatus.UNPROCESSABLE_ENTITY, "La clave de idempotencia ya se usó con otra petición");
+            }
+            // Si la primera petición sigue en curso, se espera su respuesta (con un límite)
+            StoredResponse stored;
+            try {
+                stored = current.response.get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                // La primera petición falló y liberó la clave: este reintento vuelve a intentarlo
+                return execute(key, userEmail, operation, fingerprint, action);
+            } catch (TimeoutException e) {
+                conflicts.increment();
+                return error(HttpStatus.CONFLICT, IN_PROGRESS_MESSAGE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return error(HttpStatus.CONFLICT, IN_PROGRESS_MESSAGE);
+            }
+            replayed.increment();
+            return replay(stored);
+        }
+
+        if (properties.isPersistent()) {
+            ResponseEntity<?> shared;
+            try {
+                shared = reserveShared(scope, userEmail, operation, key, mine);
+            } catch (RuntimeException | Error e) {
+                forget(scope, mine, userEmail, operation, key);
+                mine.response.completeExceptionally(e);
+                throw e;
+            }
+            if (shared != null) {
+                return shared;
+            }
+        }
+
+        executed.increment();
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (DomainException e) {
+            // Resultado esperado de la regla de negocio (por ejemplo, recurso ya reclamado): también se guarda
+            response = GlobalExceptionHandler.toResponse(e);
+        } catch (RuntimeException | Error e) {
+            forget(scope, mine, userEmail, operation, key);
+            mine.response.completeExceptionally(e);
+            throw e;
+        }
+
+        StoredResponse stored;
+        try {
+            stored = new StoredResponse(response.getStatusCode().value(), toBytes(response.getBody()));
+            if (response.getStatusCode().is5xxServerError()) {
+                forget(scope, mine, userEmail, operation, key);
+            } else if (properties.isPersistent()) {
+                idempotencyRecordRepository.complete(userEmail, operation, key, stored.status(), stored.body());
+            }
+        } catch (RuntimeException | Error e) {
+            // La operación ya se ejecutó: esta petición recibe su respuesta, pero la clave se libera
+            // para que los reintentos no esperen una respuesta que nunca se guardará
+            log.warn("Idempotencia: no se pudo guardar la respuesta de {}: {}", operation, e.getMessage());
+            forget(scope, mine, userEmail, operation, key);
+            mine.response.completeExceptionally(e);
+            return response;
+        }
+        mine.response.complete(stored);
+        return response;
+    }
+
+    /**
+     * Huella SHA-256 del cuerpo de una petición, serializado como JSON
+     */
+    public String fingerprint(Object request) {
+        return HexFormat.of().formatHex(sha256().digest(toBytes(request)));
+    }
+
+    /**
+     * Huella de una petición identificada solo por su ruta (por ejemplo, el id del recurso)
+     */
+    public String fingerprint(String value) {
+        return HexFormat.of().formatHex(sha256().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval}", initialDelayString = "${idempotency.purge-interval}")
+    public void purgeExpired() {
+        if (!properties.isPersistent()) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getTtl());
+        shardRouter.forEachShard(() -> {
+            int deleted = idempotencyRecordRepository.deleteOlderThan(cutoff);
+            if (deleted > 0) {
+                log.info("Idempotencia: {} claves vencidas eliminadas", deleted);
+            }
+        });
+    }
+
+    /**
+     * Reserva la clave en la tabla compartida
+     * Retorna la respuesta a entregar si otra instancia ya tiene la clave, o null si esta instancia debe ejecutar
+     */
+    private ResponseEntity<?> reserveShared(String scope, String userEmail, String operation, String key, Entry mine) {
+        if (idempotencyRecordRepository.reserve(userEmail, operation, key, mine.fingerprint, LocalDateTime.now()) > 0) {
+            return null;
+        }
+        IdempotencyRecord record = idempotencyRecordRepository
+                .findByUserEmailAndOperationAndIdempotencyKey(userEmail, operation, key)
+                .orElse(null);
+
+        if (record != null && record.getStatus() != null && record.getFingerprint().equals(mine.fingerprint)) {
+            StoredResponse stored = new StoredResponse(record.getStatus(), record.getBody());
+            mine.response.complete(stored);
+            replayed.increment();
+            return replay(stored);
+        }
+
+        removeEntry(scope, mine);
+        mine.response.completeExceptionally(new IllegalStateException("Clave de idempotencia en uso"));
+        conflicts.increment();
+        if (record != null && !record.getFingerprint().equals(mine.fingerprint)) {
+            return error(HttpStatus.UNPROCESSABLE_ENTITY, "La clave de idempotencia ya se usó con otra petición");
+        }
+        // La primera petición sigue en curso en otra instancia (o acaba de liberar la clave)
+        return error(HttpStatus.CONFLICT, IN_PROGRESS_MESSAGE);
+    }
+
+    /**
+     * Libera la clave; un fallo al liberarla en la tabla solo se registra (la purga la eliminará al vencer)
+     */
+    private void forget(String scope, Entry mine, String userEmail, String operation, String key) {
+        removeEntry(scope, mine);
+        if (properties.isPersistent()) {
+            try {
+                idempotencyRecordRepository.release(userEmail, operation, key);
+            } catch (RuntimeException e) {
+                log.warn("Idempotencia: no se pudo liberar la clave de {}: {}", operation, e.getMessage());
+            }
+        }
+    }
+
+    private void removeEntry(String scope, Entry mine) {
+        synchronized (entries) {
+            entries.remove(scope, mine);
+        }
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAt - now > 0 && entries.size() < properties.getMaxEntries()) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    /**
+     * La respuesta se guarda como JSON; al repetirla se entrega como árbol para que Spring
+     * la serialice en el formato que negoció el cliente
+     */
+    private ResponseEntity<JsonNode> replay(StoredResponse stored) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.status()).header(REPLAYED_HEADER, "true");
+        if (stored.body() == null) {
+            return builder.build();
+        }
+        try {
+            return builder.body(objectMapper.readTree(stored.body()));
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo leer la respuesta guardada", e);
+        }
+    }
+
+    private ResponseEntity<ErrorResponse> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(new ErrorResponse(message));
+    }
+
+    private byte[] toBytes(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta", e);
+        }
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Counter counter(String outcome) {
+        return Counter.builder("resources.idempotency").tag("outcome", outcome).register(meterRegistry);
+    }
+
+    /**
+     * Respuesta guardada: código de estado y cuerpo JSON ya serializado
+     */
+    private record StoredResponse(int status, byte[] body) {
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        private Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = Objects.requireNonNull(fingerprint);
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.resourceshare.service;
+
+import com.resourceshare.dto.ImageUploadResponse;
+import com.resourceshare.exception.StorageException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Servicio de almacenamiento de imágenes en disco local
+ * Guarda cada imagen una sola vez usando su hash SHA-256 como nombre (deduplicación por contenido)
+ * Genera miniaturas de tamaño fijo en un pool de hilos acotado para que los listados no descarguen originales
+ * El formato se detecta por el contenido (no por el Content-Type del cliente) y las dimensiones se leen de la
+ * cabecera antes de decodificar, así una imagen pequeña en bytes pero enorme en píxeles se rechaza sin cargarla
+ */
+@Service
+@Slf4j
+public class ImageStorageService {
+
+    public static final String IMAGE_URL_PREFIX = "/api/images/";
+    public static final String THUMBNAIL_SUFFIX = "/thumbnail";
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif"
+    );
+    // Formato detectado por ImageIO a partir de los primeros bytes del archivo
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpeg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif"
+    );
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    @Value("${storage.images.dir}")
+    private String imagesDir;
+
+    @Value("${storage.images.thumbnail-size}")
+    private int thumbnailSize;
+
+    @Value("${storage.images.thumbnail-threads}")
+    private int thumbnailThreads;
+
+    @Value("${storage.images.thumbnail-queue}")
+    private int thumbnailQueue;
+
+    @Value("${storage.images.max-pixels}")
+    private long maxPixels;
+
+    private Path originalsDir;
+    private Path thumbnailsDir;
+    private Path tempDir;
+    private ThreadPoolExecutor thumbnailExecutor;
+
+    // Miniaturas encoladas o en proceso, para no generar la misma dos veces
+    private final Set<String> pendingThumbnails = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() throws IOException {
+        Path root = Paths.get(imagesDir).toAbsolutePath();
+        originalsDir = Files.createDirectories(root.resolve("originals"));
+        thumbnailsDir = Files.createDirectories(root.resolve("thumbnails"));
+        tempDir = Files.createDirectories(root.resolve("tmp"));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        thumbnailExecutor = new ThreadPoolExecutor(
+                thumbnailThreads, thumbnailThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(thumbnailQueue),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        thumbnailExecutor.shutdownNow();
+    }
+
+    /**
+     * Guarda una imagen subida por el usuario
+     * El archivo se copia en streaming a un temporal mientras se calcula su hash,
+     * y luego se mueve de forma atómica a su ruta definitiva si aún no existía
+     */
+    public ImageUploadResponse store(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("La imagen está vacía");
+        }
+
+        try {
+            Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+            try {
+                MessageDigest digest = sha256();
+                try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                    Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+                }
+
+                String contentType;
+                try {
+                    contentType = inspect(temp);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("La imagen está dañada o no se puede leer");
+                }
+                String extension = EXTENSIONS.get(contentType);
+
+                String hash = HexFormat.of().formatHex(digest.digest());
+                Path target = originalPath(hash, extension);
+                boolean deduplicated = Files.exists(target);
+
+                if (!deduplicated) {
+                    Files.createDirectories(target.getParent());
+                    try {
+                        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (FileAlreadyExistsException e) {
+                        // Otra petición guardó el mismo contenido al mismo tiempo
+                        deduplicated = true;
+                    }
+                }
+
+                scheduleThumbnail(hash, target);
+
+                return ImageUploadResponse.builder()
+                        .hash(hash)
+                        .url(IMAGE_URL_PREFIX + hash)
+                        .thumbnailUrl(IMAGE_URL_PREFIX + hash + THUMBNAIL_SUFFIX)
+                        .contentType(contentType)
+                        .size(Files.size(target))
+                        .deduplicated(deduplicated)
+                        .build();
+            } finally {
+                // Si se movió a su ruta definitiva ya no existe; si no (duplicada, rechazada o subida
+                // interrumpida) se descarta
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new StorageException("No se pudo guardar la imagen", e);
+        }
+    }
+
+    /**
+     * Retorna el tipo de la imagen según su contenido, comprobando que sus dimensiones no superen maxPixels
+     */
+    private String inspect(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            ImageReader reader = openReader(in);
+            try {
+                String contentType = CONTENT_TYPES.get(reader.getFormatName().toLowerCase(Locale.ROOT));
+                if (contentType == null) {
+                    throw new IllegalArgumentException("Formato de imagen no soportado (solo JPEG, PNG o GIF)");
+                }
+                checkDimensions(reader);
+                return contentType;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Lector de ImageIO para el formato detectado en el flujo, con la entrada ya asignada
+     */
+    private ImageReader openReader(ImageInputStream in) {
+        Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : Collections.emptyIterator();
+        if (!readers.hasNext()) {
+            throw new IllegalArgumentException("Formato de imagen no soportado (solo JPEG, PNG o GIF)");
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(in, true, true);
+        return reader;
+    }
+
+    // Solo lee la cabecera: el ancho y alto se conocen sin decodificar los píxeles
+    private void checkDimensions(ImageReader reader) throws IOException {
+        long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+        if (pixels > maxPixels) {
+            throw new IllegalArgumentException("La imagen no puede superar " + maxPixels + " píxeles");
+        }
+    }
+
+    /**
+     * Busca la imagen original por su hash
+     */
+    public Optional<StoredImage> findOriginal(String hash) {
+        if (!HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        for (Map.Entry<String, String> entry : EXTENSIONS.entrySet()) {
+            Path path = originalPath(hash, entry.getValue());
+            if (Files.exists(path)) {
+                return Optional.of(new StoredImage(hash, path, entry.getKey(), false));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Busca la miniatura de una imagen
+     * Si todavía no se generó, la encola y retorna el original marcado como respaldo
+     */
+    public Optional<StoredImage> findThumbnail(String hash) {
+        if (!HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path thumbnail = thumbnailPath(hash);
+        if (Files.exists(thumbnail)) {
+            return Optional.of(new StoredImage(hash, thumbnail, "image/jpeg", false));
+        }
+        return findOriginal(hash).map(original -> {
+            scheduleThumbnail(hash, original.getPath());
+            return new StoredImage(hash, original.getPath(), original.getContentType(), true);
+        });
+    }
+
+    /**
+     * Calcula la URL de miniatura para un imageUrl guardado en un recurso
+     * Las imágenes externas no tienen miniatura y se retornan tal cual
+     */
+    public static String thumbnailUrlFor(String imageUrl) {
+        if (imageUrl != null && imageUrl.startsWith(IMAGE_URL_PREFIX) && !imageUrl.endsWith(THUMBNAIL_SUFFIX)) {
+            return imageUrl + THUMBNAIL_SUFFIX;
+        }
+        return imageUrl;
+    }
+
+    private void scheduleThumbnail(String hash, Path original) {
+        if (Files.exists(thumbnailPath(hash)) || !pendingThumbnails.add(hash)) {
+            return;
+        }
+        try {
+            thumbnailExecutor.execute(() -> {
+                try {
+                    generateThumbnail(original, thumbnailPath(hash));
+                } catch (Exception e) {
+                    log.warn("No se pudo generar la miniatura de {}: {}", hash, e.getMessage());
+                } finally {
+                    pendingThumbnails.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Cola llena: la miniatura se volverá a encolar en la próxima lectura
+            pendingThumbnails.remove(hash);
+        }
+    }
+
+    /**
+     * Escala la imagen para que quepa en un cuadro de thumbnailSize x thumbnailSize
+     * El resultado siempre es JPEG con fondo blanco (las transparencias se aplanan)
+     * Se vuelven a comprobar las dimensiones (los originales anteriores a la validación no la pasaron) y las
+     * imágenes grandes se decodifican saltando filas y columnas, porque solo hace falta el doble de la miniatura
+     */
+    private void generateThumbnail(Path original, Path target) throws IOException {
+        BufferedImage source;
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            ImageReader reader = openReader(in);
+            try {
+                checkDimensions(reader);
+                int shortSide = Math.min(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, shortSide / (thumbnailSize * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                source = reader.read(0, param);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage(), e);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        double scale = Math.min(1.0, Math.min(
+                (double) thumbnailSize / source.getWidth(),
+                (double) thumbnailSize / source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(tempDir, "thumb-", ".part");
+        try {
+            ImageIO.write(thumbnail, "jpg", temp.toFile());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Los archivos se reparten en subdirectorios por los dos primeros caracteres del hash
+    private Path originalPath(String hash, String extension) {
+        return originalsDir.resolve(hash.substring(0, 2)).resolve(hash + "." + extension);
+    }
+
+    private Path thumbnailPath(String hash) {
+        return thumbnailsDir.resolve(hash.substring(0, 2)).resolve(hash + ".jpg");
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Archivo de imagen ubicado en disco
+     * fallback = true cuando se pidió la miniatura pero se entrega el original
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class StoredImage {
+        private final String hash;
+        private final Path path;
+        private final String contentType;
+        private final boolean fallback;
+    }
+}
@@ -0,0 +1,149 @@
+package com.resourceshare.service;
+
+import com.resourceshare.dto.NotificationResponse;
+import com.resourceshare.entity.Notification;
+import com.resourceshare.entity.User;
+import com.resourceshare.exception.NotFoundException;
+import com.resourceshare.repository.NotificationRepository;
+import com.resourceshare.repository.UserRepository;
+import com.resourceshare.shard.ShardContext;
+import com.resourceshare.shard.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de la bandeja de notificaciones
+ * Las notificaciones se guardan en un hilo aparte después del commit de la transacción que las generó,
+ * para no alargar la publicación de recursos; si la cola se llena, el hilo que encola las guarda él mismo
+ */
+@Service
+@Slf4j
+public class NotificationService {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${notifications.queue-capacity}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor deliveryExecutor;
+
+    @PostConstruct
+    void init() {
+        deliveryExecutor = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-delivery");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        deliveryExecutor.shutdown();
+        deliveryExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Encola notificaciones para guardarlas cuando la transacción actual confirme
+     * Si se llama fuera de una transacción se encolan de inmediato
+     */
+    public void deliverAfterCommit(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(notifications);
+                }
+            });
+        } else {
+            enqueue(notifications);
+        }
+    }
+
+    private void enqueue(List<Notification> notifications) {
+        deliveryExecutor.execute(() -> {
+            try {
+                // Cada notificación se guarda en la región de su destinatario
+                shardRouter.groupById(notifications, notification -> notification.getUser().getId())
+                        .forEach((shard, group) -> ShardContext.run(shard, () -> notificationRepository.saveAll(group)));
+            } catch (RuntimeException e) {
+                log.warn("No se pudieron guardar {} notificaciones: {}", notifications.size(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Obtiene la bandeja del usuario, de la más reciente a la más antigua
+     */
+    public List<NotificationResponse> getNotifications(String email, boolean unreadOnly) {
+        User user = findUser(email);
+        List<Notification> notifications = unreadOnly
+                ? notificationRepository.findByUserAndReadFalseOrderByCreatedAtDescIdDesc(user)
+                : notificationRepository.findByUserOrderByCreatedAtDescIdDesc(user);
+        return notifications.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    public long countUnread(String email) {
+        return notificationRepository.countByUserAndReadFalse(findUser(email));
+    }
+
+    /**
+     * Marca una notificación como leída (solo su dueño)
+     */
+    @Transactional
+    public NotificationResponse markRead(Long id, String email) {
+        Notification notification = notificationRepository.findByIdAndUser(id, findUser(email))
+                .orElseThrow(() -> new NotFoundException("Notificación no encontrada"));
+        notification.setRead(true);
+        return mapToResponse(notificationRepository.save(notification));
+    }
+
+    @Transactional
+    public int markAllRead(String email) {
+        return notificationRepository.markAllRead(findUser(email));
+    }
+
+    private User findUser(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
+    }
+
+    private NotificationResponse mapToResponse(Notification notification) {
+        return NotificationResponse.builder()
+                .id(notification.getId())
+                .resourceId(notification.getResourceId())
+                .savedSearchId(notification.getSavedSearchId())
+                .message(notification.getMessage())
+                .read(notification.isRead())
+                .createdAt(notification.getCreatedAt())
+                .build();
+    }
+}
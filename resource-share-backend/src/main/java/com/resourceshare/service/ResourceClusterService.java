@@ -0,0 +1,139 @@
+package com.resourceshare.service;
+
+import com.resourceshare.dto.ClusterResponse;
+import com.resourceshare.entity.Resource;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.event.ResourceTransitionEvent;
+import com.resourceshare.geo.BoundingBox;
+import com.resourceshare.geo.ClusterIndex;
+import com.resourceshare.repository.ResourceRepository;
+import com.resourceshare.repository.ResourceRepository.LocationView;
+import com.resourceshare.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de agrupamiento de marcadores del mapa
+ * Mantiene en memoria un ClusterIndex con los recursos AVAILABLE, actualizado en cada transición,
+ * para responder por zoom y área sin consultar la BD en cada petición
+ */
+@Service
+@Slf4j
+public class ResourceClusterService {
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${clusters.max-zoom}")
+    private int maxZoom;
+
+    private volatile ClusterIndex index;
+
+    // Transiciones recibidas mientras se reconstruye el índice, aplicadas al terminar
+    private List<ResourceTransitionEvent> pendingDuringRebuild;
+    private final Object lock = new Object();
+
+    /**
+     * Construye el índice con los recursos disponibles de todas las regiones al iniciar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (lock) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        ClusterIndex fresh = new ClusterIndex(maxZoom);
+        shardRouter.forEachShard(() -> {
+            for (LocationView view : resourceRepository.findLocationsByStatus(ResourceStatus.AVAILABLE)) {
+                fresh.add(view.getId(), view.getLatitude(), view.getLongitude(), view.getCategory());
+            }
+        });
+
+        synchronized (lock) {
+            pendingDuringRebuild.forEach(event -> apply(fresh, event));
+            pendingDuringRebuild = null;
+            index = fresh;
+        }
+        log.info("Índice de agrupamiento construido con {} recursos disponibles", fresh.size());
+    }
+
+    /**
+     * Actualiza los contadores cuando un recurso entra o sale del estado AVAILABLE
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(ResourceTransitionEvent event) {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+                return;
+            }
+        }
+        if (index != null) {
+            apply(index, event);
+        }
+    }
+
+    /**
+     * Vuelve a leer los recursos modificados en otro nodo (sin evento local) y ajusta el índice
+     * Debe llamarse con la región de los recursos activa
+     */
+    public void refresh(Collection<Long> resourceIds) {
+        ClusterIndex current = index;
+        if (current == null) {
+            return;
+        }
+        Set<Long> missing = new HashSet<>(resourceIds);
+        for (Resource resource : resourceRepository.findAllById(resourceIds)) {
+            missing.remove(resource.getId());
+            if (resource.getStatus() == ResourceStatus.AVAILABLE) {
+                current.add(resource.getId(), resource.getLatitude(), resource.getLongitude(), resource.getCategory());
+            } else {
+                current.remove(resource.getId());
+            }
+        }
+        // Archivados o eliminados
+        missing.forEach(current::remove);
+    }
+
+    /**
+     * Obtiene los grupos de recursos disponibles visibles en el área para un nivel de zoom
+     */
+    public List<ClusterResponse> getClusters(BoundingBox bbox, int zoom, Set<ResourceCategory> categories) {
+        ClusterIndex current = index;
+        if (current == null) {
+            return List.of();
+        }
+        return current.query(bbox, zoom, categories).stream()
+                .map(cluster -> ClusterResponse.builder()
+                        .latitude(cluster.latitude())
+                        .longitude(cluster.longitude())
+                        .count(cluster.count())
+                        .categories(cluster.categories())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private void apply(ClusterIndex target, ResourceTransitionEvent event) {
+        if (event.toStatus() == ResourceStatus.AVAILABLE) {
+            target.add(event.resourceId(), event.latitude(), event.longitude(), event.category());
+        } else if (event.fromStatus() == ResourceStatus.AVAILABLE) {
+            target.remove(event.resourceId());
+        }
+    }
+}
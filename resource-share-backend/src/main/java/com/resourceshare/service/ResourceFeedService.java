@@ -0,0 +1,145 @@
+package com.resourceshare.service;
+
+import com.resourceshare.config.FeedProperties;
+import com.resourceshare.dto.ResourceResponse;
+import com.resourceshare.entity.Resource;
+import com.resourceshare.entity.User;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.exception.NotFoundException;
+import com.resourceshare.geo.GeoDistance;
+import com.resourceshare.repository.ArchivedResourceRepository;
+import com.resourceshare.repository.ResourceRepository;
+import com.resourceshare.repository.ResourceRepositoryCustom.FeedCandidate;
+import com.resourceshare.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio del feed personalizado de recursos para receptores
+ * Ordena los recursos AVAILABLE por cercanía, novedad y afinidad con las categorías que el receptor ya reclamó
+ * Los candidatos se puntúan con una proyección (id, categoría, coordenadas, fecha) y la afinidad con un conteo
+ * por categoría; solo se conservan los K mejores en un heap acotado, así ordenar cuesta O(n log K) y solo esos K
+ * recursos se cargan como entidades y se mapean a DTO
+ */
+@Service
+public class ResourceFeedService {
+
+    private static final int CATEGORIES = ResourceCategory.values().length;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private ArchivedResourceRepository archivedResourceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ResourceService resourceService;
+
+    @Autowired
+    private FeedProperties properties;
+
+    /**
+     * Obtiene el feed del receptor
+     * Si se envía la ubicación, los candidatos se limitan al radio configurado (consulta por geohash);
+     * sin ubicación se consideran todos los disponibles y la cercanía no influye
+     */
+    @Transactional(readOnly = true)
+    public List<ResourceResponse> getFeed(String receiverEmail, Double latitude, Double longitude, Integer limit) {
+        User receiver = userRepository.findByEmail(receiverEmail)
+                .orElseThrow(() -> new NotFoundException("Receptor no encontrado"));
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("Debe enviar latitud y longitud juntas");
+        }
+        int k = Math.min(limit != null && limit > 0 ? limit : properties.getDefaultLimit(), properties.getMaxLimit());
+        boolean located = latitude != null;
+
+        // Solo las columnas del puntaje; las entidades completas se cargan únicamente para los K elegidos
+        List<FeedCandidate> candidates = located
+                ? resourceRepository.findFeedCandidatesWithinRadius(
+                        ResourceStatus.AVAILABLE, latitude, longitude, properties.getCandidateRadiusKm())
+                : resourceRepository.findFeedCandidatesByStatus(ResourceStatus.AVAILABLE);
+
+        double[] affinity = categoryAffinity(receiver);
+        LocalDateTime now = LocalDateTime.now();
+        double halfLifeHours = properties.getRecencyHalfLife().toMinutes() / 60.0;
+
+        // Heap de mínimos con los K mejores vistos hasta ahora; la raíz es el peor de ellos
+        PriorityQueue<Scored> top = new PriorityQueue<>(k + 1);
+        for (FeedCandidate candidate : candidates) {
+            double score = properties.getAffinityWeight() * affinity[candidate.category().ordinal()];
+
+            double ageHours = Math.max(0, Duration.between(candidate.createdAt(), now).toMinutes() / 60.0);
+            score += properties.getRecencyWeight() * Math.pow(0.5, ageHours / halfLifeHours);
+
+            if (located) {
+                double km = GeoDistance.kilometers(latitude, longitude, candidate.latitude(), candidate.longitude());
+                score += properties.getDistanceWeight() * Math.exp(-km / properties.getDistanceScaleKm());
+            }
+
+            if (top.size() < k) {
+                top.add(new Scored(candidate.id(), score));
+            } else if (score > top.peek().score()) {
+                top.poll();
+                top.add(new Scored(candidate.id(), score));
+            }
+        }
+
+        List<Scored> ranked = new ArrayList<>(top);
+        ranked.sort(Collections.reverseOrder());
+        Map<Long, Resource> resources = resourceRepository.findAllById(ranked.stream().map(Scored::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+        return ranked.stream()
+                .map(scored -> resources.get(scored.id()))
+                // Un recurso borrado entre las dos consultas simplemente no aparece
+                .filter(Objects::nonNull)
+                .map(resourceService::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Afinidad por categoría según los recursos que el receptor reclamó (vigentes e históricos)
+     * Se suaviza sumando 1 a cada categoría y se normaliza para que la categoría favorita valga 1;
+     * un receptor sin historial tiene afinidad 1 en todas
+     */
+    private double[] categoryAffinity(User receiver) {
+        long[] counts = new long[CATEGORIES];
+        resourceRepository.countByReceiverGroupByCategory(receiver)
+                .forEach(row -> counts[row.getCategory().ordinal()] += row.getTotal());
+        archivedResourceRepository.countByReceiverGroupByCategory(receiver)
+                .forEach(row -> counts[row.getCategory().ordinal()] += row.getTotal());
+
+        long max = 0;
+        for (long count : counts) {
+            max = Math.max(max, count);
+        }
+        double[] affinity = new double[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++) {
+            affinity[i] = (counts[i] + 1.0) / (max + 1.0);
+        }
+        return affinity;
+    }
+
+    private record Scored(Long id, double score) implements Comparable<Scored> {
+        @Override
+        public int compareTo(Scored other) {
+            return Double.compare(score, other.score);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.resourceshare.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.geo.BoundingBox;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Servicio de carga masiva de marcadores para el mapa
+ * Lee solo id, coordenadas, categoría y estado directamente con JDBC hacia arreglos primitivos
+ * (sin entidades ni DTO por fila) y los escribe como columnas paralelas en un único JSON:
+ * - ids codificados como diferencias con el anterior (ordenados ascendentemente)
+ * - coordenadas cuantizadas a enteros (grados * COORDINATE_SCALE, ~1 m de precisión)
+ * - categoría y estado como ordinales, con su tabla de nombres
+ */
+@Service
+public class ResourceMarkerService {
+
+    public static final int COORDINATE_SCALE = 100_000;
+
+    private static final int FETCH_SIZE = 5_000;
+    private static final ResourceCategory[] CATEGORIES = ResourceCategory.values();
+    private static final ResourceStatus[] STATUSES = ResourceStatus.values();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Carga los marcadores del estado indicado, opcionalmente limitados a un área y a categorías
+     * La transacción de solo lectura permite que el driver lea por cursor (fetch size) sin cargar todo a la vez
+     */
+    @Transactional(readOnly = true)
+    public MarkerColumns loadMarkers(ResourceStatus status, BoundingBox bbox, Set<ResourceCategory> categories) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, latitude, longitude, category, status FROM resources WHERE status = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(status.name());
+
+        if (bbox != null) {
+            sql.append(" AND latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ?");
+            params.add(bbox.minLatitude());
+            params.add(bbox.maxLatitude());
+            params.add(bbox.minLongitude());
+            params.add(bbox.maxLongitude());
+        }
+        if (categories != null && !categories.isEmpty()) {
+            sql.append(" AND category IN (").append(String.join(",", Collections.nCopies(categories.size(), "?"))).append(")");
+            categories.forEach(category -> params.add(category.name()));
+        }
+        sql.append(" ORDER BY id");
+
+        MarkerColumns columns = new MarkerColumns();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString());
+            statement.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            return statement;
+        }, resultSet -> {
+            columns.add(
+                    resultSet.getLong(1),
+                    (int) Math.round(resultSet.getDouble(2) * COORDINATE_SCALE),
+                    (int) Math.round(resultSet.getDouble(3) * COORDINATE_SCALE),
+                    ResourceCategory.valueOf(resultSet.getString(4)).ordinal(),
+                    ResourceStatus.valueOf(resultSet.getString(5)).ordinal());
+        });
+        return columns;
+    }
+
+    /**
+     * Escribe las columnas como JSON en streaming, sin construir un árbol de objetos intermedio
+     */
+    public void writeJson(MarkerColumns columns, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeNumberField("count", columns.size);
+            generator.writeNumberField("coordinateScale", COORDINATE_SCALE);
+
+            generator.writeArrayFieldStart("categories");
+            for (ResourceCategory category : CATEGORIES) {
+                generator.writeString(category.name());
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("statuses");
+            for (ResourceStatus status : STATUSES) {
+                generator.writeString(status.name());
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("idDeltas");
+            long previous = 0;
+            for (int i = 0; i < columns.size; i++) {
+                generator.writeNumber(columns.ids[i] - previous);
+                previous = columns.ids[i];
+            }
+            generator.writeEndArray();
+
+            generator.writeFieldName("latitudes");
+            generator.writeArray(columns.latitudes, 0, columns.size);
+            generator.writeFieldName("longitudes");
+            generator.writeArray(columns.longitudes, 0, columns.size);
+            generator.writeFieldName("category");
+            generator.writeArray(columns.categories, 0, columns.size);
+            generator.writeFieldName("status");
+            generator.writeArray(columns.statuses, 0, columns.size);
+
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Columnas de marcadores en arreglos primitivos que crecen al doble cuando se llenan
+     */
+    public static final class MarkerColumns {
+        private long[] ids = new long[1024];
+        private int[] latitudes = new int[1024];
+        private int[] longitudes = new int[1024];
+        private int[] categories = new int[1024];
+        private int[] statuses = new int[1024];
+        private int size;
+
+        void add(long id, int latitude, int longitude, int category, int status) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                latitudes = Arrays.copyOf(latitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+            }
+            ids[size] = id;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            categories[size] = category;
+            statuses[size] = status;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+}
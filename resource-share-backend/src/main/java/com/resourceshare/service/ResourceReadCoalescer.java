@@ -0,0 +1,89 @@
+package com.resourceshare.service;
+
+import com.resourceshare.cache.SerializedPayload;
+import com.resourceshare.cache.SingleFlightCache;
+import com.resourceshare.dto.ResourceResponse;
+import com.resourceshare.event.ResourceTransitionEvent;
+import com.resourceshare.shard.ShardContext;
+import com.resourceshare.shard.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Capa de agrupamiento delante de las lecturas más frecuentes de ResourceService
+ * Las peticiones idénticas simultáneas comparten una sola consulta, un solo mapeo a DTO y una sola
+ * serialización; el resultado se reutiliza a lo sumo max-staleness y se descarta antes si un recurso cambia
+ */
+@Service
+public class ResourceReadCoalescer {
+
+    private static final String AVAILABLE_KEY = "available";
+
+    @Autowired
+    private ResourceService resourceService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${coalescing.max-staleness}")
+    private Duration maxStaleness;
+
+    private SingleFlightCache<String, SerializedPayload<List<ResourceResponse>>> available;
+    private SingleFlightCache<Long, SerializedPayload<ResourceResponse>> byId;
+
+    @PostConstruct
+    void init() {
+        available = new SingleFlightCache<>("available", maxStaleness, meterRegistry);
+        byId = new SingleFlightCache<>("byId", maxStaleness, meterRegistry);
+    }
+
+    /**
+     * Recursos disponibles, con sus bytes serializados compartidos entre peticiones de la misma región
+     */
+    public SerializedPayload<List<ResourceResponse>> getAvailableResources() {
+        String shard = ShardContext.current() != null ? ShardContext.current() : shardRouter.defaultShard();
+        return available.get(AVAILABLE_KEY + ':' + shard, resourceService::getAvailableResources);
+    }
+
+    /**
+     * Detalle de un recurso; lanza la misma excepción que ResourceService si no existe
+     */
+    public SerializedPayload<ResourceResponse> getResourceById(Long id) {
+        return byId.get(id, () -> resourceService.getResourceById(id));
+    }
+
+    /**
+     * Descarta los resultados afectados cuando un recurso cambia de estado
+     * Cambios sin transición (como activar la auto-confirmación) se reflejan al vencer max-staleness
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(ResourceTransitionEvent event) {
+        evict(List.of(event.resourceId()));
+    }
+
+    /**
+     * Descarta los resultados de recursos modificados en otro nodo
+     */
+    public void evict(Collection<Long> resourceIds) {
+        for (Long resourceId : resourceIds) {
+            available.invalidate(AVAILABLE_KEY + ':' + shardRouter.forId(resourceId));
+            byId.invalidate(resourceId);
+        }
+    }
+
+    public void invalidateAll() {
+        available.invalidateAll();
+        byId.invalidateAll();
+    }
+}
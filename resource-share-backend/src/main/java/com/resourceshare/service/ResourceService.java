@@ -1,19 +1,43 @@
 package com.resourceshare.service;
 
+import com.resourceshare.cache.CacheInvalidationBus;
+import com.resourceshare.cache.ResourceFragmentCache;
+import com.resourceshare.cache.SerializedPayload;
+import com.resourceshare.config.ResourceNearbyProperties;
+import com.resourceshare.dto.BulkTransitionResponse;
+import com.resourceshare.dto.ResourceEventResponse;
 import com.resourceshare.dto.ResourceRequest;
 import com.resourceshare.dto.ResourceResponse;
+import com.resourceshare.entity.ArchivedResource;
 import com.resourceshare.entity.Resource;
 import com.resourceshare.entity.User;
 import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.event.ResourceTransitionEvent;
+import com.resourceshare.exception.ConflictException;
+import com.resourceshare.exception.DomainException;
+import com.resourceshare.exception.ForbiddenOperationException;
+import com.resourceshare.exception.NotFoundException;
+import com.resourceshare.geo.GeoHash;
+import com.resourceshare.repository.ArchivedResourceRepository;
+import com.resourceshare.repository.ResourceEventRepository;
 import com.resourceshare.repository.ResourceRepository;
 import com.resourceshare.repository.UserRepository;
+import com.resourceshare.scheduling.ResourceExpirationScheduler;
+import com.resourceshare.state.ResourceAction;
+import com.resourceshare.state.ResourceStateMachine;
+import com.resourceshare.state.ResourceStateMachine.PreviousState;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -27,9 +51,36 @@ public class ResourceService {
     @Autowired
     private ResourceRepository resourceRepository;
 
+    @Autowired
+    private ArchivedResourceRepository archivedResourceRepository;
+
+    @Autowired
+    private ResourceEventRepository resourceEventRepository;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ResourceExpirationScheduler expirationScheduler;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    @Autowired
+    private ResourceFragmentCache fragmentCache;
+
+    @Autowired
+    private ResourceStateMachine stateMachine;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private ResourceNearbyProperties nearbyProperties;
+
     /**
      * Publica un nuevo recurso (solo DONOR)
      * El recurso se crea con estado AVAILABLE y puede ser reclamado por receptores
@@ -38,7 +89,7 @@ public class ResourceService {
     @Transactional
     public ResourceResponse publishResource(ResourceRequest request, String donorEmail) {
         User donor = userRepository.findByEmail(donorEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("Donante no encontrado"));
+                .orElseThrow(() -> new NotFoundException("Donante no encontrado"));
 
         Resource resource = new Resource();
         resource.setTitle(request.getTitle());
@@ -48,13 +99,23 @@ public class ResourceService {
         resource.setDonor(donor);
         resource.setLatitude(request.getLatitude());
         resource.setLongitude(request.getLongitude());
+        resource.setGeohash(GeoHash.encode(request.getLatitude(), request.getLongitude()));
         resource.setAddress(request.getAddress());
         resource.setImageUrl(request.getImageUrl());
+        resource.setStatusChangedAt(LocalDateTime.now());
         
         // Configurar modo de confirmación (manual por defecto)
         resource.setAutoConfirm(request.getAutoConfirm() != null ? request.getAutoConfirm() : false);
 
-        Resource savedResource = resourceRepository.save(resource);
+        Resource savedResource = saveChanged(resource);
+
+        // Programar el vencimiento de la publicación si su categoría tiene TTL
+        expirationScheduler.scheduleListingExpiration(
+                savedResource.getId(), savedResource.getCategory(), savedResource.getCreatedAt());
+        eventPublisher.publishEvent(ResourceTransitionEvent.of(savedResource, null, null, donorEmail));
+
+        // Avisar a los usuarios con búsquedas guardadas que coinciden (se entrega después del commit)
+        savedSearchService.notifyMatches(savedResource);
 
         return mapToResponse(savedResource);
     }
@@ -63,63 +124,117 @@ public class ResourceService {
      * Obtiene todos los recursos disponibles (para RECEIVER)
      * Solo retorna recursos con estado AVAILABLE que pueden ser reclamados
      */
-    public List<ResourceResponse> getAvailableResources() {
+    public SerializedPayload<List<ResourceResponse>> getAvailableResources() {
         List<Resource> resources = resourceRepository.findByStatus(ResourceStatus.AVAILABLE);
-        return resources.stream()
+        return toPayload(resources, List.of());
+    }
+
+    /**
+     * Obtiene los recursos disponibles a menos de radiusKm del punto, del más cercano al más lejano
+     * La BD resuelve el área con el índice geohash, sin cargar todos los recursos disponibles
+     */
+    public List<ResourceResponse> getNearbyResources(double latitude, double longitude, double radiusKm) {
+        checkRadius(radiusKm);
+        return resourceRepository.findByStatusWithinRadius(ResourceStatus.AVAILABLE, latitude, longitude, radiusKm).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Valida el radio de una búsqueda por cercanía (mayor que cero y hasta resources.nearby.max-radius-km)
+     */
+    public void checkRadius(double radiusKm) {
+        if (!(radiusKm > 0)) {
+            throw new IllegalArgumentException("El radio debe ser mayor que cero");
+        }
+        if (radiusKm > nearbyProperties.getMaxRadiusKm()) {
+            throw new IllegalArgumentException("El radio no puede superar "
+                    + BigDecimal.valueOf(nearbyProperties.getMaxRadiusKm()).stripTrailingZeros().toPlainString() + " km");
+        }
+    }
+
     /**
      * Obtiene los recursos publicados por un donante
      * Retorna todos los recursos del donante independientemente de su estado
+     * Con includeHistory = true agrega también los recursos movidos al histórico
      */
-    public List<ResourceResponse> getMyDonorResources(String donorEmail) {
+    public SerializedPayload<List<ResourceResponse>> getMyDonorResources(String donorEmail, boolean includeHistory) {
         User donor = userRepository.findByEmail(donorEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("Donante no encontrado"));
+                .orElseThrow(() -> new NotFoundException("Donante no encontrado"));
 
-        List<Resource> resources = resourceRepository.findByDonor(donor);
-        return resources.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<ArchivedResource> archived = includeHistory ? archivedResourceRepository.findByDonor(donor) : List.of();
+        return toPayload(resourceRepository.findByDonor(donor), archived);
     }
 
     /**
      * Obtiene los recursos reclamados por un receptor
      * Retorna recursos en cualquier estado posterior a AVAILABLE (CLAIMED, IN_TRANSIT, DELIVERED)
+     * Con includeHistory = true agrega también los recursos movidos al histórico
      */
-    public List<ResourceResponse> getMyReceivedResources(String receiverEmail) {
+    public SerializedPayload<List<ResourceResponse>> getMyReceivedResources(String receiverEmail, boolean includeHistory) {
         User receiver = userRepository.findByEmail(receiverEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("Receptor no encontrado"));
+                .orElseThrow(() -> new NotFoundException("Receptor no encontrado"));
 
-        List<Resource> resources = resourceRepository.findByReceiver(receiver);
-        return resources.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<ArchivedResource> archived = includeHistory ? archivedResourceRepository.findByReceiver(receiver) : List.of();
+        return toPayload(resourceRepository.findByReceiver(receiver), archived);
     }
 
     /**
      * Obtiene los recursos en estado CLAIMED del donante actual
      * Muestra recursos que fueron reclamados pero aún no confirmados por el donante
      */
-    public List<ResourceResponse> getClaimedResourcesByDonor(String donorEmail) {
+    public SerializedPayload<List<ResourceResponse>> getClaimedResourcesByDonor(String donorEmail) {
         User donor = userRepository.findByEmail(donorEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("Donante no encontrado"));
+                .orElseThrow(() -> new NotFoundException("Donante no encontrado"));
 
         List<Resource> resources = resourceRepository.findByDonorAndStatus(donor, ResourceStatus.CLAIMED);
-        return resources.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return toPayload(resources, List.of());
     }
 
     /**
      * Obtiene un recurso por ID
      * Retorna el detalle completo de un recurso específico
      */
-    public ResourceResponse getResourceById(Long id) {
+    public SerializedPayload<ResourceResponse> getResourceById(Long id) {
         Resource resource = resourceRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Recurso no encontrado"));
-        return mapToResponse(resource);
+                .orElseThrow(() -> new NotFoundException("Recurso no encontrado"));
+        byte[] json = fragmentCache.fragment(resource.getId(), resource.getChangeSeq(), () -> mapToResponse(resource));
+        return SerializedPayload.withJson(() -> mapToResponse(resource), json);
+    }
+
+    /**
+     * Obtiene el historial de transiciones de un recurso
+     * Solo el donante o el receptor del recurso pueden verlo (también si ya fue archivado)
+     */
+    public List<ResourceEventResponse> getResourceHistory(Long id, String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
+
+        Long donorId;
+        Long receiverId;
+        Resource resource = resourceRepository.findById(id).orElse(null);
+        if (resource != null) {
+            donorId = resource.getDonor().getId();
+            receiverId = resource.getReceiver() != null ? resource.getReceiver().getId() : null;
+        } else {
+            ArchivedResource archived = archivedResourceRepository.findById(id)
+                    .orElseThrow(() -> new NotFoundException("Recurso no encontrado"));
+            donorId = archived.getDonor().getId();
+            receiverId = archived.getReceiver() != null ? archived.getReceiver().getId() : null;
+        }
+
+        if (!user.getId().equals(donorId) && !user.getId().equals(receiverId)) {
+            throw new ForbiddenOperationException("No tienes permiso para ver el historial de este recurso");
+        }
+
+        return resourceEventRepository.findByResourceIdOrderByOccurredAtAscIdAsc(id).stream()
+                .map(event -> ResourceEventResponse.builder()
+                        .fromStatus(event.getFromStatus())
+                        .toStatus(event.getToStatus())
+                        .actor(event.getActor())
+                        .occurredAt(event.getOccurredAt())
+                        .build())
+                .collect(Collectors.toList());
     }
 
     /**
@@ -130,31 +245,7 @@ public class ResourceService {
      */
     @Transactional
     public ResourceResponse claimResource(Long resourceId, String receiverEmail) {
-        Resource resource = resourceRepository.findById(resourceId)
-                .orElseThrow(() -> new RuntimeException("Recurso no encontrado"));
-
-        if (resource.getStatus() != ResourceStatus.AVAILABLE) {
-            throw new RuntimeException("El recurso no está disponible");
-        }
-
-        User receiver = userRepository.findByEmail(receiverEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("Receptor no encontrado"));
-
-        // Asignar receptor y registrar fecha de reclamación
-        resource.setReceiver(receiver);
-        resource.setClaimedAt(LocalDateTime.now());
-
-        // Determinar el estado según configuración de auto-confirmación
-        if (resource.getAutoConfirm() != null && resource.getAutoConfirm()) {
-            // Confirmación automática: ir directo a IN_TRANSIT
-            resource.setStatus(ResourceStatus.IN_TRANSIT);
-        } else {
-            // Confirmación manual: pasar a CLAIMED y esperar confirmación del donante
-            resource.setStatus(ResourceStatus.CLAIMED);
-        }
-
-        Resource updatedResource = resourceRepository.save(resource);
-        return mapToResponse(updatedResource);
+        return transition(ResourceAction.CLAIM, resourceId, receiverEmail);
     }
 
     /**
@@ -165,27 +256,7 @@ public class ResourceService {
      */
     @Transactional
     public ResourceResponse confirmPickup(Long resourceId, String donorEmail) {
-        Resource resource = resourceRepository.findById(resourceId)
-                .orElseThrow(() -> new RuntimeException("Recurso no encontrado"));
-
-        User donor = userRepository.findByEmail(donorEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("Donante no encontrado"));
-
-        // Verificar que el recurso pertenece al donante que intenta confirmar
-        if (!resource.getDonor().getId().equals(donor.getId())) {
-            throw new RuntimeException("No tienes permiso para confirmar este recurso");
-        }
-
-        // Validar que el recurso está en estado CLAIMED
-        if (resource.getStatus() != ResourceStatus.CLAIMED) {
-            throw new RuntimeException("El recurso debe estar en estado CLAIMED para confirmar el encuentro");
-        }
-
-        // Cambiar estado a IN_TRANSIT
-        resource.setStatus(ResourceStatus.IN_TRANSIT);
-
-        Resource updatedResource = resourceRepository.save(resource);
-        return mapToResponse(updatedResource);
+        return transition(ResourceAction.CONFIRM_PICKUP, resourceId, donorEmail);
     }
 
     /**
@@ -195,28 +266,7 @@ public class ResourceService {
      */
     @Transactional
     public ResourceResponse confirmDelivery(Long resourceId, String receiverEmail) {
-        Resource resource = resourceRepository.findById(resourceId)
-                .orElseThrow(() -> new RuntimeException("Recurso no encontrado"));
-
-        User receiver = userRepository.findByEmail(receiverEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("Receptor no encontrado"));
-
-        // Verificar que el recurso fue reclamado por el receptor que intenta confirmar
-        if (resource.getReceiver() == null || !resource.getReceiver().getId().equals(receiver.getId())) {
-            throw new RuntimeException("No tienes permiso para confirmar esta entrega");
-        }
-
-        // Validar que el recurso está en estado IN_TRANSIT
-        if (resource.getStatus() != ResourceStatus.IN_TRANSIT) {
-            throw new RuntimeException("El recurso debe estar en estado IN_TRANSIT para confirmar la entrega");
-        }
-
-        // Cambiar estado a DELIVERED y registrar fecha de entrega
-        resource.setStatus(ResourceStatus.DELIVERED);
-        resource.setDeliveredAt(LocalDateTime.now());
-
-        Resource updatedResource = resourceRepository.save(resource);
-        return mapToResponse(updatedResource);
+        return transition(ResourceAction.DELIVER, resourceId, receiverEmail);
     }
 
     /**
@@ -226,29 +276,9 @@ public class ResourceService {
      */
     @Transactional
     public ResourceResponse toggleAutoConfirm(Long resourceId, String donorEmail) {
-        Resource resource = resourceRepository.findById(resourceId)
-                .orElseThrow(() -> new RuntimeException("Recurso no encontrado"));
-
-        User donor = userRepository.findByEmail(donorEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("Donante no encontrado"));
-
-        // Verificar que el recurso pertenece al donante
-        if (!resource.getDonor().getId().equals(donor.getId())) {
-            throw new RuntimeException("No tienes permiso para modificar este recurso");
-        }
-
-        // Solo se puede cambiar si el recurso está disponible
-        if (resource.getStatus() != ResourceStatus.AVAILABLE) {
-            throw new RuntimeException("Solo se puede cambiar el modo de confirmación de recursos disponibles");
-        }
-
-        // Alternar el valor de autoConfirm
-        resource.setAutoConfirm(!resource.getAutoConfirm());
-
-        Resource updatedResource = resourceRepository.save(resource);
-        return mapToResponse(updatedResource);
+        return transition(ResourceAction.TOGGLE_AUTO_CONFIRM, resourceId, donorEmail);
     }
-    
+
     /**
      * Cancela un recurso (solo DONOR que lo publicó)
      * Solo se pueden cancelar recursos en estado AVAILABLE o CLAIMED
@@ -256,36 +286,126 @@ public class ResourceService {
      */
     @Transactional
     public ResourceResponse cancelResource(Long resourceId, String donorEmail) {
+        return transition(ResourceAction.CANCEL, resourceId, donorEmail);
+    }
+
+    /**
+     * Aplica una acción del donante a varios recursos en una sola transacción y un solo UPDATE
+     * Los recursos que no existen, no son del donante o no están en un estado válido se omiten
+     */
+    @Transactional
+    public BulkTransitionResponse bulkTransition(ResourceAction action, List<Long> resourceIds, String donorEmail) {
+        if (action.getActor() != ResourceAction.Actor.DONOR) {
+            throw new IllegalArgumentException("La acción " + action + " no admite operaciones en lote");
+        }
+        Set<Long> ids = new LinkedHashSet<>(resourceIds);
+        Map<Long, PreviousState> previous = stateMachine.apply(action, ids, donorEmail, LocalDateTime.now());
+
+        List<ResourceResponse> updated = new ArrayList<>(previous.size());
+        for (Resource resource : resourceRepository.findAllById(previous.keySet())) {
+            afterTransition(action, resource, previous.get(resource.getId()), donorEmail);
+            updated.add(mapToResponse(resource));
+        }
+        List<Long> skipped = ids.stream()
+                .filter(id -> !previous.containsKey(id))
+                .collect(Collectors.toList());
+        return BulkTransitionResponse.builder()
+                .updated(updated)
+                .skipped(skipped)
+                .build();
+    }
+
+    /**
+     * Ejecuta una acción sobre un recurso con un UPDATE condicionado y lee el resultado una sola vez
+     * Si no se aplicó, se consulta el recurso solo para explicar el motivo (404, 403 o 409)
+     */
+    private ResourceResponse transition(ResourceAction action, Long resourceId, String email) {
+        Map<Long, PreviousState> previous = stateMachine.apply(action, List.of(resourceId), email, LocalDateTime.now());
+        if (previous.isEmpty()) {
+            throw rejection(action, resourceId, email);
+        }
         Resource resource = resourceRepository.findById(resourceId)
-                .orElseThrow(() -> new RuntimeException("Recurso no encontrado"));
+                .orElseThrow(() -> new NotFoundException("Recurso no encontrado"));
+        afterTransition(action, resource, previous.get(resourceId), email);
+        return mapToResponse(resource);
+    }
 
-        User donor = userRepository.findByEmail(donorEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("Donante no encontrado"));
+    private DomainException rejection(ResourceAction action, Long resourceId, String email) {
+        Resource resource = resourceRepository.findById(resourceId).orElse(null);
+        if (resource == null) {
+            return new NotFoundException("Recurso no encontrado");
+        }
+        if (!action.isAllowedFor(resource, email)) {
+            return new ForbiddenOperationException(action.getForbiddenMessage());
+        }
+        return new ConflictException(action.conflictMessage(resource.getStatus()));
+    }
 
-        // Verificar que el recurso pertenece al donante que intenta cancelarlo
-        if (!resource.getDonor().getId().equals(donor.getId())) {
-            throw new RuntimeException("No tienes permiso para cancelar este recurso");
+    /**
+     * Vencimientos y evento de transición después de aplicar una acción
+     */
+    private void afterTransition(ResourceAction action, Resource resource, PreviousState previous, String actor) {
+        switch (action) {
+            // Si el donante no confirma a tiempo, el reclamo vence y el recurso vuelve a estar disponible
+            case CLAIM -> {
+                if (resource.getStatus() == ResourceStatus.CLAIMED) {
+                    expirationScheduler.scheduleClaimExpiration(resource.getId(), resource.getClaimedAt());
+                }
+            }
+            case CONFIRM_PICKUP -> expirationScheduler.cancelClaimExpiration(resource.getId());
+            case CANCEL -> {
+                expirationScheduler.cancelClaimExpiration(resource.getId());
+                expirationScheduler.cancelListingExpiration(resource.getId());
+            }
+            default -> {
+            }
+        }
+        if (!action.getTo().isEmpty()) {
+            eventPublisher.publishEvent(ResourceTransitionEvent.of(resource, previous.status(), previous.since(), actor));
+        } else {
+            // Sin transición no hay evento: los demás nodos se enteran por la invalidación
+            invalidationBus.resourceChanged(resource.getId(), resource.getChangeSeq());
         }
+    }
 
-        // Solo se pueden cancelar recursos AVAILABLE o CLAIMED
-        if (resource.getStatus() != ResourceStatus.AVAILABLE && 
-            resource.getStatus() != ResourceStatus.CLAIMED) {
-            throw new RuntimeException("No se puede cancelar un recurso en estado " + resource.getStatus());
+    /**
+     * Arma la respuesta de un listado: el JSON se une desde los fragmentos en caché de cada recurso
+     * (los archivados usan una versión fija porque ya no cambian); los DTO solo se construyen
+     * si el cliente pide otro formato (CBOR o Smile)
+     */
+    private SerializedPayload<List<ResourceResponse>> toPayload(List<Resource> resources, List<ArchivedResource> archived) {
+        List<byte[]> fragments = new ArrayList<>(resources.size() + archived.size());
+        for (Resource resource : resources) {
+            fragments.add(fragmentCache.fragment(resource.getId(), resource.getChangeSeq(), () -> mapToResponse(resource)));
+        }
+        for (ArchivedResource resource : archived) {
+            fragments.add(fragmentCache.fragment(resource.getId(), ResourceFragmentCache.ARCHIVED_VERSION,
+                    () -> mapToResponse(resource)));
         }
 
-        // Cambiar estado a CANCELLED y registrar fecha
-        resource.setStatus(ResourceStatus.CANCELLED);
-        resource.setDeliveredAt(LocalDateTime.now());
+        return SerializedPayload.withJson(() -> {
+            List<ResourceResponse> responses = new ArrayList<>(fragments.size());
+            resources.forEach(resource -> responses.add(mapToResponse(resource)));
+            archived.forEach(resource -> responses.add(mapToResponse(resource)));
+            return responses;
+        }, ResourceFragmentCache.joinArray(fragments));
+    }
 
-        Resource updatedResource = resourceRepository.save(resource);
-        return mapToResponse(updatedResource);
+    /**
+     * Guarda el recurso con un valor nuevo de la secuencia de cambios para que la sincronización incremental lo detecte
+     * Las acciones de ResourceStateMachine asignan la secuencia en su propio UPDATE
+     */
+    private Resource saveChanged(Resource resource) {
+        resource.setChangeSeq(resourceRepository.nextChangeSeq());
+        return resourceRepository.save(resource);
     }
 
     /**
      * Convierte una entidad Resource a ResourceResponse DTO
      * Mapea todos los campos incluyendo información del donante, receptor y configuración de auto-confirmación
+     * Visible en el paquete para que otros servicios de recursos respondan con el mismo formato
      */
-    private ResourceResponse mapToResponse(Resource resource) {
+    ResourceResponse mapToResponse(Resource resource) {
         return ResourceResponse.builder()
                 .id(resource.getId())
                 .title(resource.getTitle())
@@ -302,9 +422,41 @@ public class ResourceService {
                         ? resource.getReceiver().getFirstName() + " " + resource.getReceiver().getLastName() 
                         : null)
                 .imageUrl(resource.getImageUrl())
+                .thumbnailUrl(ImageStorageService.thumbnailUrlFor(resource.getImageUrl()))
+                .autoConfirm(resource.getAutoConfirm())
+                .createdAt(resource.getCreatedAt())
+                .claimedAt(resource.getClaimedAt())
+                .pickedUpAt(resource.getPickedUpAt())
+                .deliveredAt(resource.getDeliveredAt())
+                .build();
+    }
+
+    /**
+     * Convierte un recurso del histórico a ResourceResponse DTO
+     * Los recursos archivados tienen las mismas columnas que los activos
+     */
+    private ResourceResponse mapToResponse(ArchivedResource resource) {
+        return ResourceResponse.builder()
+                .id(resource.getId())
+                .title(resource.getTitle())
+                .description(resource.getDescription())
+                .category(resource.getCategory())
+                .status(resource.getStatus())
+                .donorId(resource.getDonor().getId())
+                .donorName(resource.getDonor().getFirstName() + " " + resource.getDonor().getLastName())
+                .latitude(resource.getLatitude())
+                .longitude(resource.getLongitude())
+                .address(resource.getAddress())
+                .receiverId(resource.getReceiver() != null ? resource.getReceiver().getId() : null)
+                .receiverName(resource.getReceiver() != null
+                        ? resource.getReceiver().getFirstName() + " " + resource.getReceiver().getLastName()
+                        : null)
+                .imageUrl(resource.getImageUrl())
+                .thumbnailUrl(ImageStorageService.thumbnailUrlFor(resource.getImageUrl()))
                 .autoConfirm(resource.getAutoConfirm())
                 .createdAt(resource.getCreatedAt())
                 .claimedAt(resource.getClaimedAt())
+                .pickedUpAt(resource.getPickedUpAt())
                 .deliveredAt(resource.getDeliveredAt())
                 .build();
     }
@@ -0,0 +1,171 @@
+package com.resourceshare.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.resourceshare.dto.ResourceResponse;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.geo.GeoDistance;
+import com.resourceshare.geo.GeoHash;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servicio de lectura en streaming de recursos (NDJSON: un objeto JSON por línea)
+ * Cada fila se lee por cursor (fetch size), se escribe y se descarta; la memoria por conexión
+ * queda acotada al lote del cursor y no al tamaño del resultado
+ * La escritura al socket es bloqueante: si el cliente lee lento, se deja de avanzar el cursor (contrapresión)
+ */
+@Service
+public class ResourceStreamService {
+
+    private static final int FETCH_SIZE = 500;
+    // Filas escritas entre cada flush, para que el cliente reciba los datos a medida que llegan
+    private static final int FLUSH_ROWS = 100;
+
+    private static final String SELECT = "SELECT r.id, r.title, r.description, r.category, r.status, r.donor_id, "
+            + "d.first_name, d.last_name, r.latitude, r.longitude, r.address, r.receiver_id, "
+            + "rc.first_name, rc.last_name, r.image_url, r.auto_confirm, r.created_at, r.claimed_at, r.delivered_at, r.picked_up_at "
+            + "FROM resources r JOIN users d ON d.id = r.donor_id LEFT JOIN users rc ON rc.id = r.receiver_id ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ResourceService resourceService;
+
+    private ObjectWriter rowWriter;
+
+    @PostConstruct
+    void init() {
+        // El flush se controla por lotes de filas, no después de cada objeto
+        rowWriter = objectMapper.writerFor(ResourceResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Escribe los recursos disponibles en orden de id
+     * Retorna la cantidad de filas escritas
+     */
+    @Transactional(readOnly = true)
+    public int streamAvailable(OutputStream out) throws IOException {
+        String sql = SELECT + "WHERE r.status = ? ORDER BY r.id";
+        return stream(sql, List.of(ResourceStatus.AVAILABLE.name()), null, out);
+    }
+
+    /**
+     * Escribe los recursos disponibles a menos de radiusKm del punto, en el orden en que llegan de la BD
+     * (ordenar por distancia obligaría a leer todo el resultado antes de escribir la primera fila)
+     */
+    @Transactional(readOnly = true)
+    public int streamNearby(double latitude, double longitude, double radiusKm, OutputStream out) throws IOException {
+        resourceService.checkRadius(radiusKm);
+        List<GeoHash.Range> ranges = GeoHash.coveringRanges(GeoDistance.boundingBox(latitude, longitude, radiusKm));
+
+        StringBuilder sql = new StringBuilder(SELECT).append("WHERE r.status = ? AND (");
+        List<Object> params = new ArrayList<>();
+        params.add(ResourceStatus.AVAILABLE.name());
+        for (int i = 0; i < ranges.size(); i++) {
+            if (i > 0) {
+                sql.append(" OR ");
+            }
+            sql.append("(r.geohash >= ?");
+            params.add(ranges.get(i).from());
+            if (ranges.get(i).to() != null) {
+                sql.append(" AND r.geohash < ?");
+                params.add(ranges.get(i).to());
+            }
+            sql.append(')');
+        }
+        sql.append(')');
+
+        return stream(sql.toString(), params,
+                (lat, lon) -> GeoDistance.kilometers(latitude, longitude, lat, lon) <= radiusKm, out);
+    }
+
+    private int stream(String sql, List<Object> params, LocationFilter filter, OutputStream out) throws IOException {
+        int[] written = new int[1];
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setFetchSize(FETCH_SIZE);
+                for (int i = 0; i < params.size(); i++) {
+                    statement.setObject(i + 1, params.get(i));
+                }
+                return statement;
+            }, resultSet -> {
+                // Las celdas geohash cubren algo más que el área pedida
+                if (filter != null && !filter.accepts(resultSet.getDouble(9), resultSet.getDouble(10))) {
+                    return;
+                }
+                try {
+                    rowWriter.writeValue(generator, mapRow(resultSet));
+                    generator.writeRaw('\n');
+                    if (++written[0] % FLUSH_ROWS == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    // El cliente cerró la conexión: se corta la lectura del cursor
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return written[0];
+    }
+
+    private ResourceResponse mapRow(ResultSet rs) throws SQLException {
+        long receiverId = rs.getLong(12);
+        boolean hasReceiver = !rs.wasNull();
+        String imageUrl = rs.getString(15);
+        return ResourceResponse.builder()
+                .id(rs.getLong(1))
+                .title(rs.getString(2))
+                .description(rs.getString(3))
+                .category(ResourceCategory.valueOf(rs.getString(4)))
+                .status(ResourceStatus.valueOf(rs.getString(5)))
+                .donorId(rs.getLong(6))
+                .donorName(rs.getString(7) + " " + rs.getString(8))
+                .latitude(rs.getDouble(9))
+                .longitude(rs.getDouble(10))
+                .address(rs.getString(11))
+                .receiverId(hasReceiver ? receiverId : null)
+                .receiverName(hasReceiver ? rs.getString(13) + " " + rs.getString(14) : null)
+                .imageUrl(imageUrl)
+                .thumbnailUrl(ImageStorageService.thumbnailUrlFor(imageUrl))
+                .autoConfirm(rs.getBoolean(16))
+                .createdAt(toLocalDateTime(rs.getTimestamp(17)))
+                .claimedAt(toLocalDateTime(rs.getTimestamp(18)))
+                .pickedUpAt(toLocalDateTime(rs.getTimestamp(20)))
+                .deliveredAt(toLocalDateTime(rs.getTimestamp(19)))
+                .build();
+    }
+
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    @FunctionalInterface
+    private interface LocationFilter {
+        boolean accepts(double latitude, double longitude);
+    }
+}
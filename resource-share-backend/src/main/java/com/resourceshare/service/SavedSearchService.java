@@ -0,0 +1,228 @@
+package com.resourceshare.service;
+
+import com.resourceshare.cache.CacheInvalidationBus;
+import com.resourceshare.dto.SavedSearchRequest;
+import com.resourceshare.dto.SavedSearchResponse;
+import com.resourceshare.entity.Notification;
+import com.resourceshare.entity.Resource;
+import com.resourceshare.entity.SavedSearch;
+import com.resourceshare.entity.User;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.exception.NotFoundException;
+import com.resourceshare.repository.SavedSearchRepository;
+import com.resourceshare.repository.UserRepository;
+import com.resourceshare.search.SavedSearchIndex;
+import com.resourceshare.search.SavedSearchIndex.Match;
+import com.resourceshare.shard.ShardContext;
+import com.resourceshare.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de búsquedas guardadas
+ * Mantiene en memoria un índice inverso de las búsquedas (por categoría y celda) para encontrar
+ * en pocos pasos a quién notificar cuando se publica un recurso
+ * El índice cambia solo después del commit, y las altas y bajas de otros nodos llegan por CacheInvalidationBus
+ */
+@Service
+@Slf4j
+public class SavedSearchService {
+
+    private static final int MAX_KEYWORDS_LENGTH = 500;
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    private volatile SavedSearchIndex index = new SavedSearchIndex();
+
+    /**
+     * Carga las búsquedas guardadas de todas las regiones en un índice nuevo y lo reemplaza
+     * Se ejecuta al iniciar la aplicación y cuando se recupera la conexión con los demás nodos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        SavedSearchIndex fresh = new SavedSearchIndex();
+        shardRouter.forEachShard(() -> savedSearchRepository.findAll().forEach(search -> index(fresh, search)));
+        index = fresh;
+        log.info("Índice de búsquedas guardadas construido con {} búsquedas", fresh.size());
+    }
+
+    /**
+     * Vuelve a leer búsquedas creadas o eliminadas en otro nodo: las que ya no existen salen del índice
+     */
+    public void refresh(String shard, Collection<Long> savedSearchIds) {
+        if (savedSearchIds.isEmpty()) {
+            return;
+        }
+        Map<Long, SavedSearch> found = ShardContext.call(shard, () -> savedSearchRepository.findAllById(savedSearchIds))
+                .stream()
+                .collect(Collectors.toMap(SavedSearch::getId, Function.identity()));
+        for (Long id : savedSearchIds) {
+            SavedSearch search = found.get(id);
+            if (search != null) {
+                index(index, search);
+            } else {
+                index.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Crea una búsqueda guardada para el usuario actual
+     */
+    @Transactional
+    public SavedSearchResponse createSavedSearch(SavedSearchRequest request, String email) {
+        User user = findUser(email);
+        validate(request);
+
+        SavedSearch search = new SavedSearch();
+        search.setUser(user);
+        search.setCategories(request.getCategories() == null || request.getCategories().isEmpty()
+                ? EnumSet.noneOf(ResourceCategory.class) : EnumSet.copyOf(request.getCategories()));
+        search.setLatitude(request.getRadiusKm() != null ? request.getLatitude() : null);
+        search.setLongitude(request.getRadiusKm() != null ? request.getLongitude() : null);
+        search.setRadiusKm(request.getRadiusKm());
+        search.setKeywords(request.getKeywords() != null && !request.getKeywords().isBlank()
+                ? request.getKeywords().trim() : null);
+
+        SavedSearch saved = savedSearchRepository.save(search);
+        afterCommit(() -> index(index, saved));
+        invalidationBus.savedSearchChanged(saved.getId());
+        return mapToResponse(saved);
+    }
+
+    /**
+     * Obtiene las búsquedas guardadas del usuario actual
+     */
+    public List<SavedSearchResponse> getMySavedSearches(String email) {
+        return savedSearchRepository.findByUserOrderByCreatedAtDesc(findUser(email)).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Elimina una búsqueda guardada (solo su dueño)
+     */
+    @Transactional
+    public void deleteSavedSearch(Long id, String email) {
+        SavedSearch search = savedSearchRepository.findByIdAndUser(id, findUser(email))
+                .orElseThrow(() -> new NotFoundException("Búsqueda guardada no encontrada"));
+        savedSearchRepository.delete(search);
+        afterCommit(() -> index.remove(search.getId()));
+        invalidationBus.savedSearchChanged(search.getId());
+    }
+
+    /**
+     * Busca las búsquedas que coinciden con un recurso recién publicado y encola sus notificaciones
+     * Se omiten las búsquedas del propio donante
+     */
+    public void notifyMatches(Resource resource) {
+        List<Match> matches = index.match(resource.getCategory(), resource.getLatitude(), resource.getLongitude(),
+                resource.getTitle(), resource.getDescription());
+        if (matches.isEmpty()) {
+            return;
+        }
+
+        Long donorId = resource.getDonor().getId();
+        String message = "Nuevo recurso para tu búsqueda guardada: " + resource.getTitle();
+        List<Notification> notifications = new ArrayList<>();
+        for (Match match : matches) {
+            if (match.userId().equals(donorId)) {
+                continue;
+            }
+            Notification notification = new Notification();
+            notification.setUser(userRepository.getReferenceById(match.userId()));
+            notification.setResourceId(resource.getId());
+            notification.setSavedSearchId(match.savedSearchId());
+            notification.setMessage(message.length() > 500 ? message.substring(0, 500) : message);
+            notifications.add(notification);
+        }
+        notificationService.deliverAfterCommit(notifications);
+    }
+
+    private void validate(SavedSearchRequest request) {
+        if (request.getRadiusKm() != null) {
+            if (request.getLatitude() == null || request.getLongitude() == null) {
+                throw new IllegalArgumentException("El área requiere latitud y longitud");
+            }
+            if (request.getRadiusKm() <= 0) {
+                throw new IllegalArgumentException("El radio debe ser mayor que cero");
+            }
+            if (Math.abs(request.getLatitude()) > 90 || Math.abs(request.getLongitude()) > 180) {
+                throw new IllegalArgumentException("Coordenadas fuera de rango");
+            }
+        }
+        if (request.getKeywords() != null && request.getKeywords().length() > MAX_KEYWORDS_LENGTH) {
+            throw new IllegalArgumentException("Las palabras clave no pueden superar " + MAX_KEYWORDS_LENGTH + " caracteres");
+        }
+        boolean hasCategories = request.getCategories() != null && !request.getCategories().isEmpty();
+        boolean hasKeywords = request.getKeywords() != null && !request.getKeywords().isBlank();
+        if (!hasCategories && request.getRadiusKm() == null && !hasKeywords) {
+            throw new IllegalArgumentException("La búsqueda debe tener al menos una categoría, un área o palabras clave");
+        }
+    }
+
+    /**
+     * Ejecuta el cambio del índice cuando la transacción actual confirme (de inmediato si no hay transacción)
+     */
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private void index(SavedSearchIndex target, SavedSearch search) {
+        target.add(search.getId(), search.getUser().getId(), search.getCategories(),
+                search.getLatitude(), search.getLongitude(), search.getRadiusKm(), search.getKeywords());
+    }
+
+    private User findUser(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
+    }
+
+    private SavedSearchResponse mapToResponse(SavedSearch search) {
+        return SavedSearchResponse.builder()
+                .id(search.getId())
+                .categories(search.getCategories())
+                .latitude(search.getLatitude())
+                .longitude(search.getLongitude())
+                .radiusKm(search.getRadiusKm())
+                .keywords(search.getKeywords())
+                .createdAt(search.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,204 @@
+package com.resourceshare.service;
+
+import com.resourceshare.config.SyncProperties;
+import com.resourceshare.dto.ResourceResponse;
+import com.resourceshare.dto.SyncResponse;
+import com.resourceshare.entity.Resource;
+import com.resourceshare.entity.SyncTombstone;
+import com.resourceshare.entity.User;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.exception.NotFoundException;
+import com.resourceshare.exception.ServiceUnavailableException;
+import com.resourceshare.repository.ResourceRepository;
+import com.resourceshare.repository.SyncTombstoneRepository;
+import com.resourceshare.repository.UserRepository;
+import com.resourceshare.shard.ShardContext;
+import com.resourceshare.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Servicio de sincronización incremental para clientes sin conexión permanente
+ * Cada modificación de un recurso le asigna un valor nuevo de resource_change_seq; el cliente envía el último
+ * valor que recibió (dentro del token) y solo recibe los recursos de sus vistas que cambiaron desde entonces,
+ * más las marcas de eliminación de los recursos que salieron de ellas
+ * El token tiene el formato "secuencia.emitidoEnMilis"; el instante permite detectar tokens más antiguos
+ * que la retención de marcas, para los que se pide una resincronización completa
+ * Las secuencias se asignan al ejecutar cada UPDATE pero las transacciones confirman en otro orden:
+ * solo se entregan cambios hasta el horizonte, el valor de la secuencia observado hace sync.horizon-lag,
+ * así un cambio con secuencia menor que el token nunca se confirma después de entregarlo
+ */
+@Service
+@Slf4j
+public class SyncService {
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ResourceService resourceService;
+
+    @Autowired
+    private SyncProperties properties;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Por región: valor de resource_change_seq en la muestra anterior (el horizonte, -1 si aún no hay) y en la última
+    private final Map<String, long[]> horizons = new ConcurrentHashMap<>();
+
+    /**
+     * Obtiene los cambios de las vistas del usuario (como donante y como receptor) desde el token
+     * Sin token se entrega el estado completo
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse sync(String email, String token) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
+
+        long since = 0;
+        boolean fullResync = token == null || token.isBlank();
+        if (!fullResync) {
+            long[] parsed = parseToken(token);
+            if (parsed[1] < System.currentTimeMillis() - properties.getTombstoneRetention().toMillis()) {
+                fullResync = true;
+            } else {
+                since = parsed[0];
+            }
+        }
+
+        int pageSize = properties.getPageSize();
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        long horizon = horizon();
+        List<Resource> changed = resourceRepository.findChangedForUser(user, since, horizon, page);
+        // En una resincronización completa las marcas anteriores no aportan nada
+        List<SyncTombstone> tombstones = fullResync || since >= horizon
+                ? List.of()
+                : syncTombstoneRepository.findByUserIdAndChangeSeqBetweenOrderByChangeSeq(user.getId(), since + 1, horizon, page);
+
+        // Mezcla ambas listas en orden de secuencia; el último cambio de cada recurso es el que vale
+        Map<Long, Resource> latest = new LinkedHashMap<>();
+        long lastSeq = since;
+        int taken = 0;
+        int r = 0;
+        int t = 0;
+        while (taken < pageSize && (r < changed.size() || t < tombstones.size())) {
+            boolean takeResource = t >= tombstones.size()
+                    || (r < changed.size() && changed.get(r).getChangeSeq() < tombstones.get(t).getChangeSeq());
+            if (takeResource) {
+                Resource resource = changed.get(r++);
+                latest.put(resource.getId(), resource);
+                lastSeq = resource.getChangeSeq();
+            } else {
+                SyncTombstone tombstone = tombstones.get(t++);
+                latest.put(tombstone.getResourceId(), null);
+                lastSeq = tombstone.getChangeSeq();
+            }
+            taken++;
+        }
+        boolean hasMore = r < changed.size() || t < tombstones.size();
+
+        List<ResourceResponse> upserts = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        for (Map.Entry<Long, Resource> entry : latest.entrySet()) {
+            Resource resource = entry.getValue();
+            if (resource == null || resource.getStatus() == ResourceStatus.CANCELLED) {
+                removed.add(entry.getKey());
+            } else {
+                upserts.add(resourceService.mapToResponse(resource));
+            }
+        }
+
+        return SyncResponse.builder()
+                .token(lastSeq + "." + System.currentTimeMillis())
+                .fullResync(fullResync)
+                .hasMore(hasMore)
+                .upserts(upserts)
+                .removed(removed)
+                .build();
+    }
+
+    /**
+     * Toma una muestra de resource_change_seq en cada región; la muestra anterior pasa a ser el horizonte
+     * Si esta tarea se atrasa el horizonte solo queda más atrás (más seguro, con más retraso)
+     */
+    @Scheduled(fixedDelayString = "${sync.horizon-lag}")
+    public void sampleHorizons() {
+        shardRouter.forEachShard(() -> {
+            try {
+                Long current = jdbcTemplate.queryForObject("SELECT last_value FROM resource_change_seq", Long.class);
+                horizons.compute(ShardContext.current(), (shard, samples) ->
+                        new long[]{samples != null ? samples[1] : -1, current});
+            } catch (RuntimeException e) {
+                log.warn("Sincronización: no se pudo leer la secuencia de cambios en {}: {}",
+                        ShardContext.current(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Elimina las marcas de eliminación más antiguas que la retención, una transacción por región
+     */
+    @Scheduled(fixedDelayString = "${sync.purge-interval}", initialDelayString = "${sync.purge-interval}")
+    public void purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getTombstoneRetention());
+        shardRouter.forEachShard(() -> {
+            Integer deleted = transactionTemplate.execute(status -> syncTombstoneRepository.deleteOlderThan(cutoff));
+            if (deleted != null && deleted > 0) {
+                log.info("Sincronización: {} marcas de eliminación vencidas eliminadas", deleted);
+            }
+        });
+    }
+
+    /**
+     * Horizonte de la región actual
+     * Justo después del arranque todavía no hay una muestra con antigüedad suficiente: se responde 503 con
+     * Retry-After en lugar de dejar al hilo de la petición esperando
+     */
+    private long horizon() {
+        String shard = ShardContext.current() != null ? ShardContext.current() : shardRouter.defaultShard();
+        long[] samples = horizons.get(shard);
+        if (samples == null || samples[0] < 0) {
+            throw new ServiceUnavailableException("Sincronización no disponible todavía, intenta de nuevo en unos segundos",
+                    properties.getHorizonLag());
+        }
+        return samples[0];
+    }
+
+    private long[] parseToken(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Token de sincronización inválido");
+        }
+        try {
+            return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Token de sincronización inválido");
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.resourceshare.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resourceshare.dto.UserDirectoryPage;
+import com.resourceshare.dto.UserResponse;
+import com.resourceshare.enums.UserRole;
+import com.resourceshare.shard.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Directorio de usuarios para administradores
+ * Paginación por cursor (keyset sobre id): cada página es un rango del índice, sin OFFSET,
+ * así que la página 1000 cuesta lo mismo que la primera
+ * La búsqueda es por prefijo de email, nombre o apellido, con índices lower(...) text_pattern_ops (schema.sql)
+ * El total es la estimación del planificador (EXPLAIN) en lugar de un COUNT(*) que recorre toda la tabla
+ * Con regiones, cada una responde su página y se mezclan por id (los ids no se repiten entre regiones)
+ */
+@Service
+public class UserDirectoryService {
+
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 200;
+
+    private static final String SELECT = "SELECT u.id, u.email, u.first_name, u.last_name, u.phone, u.role, u.active, "
+            + "u.created_at, d.address, d.city FROM users u LEFT JOIN donors d ON d.id = u.id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Busca usuarios en orden de id a partir del cursor after (excluido)
+     * query, role y active son filtros opcionales; query busca por prefijo sin distinguir mayúsculas
+     */
+    public UserDirectoryPage search(String query, UserRole role, Boolean active, Long after, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_LIMIT);
+        }
+
+        Filter filter = filter(query, role, active);
+        StringBuilder sql = new StringBuilder(SELECT).append(" WHERE u.id > ?").append(filter.sql());
+        List<Object> params = new ArrayList<>();
+        params.add(after != null ? after : 0L);
+        params.addAll(filter.params());
+        // Una fila de más indica si hay página siguiente
+        sql.append(" ORDER BY u.id LIMIT ").append(size + 1);
+
+        List<UserResponse> users = new ArrayList<>(shardRouter.scatterGather(
+                () -> jdbcTemplate.query(sql.toString(), (rs, rowNum) -> mapRow(rs), params.toArray())));
+        users.sort(Comparator.comparing(UserResponse::getId));
+
+        boolean hasMore = users.size() > size;
+        List<UserResponse> page = hasMore ? new ArrayList<>(users.subList(0, size)) : users;
+        long total = shardRouter.scatterGather(() -> List.of(estimateRows(filter))).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+
+        return UserDirectoryPage.builder()
+                .users(page)
+                .nextCursor(hasMore ? page.get(page.size() - 1).getId() : null)
+                .approximateTotal(total)
+                .build();
+    }
+
+    private Filter filter(String query, UserRole role, Boolean active) {
+        StringBuilder sql = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        if (query != null && !query.isBlank()) {
+            String prefix = escapeLike(query.trim().toLowerCase(Locale.ROOT)) + '%';
+            sql.append(" AND (lower(u.email) LIKE ? OR lower(u.first_name) LIKE ? OR lower(u.last_name) LIKE ?)");
+            params.add(prefix);
+            params.add(prefix);
+            params.add(prefix);
+        }
+        if (role != null) {
+            sql.append(" AND u.role = ?");
+            params.add(role.name());
+        }
+        if (active != null) {
+            sql.append(" AND u.active = ?");
+            params.add(active);
+        }
+        return new Filter(sql.toString(), params);
+    }
+
+    /**
+     * Filas estimadas por el planificador para los filtros (a partir de las estadísticas de ANALYZE)
+     */
+    private long estimateRows(Filter filter) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) SELECT 1 FROM users u WHERE TRUE" + filter.sql(),
+                String.class, filter.params().toArray());
+        try {
+            JsonNode root = objectMapper.readTree(plan);
+            return root.path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo leer el plan de la consulta", e);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private UserResponse mapRow(ResultSet rs) throws SQLException {
+        UserResponse response = new UserResponse();
+        response.setId(rs.getLong(1));
+        response.setEmail(rs.getString(2));
+        response.setFirstName(rs.getString(3));
+        response.setLastName(rs.getString(4));
+        response.setPhone(rs.getString(5));
+        response.setRole(UserRole.valueOf(rs.getString(6)));
+        response.setActive(rs.getBoolean(7));
+        response.setCreatedAt(rs.getTimestamp(8).toLocalDateTime());
+        response.setAddress(rs.getString(9));
+        response.setCity(rs.getString(10));
+        return response;
+    }
+
+    private record Filter(String sql, List<Object> params) {
+    }
+}
@@ -1,15 +1,20 @@
 package com.resourceshare.service;
 
+import com.resourceshare.cache.CacheInvalidationBus;
+import com.resourceshare.cache.ResourceFragmentCache;
 import com.resourceshare.dto.UserResponse;
 import com.resourceshare.dto.UserUpdateRequest;
 import com.resourceshare.entity.Donor;
 import com.resourceshare.entity.User;
 import com.resourceshare.enums.UserRole;
+import com.resourceshare.exception.NotFoundException;
 import com.resourceshare.repository.DonorRepository;
 import com.resourceshare.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Servicio de gestión de usuarios
@@ -24,13 +29,19 @@ public class UserService {
     @Autowired
     private DonorRepository donorRepository;
 
+    @Autowired
+    private ResourceFragmentCache resourceFragmentCache;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
     /**
      * Obtiene un usuario por su email
      * Lanza excepción si el usuario no existe
      */
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado con email: " + email));
+                .orElseThrow(() -> new NotFoundException("Usuario no encontrado con email: " + email));
     }
 
     /**
@@ -58,7 +69,7 @@ public class UserService {
         // Si es DONOR, actualizar también la información de ubicación en la tabla donors
         if (user.getRole() == UserRole.DONOR) {
             Donor donor = donorRepository.findByUserId(user.getId())
-                    .orElseThrow(() -> new RuntimeException("Donante no encontrado para el usuario"));
+                    .orElseThrow(() -> new NotFoundException("Donante no encontrado para el usuario"));
 
             if (userUpdateRequest.getAddress() != null) {
                 donor.setAddress(userUpdateRequest.getAddress());
@@ -73,6 +84,10 @@ public class UserService {
         }
 
         User savedUser = userRepository.save(user);
+        // Los fragmentos JSON de recursos incluyen el nombre del donante y del receptor; se descartan después
+        // del commit para que una lectura simultánea no vuelva a guardar el nombre anterior
+        afterCommit(resourceFragmentCache::invalidateAll);
+        invalidationBus.userChanged(savedUser.getId());
         System.out.println("✅ Usuario actualizado en BD: " + email);
         
         return savedUser;
@@ -103,4 +118,20 @@ public class UserService {
 
         return response;
     }
+
+    /**
+     * Ejecuta la acción cuando la transacción actual confirme (de inmediato si no hay transacción)
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 }
@@ -0,0 +1,61 @@
+package com.resourceshare.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * Región (shard) activa en el hilo actual
+ * ShardRoutingDataSource la consulta al abrir cada conexión, por eso debe fijarse antes de iniciar
+ * la transacción: en el filtro JWT para las peticiones, y con call/run para tareas y otros hilos
+ * Sin región fijada se usa la región por defecto
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static void set(String shard) {
+        CURRENT.set(shard);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Ejecuta la operación en la región indicada y restaura la región anterior al terminar
+     */
+    public static <T> T call(String shard, Supplier<T> operation) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return operation.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static void run(String shard, Runnable operation) {
+        call(shard, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Envuelve una tarea para que se ejecute en otro hilo con la región del hilo que la crea
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> operation) {
+        String shard = CURRENT.get();
+        return shard != null ? () -> call(shard, operation) : operation;
+    }
+}
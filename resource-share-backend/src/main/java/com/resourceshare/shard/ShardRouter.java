@@ -0,0 +1,200 @@
+package com.resourceshare.shard;
+
+import com.resourceshare.config.ShardingProperties;
+import com.resourceshare.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Decide en qué región (shard) vive cada dato
+ * - Usuarios: por la ciudad con la que se registran; sus recursos, búsquedas y notificaciones
+ *   viven en la misma región
+ * - Ids: cada región asigna ids desde idBase(region), así el id indica su región sin consultar
+ * - Coordenadas: por el rectángulo configurado de cada región
+ * Con sharding.enabled=false hay una sola región y todos los métodos la retornan
+ */
+@Component
+@Slf4j
+public class ShardRouter {
+
+    public static final String DEFAULT_SHARD = "default";
+
+    // Bits bajos del id disponibles para cada región (2^40 ids por región)
+    static final int ID_BITS = 40;
+
+    @Autowired
+    private ShardingProperties properties;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<String> names;
+    private Map<String, String> shardByCity;
+    private ThreadPoolExecutor scatterExecutor;
+
+    @PostConstruct
+    void init() {
+        names = new ArrayList<>();
+        shardByCity = new HashMap<>();
+        if (!properties.isEnabled()) {
+            names.add(DEFAULT_SHARD);
+            return;
+        }
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("sharding.enabled=true requiere al menos una región en sharding.shards");
+        }
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            if (shard.getName() == null || names.contains(shard.getName())) {
+                throw new IllegalStateException("Cada región debe tener un nombre único: " + shard.getName());
+            }
+            names.add(shard.getName());
+            shard.getCities().forEach(city -> shardByCity.put(normalize(city), shard.getName()));
+        }
+
+        int threads = Math.min(properties.getScatterThreads(), names.size());
+        AtomicInteger threadNumber = new AtomicInteger();
+        scatterExecutor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(names.size() * 16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "shard-scatter-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        log.info("Particionamiento por región activo: {}", names);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public List<String> shardNames() {
+        return names;
+    }
+
+    public boolean exists(String shard) {
+        return shard != null && names.contains(shard);
+    }
+
+    public String defaultShard() {
+        return names.get(0);
+    }
+
+    /**
+     * Región de una ciudad; las ciudades no configuradas van a la región por defecto
+     */
+    public String forCity(String city) {
+        if (city == null) {
+            return defaultShard();
+        }
+        return shardByCity.getOrDefault(normalize(city), defaultShard());
+    }
+
+    /**
+     * Región que asignó el id (usuarios, recursos, búsquedas, notificaciones y eventos)
+     */
+    public String forId(long id) {
+        int index = (int) (id >>> ID_BITS);
+        return index < names.size() ? names.get(index) : defaultShard();
+    }
+
+    /**
+     * Primer id que asigna la región; la región por defecto empieza en 1 como siempre
+     */
+    public long idBase(String shard) {
+        return (long) names.indexOf(shard) << ID_BITS;
+    }
+
+    /**
+     * Agrupa elementos por la región de su id, para escribir cada grupo en su base de datos
+     */
+    public <T> Map<String, List<T>> groupById(Iterable<T> items, Function<T, Long> idOf) {
+        Map<String, List<T>> groups = new LinkedHashMap<>();
+        for (T item : items) {
+            groups.computeIfAbsent(forId(idOf.apply(item)), shard -> new ArrayList<>()).add(item);
+        }
+        return groups;
+    }
+
+    /**
+     * Ejecuta la operación una vez en cada región, en orden (tareas programadas y reconstrucción de índices)
+     */
+    public void forEachShard(Runnable operation) {
+        for (String shard : names) {
+            ShardContext.run(shard, operation);
+        }
+    }
+
+    /**
+     * Ejecuta la consulta en todas las regiones en paralelo y concatena los resultados en el orden de las regiones
+     * Para las pocas consultas que no pueden dirigirse a una sola región
+     */
+    public <T> List<T> scatterGather(Supplier<List<T>> query) {
+        if (names.size() == 1) {
+            return ShardContext.call(names.get(0), query);
+        }
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>(names.size());
+        for (String shard : names) {
+            futures.add(CompletableFuture.supplyAsync(() -> ShardContext.call(shard, query), scatterExecutor));
+        }
+        List<T> results = new ArrayList<>();
+        long deadline = System.nanoTime() + properties.getScatterTimeout().toNanos();
+        for (CompletableFuture<List<T>> future : futures) {
+            try {
+                results.addAll(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Consulta entre regiones interrumpida", e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException runtime
+                        ? runtime : new IllegalStateException(e.getCause());
+            } catch (TimeoutException e) {
+                throw new IllegalStateException("Una región no respondió a tiempo", e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Región donde está registrado el email, o null si no existe en ninguna
+     */
+    public String locateUser(String email) {
+        List<String> found = scatterGather(() -> userRepository.existsByEmail(email)
+                ? List.of(ShardContext.current()) : List.of());
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private static String normalize(String city) {
+        return Normalizer.normalize(city.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+}
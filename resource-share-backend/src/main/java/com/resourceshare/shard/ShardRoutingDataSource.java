@@ -0,0 +1,16 @@
+package com.resourceshare.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * DataSource que entrega conexiones de la base de datos de la región activa (ShardContext)
+ * Está debajo de JPA y de JdbcTemplate: ResourceRepository, UserRepository y las consultas JDBC
+ * no cambian, solo cambia la base de datos a la que llegan
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
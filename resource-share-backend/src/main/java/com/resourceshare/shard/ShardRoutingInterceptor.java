@@ -0,0 +1,56 @@
+package com.resourceshare.shard;
+
+import com.resourceshare.exception.ForbiddenOperationException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Dirige las peticiones de recursos que no son de la región del usuario
+ * - Detalle de un recurso (GET /api/resources/{id}): a la región que asignó el id
+ * - Las demás operaciones sobre un recurso de otra región (reclamarlo, ver su historial): se rechazan,
+ *   el recurso y el usuario deben estar en la misma base de datos
+ * Las búsquedas (incluidas las por coordenadas) se quedan en la región del usuario: solo muestran recursos
+ * que el usuario puede reclamar
+ * El filtro JWT ya fijó la región del usuario y la limpia al terminar la petición
+ */
+public class ShardRoutingInterceptor implements HandlerInterceptor {
+
+    private static final String DETAIL_PATTERN = "/api/resources/{id}";
+
+    private final ShardRouter shardRouter;
+
+    public ShardRoutingInterceptor(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        Long id = variables != null ? parse(variables.get("id")) : null;
+        if (id != null) {
+            String shard = shardRouter.forId(id);
+            if (read && DETAIL_PATTERN.equals(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))) {
+                ShardContext.set(shard);
+            } else if (!shard.equals(ShardContext.current() != null ? ShardContext.current() : shardRouter.defaultShard())) {
+                throw new ForbiddenOperationException("El recurso pertenece a otra región");
+            }
+        }
+        return true;
+    }
+
+    private Long parse(String value) {
+        try {
+            return value != null ? Long.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.resourceshare.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.TargetType;
+import org.hibernate.tool.schema.internal.ExceptionHandlerLoggedImpl;
+import org.hibernate.tool.schema.spi.ContributableMatcher;
+import org.hibernate.tool.schema.spi.ExecutionOptions;
+import org.hibernate.tool.schema.spi.SchemaManagementTool;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.hibernate.tool.schema.spi.ScriptTargetOutput;
+import org.hibernate.tool.schema.spi.TargetDescriptor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prepara las bases de datos de las regiones adicionales al iniciar Hibernate
+ * Spring Boot solo actualiza las tablas (ddl-auto) y ejecuta schema.sql en la región por defecto;
+ * aquí se hace lo mismo en las demás, y se adelanta la secuencia de id de cada tabla hasta la base
+ * de la región para que los ids no se repitan entre regiones
+ */
+@Slf4j
+public class ShardSchemaInitializer implements Integrator {
+
+    // Tablas con id IDENTITY; donors y resources_archive reutilizan los ids de users y resources
+    private static final List<String> IDENTITY_TABLES = List.of(
+            "users", "resources", "saved_searches", "notifications", "resource_events",
+            "sync_tombstones", "idempotency_keys");
+
+    private final List<String> shards;
+    private final DataSource dataSource;
+
+    public ShardSchemaInitializer(List<String> shards, DataSource dataSource) {
+        this.shards = shards;
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        // La región 0 es la por defecto: la prepara Spring Boot y sus ids empiezan en 1
+        for (int index = 1; index < shards.size(); index++) {
+            long idBase = (long) index << ShardRouter.ID_BITS;
+            ShardContext.run(shards.get(index), () -> {
+                migrate(metadata, bootstrapContext.getServiceRegistry());
+                new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+                advanceIdentities(idBase);
+            });
+            log.info("Región {} preparada (ids desde {})", shards.get(index), idBase);
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    // Equivalente a ddl-auto=update sobre la región activa
+    private void migrate(Metadata metadata, ServiceRegistry serviceRegistry) {
+        Map<String, Object> settings = serviceRegistry.requireService(ConfigurationService.class).getSettings();
+        ExecutionOptions options = SchemaManagementToolCoordinator.buildExecutionOptions(settings, ExceptionHandlerLoggedImpl.INSTANCE);
+        serviceRegistry.requireService(SchemaManagementTool.class)
+                .getSchemaMigrator(settings)
+                .doMigration(metadata, options, ContributableMatcher.ALL, new TargetDescriptor() {
+                    @Override
+                    public EnumSet<TargetType> getTargetTypes() {
+                        return EnumSet.of(TargetType.DATABASE);
+                    }
+
+                    @Override
+                    public ScriptTargetOutput getScriptTargetOutput() {
+                        return null;
+                    }
+                });
+    }
+
+    private void advanceIdentities(long idBase) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String table : IDENTITY_TABLES) {
+            String sequence = jdbcTemplate.queryForObject("SELECT pg_get_serial_sequence(?, 'id')", String.class, table);
+            Long last = jdbcTemplate.queryForObject("SELECT last_value FROM " + sequence, Long.class);
+            if (last != null && last < idBase) {
+                jdbcTemplate.queryForObject("SELECT setval(?, ?, false)", Long.class, sequence, idBase);
+            }
+        }
+    }
+}
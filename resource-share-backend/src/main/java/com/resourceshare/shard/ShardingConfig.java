@@ -0,0 +1,81 @@
+package com.resourceshare.shard;
+
+import com.resourceshare.config.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Configuración del modo con varias regiones (sharding.enabled=true)
+ * Reemplaza el DataSource de Spring Boot por un ShardRoutingDataSource con un pool por región
+ * y registra ShardRoutingInterceptor para las peticiones de recursos
+ */
+@Configuration
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardingConfig implements WebMvcConfigurer {
+
+    // Diferido: ShardRouter usa UserRepository, que necesita el DataSource definido aquí
+    @Autowired
+    @Lazy
+    private ShardRouter shardRouter;
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(DataSourceProperties dataSourceProperties, ShardingProperties properties) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource pool;
+            if (shard.getUrl() == null) {
+                pool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            } else {
+                pool = DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .driverClassName(dataSourceProperties.determineDriverClassName())
+                        .url(shard.getUrl())
+                        .username(shard.getUsername() != null ? shard.getUsername() : dataSourceProperties.getUsername())
+                        .password(shard.getPassword() != null ? shard.getPassword() : dataSourceProperties.getPassword())
+                        .build();
+            }
+            pool.setPoolName("shard-" + shard.getName());
+            targets.put(shard.getName(), pool);
+        }
+
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+        dataSource.setTargetDataSources(targets);
+        // Sin región activa (arranque, schema.sql de Spring Boot) se usa la primera
+        dataSource.setDefaultTargetDataSource(targets.get(properties.getShards().get(0).getName()));
+        // Un nombre de región desconocido es un error, no se redirige en silencio a la región por defecto
+        dataSource.setLenientFallback(false);
+        return dataSource;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardSchemaCustomizer(ShardRoutingDataSource dataSource, ShardingProperties properties) {
+        List<String> shards = properties.getShards().stream()
+                .map(ShardingProperties.Shard::getName)
+                .collect(Collectors.toList());
+        IntegratorProvider integrators = () -> List.of(new ShardSchemaInitializer(shards, dataSource));
+        return hibernateProperties -> hibernateProperties.put("hibernate.integrator_provider", integrators);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ShardRoutingInterceptor(shardRouter)).addPathPatterns("/api/resources/**");
+    }
+}
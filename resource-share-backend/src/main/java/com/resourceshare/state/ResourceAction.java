@@ -0,0 +1,123 @@
+package com.resourceshare.state;
+
+import com.resourceshare.entity.Resource;
+import com.resourceshare.enums.ResourceStatus;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Acciones de usuario sobre un recurso, descritas como datos:
+ * estados de origen permitidos, estados destino posibles, quién puede ejecutarlas y qué columnas cambian
+ * ResourceStateMachine las ejecuta como un único UPDATE condicionado
+ * En assignments, actor.id es el usuario que ejecuta la acción y :now la fecha actual
+ * status_changed_at lo asigna ResourceStateMachine en todas las acciones que cambian el estado
+ */
+public enum ResourceAction {
+
+    // Con autoConfirm pasa directo a IN_TRANSIT; si no, queda CLAIMED esperando al donante
+    CLAIM(EnumSet.of(ResourceStatus.AVAILABLE),
+            EnumSet.of(ResourceStatus.CLAIMED, ResourceStatus.IN_TRANSIT),
+            Actor.ANY,
+            "status = CASE WHEN r.auto_confirm THEN 'IN_TRANSIT' ELSE 'CLAIMED' END, "
+                    + "receiver_id = actor.id, claimed_at = :now, "
+                    + "picked_up_at = CASE WHEN r.auto_confirm THEN CAST(:now AS TIMESTAMP) END",
+            "El recurso no está disponible",
+            null),
+
+    CONFIRM_PICKUP(EnumSet.of(ResourceStatus.CLAIMED),
+            EnumSet.of(ResourceStatus.IN_TRANSIT),
+            Actor.DONOR,
+            "status = 'IN_TRANSIT', picked_up_at = :now",
+            "El recurso debe estar en estado CLAIMED para confirmar el encuentro",
+            "No tienes permiso para confirmar este recurso"),
+
+    DELIVER(EnumSet.of(ResourceStatus.IN_TRANSIT),
+            EnumSet.of(ResourceStatus.DELIVERED),
+            Actor.RECEIVER,
+            "status = 'DELIVERED', delivered_at = :now",
+            "El recurso debe estar en estado IN_TRANSIT para confirmar la entrega",
+            "No tienes permiso para confirmar esta entrega"),
+
+    CANCEL(EnumSet.of(ResourceStatus.AVAILABLE, ResourceStatus.CLAIMED),
+            EnumSet.of(ResourceStatus.CANCELLED),
+            Actor.DONOR,
+            "status = 'CANCELLED'",
+            "No se puede cancelar un recurso en estado %s",
+            "No tienes permiso para cancelar este recurso"),
+
+    // No cambia el estado: solo el modo de confirmación de un recurso disponible
+    TOGGLE_AUTO_CONFIRM(EnumSet.of(ResourceStatus.AVAILABLE),
+            EnumSet.noneOf(ResourceStatus.class),
+            Actor.DONOR,
+            "auto_confirm = NOT r.auto_confirm",
+            "Solo se puede cambiar el modo de confirmación de recursos disponibles",
+            "No tienes permiso para modificar este recurso");
+
+    /**
+     * Quién puede ejecutar la acción sobre un recurso
+     */
+    public enum Actor {
+        // Cualquier usuario autenticado
+        ANY,
+        // Solo el donante que publicó el recurso
+        DONOR,
+        // Solo el receptor que lo reclamó
+        RECEIVER
+    }
+
+    private final Set<ResourceStatus> from;
+    private final Set<ResourceStatus> to;
+    private final Actor actor;
+    private final String assignments;
+    private final String conflictMessage;
+    private final String forbiddenMessage;
+
+    ResourceAction(Set<ResourceStatus> from, Set<ResourceStatus> to, Actor actor, String assignments,
+                   String conflictMessage, String forbiddenMessage) {
+        this.from = from;
+        this.to = to;
+        this.actor = actor;
+        this.assignments = assignments;
+        this.conflictMessage = conflictMessage;
+        this.forbiddenMessage = forbiddenMessage;
+    }
+
+    public Set<ResourceStatus> getFrom() {
+        return from;
+    }
+
+    public Set<ResourceStatus> getTo() {
+        return to;
+    }
+
+    public Actor getActor() {
+        return actor;
+    }
+
+    String getAssignments() {
+        return assignments;
+    }
+
+    /**
+     * Indica si el usuario puede ejecutar la acción sobre el recurso
+     */
+    public boolean isAllowedFor(Resource resource, String email) {
+        return switch (actor) {
+            case ANY -> true;
+            case DONOR -> resource.getDonor().getEmail().equals(email);
+            case RECEIVER -> resource.getReceiver() != null && resource.getReceiver().getEmail().equals(email);
+        };
+    }
+
+    /**
+     * Mensaje cuando el recurso no está en un estado de origen permitido
+     */
+    public String conflictMessage(ResourceStatus current) {
+        return String.format(conflictMessage, current);
+    }
+
+    public String getForbiddenMessage() {
+        return forbiddenMessage;
+    }
+}
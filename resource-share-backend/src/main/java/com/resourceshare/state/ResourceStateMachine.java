@@ -0,0 +1,103 @@
+package com.resourceshare.state;
+
+import com.resourceshare.enums.ResourceStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Máquina de estados de los recursos
+ * La tabla ALLOWED define qué transiciones existen; cada ResourceAction declara sus estados de origen
+ * y destino, y al cargar la clase se verifica que todas sus transiciones estén en la tabla
+ * Una acción se ejecuta como un único UPDATE condicionado por estado y por dueño (donante o receptor):
+ * sin lecturas previas, y dos peticiones simultáneas no pueden aplicar la misma transición
+ * Las transiciones automáticas (vencimientos) están en ResourceExpirationScheduler
+ */
+@Component
+public class ResourceStateMachine {
+
+    private static final Map<ResourceStatus, Set<ResourceStatus>> ALLOWED = new EnumMap<>(ResourceStatus.class);
+
+    static {
+        ALLOWED.put(ResourceStatus.AVAILABLE,
+                EnumSet.of(ResourceStatus.CLAIMED, ResourceStatus.IN_TRANSIT, ResourceStatus.CANCELLED));
+        // CLAIMED -> AVAILABLE es el vencimiento del reclamo
+        ALLOWED.put(ResourceStatus.CLAIMED,
+                EnumSet.of(ResourceStatus.IN_TRANSIT, ResourceStatus.AVAILABLE, ResourceStatus.CANCELLED));
+        ALLOWED.put(ResourceStatus.IN_TRANSIT, EnumSet.of(ResourceStatus.DELIVERED));
+        ALLOWED.put(ResourceStatus.DELIVERED, EnumSet.noneOf(ResourceStatus.class));
+        ALLOWED.put(ResourceStatus.CANCELLED, EnumSet.noneOf(ResourceStatus.class));
+
+        for (ResourceAction action : ResourceAction.values()) {
+            for (ResourceStatus from : action.getFrom()) {
+                if (!ALLOWED.get(from).containsAll(action.getTo())) {
+                    throw new IllegalStateException("Transición no permitida en " + action + ": " + from + " -> " + action.getTo());
+                }
+            }
+        }
+    }
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Aplica la acción a los recursos indicados en un solo UPDATE
+     * Solo cambian los que están en un estado de origen permitido y pertenecen al usuario según la acción
+     * Retorna el estado anterior de cada recurso modificado, con el momento en que había entrado en él
+     * (los demás no se tocan)
+     * Debe llamarse dentro de una transacción; las entidades ya cargadas en el contexto quedan desactualizadas
+     */
+    public Map<Long, PreviousState> apply(ResourceAction action, Collection<Long> ids, String email, LocalDateTime now) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        // previous bloquea las filas y conserva su estado anterior para los eventos de transición
+        String sql = "UPDATE resources r SET " + action.getAssignments()
+                + (action.getTo().isEmpty() ? "" : ", status_changed_at = :now")
+                + ", change_seq = nextval('resource_change_seq') "
+                + "FROM (SELECT id, status, status_changed_at FROM resources WHERE id IN (:ids) FOR UPDATE) previous, "
+                + "(SELECT id FROM users WHERE email = :email) actor "
+                + "WHERE r.id = previous.id AND r.status IN (:from)" + guard(action.getActor())
+                + " RETURNING r.id, previous.status, previous.status_changed_at";
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("email", email)
+                .addValue("from", action.getFrom().stream().map(Enum::name).collect(Collectors.toList()))
+                .addValue("now", now);
+
+        Map<Long, PreviousState> previous = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, params, resultSet -> {
+            Timestamp since = resultSet.getTimestamp(3);
+            previous.put(resultSet.getLong(1), new PreviousState(
+                    ResourceStatus.valueOf(resultSet.getString(2)), since != null ? since.toLocalDateTime() : null));
+        });
+        return previous;
+    }
+
+    /**
+     * Estado de un recurso antes de la acción y momento en que entró en él (null en recursos antiguos)
+     */
+    public record PreviousState(ResourceStatus status, LocalDateTime since) {
+    }
+
+    private String guard(ResourceAction.Actor actor) {
+        return switch (actor) {
+            case ANY -> "";
+            case DONOR -> " AND r.donor_id = actor.id";
+            case RECEIVER -> " AND r.receiver_id = actor.id";
+        };
+    }
+}
@@ -0,0 +1,56 @@
+-- Objetos de base de datos que Hibernate no genera con ddl-auto=update
+-- Se ejecuta en cada arranque, por eso todas las sentencias son idempotentes
+
+-- Búsqueda de recursos terminales antiguos para el archivador (entregas y cancelaciones)
+CREATE INDEX IF NOT EXISTS idx_resources_status_delivered_at ON resources (status, delivered_at);
+CREATE INDEX IF NOT EXISTS idx_resources_status_changed_at ON resources (status, status_changed_at);
+
+-- Consultas por área: rangos de prefijos geohash dentro de un estado
+CREATE INDEX IF NOT EXISTS idx_resources_status_geohash ON resources (status, geohash);
+
+-- Sincronización incremental: secuencia de cambios compartida por recursos y marcas de eliminación
+CREATE SEQUENCE IF NOT EXISTS resource_change_seq;
+UPDATE resources SET change_seq = nextval('resource_change_seq') WHERE change_seq IS NULL;
+CREATE INDEX IF NOT EXISTS idx_resources_donor_change_seq ON resources (donor_id, change_seq);
+CREATE INDEX IF NOT EXISTS idx_resources_receiver_change_seq ON resources (receiver_id, change_seq);
+
+-- delivered_at es solo de las entregas: las cancelaciones antiguas pasan su fecha a status_changed_at
+-- (con un cambio de secuencia para que los clientes sincronizados la vuelvan a leer)
+UPDATE resources SET status_changed_at = COALESCE(status_changed_at, delivered_at), delivered_at = NULL,
+    change_seq = nextval('resource_change_seq')
+WHERE status = 'CANCELLED' AND delivered_at IS NOT NULL;
+UPDATE resources_archive SET status_changed_at = COALESCE(status_changed_at, delivered_at), delivered_at = NULL
+WHERE status = 'CANCELLED' AND delivered_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_sync_tombstones_user ON sync_tombstones (user_id, change_seq);
+
+-- Recuperación de invalidaciones perdidas: cambios por rango de secuencia
+CREATE INDEX IF NOT EXISTS idx_resources_change_seq ON resources (change_seq);
+CREATE INDEX IF NOT EXISTS idx_sync_tombstones_change_seq ON sync_tombstones (change_seq);
+
+-- Consultas del histórico por donante y por receptor
+CREATE INDEX IF NOT EXISTS idx_resources_archive_donor ON resources_archive (donor_id);
+CREATE INDEX IF NOT EXISTS idx_resources_archive_receiver ON resources_archive (receiver_id);
+
+-- Historial de eventos por recurso
+CREATE INDEX IF NOT EXISTS idx_resource_events_resource ON resource_events (resource_id, occurred_at);
+
+-- Bandeja de notificaciones por usuario
+CREATE INDEX IF NOT EXISTS idx_notifications_user ON notifications (user_id, created_at);
+
+-- Agregados diarios de donaciones por categoría, ciudad del donante y métrica (reportes para ONG)
+-- Se actualizan de forma incremental desde las transiciones; se recalculan con POST /api/reports/donations/rebuild
+CREATE TABLE IF NOT EXISTS donation_rollups (
+    day DATE NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    city VARCHAR(100) NOT NULL,
+    metric VARCHAR(20) NOT NULL,
+    count BIGINT NOT NULL,
+    PRIMARY KEY (day, category, city, metric)
+);
+
+-- Directorio de usuarios para administradores: búsqueda por prefijo (sin distinguir mayúsculas)
+-- y filtros por rol y estado, todos paginados por id
+CREATE INDEX IF NOT EXISTS idx_users_email_prefix ON users (lower(email) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_first_name_prefix ON users (lower(first_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_last_name_prefix ON users (lower(last_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_role_active_id ON users (role, active, id);
@@ -0,0 +1,111 @@
+package com.resourceshare.analytics;
+
+import com.resourceshare.dto.LifecycleStageStats;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.event.ResourceTransitionEvent;
+import com.resourceshare.shard.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas de LifecycleHistograms: percentiles por etapa dentro del 1% de error, eventos sin fecha de entrada
+ * que no se miden y filtros por categoría y región
+ */
+@ExtendWith(MockitoExtension.class)
+class LifecycleHistogramsTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 10, 12, 0);
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LifecycleHistograms histograms;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        histograms = new LifecycleHistograms();
+        ReflectionTestUtils.setField(histograms, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(histograms, "shardRouter", shardRouter);
+    }
+
+    @Test
+    void percentilesOfEachStage() {
+        when(shardRouter.forId(anyLong())).thenReturn("sierra");
+        for (int seconds = 1; seconds <= 100; seconds++) {
+            histograms.onTransition(event(seconds, ResourceStatus.AVAILABLE, ResourceStatus.CLAIMED,
+                    ResourceCategory.FOOD, NOW.minusSeconds(seconds)));
+        }
+
+        List<LifecycleStageStats> stats = histograms.snapshot(null, null);
+
+        assertEquals(1, stats.size());
+        LifecycleStageStats stage = stats.get(0);
+        assertEquals(ResourceStatus.AVAILABLE, stage.getStatus());
+        assertEquals(ResourceStatus.CLAIMED, stage.getNextStatus());
+        assertEquals(100, stage.getCount());
+        assertEquals(50, stage.getP50Seconds(), 0.5);
+        assertEquals(90, stage.getP90Seconds(), 0.9);
+        assertEquals(100, stage.getMaxSeconds(), 1);
+        assertEquals(100, meterRegistry.get("resources.lifecycle.wait").tag("region", "sierra").timer().count());
+
+        // Un segundo snapshot no vuelve a sumar lo ya volcado
+        assertEquals(100, histograms.snapshot(null, null).get(0).getCount());
+    }
+
+    @Test
+    void transitionsWithoutAPreviousStateAreNotMeasured() {
+        histograms.onTransition(event(1, null, ResourceStatus.AVAILABLE, ResourceCategory.FOOD, null));
+        histograms.onTransition(event(2, ResourceStatus.AVAILABLE, ResourceStatus.CLAIMED, ResourceCategory.FOOD, null));
+        histograms.onTransition(event(3, ResourceStatus.AVAILABLE, ResourceStatus.CLAIMED, null, NOW.minusMinutes(1)));
+        histograms.onTransition(event(4, ResourceStatus.AVAILABLE, ResourceStatus.CLAIMED, ResourceCategory.FOOD,
+                NOW.plusMinutes(1)));
+
+        assertTrue(histograms.snapshot(null, null).isEmpty());
+        verifyNoInteractions(shardRouter);
+    }
+
+    @Test
+    void snapshotFiltersByCategoryAndRegion() {
+        when(shardRouter.forId(1L)).thenReturn("sierra");
+        when(shardRouter.forId(2L)).thenReturn("costa");
+        when(shardRouter.forId(3L)).thenReturn("sierra");
+        histograms.onTransition(event(1, ResourceStatus.AVAILABLE, ResourceStatus.CLAIMED, ResourceCategory.FOOD,
+                NOW.minusMinutes(5)));
+        histograms.onTransition(event(2, ResourceStatus.AVAILABLE, ResourceStatus.CLAIMED, ResourceCategory.FOOD,
+                NOW.minusMinutes(5)));
+        histograms.onTransition(event(3, ResourceStatus.CLAIMED, ResourceStatus.IN_TRANSIT, ResourceCategory.BOOKS,
+                NOW.minusMinutes(5)));
+
+        assertEquals(3, histograms.snapshot(null, null).size());
+        assertEquals(2, histograms.snapshot(ResourceCategory.FOOD, null).size());
+        assertEquals(2, histograms.snapshot(null, "sierra").size());
+
+        List<LifecycleStageStats> costaFood = histograms.snapshot(ResourceCategory.FOOD, "costa");
+        assertEquals(1, costaFood.size());
+        assertEquals("costa", costaFood.get(0).getRegion());
+        assertEquals(300, costaFood.get(0).getP50Seconds(), 3);
+    }
+
+    private static ResourceTransitionEvent event(long resourceId, ResourceStatus from, ResourceStatus to,
+                                                 ResourceCategory category, LocalDateTime fromSince) {
+        return new ResourceTransitionEvent(resourceId, from, fromSince, to, "tester", NOW, category,
+                null, null, 10L, null, resourceId);
+    }
+}
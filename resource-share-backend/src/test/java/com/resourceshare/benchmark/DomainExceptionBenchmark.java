@@ -0,0 +1,84 @@
+package com.resourceshare.benchmark;
+
+import com.resourceshare.dto.ErrorResponse;
+import com.resourceshare.exception.ConflictException;
+import com.resourceshare.exception.DomainException;
+import com.resourceshare.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark del camino de error de un reclamo rechazado ("El recurso no está disponible")
+ * Compara la RuntimeException con traza que cada controlador capturaba (antes) con la
+ * DomainException sin traza que traduce GlobalExceptionHandler (después)
+ * La excepción se lanza bajo una pila de STACK_DEPTH marcos, similar a la de una petición en Spring MVC
+ * Se ejecuta solo bajo demanda: mvn test -Dbenchmark=true -Dtest=DomainExceptionBenchmark
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DomainExceptionBenchmark {
+
+    private static final int STACK_DEPTH = 120;
+    private static final int WARMUP_ITERATIONS = 50_000;
+    private static final int MEASURED_ITERATIONS = 200_000;
+
+    // Evita que el JIT descarte las respuestas construidas
+    private int sink;
+
+    @Test
+    void compareFailurePath() {
+        System.out.printf("%-28s %12s%n", "camino de error", "ns/petición");
+        run("RuntimeException + catch", this::before);
+        run("DomainException + advice", this::after);
+        assertTrue(sink > 0);
+    }
+
+    private void run(String name, Runnable failure) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            failure.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            failure.run();
+        }
+        double nanos = (System.nanoTime() - start) / (double) MEASURED_ITERATIONS;
+        System.out.printf("%-28s %12.0f%n", name, nanos);
+    }
+
+    private void before() {
+        ResponseEntity<ErrorResponse> response;
+        try {
+            call(STACK_DEPTH, () -> {
+                throw new RuntimeException("El recurso no está disponible");
+            });
+            response = ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            response = ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(e.getMessage()));
+        }
+        sink += response.getStatusCode().value();
+    }
+
+    private void after() {
+        ResponseEntity<ErrorResponse> response;
+        try {
+            call(STACK_DEPTH, () -> {
+                throw new ConflictException("El recurso no está disponible");
+            });
+            response = ResponseEntity.ok().build();
+        } catch (DomainException e) {
+            response = GlobalExceptionHandler.toResponse(e);
+        }
+        sink += response.getStatusCode().value();
+    }
+
+    private void call(int depth, Runnable action) {
+        if (depth == 0) {
+            action.run();
+        } else {
+            call(depth - 1, action);
+        }
+    }
+}
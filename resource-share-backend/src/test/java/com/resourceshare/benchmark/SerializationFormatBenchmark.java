@@ -0,0 +1,99 @@
+package com.resourceshare.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.resourceshare.dto.ResourceResponse;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmark de tamaño y tiempo de serialización de listas de recursos
+ * Compara JSON, CBOR y Smile (con y sin gzip) para 10.000 recursos
+ * Se ejecuta solo bajo demanda: mvn test -Dbenchmark=true -Dtest=SerializationFormatBenchmark
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SerializationFormatBenchmark {
+
+    private static final int RESOURCES = 10_000;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 50;
+
+    @Test
+    void compareFormats() throws IOException {
+        List<ResourceResponse> resources = buildResources();
+
+        System.out.printf("%-8s %12s %12s %14s%n", "formato", "bytes", "bytes gzip", "ms/serializ.");
+        run("JSON", mapper(new JsonFactory()), resources);
+        run("CBOR", mapper(new CBORFactory()), resources);
+        run("Smile", mapper(new SmileFactory()), resources);
+    }
+
+    private void run(String name, ObjectMapper mapper, List<ResourceResponse> resources) throws IOException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            mapper.writeValueAsBytes(resources);
+        }
+
+        byte[] payload = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            payload = mapper.writeValueAsBytes(resources);
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ITERATIONS;
+
+        System.out.printf("%-8s %12d %12d %14.2f%n", name, payload.length, gzip(payload).length, millis);
+    }
+
+    private ObjectMapper mapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.toByteArray();
+    }
+
+    private List<ResourceResponse> buildResources() {
+        Random random = new Random(42);
+        ResourceCategory[] categories = ResourceCategory.values();
+        LocalDateTime now = LocalDateTime.now();
+        List<ResourceResponse> resources = new ArrayList<>(RESOURCES);
+
+        for (int i = 0; i < RESOURCES; i++) {
+            resources.add(ResourceResponse.builder()
+                    .id((long) i + 1)
+                    .title("Recurso de prueba " + i)
+                    .description("Descripción del recurso " + i + " en buen estado, listo para ser donado")
+                    .category(categories[random.nextInt(categories.length)])
+                    .status(ResourceStatus.AVAILABLE)
+                    .donorId((long) random.nextInt(5_000))
+                    .donorName("Donante " + random.nextInt(5_000))
+                    .latitude(-2.17 + random.nextGaussian() * 0.05)
+                    .longitude(-79.92 + random.nextGaussian() * 0.05)
+                    .address("Calle " + random.nextInt(500) + " y Avenida " + random.nextInt(50))
+                    .autoConfirm(random.nextBoolean())
+                    .createdAt(now.minusMinutes(random.nextInt(100_000)))
+                    .build());
+        }
+        return resources;
+    }
+}
@@ -0,0 +1,208 @@
+package com.resourceshare.benchmark;
+
+import com.resourceshare.geo.GeoDistance;
+import com.resourceshare.geo.GeoHash;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark de escalado de lecturas con regiones (sharding)
+ * Prepara su propio entorno de varias bases de datos: en cada una crea la tabla bench_resources con los mismos
+ * datos (recursos disponibles alrededor de una ciudad, con geohash) y luego mide consultas "nearby" con la forma
+ * de ResourceService (rangos de geohash) usando 1, 2, ... N regiones, con un pool y CLIENTS_PER_SHARD clientes
+ * por región, como en el modo sharded (cada región atiende a sus propios usuarios)
+ * Con bases en servidores distintos el total crece de forma lineal con las regiones; en un solo servidor
+ * crece hasta que se agotan sus núcleos
+ * Se ejecuta solo bajo demanda:
+ *   mvn test -Dbenchmark=true -Dtest=ShardReadScalingBenchmark
+ * Opciones: -Dbenchmark.shards=4 crea resource_share_bench_0..3 en -Dbenchmark.server (por defecto localhost:5432);
+ * -Dbenchmark.urls=jdbc:postgresql://a/db,jdbc:postgresql://b/db usa bases ya creadas en varios servidores;
+ * -Dbenchmark.user y -Dbenchmark.password (por defecto los de application.properties)
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ShardReadScalingBenchmark {
+
+    private static final int ROWS_PER_SHARD = 200_000;
+    private static final int CLIENTS_PER_SHARD = 4;
+    private static final long WARMUP_MILLIS = 3_000;
+    private static final long MEASURED_MILLIS = 10_000;
+    private static final double RADIUS_KM = 2;
+    private static final double CENTER_LATITUDE = -2.1709;
+    private static final double CENTER_LONGITUDE = -79.9224;
+
+    private final String user = System.getProperty("benchmark.user", "postgres");
+    private final String password = System.getProperty("benchmark.password", "root");
+
+    @Test
+    void readThroughputPerShardCount() throws Exception {
+        List<String> urls = shardUrls();
+        List<HikariDataSource> pools = new ArrayList<>();
+        try {
+            for (String url : urls) {
+                HikariDataSource pool = pool(url);
+                load(pool);
+                pools.add(pool);
+            }
+
+            System.out.printf("%-8s %14s %18s%n", "regiones", "consultas/s", "consultas/s/región");
+            double single = 0;
+            for (int shards = 1; shards <= pools.size(); shards++) {
+                run(pools.subList(0, shards), WARMUP_MILLIS);
+                double perSecond = run(pools.subList(0, shards), MEASURED_MILLIS) * 1000.0 / MEASURED_MILLIS;
+                if (shards == 1) {
+                    single = perSecond;
+                }
+                System.out.printf("%-8d %14.0f %18.0f  (%.2fx)%n", shards, perSecond, perSecond / shards, perSecond / single);
+            }
+            assertTrue(single > 0);
+        } finally {
+            for (HikariDataSource pool : pools) {
+                try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE IF EXISTS bench_resources");
+                }
+                pool.close();
+            }
+        }
+    }
+
+    /**
+     * Ejecuta CLIENTS_PER_SHARD clientes por región durante el tiempo indicado y retorna las consultas completadas
+     */
+    private long run(List<HikariDataSource> pools, long millis) throws InterruptedException {
+        AtomicLong queries = new AtomicLong();
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        CountDownLatch done = new CountDownLatch(pools.size() * CLIENTS_PER_SHARD);
+        for (int shard = 0; shard < pools.size(); shard++) {
+            HikariDataSource pool = pools.get(shard);
+            for (int client = 0; client < CLIENTS_PER_SHARD; client++) {
+                SplittableRandom random = new SplittableRandom(shard * 31L + client);
+                Thread thread = new Thread(() -> {
+                    try (Connection connection = pool.getConnection()) {
+                        while (System.nanoTime() < deadline) {
+                            nearby(connection, random);
+                            queries.incrementAndGet();
+                        }
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    } finally {
+                        done.countDown();
+                    }
+                });
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+        done.await();
+        return queries.get();
+    }
+
+    // Misma forma que ResourceService.getNearbyResources: rangos de geohash del rectángulo del radio
+    private void nearby(Connection connection, SplittableRandom random) throws SQLException {
+        double latitude = CENTER_LATITUDE + random.nextGaussian() * 0.04;
+        double longitude = CENTER_LONGITUDE + random.nextGaussian() * 0.04;
+        List<GeoHash.Range> ranges = GeoHash.coveringRanges(GeoDistance.boundingBox(latitude, longitude, RADIUS_KM));
+
+        StringBuilder sql = new StringBuilder("SELECT id, title, latitude, longitude FROM bench_resources WHERE status = 'AVAILABLE' AND (");
+        for (int i = 0; i < ranges.size(); i++) {
+            sql.append(i > 0 ? " OR " : "").append(ranges.get(i).to() != null
+                    ? "(geohash >= ? AND geohash < ?)" : "(geohash >= ?)");
+        }
+        sql.append(')');
+
+        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (GeoHash.Range range : ranges) {
+                statement.setString(index++, range.from());
+                if (range.to() != null) {
+                    statement.setString(index++, range.to());
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    resultSet.getLong(1);
+                }
+            }
+        }
+    }
+
+    private void load(HikariDataSource pool) throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS bench_resources");
+                statement.execute("CREATE TABLE bench_resources (id BIGINT PRIMARY KEY, title VARCHAR(100), "
+                        + "status VARCHAR(20), latitude DOUBLE PRECISION, longitude DOUBLE PRECISION, geohash VARCHAR(12))");
+            }
+            SplittableRandom random = new SplittableRandom(42);
+            StringBuilder rows = new StringBuilder();
+            for (int id = 1; id <= ROWS_PER_SHARD; id++) {
+                double latitude = CENTER_LATITUDE + random.nextGaussian() * 0.05;
+                double longitude = CENTER_LONGITUDE + random.nextGaussian() * 0.05;
+                String status = random.nextDouble() < 0.2 ? "AVAILABLE" : "DELIVERED";
+                rows.append(id).append(",Recurso ").append(id).append(',').append(status).append(',')
+                        .append(latitude).append(',').append(longitude).append(',')
+                        .append(GeoHash.encode(latitude, longitude)).append('\n');
+            }
+            byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+            CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY bench_resources FROM STDIN (FORMAT csv)");
+            copy.writeToCopy(bytes, 0, bytes.length);
+            copy.endCopy();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE INDEX ON bench_resources (status, geohash)");
+                statement.execute("ANALYZE bench_resources");
+            }
+        }
+    }
+
+    private List<String> shardUrls() throws SQLException {
+        String urls = System.getProperty("benchmark.urls");
+        if (urls != null && !urls.isBlank()) {
+            return List.of(urls.split(","));
+        }
+        String server = System.getProperty("benchmark.server", "localhost:5432");
+        int shards = Integer.getInteger("benchmark.shards", 4);
+        List<String> result = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection("jdbc:postgresql://" + server + "/postgres", user, password);
+             Statement statement = connection.createStatement()) {
+            for (int i = 0; i < shards; i++) {
+                String database = "resource_share_bench_" + i;
+                try (ResultSet exists = statement.executeQuery(
+                        "SELECT 1 FROM pg_database WHERE datname = '" + database + "'")) {
+                    if (!exists.next()) {
+                        statement.execute("CREATE DATABASE " + database);
+                    }
+                }
+                result.add("jdbc:postgresql://" + server + "/" + database);
+            }
+        }
+        return result;
+    }
+
+    private HikariDataSource pool(String url) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setMaximumPoolSize(CLIENTS_PER_SHARD);
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,181 @@
+package com.resourceshare.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resourceshare.geo.GeoHash;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark de memoria por conexión concurrente: listado (GET /api/resources/nearby) contra streaming NDJSON
+ * (GET /api/resources/stream/nearby) para la misma área con RESOURCES recursos disponibles
+ * Abre CONNECTIONS clientes lentos que leen el primer bloque de la respuesta y se detienen: el servidor queda
+ * con todas las peticiones en curso y se mide el heap ocupado (después de un GC) respecto del de reposo
+ * El listado retiene las entidades y DTOs de todo el resultado mientras escribe; el streaming solo el lote del cursor
+ * Inserta sus propios datos (un donante y sus recursos) y los elimina al terminar
+ * Se ejecuta solo bajo demanda: mvn test -Dbenchmark=true -Dtest=StreamingMemoryBenchmark
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.jpa.show-sql=false", "logging.level.com.resourceshare=INFO",
+                "logging.level.org.springframework.security=INFO"})
+class StreamingMemoryBenchmark {
+
+    private static final int RESOURCES = 20_000;
+    // Menos que el pool de conexiones: cada streaming mantiene una conexión de BD mientras escribe
+    private static final int CONNECTIONS = 8;
+    private static final double LATITUDE = -2.1709;
+    private static final double LONGITUDE = -79.9224;
+    private static final double RADIUS_KM = 20;
+    private static final String EMAIL = "stream-benchmark@dataset.test";
+    private static final String PASSWORD = "secret123";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeEach
+    void seed() throws IOException {
+        cleanUp();
+        post("/api/auth/register", Map.of("email", EMAIL, "password", PASSWORD, "firstName", "Benchmark",
+                "lastName", "Streaming", "phone", "0990000000", "role", "DONOR", "address", "Centro", "city", "Guayaquil"));
+        token = (String) post("/api/auth/login", Map.of("email", EMAIL, "password", PASSWORD)).get("token");
+        Long donorId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, EMAIL);
+
+        SplittableRandom random = new SplittableRandom(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(RESOURCES);
+        for (int i = 0; i < RESOURCES; i++) {
+            double latitude = LATITUDE + random.nextGaussian() * 0.03;
+            double longitude = LONGITUDE + random.nextGaussian() * 0.03;
+            rows.add(new Object[]{"Recurso de benchmark " + i, "Descripción del recurso " + i + " en buen estado",
+                    "FOOD", donorId, latitude, longitude, GeoHash.encode(latitude, longitude), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO resources (title, description, category, status, donor_id, latitude, "
+                + "longitude, geohash, address, auto_confirm, created_at, status_changed_at, change_seq) "
+                + "VALUES (?, ?, ?, 'AVAILABLE', ?, ?, ?, ?, 'Calle de prueba', false, ?, ?, nextval('resource_change_seq'))",
+                rows);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM resources WHERE donor_id IN (SELECT id FROM users WHERE email = ?)", EMAIL);
+        jdbcTemplate.update("DELETE FROM donors WHERE id IN (SELECT id FROM users WHERE email = ?)", EMAIL);
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void memoryPerConcurrentConnection() throws Exception {
+        String query = "?lat=" + LATITUDE + "&lon=" + LONGITUDE + "&radiusKm=" + RADIUS_KM;
+        // Calentamiento: carga de clases y cachés de Hibernate y Jackson
+        measure("/api/resources/nearby" + query, 2);
+        measure("/api/resources/stream/nearby" + query, 2);
+
+        long list = measure("/api/resources/nearby" + query, CONNECTIONS);
+        long stream = measure("/api/resources/stream/nearby" + query, CONNECTIONS);
+        System.out.printf("%-12s %16s%n", "respuesta", "KB/conexión");
+        System.out.printf("%-12s %16d%n", "listado", list / 1024);
+        System.out.printf("%-12s %16d%n", "streaming", stream / 1024);
+        assertTrue(list > 0);
+    }
+
+    /**
+     * Bytes de heap retenidos por conexión con todas las peticiones en curso
+     */
+    private long measure(String path, int connections) throws Exception {
+        long idle = usedHeapAfterGc();
+        CountDownLatch started = new CountDownLatch(connections);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            Thread client = new Thread(() -> slowRead(path, started, release));
+            client.setDaemon(true);
+            client.start();
+            clients.add(client);
+        }
+        started.await();
+        // Los buffers del socket se llenan y los hilos del servidor quedan bloqueados escribiendo
+        Thread.sleep(1_000);
+        long busy = usedHeapAfterGc();
+        release.countDown();
+        for (Thread client : clients) {
+            client.join();
+        }
+        return Math.max(0, busy - idle) / connections;
+    }
+
+    private void slowRead(String path, CountDownLatch started, CountDownLatch release) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) URI.create("http://localhost:" + port + path).toURL().openConnection();
+            connection.setRequestProperty("Authorization", "Bearer " + token);
+            connection.setRequestProperty("Accept-Encoding", "identity");
+            try (InputStream in = connection.getInputStream()) {
+                byte[] buffer = new byte[8192];
+                in.read(buffer);
+                started.countDown();
+                release.await();
+                while (in.read(buffer) >= 0) {
+                    // Se descarta el resto de la respuesta
+                }
+            }
+        } catch (IOException e) {
+            started.countDown();
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long usedHeapAfterGc() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> post(String path, Map<String, Object> body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create("http://localhost:" + port + path).toURL().openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/json");
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8));
+        }
+        try (InputStream in = connection.getInputStream()) {
+            return objectMapper.readValue(in, Map.class);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.resourceshare.cache;
+
+import com.resourceshare.config.CacheInvalidationProperties;
+import com.resourceshare.config.ShardingProperties;
+import com.resourceshare.shard.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas de CacheInvalidationBus: los cambios de la ventana salen en una sola notificación con la secuencia
+ * más alta de cada recurso, los cambios dentro de una transacción se encolan recién al confirmar
+ * y las notificaciones grandes se dividen sin pasar de MAX_PAYLOAD
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTests {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CacheInvalidationBus bus;
+
+    // Cargas enviadas con pg_notify, en orden
+    private final List<String> payloads = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        CacheInvalidationProperties properties = new CacheInvalidationProperties();
+        properties.setCoalesceWindow(Duration.ofMillis(200));
+        properties.setPollTimeout(Duration.ofMillis(20));
+
+        ShardRouter shardRouter = new ShardRouter();
+        ReflectionTestUtils.setField(shardRouter, "properties", new ShardingProperties());
+        ReflectionTestUtils.invokeMethod(shardRouter, "init");
+
+        bus = new CacheInvalidationBus();
+        ReflectionTestUtils.setField(bus, "properties", properties);
+        ReflectionTestUtils.setField(bus, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(bus, "shardRouter", shardRouter);
+        ReflectionTestUtils.setField(bus, "meterRegistry", new SimpleMeterRegistry());
+        bus.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bus.stop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void changesWithinTheWindowAreCoalesced() throws InterruptedException {
+        recordNotifications();
+
+        bus.resourceChanged(1L, 5L);
+        bus.resourceChanged(1L, 7L);
+        bus.resourceChanged(1L, 6L);
+        bus.userChanged(2L);
+        bus.userChanged(2L);
+        bus.stop();
+
+        assertEquals(List.of(bus.getNodeId() + "|r:1:7,u:2"), payloads);
+    }
+
+    @Test
+    void changesInsideATransactionWaitForTheCommit() throws InterruptedException {
+        recordNotifications();
+        TransactionSynchronizationManager.initSynchronization();
+
+        bus.userChanged(3L);
+        BlockingQueue<?> queue = (BlockingQueue<?>) ReflectionTestUtils.getField(bus, "queue");
+        assertTrue(queue.isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        bus.stop();
+
+        assertEquals(List.of(bus.getNodeId() + "|u:3"), payloads);
+    }
+
+    @Test
+    void largeBatchesAreSplitIntoSeveralNotifications() throws InterruptedException {
+        recordNotifications();
+
+        int users = 2_000;
+        for (long id = 0; id < users; id++) {
+            bus.userChanged(1_000_000_000L + id);
+        }
+        bus.stop();
+
+        assertTrue(payloads.size() > 1);
+        int items = 0;
+        for (String payload : payloads) {
+            assertTrue(payload.length() <= CacheInvalidationBus.MAX_PAYLOAD);
+            assertTrue(payload.startsWith(bus.getNodeId() + "|"));
+            items += (int) Arrays.stream(payload.substring(payload.indexOf('|') + 1).split(","))
+                    .map(CacheInvalidationBus.Change::decode)
+                    .count();
+        }
+        assertEquals(users, items);
+    }
+
+    private void recordNotifications() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(), any())).thenAnswer(invocation -> {
+            payloads.add(invocation.getArgument(3));
+            return "";
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.resourceshare.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de EmailBloomFilter.Bits: sin falsos negativos y tasa de falsos positivos cercana a la configurada
+ */
+class EmailBloomFilterBitsTests {
+
+    private static final int CAPACITY = 20_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void everyAddedEmailIsFound() {
+        EmailBloomFilter.Bits bits = new EmailBloomFilter.Bits(CAPACITY, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals(i + 1, bits.add("user" + i + "@example.com"));
+        }
+
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(bits.mightContain("user" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTargetAtCapacity() {
+        EmailBloomFilter.Bits bits = new EmailBloomFilter.Bits(CAPACITY, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < CAPACITY; i++) {
+            bits.add("user" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (bits.mightContain("other" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / probes;
+        assertTrue(observed < FALSE_POSITIVE_RATE * 2, "tasa observada " + observed);
+        assertEquals(FALSE_POSITIVE_RATE, bits.expectedFpp(), FALSE_POSITIVE_RATE * 0.2);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        EmailBloomFilter.Bits bits = new EmailBloomFilter.Bits(CAPACITY, FALSE_POSITIVE_RATE);
+
+        assertFalse(bits.mightContain("nadie@example.com"));
+        assertEquals(0, bits.expectedFpp());
+    }
+}
@@ -0,0 +1,111 @@
+package com.resourceshare.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.event.ResourceTransitionEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas de ResourceFragmentCache: versión por secuencia de cambio, descarte LRU por bytes
+ * e invalidación por transición
+ */
+class ResourceFragmentCacheTests {
+
+    private ResourceFragmentCache cache;
+    private final AtomicInteger serializations = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = newCache(DataSize.ofKilobytes(1));
+    }
+
+    @Test
+    void sameVersionIsServedFromCache() {
+        byte[] first = fragment(1L, 5L, "a");
+        byte[] second = fragment(1L, 5L, "otro");
+
+        assertArrayEquals(first, second);
+        assertEquals(1, serializations.get());
+    }
+
+    @Test
+    void newVersionIsSerializedAgain() {
+        fragment(1L, 5L, "a");
+
+        assertEquals("{\"title\":\"b\"}", new String(fragment(1L, 6L, "b"), StandardCharsets.UTF_8));
+        assertEquals(2, serializations.get());
+    }
+
+    @Test
+    void withoutVersionNothingIsStored() {
+        fragment(1L, null, "a");
+        fragment(1L, null, "a");
+
+        assertEquals(2, serializations.get());
+    }
+
+    @Test
+    void leastRecentlyUsedFragmentsAreEvictedOverTheByteLimit() {
+        String large = "x".repeat(300);
+        fragment(1L, 1L, large);
+        fragment(2L, 1L, large);
+        // Usar el 1 lo deja como el más reciente
+        fragment(1L, 1L, large);
+        fragment(3L, 1L, large);
+        fragment(4L, 1L, large);
+        assertEquals(4, serializations.get());
+
+        fragment(1L, 1L, large);
+        assertEquals(4, serializations.get());
+        fragment(2L, 1L, large);
+        assertEquals(5, serializations.get());
+    }
+
+    @Test
+    void transitionDropsTheFragment() {
+        fragment(1L, 5L, "a");
+        cache.onTransition(new ResourceTransitionEvent(1L, ResourceStatus.AVAILABLE, null, ResourceStatus.CANCELLED,
+                ResourceTransitionEvent.SYSTEM_ACTOR, LocalDateTime.now(), ResourceCategory.FOOD, 0.0, 0.0, 2L, null, 6L));
+        fragment(1L, 5L, "a");
+
+        assertEquals(2, serializations.get());
+    }
+
+    @Test
+    void joinArrayConcatenatesFragments() {
+        List<byte[]> parts = List.of("{\"a\":1}".getBytes(StandardCharsets.UTF_8), "{\"b\":2}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("[{\"a\":1},{\"b\":2}]", new String(ResourceFragmentCache.joinArray(parts), StandardCharsets.UTF_8));
+        assertEquals("[]", new String(ResourceFragmentCache.joinArray(List.of()), StandardCharsets.UTF_8));
+    }
+
+    private byte[] fragment(Long id, Long version, String title) {
+        return cache.fragment(id, version, () -> {
+            serializations.incrementAndGet();
+            return Map.of("title", title);
+        });
+    }
+
+    private static ResourceFragmentCache newCache(DataSize maxSize) {
+        ResourceFragmentCache cache = new ResourceFragmentCache();
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+        cache.init();
+        return cache;
+    }
+}
@@ -0,0 +1,101 @@
+package com.resourceshare.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pruebas de SingleFlightCache: agrupamiento de peticiones simultáneas, reutilización durante
+ * maxStaleness, errores sin guardar y limpieza de resultados vencidos
+ */
+class SingleFlightCacheTests {
+
+    @Test
+    void concurrentCallsShareOneExecution() throws Exception {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>("test", Duration.ZERO, new SimpleMeterRegistry());
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Integer> first = executor.submit(() -> cache.get("k", () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                await(release);
+                return 42;
+            }));
+            started.await();
+            Future<Integer> second = executor.submit(() -> cache.get("k", executions::incrementAndGet));
+            Future<Integer> third = executor.submit(() -> cache.get("k", executions::incrementAndGet));
+            // Las dos últimas quedan esperando el cálculo en curso
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals(42, first.get(5, TimeUnit.SECONDS));
+            assertEquals(42, second.get(5, TimeUnit.SECONDS));
+            assertEquals(42, third.get(5, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+            // Con maxStaleness = 0 el resultado no se conserva
+            assertEquals(0, cache.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void recentResultIsReusedUntilItExpires() throws InterruptedException {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>("test", Duration.ofMillis(200), new SimpleMeterRegistry());
+        AtomicInteger executions = new AtomicInteger();
+
+        assertEquals(1, cache.get("k", executions::incrementAndGet));
+        assertEquals(1, cache.get("k", executions::incrementAndGet));
+        Thread.sleep(250);
+        assertEquals(2, cache.get("k", executions::incrementAndGet));
+
+        cache.invalidate("k");
+        assertEquals(3, cache.get("k", executions::incrementAndGet));
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>("test", Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+        assertThrows(IllegalStateException.class, () -> cache.get("k", () -> {
+            throw new IllegalStateException("fallo");
+        }));
+        assertEquals(0, cache.size());
+        assertEquals(7, cache.get("k", () -> 7));
+    }
+
+    @Test
+    void expiredEntriesAreSweptWhenNewKeysLoad() throws InterruptedException {
+        SingleFlightCache<Long, Long> cache = new SingleFlightCache<>("test", Duration.ofMillis(50), new SimpleMeterRegistry());
+        for (long id = 0; id < 1_000; id++) {
+            long value = id;
+            cache.get(id, () -> value);
+        }
+        Thread.sleep(120);
+
+        cache.get(-1L, () -> -1L);
+
+        assertEquals(1, cache.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
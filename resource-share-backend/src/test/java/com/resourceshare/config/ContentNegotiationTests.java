@@ -0,0 +1,107 @@
+package com.resourceshare.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de la negociación de contenido: con Accept application/cbor o application/x-jackson-smile la respuesta
+ * llega en ese formato y con los mismos valores que en JSON (fechas incluidas); sin Accept se responde JSON
+ * Registra su propio usuario y lo elimina al terminar
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.jpa.show-sql=false", "logging.level.com.resourceshare=INFO",
+                "logging.level.org.springframework.security=INFO"})
+class ContentNegotiationTests {
+
+    private static final String EMAIL = "negotiation-test@dataset.test";
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        restTemplate.postForEntity("/api/auth/register", Map.of("email", EMAIL, "password", "secret123",
+                "firstName", "Negociación", "lastName", "Prueba", "phone", "0990000000", "role", "RECEIVER",
+                "address", "Centro", "city", "Guayaquil"), String.class);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void binaryFormatsCarryTheSameValuesAsJson() throws IOException {
+        String token = login(MediaType.APPLICATION_CBOR, new CBORMapper()).path("token").asText();
+        assertFalse(token.isEmpty());
+        assertEquals(EMAIL, login(SMILE, new SmileMapper()).path("email").asText());
+
+        JsonNode json = me(token, MediaType.APPLICATION_JSON, objectMapper);
+        JsonNode cbor = me(token, MediaType.APPLICATION_CBOR, new CBORMapper());
+        JsonNode smile = me(token, SMILE, new SmileMapper());
+
+        assertEquals(json, cbor);
+        assertEquals(json, smile);
+        // LocalDateTime como texto ISO en los tres formatos, no como arreglo de números
+        assertTrue(cbor.path("createdAt").isTextual());
+    }
+
+    @Test
+    void withoutAcceptTheResponseIsJson() {
+        ResponseEntity<String> response = restTemplate.postForEntity("/api/auth/login",
+                Map.of("email", EMAIL, "password", "secret123"), String.class);
+
+        assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(response.getHeaders().getContentType()));
+        assertTrue(response.getBody().contains("\"token\""));
+    }
+
+    private JsonNode login(MediaType type, ObjectMapper reader) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(type));
+        ResponseEntity<byte[]> response = restTemplate.exchange("/api/auth/login", HttpMethod.POST,
+                new HttpEntity<>(Map.of("email", EMAIL, "password", "secret123"), headers), byte[].class);
+        assertTrue(type.isCompatibleWith(response.getHeaders().getContentType()));
+        return reader.readTree(response.getBody());
+    }
+
+    private JsonNode me(String token, MediaType type, ObjectMapper reader) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setAccept(List.of(type));
+        ResponseEntity<byte[]> response = restTemplate.exchange("/api/users/me", HttpMethod.GET,
+                new HttpEntity<>(headers), byte[].class);
+        assertTrue(type.isCompatibleWith(response.getHeaders().getContentType()));
+        return reader.readTree(response.getBody());
+    }
+}
@@ -0,0 +1,110 @@
+package com.resourceshare.dataset;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de CopyWriter contra PostgreSQL: textos con comillas, comas y saltos de línea llegan intactos,
+ * null se guarda como NULL, los bloques se envían al llenarse el búfer y un COPY sin finish() no guarda nada
+ * Usa una tabla temporal de la conexión que se elimina al terminar, así no deja datos
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.com.resourceshare=INFO",
+        "logging.level.org.springframework.security=INFO"})
+class CopyWriterTests {
+
+    private static final String TABLE = "copy_writer_test";
+    private static final String COLUMNS = "id, title, amount";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void rowsArriveIntactAcrossBufferFlushes() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            createTable(connection);
+
+            long rows;
+            // Búfer pequeño: la carga se envía en varios bloques
+            try (CopyWriter writer = new CopyWriter(connection, TABLE, COLUMNS, 64)) {
+                writer.row(1L, "Arroz \"premium\", 5 kg", 2.5);
+                writer.row(2L, "Dos\nlíneas", null);
+                writer.row(3L, null, 0);
+                for (long id = 4; id <= 100; id++) {
+                    writer.row(id, "Recurso " + id, id);
+                }
+                rows = writer.finish();
+            }
+
+            assertEquals(100, rows);
+            assertEquals(100, count(connection));
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT title, amount FROM " + TABLE + " WHERE id <= 3 ORDER BY id")) {
+                assertTrue(resultSet.next());
+                assertEquals("Arroz \"premium\", 5 kg", resultSet.getString(1));
+                assertEquals(2.5, resultSet.getDouble(2));
+                assertTrue(resultSet.next());
+                assertEquals("Dos\nlíneas", resultSet.getString(1));
+                assertNull(resultSet.getObject(2));
+                assertTrue(resultSet.next());
+                assertNull(resultSet.getString(1));
+                assertFalse(resultSet.next());
+            }
+            dropTable(connection);
+        }
+    }
+
+    @Test
+    void unfinishedCopyIsCancelled() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            createTable(connection);
+
+            assertThrows(IllegalStateException.class, () -> {
+                try (CopyWriter writer = new CopyWriter(connection, TABLE, COLUMNS, 16)) {
+                    for (long id = 1; id <= 10; id++) {
+                        writer.row(id, "Recurso " + id, id);
+                    }
+                    throw new IllegalStateException("Carga interrumpida");
+                }
+            });
+
+            // La conexión sigue utilizable y no quedó ninguna fila, aunque ya se habían enviado bloques
+            assertEquals(0, count(connection));
+            dropTable(connection);
+        }
+    }
+
+    private static void createTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS pg_temp." + TABLE);
+            statement.execute("CREATE TEMP TABLE " + TABLE + " (id BIGINT PRIMARY KEY, title TEXT, amount DOUBLE PRECISION)");
+        }
+    }
+
+    // La conexión vuelve al pool: la tabla temporal no debe quedar en ella
+    private static void dropTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS pg_temp." + TABLE);
+        }
+    }
+
+    private static long count(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT count(*) FROM " + TABLE)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
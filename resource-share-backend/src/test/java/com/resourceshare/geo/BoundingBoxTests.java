@@ -0,0 +1,40 @@
+package com.resourceshare.geo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de BoundingBox: formato ?bbox=, validación de rangos y pertenencia de puntos
+ */
+class BoundingBoxTests {
+
+    @Test
+    void parsesWestSouthEastNorth() {
+        BoundingBox box = BoundingBox.parse(" -80.0, -2.3 ,-79.8,-2.0 ");
+
+        assertEquals(new BoundingBox(-80.0, -2.3, -79.8, -2.0), box);
+    }
+
+    @Test
+    void rejectsMalformedOrInvertedBoxes() {
+        assertThrows(IllegalArgumentException.class, () -> BoundingBox.parse("1,2,3"));
+        assertThrows(IllegalArgumentException.class, () -> BoundingBox.parse("a,2,3,4"));
+        assertThrows(IllegalArgumentException.class, () -> BoundingBox.parse("-79,-2,-80,-1"));
+        assertThrows(IllegalArgumentException.class, () -> BoundingBox.parse("-80,-91,-79,-1"));
+    }
+
+    @Test
+    void containsIncludesTheEdges() {
+        BoundingBox box = new BoundingBox(-80.0, -2.3, -79.8, -2.0);
+
+        assertTrue(box.contains(-2.3, -80.0));
+        assertTrue(box.contains(-2.0, -79.8));
+        assertTrue(box.contains(-2.17, -79.92));
+        assertFalse(box.contains(-1.99, -79.9));
+        assertFalse(box.contains(-2.1, -79.79));
+    }
+}
@@ -0,0 +1,78 @@
+package com.resourceshare.geo;
+
+import com.resourceshare.enums.ResourceCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de ClusterIndex: conteos por celda al agregar y quitar, centroides y filtro por categoría
+ */
+class ClusterIndexTests {
+
+    private static final BoundingBox WORLD = new BoundingBox(-180, -90, 180, 90);
+    private static final BoundingBox GUAYAQUIL = new BoundingBox(-80.0, -2.3, -79.8, -2.0);
+
+    @Test
+    void lowZoomGroupsNearbyPointsIntoOneCluster() {
+        ClusterIndex index = new ClusterIndex(18);
+        index.add(1L, -2.17, -79.92, ResourceCategory.FOOD);
+        index.add(2L, -2.19, -79.90, ResourceCategory.FOOD);
+        index.add(3L, -2.18, -79.91, ResourceCategory.BOOKS);
+
+        List<ClusterIndex.Cluster> clusters = index.query(WORLD, 0, null);
+
+        assertEquals(1, clusters.size());
+        ClusterIndex.Cluster cluster = clusters.get(0);
+        assertEquals(3, cluster.count());
+        assertEquals(-2.18, cluster.latitude(), 1e-9);
+        assertEquals(-79.91, cluster.longitude(), 1e-9);
+        assertEquals(2, cluster.categories().get(ResourceCategory.FOOD));
+        assertEquals(1, cluster.categories().get(ResourceCategory.BOOKS));
+    }
+
+    @Test
+    void highZoomSeparatesDistantPoints() {
+        ClusterIndex index = new ClusterIndex(18);
+        index.add(1L, -2.05, -79.95, ResourceCategory.FOOD);
+        index.add(2L, -2.25, -79.85, ResourceCategory.FOOD);
+
+        assertEquals(2, index.query(GUAYAQUIL, 18, null).size());
+        // Un zoom mayor al máximo usa el último nivel
+        assertEquals(2, index.query(GUAYAQUIL, 25, null).size());
+    }
+
+    @Test
+    void addIsIdempotentAndRemoveEmptiesCells() {
+        ClusterIndex index = new ClusterIndex(10);
+        index.add(1L, -2.17, -79.92, ResourceCategory.TOYS);
+        index.add(1L, -2.17, -79.92, ResourceCategory.TOYS);
+        assertEquals(1, index.size());
+        assertEquals(1, index.query(WORLD, 0, null).get(0).count());
+
+        index.remove(1L);
+        index.remove(1L);
+        assertEquals(0, index.size());
+        for (int zoom = 0; zoom <= 10; zoom++) {
+            assertTrue(index.query(WORLD, zoom, null).isEmpty());
+        }
+    }
+
+    @Test
+    void categoryFilterExcludesOtherCategories() {
+        ClusterIndex index = new ClusterIndex(18);
+        index.add(1L, -2.17, -79.92, ResourceCategory.FOOD);
+        index.add(2L, -2.17, -79.92, ResourceCategory.TOOLS);
+
+        List<ClusterIndex.Cluster> clusters = index.query(GUAYAQUIL, 5, Set.of(ResourceCategory.TOOLS));
+
+        assertEquals(1, clusters.size());
+        assertEquals(1, clusters.get(0).count());
+        assertEquals(Set.of(ResourceCategory.TOOLS), clusters.get(0).categories().keySet());
+        assertTrue(index.query(GUAYAQUIL, 5, Set.of(ResourceCategory.BOOKS)).isEmpty());
+    }
+}
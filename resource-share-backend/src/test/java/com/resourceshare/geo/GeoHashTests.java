@@ -0,0 +1,77 @@
+package com.resourceshare.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de GeoHash.coveringRanges: todo punto del área cae en algún rango y los rangos están
+ * ordenados y sin solaparse
+ */
+class GeoHashTests {
+
+    @Test
+    void encodesKnownPoint() {
+        assertEquals("ezs42", GeoHash.encode(42.605, -5.603, 5));
+    }
+
+    @Test
+    void rangesCoverEveryPointOfTheArea() {
+        SplittableRandom random = new SplittableRandom(7);
+        double[][] centers = {{-2.1709, -79.9224}, {0.0001, -0.0001}, {60.0, 179.5}, {-45.0, -179.5}};
+        double[] radii = {0.05, 1, 5, 25, 50};
+        for (double[] center : centers) {
+            for (double radiusKm : radii) {
+                BoundingBox box = GeoDistance.boundingBox(center[0], center[1], radiusKm);
+                List<GeoHash.Range> ranges = GeoHash.coveringRanges(box);
+                for (int i = 0; i < 500; i++) {
+                    double latitude = box.minLatitude() + random.nextDouble() * (box.maxLatitude() - box.minLatitude());
+                    double longitude = box.minLongitude() + random.nextDouble() * (box.maxLongitude() - box.minLongitude());
+                    String hash = GeoHash.encode(latitude, longitude);
+                    assertTrue(ranges.stream().anyMatch(range -> contains(range, hash)),
+                            hash + " fuera de los rangos de " + box);
+                }
+                // También las esquinas, que el recorrido por pasos podría no alcanzar
+                assertTrue(ranges.stream().anyMatch(range -> contains(range,
+                        GeoHash.encode(box.maxLatitude(), box.maxLongitude()))));
+                assertTrue(ranges.stream().anyMatch(range -> contains(range,
+                        GeoHash.encode(box.minLatitude(), box.minLongitude()))));
+            }
+        }
+    }
+
+    @Test
+    void rangesAreSortedAndDisjoint() {
+        List<GeoHash.Range> ranges = GeoHash.coveringRanges(GeoDistance.boundingBox(-2.1709, -79.9224, 20));
+
+        for (int i = 1; i < ranges.size(); i++) {
+            GeoHash.Range previous = ranges.get(i - 1);
+            // Rangos contiguos se fusionan, así que el siguiente empieza estrictamente después
+            assertTrue(previous.to().compareTo(ranges.get(i).from()) < 0);
+        }
+    }
+
+    @Test
+    void wholeWorldIsASingleUnboundedRange() {
+        List<GeoHash.Range> ranges = GeoHash.coveringRanges(new BoundingBox(-180, -90, 180, 90));
+
+        assertEquals(1, ranges.size());
+        assertNull(ranges.get(0).to());
+    }
+
+    @Test
+    void successorCarriesOverTheLastCharacter() {
+        assertEquals("6gy", GeoHash.successor("6gx"));
+        assertEquals("6h", GeoHash.successor("6gz"));
+        assertNull(GeoHash.successor("zz"));
+    }
+
+    private static boolean contains(GeoHash.Range range, String hash) {
+        return hash.compareTo(range.from()) >= 0 && (range.to() == null || hash.compareTo(range.to()) < 0);
+    }
+}
@@ -0,0 +1,112 @@
+package com.resourceshare.journal;
+
+import com.resourceshare.config.JournalProperties;
+import com.resourceshare.entity.ResourceEvent;
+import com.resourceshare.enums.ResourceStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pruebas de JournalSegmentStore: formato de los segmentos, reenvío en orden y en lotes, segmentos que quedan
+ * pendientes si la BD falla y escrituras que no esperan a un reenvío en curso
+ */
+class JournalSegmentStoreTests {
+
+    @TempDir
+    Path directory;
+
+    private JournalSegmentStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        JournalProperties properties = new JournalProperties();
+        properties.setSegmentDir(directory.toString());
+        store = new JournalSegmentStore();
+        ReflectionTestUtils.setField(store, "properties", properties);
+        store.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void replaySendsEventsInOrderAndDeletesSegments() throws IOException {
+        store.append(List.of(event(2, null, ResourceStatus.AVAILABLE)));
+        store.append(List.of(event(3, ResourceStatus.CLAIMED, ResourceStatus.IN_TRANSIT)));
+
+        List<List<ResourceEvent>> batches = new ArrayList<>();
+        assertEquals(2, store.replay(batch -> batches.add(List.copyOf(batch)), 1));
+
+        assertEquals(2, batches.size());
+        ResourceEvent first = batches.get(0).get(0);
+        assertEquals(2L, first.getResourceId());
+        assertNull(first.getFromStatus());
+        assertEquals(ResourceStatus.AVAILABLE, first.getToStatus());
+        assertEquals("m1@x.com", first.getActor());
+        assertEquals(LocalDateTime.of(2026, 1, 2, 3, 4, 5), first.getOccurredAt());
+        assertEquals(ResourceStatus.IN_TRANSIT, batches.get(1).get(0).getToStatus());
+        assertEquals(0, segmentCount());
+    }
+
+    @Test
+    void failedSinkKeepsTheSegmentForTheNextReplay() throws IOException {
+        store.append(List.of(event(1, null, ResourceStatus.AVAILABLE)));
+
+        assertThrows(IllegalStateException.class, () -> store.replay(batch -> {
+            throw new IllegalStateException("BD caída");
+        }, 10));
+        assertEquals(1, segmentCount());
+
+        List<ResourceEvent> replayed = new ArrayList<>();
+        assertEquals(1, store.replay(replayed::addAll, 10));
+        assertEquals(1L, replayed.get(0).getResourceId());
+    }
+
+    @Test
+    void appendDoesNotWaitForAReplayInProgress() throws Exception {
+        store.append(List.of(event(1, null, ResourceStatus.AVAILABLE)));
+
+        List<ResourceEvent> replayed = new ArrayList<>();
+        store.replay(batch -> {
+            replayed.addAll(batch);
+            // Simula una BD lenta: otro hilo agrega eventos mientras el reenvío sigue en curso
+            CompletableFuture.runAsync(() -> store.append(List.of(event(2, null, ResourceStatus.AVAILABLE))))
+                    .orTimeout(5, TimeUnit.SECONDS)
+                    .join();
+        }, 10);
+
+        assertEquals(1, replayed.size());
+        replayed.clear();
+        assertEquals(1, store.replay(replayed::addAll, 10));
+        assertEquals(2L, replayed.get(0).getResourceId());
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static ResourceEvent event(long resourceId, ResourceStatus from, ResourceStatus to) {
+        return new ResourceEvent(null, resourceId, from, to, "m1@x.com", LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+    }
+}
@@ -0,0 +1,68 @@
+package com.resourceshare.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de HierarchicalTimerWheel: vencimiento exacto por tick, cancelación y cascada entre niveles
+ */
+class HierarchicalTimerWheelTests {
+
+    private static final long TICK = 100;
+
+    @Test
+    void expiresOnTheTickOfItsDeadline() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(TICK, 0);
+        wheel.schedule("a", 250);
+
+        assertTrue(wheel.advance(200).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(300));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelledTimersNeverExpire() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(TICK, 0);
+        HierarchicalTimerWheel.Timer<String> cancelled = wheel.schedule("cancelled", 500);
+        wheel.schedule("kept", 500);
+
+        wheel.cancel(cancelled);
+        wheel.cancel(cancelled);
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("kept"), wheel.advance(1_000));
+    }
+
+    @Test
+    void pastDeadlinesExpireOnTheNextAdvance() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(TICK, 10_000);
+        wheel.schedule("late", 5_000);
+
+        assertEquals(List.of("late"), wheel.advance(10_000));
+    }
+
+    @Test
+    void timersOnUpperLevelsCascadeAndExpireOnTime() {
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(1, 0);
+        // Un vencimiento por nivel, más uno fuera del alcance de la rueda (64^4 ticks)
+        long[] deadlines = {5, 64 + 3, 64 * 64 + 7, 64L * 64 * 64 + 11, 64L * 64 * 64 * 64 + 13};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> expired = new ArrayList<>();
+        for (long deadline : deadlines) {
+            assertTrue(wheel.advance(deadline - 1).isEmpty(), "venció antes de " + deadline);
+            List<Long> now = wheel.advance(deadline);
+            assertEquals(List.of(deadline), now);
+            expired.addAll(now);
+        }
+        assertEquals(deadlines.length, expired.size());
+        assertEquals(0, wheel.size());
+    }
+}
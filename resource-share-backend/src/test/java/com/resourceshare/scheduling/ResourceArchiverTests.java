@@ -0,0 +1,83 @@
+package com.resourceshare.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas de ResourceArchiver contra la BD: mueve en lotes los recursos entregados o cancelados antes del corte
+ * (la cancelación se fecha por status_changed_at), conserva sus columnas y deja marcas de sincronización
+ * Inserta su propio donante y sus recursos, y los elimina al terminar
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.com.resourceshare=INFO",
+        "logging.level.org.springframework.security=INFO",
+        "resources.archive.batch-size=1", "resources.archive.pause=1ms", "resources.archive.max-batches-per-run=1000"})
+class ResourceArchiverTests {
+
+    private static final String EMAIL = "archive-test@dataset.test";
+    private static final LocalDateTime OLD = LocalDateTime.of(2001, 1, 10, 12, 0);
+
+    @Autowired
+    private ResourceArchiver archiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long donorId;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        jdbcTemplate.update("INSERT INTO users (email, password, first_name, last_name, phone, role, active, created_at) "
+                + "VALUES (?, 'x', 'Archivo', 'Prueba', '0990000000', 'DONOR', true, now())", EMAIL);
+        donorId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, EMAIL);
+        jdbcTemplate.update("INSERT INTO donors (id, address, city, completed_donations, total_donations) "
+                + "VALUES (?, 'Calle de prueba', 'Guayaquil', 0, 0)", donorId);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM sync_tombstones WHERE user_id IN (SELECT id FROM users WHERE email = ?)", EMAIL);
+        jdbcTemplate.update("DELETE FROM resources_archive WHERE donor_id IN (SELECT id FROM users WHERE email = ?)", EMAIL);
+        jdbcTemplate.update("DELETE FROM resources WHERE donor_id IN (SELECT id FROM users WHERE email = ?)", EMAIL);
+        jdbcTemplate.update("DELETE FROM donors WHERE id IN (SELECT id FROM users WHERE email = ?)", EMAIL);
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void movesOldTerminalResourcesInBatches() {
+        Long delivered = insert("DELIVERED", OLD, OLD);
+        // Cancelado hace mucho: no tiene delivered_at
+        Long cancelled = insert("CANCELLED", null, OLD);
+        Long recentlyDelivered = insert("DELIVERED", LocalDateTime.now(), LocalDateTime.now());
+        Long available = insert("AVAILABLE", null, OLD);
+
+        archiver.archive();
+
+        assertEquals(List.of(recentlyDelivered, available), jdbcTemplate.queryForList(
+                "SELECT id FROM resources WHERE donor_id = ? ORDER BY id", Long.class, donorId));
+        assertEquals(List.of(delivered, cancelled), jdbcTemplate.queryForList(
+                "SELECT id FROM resources_archive WHERE donor_id = ? ORDER BY id", Long.class, donorId));
+        assertEquals(Timestamp.valueOf(OLD), jdbcTemplate.queryForObject(
+                "SELECT status_changed_at FROM resources_archive WHERE id = ?", Timestamp.class, cancelled));
+        assertEquals(List.of(delivered, cancelled), jdbcTemplate.queryForList(
+                "SELECT resource_id FROM sync_tombstones WHERE user_id = ? ORDER BY resource_id", Long.class, donorId));
+    }
+
+    private Long insert(String status, LocalDateTime deliveredAt, LocalDateTime statusChangedAt) {
+        return jdbcTemplate.queryForObject("INSERT INTO resources (title, description, category, status, donor_id, "
+                        + "latitude, longitude, auto_confirm, created_at, delivered_at, status_changed_at) "
+                        + "VALUES ('Recurso de prueba', 'Archivo', 'FOOD', ?, ?, -2.17, -79.92, false, ?, ?, ?) RETURNING id",
+                Long.class, status, donorId, Timestamp.valueOf(OLD),
+                deliveredAt != null ? Timestamp.valueOf(deliveredAt) : null, Timestamp.valueOf(statusChangedAt));
+    }
+}
@@ -0,0 +1,72 @@
+package com.resourceshare.search;
+
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.search.SavedSearchIndex.Match;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de SavedSearchIndex: coincidencia por categoría, área exacta y palabras clave, y reemplazo y baja
+ */
+class SavedSearchIndexTests {
+
+    private static final double LATITUDE = -2.1709;
+    private static final double LONGITUDE = -79.9224;
+
+    @Test
+    void matchesCategoryAreaAndKeywords() {
+        SavedSearchIndex index = new SavedSearchIndex();
+        index.add(1L, 10L, Set.of(ResourceCategory.FOOD), LATITUDE, LONGITUDE, 2.0, null);
+        index.add(2L, 20L, Set.of(), null, null, null, "bicicleta");
+        index.add(3L, 30L, Set.of(ResourceCategory.BOOKS), null, null, null, null);
+
+        assertEquals(List.of(new Match(1L, 10L)),
+                index.match(ResourceCategory.FOOD, LATITUDE + 0.005, LONGITUDE, "Pan", "del día"));
+        assertEquals(List.of(new Match(2L, 20L)),
+                index.match(ResourceCategory.TOYS, 10, 10, "Bicicleta infantil", null));
+        assertEquals(List.of(new Match(3L, 30L)),
+                index.match(ResourceCategory.BOOKS, 40, -3, "Novela", "usada"));
+    }
+
+    @Test
+    void areaUsesExactDistanceNotJustTheCell() {
+        SavedSearchIndex index = new SavedSearchIndex();
+        index.add(1L, 10L, Set.of(ResourceCategory.FOOD), LATITUDE, LONGITUDE, 1.0, null);
+
+        // ~1,1 km al norte: misma celda de precisión 4, fuera del radio
+        assertTrue(index.match(ResourceCategory.FOOD, LATITUDE + 0.01, LONGITUDE, "Arroz", null).isEmpty());
+        assertEquals(1, index.match(ResourceCategory.FOOD, LATITUDE + 0.005, LONGITUDE, "Arroz", null).size());
+    }
+
+    @Test
+    void keywordsIgnoreCaseAndAccentsAndRequireAllWords() {
+        SavedSearchIndex index = new SavedSearchIndex();
+        index.add(1L, 10L, Set.of(), null, null, null, "Cuadernos  ESCOLARES");
+
+        assertEquals(1, index.match(ResourceCategory.SCHOOL_SUPPLIES, 0, 0, "cuadernos", "útiles escolares").size());
+        assertTrue(index.match(ResourceCategory.SCHOOL_SUPPLIES, 0, 0, "cuadernos", "nuevos").isEmpty());
+
+        index.add(2L, 20L, Set.of(), null, null, null, "canción");
+        assertEquals(1, index.match(ResourceCategory.OTHERS, 0, 0, "Cancion de cuna", null).size());
+    }
+
+    @Test
+    void addReplacesAndRemoveDropsTheSearch() {
+        SavedSearchIndex index = new SavedSearchIndex();
+        index.add(1L, 10L, Set.of(ResourceCategory.FOOD), null, null, null, null);
+        index.add(1L, 10L, Set.of(ResourceCategory.TOOLS), null, null, null, null);
+
+        assertEquals(1, index.size());
+        assertTrue(index.match(ResourceCategory.FOOD, 0, 0, "Pan", null).isEmpty());
+        assertEquals(1, index.match(ResourceCategory.TOOLS, 0, 0, "Taladro", null).size());
+
+        index.remove(1L);
+        assertEquals(0, index.size());
+        assertTrue(index.match(ResourceCategory.TOOLS, 0, 0, "Taladro", null).isEmpty());
+    }
+}
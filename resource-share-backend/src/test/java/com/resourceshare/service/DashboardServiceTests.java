@@ -0,0 +1,160 @@
+package com.resourceshare.service;
+
+import com.resourceshare.dto.DashboardResponse;
+import com.resourceshare.dto.ResourceResponse;
+import com.resourceshare.entity.Resource;
+import com.resourceshare.entity.User;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.enums.UserRole;
+import com.resourceshare.repository.ResourceRepository;
+import com.resourceshare.repository.ResourceRepository.StatusCountView;
+import com.resourceshare.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas de DashboardService: cada consulta corre en una transacción de solo lectura con el tiempo límite
+ * de la rama, y una consulta lenta o fallida solo omite su dato y marca la respuesta como parcial
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTests {
+
+    private static final String EMAIL = "m1@x.com";
+
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ResourceService resourceService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    private final User user = new User();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dashboardService, "threads", 4);
+        ReflectionTestUtils.setField(dashboardService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(dashboardService, "branchTimeout", Duration.ofMillis(300));
+        ReflectionTestUtils.setField(dashboardService, "recentItems", 3);
+        dashboardService.init();
+
+        user.setId(1L);
+        user.setEmail(EMAIL);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardService.shutdown();
+    }
+
+    @Test
+    void donorBranchesRunInReadOnlyTransactionsWithTheBranchTimeout() {
+        user.setRole(UserRole.DONOR);
+        when(resourceRepository.countByDonorGroupByStatus(user)).thenReturn(List.of(
+                count(ResourceStatus.AVAILABLE, 2), count(ResourceStatus.CLAIMED, 1),
+                count(ResourceStatus.IN_TRANSIT, 1), count(ResourceStatus.DELIVERED, 5)));
+        stubRecentDonations();
+
+        DashboardResponse dashboard = dashboardService.getDashboard(EMAIL);
+
+        assertFalse(dashboard.isPartial());
+        assertEquals(9, dashboard.getTotalDonations());
+        assertEquals(2, dashboard.getActiveDonations());
+        assertEquals(5, dashboard.getCompletedDonations());
+        assertEquals(2, dashboard.getClaimedCount());
+        assertEquals(List.of(10L), dashboard.getRecentResources().stream().map(ResourceResponse::getId).toList());
+        // 300 ms se redondea hacia arriba al segundo, que es la unidad del timeout de la transacción
+        verify(transactionManager, times(2)).getTransaction(argThat((TransactionDefinition definition) ->
+                definition.isReadOnly() && definition.getTimeout() == 1));
+    }
+
+    @Test
+    void slowBranchIsOmittedAndTheResponseIsPartial() {
+        user.setRole(UserRole.DONOR);
+        when(resourceRepository.countByDonorGroupByStatus(user)).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return List.of(count(ResourceStatus.AVAILABLE, 2));
+        });
+        stubRecentDonations();
+
+        long started = System.nanoTime();
+        DashboardResponse dashboard = dashboardService.getDashboard(EMAIL);
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 1_500);
+        assertTrue(dashboard.isPartial());
+        assertNull(dashboard.getTotalDonations());
+        assertEquals(1, dashboard.getRecentResources().size());
+    }
+
+    @Test
+    void failedBranchIsOmittedAndTheOthersAreKept() {
+        user.setRole(UserRole.RECEIVER);
+        when(resourceRepository.countByStatus(ResourceStatus.AVAILABLE)).thenReturn(12L);
+        when(resourceRepository.countByReceiverGroupByStatus(user))
+                .thenThrow(new TransactionTimedOutException("Consulta cancelada por el tiempo límite"));
+        when(resourceRepository.findByStatusOrderByCreatedAtDesc(any(ResourceStatus.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        DashboardResponse dashboard = dashboardService.getDashboard(EMAIL);
+
+        assertTrue(dashboard.isPartial());
+        assertEquals(12, dashboard.getNearbyResources());
+        assertNull(dashboard.getClaimedResources());
+        assertEquals(List.of(), dashboard.getRecentResources());
+    }
+
+    private void stubRecentDonations() {
+        Resource resource = new Resource();
+        resource.setId(10L);
+        when(resourceRepository.findByDonorOrderByCreatedAtDesc(any(User.class), any(Pageable.class)))
+                .thenReturn(List.of(resource));
+        when(resourceService.mapToResponse(resource)).thenReturn(ResourceResponse.builder().id(10L).build());
+    }
+
+    private static StatusCountView count(ResourceStatus status, long total) {
+        return new StatusCountView() {
+            @Override
+            public ResourceStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package com.resourceshare.service;
+
+import com.resourceshare.analytics.DonationRollupRecorder;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.event.ResourceTransitionEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pruebas de los agregados de donaciones contra la BD: el upsert incremental de DonationRollupRecorder y la
+ * reconstrucción de DonationReportService desde resource_events (y por fechas para recursos sin eventos)
+ * Usa días de 2001 y un donante propio, que elimina al terminar
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.com.resourceshare=INFO",
+        "logging.level.org.springframework.security=INFO"})
+class DonationReportServiceTests {
+
+    private static final String EMAIL = "rollup-test@dataset.test";
+    private static final String CITY = "Rollupia";
+    private static final LocalDate DAY = LocalDate.of(2001, 1, 10);
+
+    @Autowired
+    private DonationReportService donationReportService;
+
+    @Autowired
+    private DonationRollupRecorder rollupRecorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long donorId;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        jdbcTemplate.update("INSERT INTO users (email, password, first_name, last_name, phone, role, active, created_at) "
+                + "VALUES (?, 'x', 'Rollup', 'Prueba', '0990000000', 'DONOR', true, now())", EMAIL);
+        donorId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, EMAIL);
+        jdbcTemplate.update("INSERT INTO donors (id, address, city, completed_donations, total_donations) "
+                + "VALUES (?, 'Calle de prueba', ?, 0, 0)", donorId, " " + CITY + " ");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM donation_rollups WHERE city = ?", CITY);
+        jdbcTemplate.update("DELETE FROM resource_events WHERE actor = ?", EMAIL);
+        jdbcTemplate.update("DELETE FROM resources WHERE donor_id IN (SELECT id FROM users WHERE email = ?)", EMAIL);
+        jdbcTemplate.update("DELETE FROM donors WHERE id IN (SELECT id FROM users WHERE email = ?)", EMAIL);
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void flushAddsPendingCountersToExistingRows() {
+        record(null, ResourceStatus.AVAILABLE);
+        record(null, ResourceStatus.AVAILABLE);
+        record(ResourceStatus.AVAILABLE, ResourceStatus.CLAIMED);
+        // No es una métrica: no se cuenta
+        record(ResourceStatus.CLAIMED, ResourceStatus.AVAILABLE);
+        rollupRecorder.flush();
+
+        record(null, ResourceStatus.AVAILABLE);
+        record(ResourceStatus.IN_TRANSIT, ResourceStatus.DELIVERED);
+        rollupRecorder.flush();
+
+        assertEquals(Map.of("PUBLISHED", 3L, "CLAIMED", 1L, "DELIVERED", 1L), counts(DAY));
+    }
+
+    @Test
+    void rebuildReplacesTheRangeFromEventsAndDates() {
+        Long journaled = insertResource(ResourceStatus.DELIVERED, DAY.atTime(9, 0), DAY.atTime(10, 0), DAY.plusDays(1).atTime(8, 0));
+        insertEvent(journaled, null, ResourceStatus.AVAILABLE, DAY.atTime(9, 0));
+        insertEvent(journaled, ResourceStatus.AVAILABLE, ResourceStatus.CLAIMED, DAY.atTime(10, 0));
+        insertEvent(journaled, ResourceStatus.CLAIMED, ResourceStatus.IN_TRANSIT, DAY.atTime(11, 0));
+        insertEvent(journaled, ResourceStatus.IN_TRANSIT, ResourceStatus.DELIVERED, DAY.plusDays(1).atTime(8, 0));
+        // Anterior al diario: se cuenta por sus fechas
+        insertResource(ResourceStatus.CLAIMED, DAY.atTime(12, 0), DAY.plusDays(1).atTime(9, 0), null);
+        // Contadores incorrectos dentro del rango y un día fuera de él, que no se toca
+        insertRollup(DAY, "PUBLISHED", 99);
+        insertRollup(DAY.plusDays(5), "PUBLISHED", 7);
+
+        donationReportService.rebuild(DAY, DAY.plusDays(1));
+
+        assertEquals(Map.of("PUBLISHED", 2L, "CLAIMED", 1L), counts(DAY));
+        assertEquals(Map.of("CLAIMED", 1L, "DELIVERED", 1L), counts(DAY.plusDays(1)));
+        assertEquals(Map.of("PUBLISHED", 7L), counts(DAY.plusDays(5)));
+    }
+
+    @Test
+    void rebuildOnlyAcceptsClosedDays() {
+        LocalDate today = LocalDate.now();
+        assertThrows(IllegalArgumentException.class, () -> donationReportService.rebuild(today.minusDays(1), today));
+    }
+
+    private void record(ResourceStatus from, ResourceStatus to) {
+        rollupRecorder.onTransition(new ResourceTransitionEvent(1L, from, null, to, EMAIL, DAY.atTime(12, 0),
+                ResourceCategory.FOOD, null, null, donorId, null, null));
+    }
+
+    private Long insertResource(ResourceStatus status, LocalDateTime createdAt, LocalDateTime claimedAt, LocalDateTime deliveredAt) {
+        return jdbcTemplate.queryForObject("INSERT INTO resources (title, description, category, status, donor_id, "
+                        + "latitude, longitude, auto_confirm, created_at, claimed_at, delivered_at) "
+                        + "VALUES ('Recurso de prueba', 'Agregados', 'FOOD', ?, ?, -2.17, -79.92, false, ?, ?, ?) RETURNING id",
+                Long.class, status.name(), donorId, Timestamp.valueOf(createdAt), timestamp(claimedAt), timestamp(deliveredAt));
+    }
+
+    private void insertEvent(Long resourceId, ResourceStatus from, ResourceStatus to, LocalDateTime occurredAt) {
+        jdbcTemplate.update("INSERT INTO resource_events (resource_id, from_status, to_status, actor, occurred_at) "
+                + "VALUES (?, ?, ?, ?, ?)", resourceId, from != null ? from.name() : null, to.name(), EMAIL, Timestamp.valueOf(occurredAt));
+    }
+
+    private void insertRollup(LocalDate day, String metric, long count) {
+        jdbcTemplate.update("INSERT INTO donation_rollups (day, category, city, metric, count) VALUES (?, 'FOOD', ?, ?, ?)",
+                Date.valueOf(day), CITY, metric, count);
+    }
+
+    private Map<String, Long> counts(LocalDate day) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT metric, count FROM donation_rollups WHERE day = ? AND category = 'FOOD' AND city = ?",
+                Date.valueOf(day), CITY);
+        return rows.stream().collect(Collectors.toMap(
+                row -> (String) row.get("metric"), row -> ((Number) row.get("count")).longValue()));
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+}
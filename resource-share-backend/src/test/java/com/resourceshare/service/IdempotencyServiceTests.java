@@ -0,0 +1,196 @@
+package com.resourceshare.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resourceshare.config.IdempotencyProperties;
+import com.resourceshare.exception.ConflictException;
+import com.resourceshare.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas de IdempotencyService: una ejecución por clave, repeticiones, huellas distintas, liberación de la
+ * clave cuando la operación o el guardado fallan y espera acotada de los reintentos simultáneos
+ */
+class IdempotencyServiceTests {
+
+    private static final String USER = "m1@x.com";
+    private static final String OPERATION = "claim";
+
+    private IdempotencyService service;
+    private IdempotencyProperties properties;
+    private IdempotencyRecordRepository repository;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        repository = mock(IdempotencyRecordRepository.class);
+        service = new IdempotencyService();
+        ReflectionTestUtils.setField(service, "properties", properties);
+        ReflectionTestUtils.setField(service, "idempotencyRecordRepository", repository);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        service.init();
+    }
+
+    @Test
+    void withoutKeyTheActionAlwaysRuns() {
+        execute(null, "a");
+        execute(" ", "a");
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void retryWithSameKeyReplaysTheFirstResponse() {
+        ResponseEntity<?> first = execute("k1", "a");
+        ResponseEntity<?> retry = execute("k1", "a");
+
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatusCode().value());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals("{\"execution\":1}", retry.getBody().toString());
+    }
+
+    @Test
+    void sameKeyWithDifferentRequestIsRejected() {
+        execute("k1", "a");
+
+        assertEquals(422, execute("k1", "b").getStatusCode().value());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void domainErrorsAreStoredAndReplayed() {
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            ResponseEntity<?> response = service.execute("k1", USER, OPERATION, "a", () -> {
+                calls.incrementAndGet();
+                throw new ConflictException("El recurso no está disponible");
+            });
+            assertEquals(409, response.getStatusCode().value());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void unexpectedFailureReleasesTheKey() {
+        assertThrows(IllegalStateException.class, () -> service.execute("k1", USER, OPERATION, "a", () -> {
+            throw new IllegalStateException("BD caída");
+        }));
+
+        execute("k1", "a");
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void serverErrorResponsesAreNotStored() {
+        service.execute("k1", USER, OPERATION, "a", () -> ResponseEntity.status(503).build());
+
+        execute("k1", "a");
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void concurrentRetryWaitsForTheFirstResponse() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<?>> first = CompletableFuture.supplyAsync(() ->
+                service.execute("k1", USER, OPERATION, "a", () -> {
+                    started.countDown();
+                    await(release);
+                    return ResponseEntity.status(201).body(Map.of("execution", executions.incrementAndGet()));
+                }));
+        started.await();
+        CompletableFuture<ResponseEntity<?>> retry = CompletableFuture.supplyAsync(() -> execute("k1", "a"));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals(201, first.get(5, TimeUnit.SECONDS).getStatusCode().value());
+        assertEquals(201, retry.get(5, TimeUnit.SECONDS).getStatusCode().value());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void concurrentRetryGivesUpAfterTheWaitTimeout() throws Exception {
+        properties.setWaitTimeout(Duration.ofMillis(100));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<?>> first = CompletableFuture.supplyAsync(() ->
+                service.execute("k1", USER, OPERATION, "a", () -> {
+                    started.countDown();
+                    await(release);
+                    return ResponseEntity.ok().build();
+                }));
+        started.await();
+
+        assertEquals(409, execute("k1", "a").getStatusCode().value());
+        release.countDown();
+        assertEquals(200, first.get(5, TimeUnit.SECONDS).getStatusCode().value());
+    }
+
+    @Test
+    void failedSharedReservationReleasesTheKey() {
+        properties.setPersistent(true);
+        when(repository.reserve(anyString(), anyString(), anyString(), anyString(), any()))
+                .thenThrow(new DataAccessResourceFailureException("sin conexión"))
+                .thenReturn(1);
+
+        assertThrows(DataAccessResourceFailureException.class, () -> execute("k1", "a"));
+        assertEquals(201, execute("k1", "a").getStatusCode().value());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void failedSharedCompletionStillAnswersAndReleasesTheKey() {
+        properties.setPersistent(true);
+        when(repository.reserve(anyString(), anyString(), anyString(), anyString(), any())).thenReturn(1);
+        doThrow(new DataAccessResourceFailureException("sin conexión"))
+                .when(repository).complete(anyString(), anyString(), anyString(), anyInt(), any());
+
+        assertEquals(201, execute("k1", "a").getStatusCode().value());
+        execute("k1", "a");
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void tooLongKeyIsRejected() {
+        assertEquals(400, execute("k".repeat(256), "a").getStatusCode().value());
+        assertEquals(0, executions.get());
+    }
+
+    private ResponseEntity<?> execute(String key, String fingerprint) {
+        return service.execute(key, USER, OPERATION, fingerprint,
+                () -> ResponseEntity.status(201).body(Map.of("execution", executions.incrementAndGet())));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.resourceshare.service;
+
+import com.resourceshare.dto.ImageUploadResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de ImageStorageService: el tipo se detecta por el contenido y no por lo que declara el cliente,
+ * el mismo contenido se guarda una sola vez, las imágenes rechazadas no dejan temporales
+ * y la miniatura se genera en segundo plano dentro del tamaño configurado
+ */
+class ImageStorageServiceTests {
+
+    private static final int THUMBNAIL_SIZE = 32;
+
+    @TempDir
+    Path root;
+
+    private ImageStorageService storageService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storageService = new ImageStorageService();
+        ReflectionTestUtils.setField(storageService, "imagesDir", root.toString());
+        ReflectionTestUtils.setField(storageService, "thumbnailSize", THUMBNAIL_SIZE);
+        ReflectionTestUtils.setField(storageService, "thumbnailThreads", 1);
+        ReflectionTestUtils.setField(storageService, "thumbnailQueue", 10);
+        ReflectionTestUtils.setField(storageService, "maxPixels", 10_000L);
+        storageService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storageService.shutdown();
+    }
+
+    @Test
+    void sameContentIsStoredOnce() throws IOException {
+        byte[] png = image(40, 20, "png");
+
+        ImageUploadResponse first = storageService.store(upload(png, "image/png"));
+        ImageUploadResponse second = storageService.store(upload(png, "image/png"));
+
+        assertFalse(first.isDeduplicated());
+        assertTrue(second.isDeduplicated());
+        assertEquals(first.getHash(), second.getHash());
+        assertEquals("image/png", first.getContentType());
+        assertEquals(png.length, first.getSize());
+        assertTrue(storageService.findOriginal(first.getHash()).isPresent());
+        assertEquals(0, temporaryFiles());
+    }
+
+    @Test
+    void typeIsDetectedFromTheContent() throws IOException {
+        ImageUploadResponse response = storageService.store(upload(image(10, 10, "png"), "image/jpeg"));
+
+        assertEquals("image/png", response.getContentType());
+    }
+
+    @Test
+    void rejectedImagesLeaveNoTemporaryFiles() throws IOException {
+        assertThrows(IllegalArgumentException.class,
+                () -> storageService.store(upload("no es una imagen".getBytes(), "image/png")));
+        // 200 x 100 = 20.000 píxeles, por encima del límite de la prueba
+        assertThrows(IllegalArgumentException.class,
+                () -> storageService.store(upload(image(200, 100, "png"), "image/png")));
+
+        assertEquals(0, temporaryFiles());
+    }
+
+    @Test
+    void thumbnailFitsTheConfiguredBox() throws Exception {
+        String hash = storageService.store(upload(image(80, 40, "png"), "image/png")).getHash();
+
+        ImageStorageService.StoredImage thumbnail = storageService.findThumbnail(hash).orElseThrow();
+        for (int attempt = 0; thumbnail.isFallback() && attempt < 100; attempt++) {
+            Thread.sleep(50);
+            thumbnail = storageService.findThumbnail(hash).orElseThrow();
+        }
+
+        assertFalse(thumbnail.isFallback());
+        assertEquals("image/jpeg", thumbnail.getContentType());
+        BufferedImage written = ImageIO.read(thumbnail.getPath().toFile());
+        assertEquals(THUMBNAIL_SIZE, written.getWidth());
+        assertEquals(THUMBNAIL_SIZE / 2, written.getHeight());
+    }
+
+    @Test
+    void malformedHashesAreNotLookedUp() {
+        assertTrue(storageService.findOriginal("../../etc/passwd").isEmpty());
+        assertTrue(storageService.findThumbnail("abc").isEmpty());
+    }
+
+    private long temporaryFiles() throws IOException {
+        try (Stream<Path> files = Files.list(root.resolve("tmp"))) {
+            return files.count();
+        }
+    }
+
+    private static MockMultipartFile upload(byte[] content, String contentType) {
+        return new MockMultipartFile("file", "foto", contentType, content);
+    }
+
+    private static byte[] image(int width, int height, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, 0xFF0000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,165 @@
+package com.resourceshare.service;
+
+import com.resourceshare.config.FeedProperties;
+import com.resourceshare.dto.ResourceResponse;
+import com.resourceshare.entity.Resource;
+import com.resourceshare.entity.User;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.repository.ArchivedResourceRepository;
+import com.resourceshare.repository.ResourceRepository;
+import com.resourceshare.repository.ResourceRepositoryCustom.FeedCandidate;
+import com.resourceshare.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas del feed de receptores: solo los K mejores puntajes se cargan como entidades, la afinidad
+ * con las categorías reclamadas sube su puntaje y un recurso borrado entre las dos consultas no aparece
+ */
+@ExtendWith(MockitoExtension.class)
+class ResourceFeedServiceTests {
+
+    private static final String EMAIL = "r1@x.com";
+    private static final double LATITUDE = -0.18;
+    private static final double LONGITUDE = -78.48;
+
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    @Mock
+    private ArchivedResourceRepository archivedResourceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ResourceService resourceService;
+
+    @Spy
+    private FeedProperties properties = new FeedProperties();
+
+    @InjectMocks
+    private ResourceFeedService feedService;
+
+    private final User receiver = new User();
+    private final LocalDateTime createdAt = LocalDateTime.now().minusHours(1);
+
+    @BeforeEach
+    void setUp() {
+        receiver.setId(5L);
+        receiver.setEmail(EMAIL);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(receiver));
+    }
+
+    @Test
+    void onlyTheTopKNearestAreLoaded() {
+        when(resourceRepository.findFeedCandidatesWithinRadius(eq(ResourceStatus.AVAILABLE), eq(LATITUDE),
+                eq(LONGITUDE), anyDouble())).thenReturn(List.of(
+                candidate(1, ResourceCategory.FOOD, 0.09),
+                candidate(2, ResourceCategory.FOOD, 0.01),
+                candidate(3, ResourceCategory.FOOD, 0.05),
+                candidate(4, ResourceCategory.FOOD, 0.00),
+                candidate(5, ResourceCategory.FOOD, 0.12)));
+        stubResources();
+
+        List<ResourceResponse> feed = feedService.getFeed(EMAIL, LATITUDE, LONGITUDE, 2);
+
+        assertEquals(List.of(4L, 2L), ids(feed));
+        verify(resourceRepository).findAllById(List.of(4L, 2L));
+    }
+
+    @Test
+    void claimedCategoriesRankFirst() {
+        when(resourceRepository.findFeedCandidatesByStatus(ResourceStatus.AVAILABLE)).thenReturn(List.of(
+                candidate(1, ResourceCategory.BOOKS, 0),
+                candidate(2, ResourceCategory.FOOD, 0),
+                candidate(3, ResourceCategory.TOYS, 0)));
+        when(resourceRepository.countByReceiverGroupByCategory(receiver))
+                .thenReturn(List.of(count(ResourceCategory.FOOD, 4)));
+        when(archivedResourceRepository.countByReceiverGroupByCategory(receiver))
+                .thenReturn(List.of(count(ResourceCategory.TOYS, 2)));
+        stubResources();
+
+        List<ResourceResponse> feed = feedService.getFeed(EMAIL, null, null, null);
+
+        assertEquals(List.of(2L, 3L, 1L), ids(feed));
+    }
+
+    @Test
+    void resourcesDeletedBetweenQueriesAreSkipped() {
+        when(resourceRepository.findFeedCandidatesByStatus(ResourceStatus.AVAILABLE)).thenReturn(List.of(
+                candidate(1, ResourceCategory.FOOD, 0),
+                candidate(2, ResourceCategory.FOOD, 0)));
+        when(resourceRepository.findAllById(anyIterable())).thenReturn(List.of(resource(2)));
+        when(resourceService.mapToResponse(any(Resource.class)))
+                .thenAnswer(invocation -> response(invocation.getArgument(0)));
+
+        assertEquals(List.of(2L), ids(feedService.getFeed(EMAIL, null, null, null)));
+    }
+
+    @Test
+    void latitudeWithoutLongitudeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> feedService.getFeed(EMAIL, LATITUDE, null, null));
+    }
+
+    private void stubResources() {
+        when(resourceRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(ResourceFeedServiceTests::resource).toList();
+        });
+        when(resourceService.mapToResponse(any(Resource.class)))
+                .thenAnswer(invocation -> response(invocation.getArgument(0)));
+    }
+
+    private FeedCandidate candidate(long id, ResourceCategory category, double offsetDegrees) {
+        return new FeedCandidate(id, category, LATITUDE + offsetDegrees, LONGITUDE, createdAt);
+    }
+
+    private static Resource resource(long id) {
+        Resource resource = new Resource();
+        resource.setId(id);
+        return resource;
+    }
+
+    private static ResourceResponse response(Resource resource) {
+        return ResourceResponse.builder().id(resource.getId()).build();
+    }
+
+    private static List<Long> ids(List<ResourceResponse> feed) {
+        return feed.stream().map(ResourceResponse::getId).toList();
+    }
+
+    private static ResourceRepository.CategoryCountView count(ResourceCategory category, long total) {
+        return new ResourceRepository.CategoryCountView() {
+            @Override
+            public ResourceCategory getCategory() {
+                return category;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.resourceshare.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resourceshare.enums.ResourceCategory;
+import com.resourceshare.enums.ResourceStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas del formato columnar de marcadores: los ids se reconstruyen sumando las diferencias,
+ * las coordenadas vuelven dividiendo por la escala y las columnas crecen más allá de la capacidad inicial
+ */
+class ResourceMarkerServiceTests {
+
+    private static final int MARKERS = 3_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ResourceMarkerService markerService;
+
+    @BeforeEach
+    void setUp() {
+        markerService = new ResourceMarkerService();
+        ReflectionTestUtils.setField(markerService, "objectMapper", objectMapper);
+    }
+
+    @Test
+    void columnsRoundTripThroughTheJsonPayload() throws IOException {
+        ResourceMarkerService.MarkerColumns columns = new ResourceMarkerService.MarkerColumns();
+        for (int i = 0; i < MARKERS; i++) {
+            columns.add(id(i), latitude(i), longitude(i), i % ResourceCategory.values().length,
+                    ResourceStatus.AVAILABLE.ordinal());
+        }
+
+        JsonNode payload = write(columns);
+
+        assertEquals(MARKERS, payload.path("count").asInt());
+        int scale = payload.path("coordinateScale").asInt();
+        long id = 0;
+        for (int i = 0; i < MARKERS; i++) {
+            id += payload.path("idDeltas").get(i).asLong();
+            assertEquals(id(i), id);
+            assertEquals(-0.18 - i * 0.00001, payload.path("latitudes").get(i).asDouble() / scale, 1e-9);
+            assertEquals(-78.48 + i * 0.00002, payload.path("longitudes").get(i).asDouble() / scale, 1e-9);
+            String category = payload.path("categories").get(payload.path("category").get(i).asInt()).asText();
+            assertEquals(ResourceCategory.values()[i % ResourceCategory.values().length].name(), category);
+            String status = payload.path("statuses").get(payload.path("status").get(i).asInt()).asText();
+            assertEquals(ResourceStatus.AVAILABLE.name(), status);
+        }
+    }
+
+    @Test
+    void emptyColumnsWriteEmptyArrays() throws IOException {
+        JsonNode payload = write(new ResourceMarkerService.MarkerColumns());
+
+        assertEquals(0, payload.path("count").asInt());
+        assertEquals(0, payload.path("idDeltas").size());
+        assertEquals(0, payload.path("latitudes").size());
+        assertEquals(ResourceCategory.values().length, payload.path("categories").size());
+    }
+
+    private JsonNode write(ResourceMarkerService.MarkerColumns columns) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        markerService.writeJson(columns, out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    private static long id(int i) {
+        return 1_000 + i * 7L + (i % 3);
+    }
+
+    private static int latitude(int i) {
+        return (int) Math.round((-0.18 - i * 0.00001) * ResourceMarkerService.COORDINATE_SCALE);
+    }
+
+    private static int longitude(int i) {
+        return (int) Math.round((-78.48 + i * 0.00002) * ResourceMarkerService.COORDINATE_SCALE);
+    }
+}
@@ -0,0 +1,181 @@
+package com.resourceshare.service;
+
+import com.resourceshare.config.SyncProperties;
+import com.resourceshare.dto.ResourceResponse;
+import com.resourceshare.dto.SyncResponse;
+import com.resourceshare.entity.Resource;
+import com.resourceshare.entity.SyncTombstone;
+import com.resourceshare.entity.User;
+import com.resourceshare.enums.ResourceStatus;
+import com.resourceshare.exception.ServiceUnavailableException;
+import com.resourceshare.repository.ResourceRepository;
+import com.resourceshare.repository.SyncTombstoneRepository;
+import com.resourceshare.repository.UserRepository;
+import com.resourceshare.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas del token de SyncService: mezcla de cambios y marcas de eliminación en orden de secuencia,
+ * paginación, límite en el horizonte, tokens vencidos y horizonte todavía no disponible
+ */
+@ExtendWith(MockitoExtension.class)
+class SyncServiceTests {
+
+    private static final String EMAIL = "r1@x.com";
+    private static final long HORIZON = 100;
+
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ResourceService resourceService;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Spy
+    private SyncProperties properties = new SyncProperties();
+
+    @InjectMocks
+    private SyncService syncService;
+
+    private final User user = new User();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        user.setId(7L);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        lenient().when(shardRouter.defaultShard()).thenReturn(ShardRouter.DEFAULT_SHARD);
+        lenient().when(resourceService.mapToResponse(any()))
+                .thenAnswer(invocation -> ResourceResponse.builder().id(((Resource) invocation.getArgument(0)).getId()).build());
+        // Muestras {horizonte, actual} como las deja sampleHorizons
+        ((Map<String, long[]>) ReflectionTestUtils.getField(syncService, "horizons"))
+                .put(ShardRouter.DEFAULT_SHARD, new long[]{HORIZON, HORIZON + 10});
+    }
+
+    @Test
+    void mergesChangesAndTombstonesInSequenceOrder() {
+        when(resourceRepository.findChangedForUser(eq(user), eq(10L), eq(HORIZON), any(Pageable.class)))
+                .thenReturn(List.of(resource(1L, 12, ResourceStatus.AVAILABLE), resource(2L, 15, ResourceStatus.CANCELLED),
+                        resource(3L, 20, ResourceStatus.CLAIMED)));
+        when(syncTombstoneRepository.findByUserIdAndChangeSeqBetweenOrderByChangeSeq(eq(7L), eq(11L), eq(HORIZON), any(Pageable.class)))
+                .thenReturn(List.of(tombstone(1L, 13), tombstone(4L, 18)));
+
+        SyncResponse response = syncService.sync(EMAIL, token(10));
+
+        assertFalse(response.isFullResync());
+        assertFalse(response.isHasMore());
+        assertEquals(List.of(3L), response.getUpserts().stream().map(ResourceResponse::getId).toList());
+        // El recurso 1 cambió y luego salió de la vista; el 2 se canceló
+        assertEquals(List.of(1L, 2L, 4L), response.getRemoved());
+        assertTrue(response.getToken().startsWith("20."));
+    }
+
+    @Test
+    void tokenStopsAtTheLastDeliveredChangeWhenThePageIsFull() {
+        properties.setPageSize(2);
+        when(resourceRepository.findChangedForUser(eq(user), eq(0L), eq(HORIZON), any(Pageable.class)))
+                .thenReturn(List.of(resource(1L, 3, ResourceStatus.AVAILABLE), resource(2L, 8, ResourceStatus.AVAILABLE),
+                        resource(3L, 9, ResourceStatus.AVAILABLE)));
+
+        SyncResponse response = syncService.sync(EMAIL, null);
+
+        assertTrue(response.isFullResync());
+        assertTrue(response.isHasMore());
+        assertEquals(2, response.getUpserts().size());
+        assertTrue(response.getToken().startsWith("8."));
+        // En la resincronización completa no se consultan marcas
+        verify(syncTombstoneRepository, never())
+                .findByUserIdAndChangeSeqBetweenOrderByChangeSeq(anyLong(), anyLong(), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void tokenAtTheHorizonKeepsItsSequence() {
+        when(resourceRepository.findChangedForUser(eq(user), eq(HORIZON), eq(HORIZON), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        SyncResponse response = syncService.sync(EMAIL, token(HORIZON));
+
+        assertTrue(response.getUpserts().isEmpty());
+        assertTrue(response.getToken().startsWith(HORIZON + "."));
+    }
+
+    @Test
+    void tokenOlderThanTheRetentionForcesAFullResync() {
+        properties.setTombstoneRetention(Duration.ofDays(1));
+        when(resourceRepository.findChangedForUser(eq(user), eq(0L), eq(HORIZON), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        SyncResponse response = syncService.sync(EMAIL, "50." + (System.currentTimeMillis() - Duration.ofDays(2).toMillis()));
+
+        assertTrue(response.isFullResync());
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> syncService.sync(EMAIL, "abc"));
+        assertThrows(IllegalArgumentException.class, () -> syncService.sync(EMAIL, "1.x"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void syncBeforeTheFirstHorizonIsUnavailableWithoutWaiting() {
+        // Solo hay una muestra: todavía no hay horizonte
+        ((Map<String, long[]>) ReflectionTestUtils.getField(syncService, "horizons"))
+                .put(ShardRouter.DEFAULT_SHARD, new long[]{-1, HORIZON});
+
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class, () -> syncService.sync(EMAIL, null));
+        assertEquals(5, e.getRetryAfterSeconds());
+    }
+
+    private static String token(long sequence) {
+        return sequence + "." + System.currentTimeMillis();
+    }
+
+    private static Resource resource(Long id, long changeSeq, ResourceStatus status) {
+        Resource resource = new Resource();
+        resource.setId(id);
+        resource.setChangeSeq(changeSeq);
+        resource.setStatus(status);
+        return resource;
+    }
+
+    private static SyncTombstone tombstone(Long resourceId, long changeSeq) {
+        SyncTombstone tombstone = new SyncTombstone();
+        tombstone.setResourceId(resourceId);
+        tombstone.setChangeSeq(changeSeq);
+        return tombstone;
+    }
+}
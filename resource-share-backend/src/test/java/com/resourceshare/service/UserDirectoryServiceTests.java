@@ -0,0 +1,91 @@
+package com.resourceshare.service;
+
+import com.resourceshare.dto.UserDirectoryPage;
+import com.resourceshare.dto.UserResponse;
+import com.resourceshare.enums.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de UserDirectoryService contra la BD: recorrido completo por cursor (cada usuario una sola vez y en
+ * orden de id), filtros combinados con el cursor, prefijos con comodines de LIKE y límites inválidos
+ * Inserta sus propios usuarios y los elimina al terminar
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.com.resourceshare=INFO",
+        "logging.level.org.springframework.security=INFO"})
+class UserDirectoryServiceTests {
+
+    private static final String PREFIX = "directory-test-";
+
+    @Autowired
+    private UserDirectoryService userDirectoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        for (int i = 0; i < 5; i++) {
+            ids.add(jdbcTemplate.queryForObject("INSERT INTO users (email, password, first_name, last_name, phone, role, "
+                    + "active, created_at) VALUES (?, 'x', 'Directorio', 'Prueba', '0990000000', ?, true, now()) RETURNING id",
+                    Long.class, PREFIX + i + "@dataset.test", i < 2 ? "DONOR" : "RECEIVER"));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void cursorWalksEveryMatchOnceInIdOrder() {
+        List<Long> seen = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            UserDirectoryPage page = userDirectoryService.search(PREFIX, null, null, cursor, 2);
+            page.getUsers().forEach(user -> seen.add(user.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(ids, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void filtersApplyAfterTheCursor() {
+        UserDirectoryPage page = userDirectoryService.search(PREFIX.toUpperCase(), UserRole.RECEIVER, true, ids.get(2), 10);
+
+        assertEquals(ids.subList(3, 5), page.getUsers().stream().map(UserResponse::getId).toList());
+        assertNull(page.getNextCursor());
+        assertTrue(page.getApproximateTotal() >= 0);
+    }
+
+    @Test
+    void likeWildcardsInTheQueryAreLiteral() {
+        assertTrue(userDirectoryService.search("directory_test", null, null, null, 10).getUsers().isEmpty());
+        assertTrue(userDirectoryService.search("directory%", null, null, null, 10).getUsers().isEmpty());
+    }
+
+    @Test
+    void limitOutOfRangeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> userDirectoryService.search(null, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> userDirectoryService.search(null, null, null, null, 201));
+    }
+}
@@ -0,0 +1,86 @@
+package com.resourceshare.service;
+
+import com.resourceshare.cache.CacheInvalidationBus;
+import com.resourceshare.cache.ResourceFragmentCache;
+import com.resourceshare.dto.UserUpdateRequest;
+import com.resourceshare.entity.User;
+import com.resourceshare.enums.UserRole;
+import com.resourceshare.repository.DonorRepository;
+import com.resourceshare.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas de UserService: los fragmentos JSON de recursos (que incluyen el nombre del usuario)
+ * se descartan recién cuando la transacción de la actualización confirma
+ */
+@ExtendWith(MockitoExtension.class)
+class UserServiceTests {
+
+    private static final String EMAIL = "r1@x.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DonorRepository donorRepository;
+
+    @Mock
+    private ResourceFragmentCache resourceFragmentCache;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @InjectMocks
+    private UserService userService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void fragmentsAreInvalidatedAfterCommit() {
+        User user = new User();
+        user.setId(7L);
+        user.setRole(UserRole.RECEIVER);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+        UserUpdateRequest request = new UserUpdateRequest();
+        request.setFirstName("Nuevo");
+
+        TransactionSynchronizationManager.initSynchronization();
+        userService.updateUser(EMAIL, request);
+
+        verify(resourceFragmentCache, never()).invalidateAll();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(resourceFragmentCache).invalidateAll();
+    }
+
+    @Test
+    void withoutTransactionFragmentsAreInvalidatedImmediately() {
+        User user = new User();
+        user.setId(7L);
+        user.setRole(UserRole.RECEIVER);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        userService.updateUser(EMAIL, new UserUpdateRequest());
+
+        verify(resourceFragmentCache).invalidateAll();
+    }
+}
@@ -0,0 +1,107 @@
+package com.resourceshare.state;
+
+import com.resourceshare.entity.Resource;
+import com.resourceshare.entity.User;
+import com.resourceshare.enums.ResourceStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Pruebas de las guardas de ResourceStateMachine y ResourceAction: estados de origen, dueño de la acción y
+ * mensajes de error (la tabla de transiciones se valida al cargar la clase)
+ */
+@ExtendWith(MockitoExtension.class)
+class ResourceStateMachineTests {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ResourceStateMachine stateMachine;
+
+    @Test
+    void emptyIdsDoNotTouchTheDatabase() {
+        assertTrue(stateMachine.apply(ResourceAction.CANCEL, List.of(), "m1@x.com", LocalDateTime.now()).isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void updateIsGuardedByOriginStatesAndOwner() {
+        assertEquals(List.of("AVAILABLE", "CLAIMED"), fromParameter(ResourceAction.CANCEL));
+        assertTrue(sql(ResourceAction.CANCEL).contains("r.donor_id = actor.id"));
+        assertTrue(sql(ResourceAction.DELIVER).contains("r.receiver_id = actor.id"));
+        assertFalse(sql(ResourceAction.CLAIM).contains("= actor.id AND"));
+    }
+
+    @Test
+    void onlyStateChangesTouchStatusChangedAt() {
+        assertTrue(sql(ResourceAction.CONFIRM_PICKUP).contains("status_changed_at = :now"));
+        assertFalse(sql(ResourceAction.TOGGLE_AUTO_CONFIRM).contains("status_changed_at = :now"));
+    }
+
+    @Test
+    void actorChecksOwnership() {
+        Resource resource = new Resource();
+        resource.setDonor(user("m1@x.com"));
+
+        assertTrue(ResourceAction.CLAIM.isAllowedFor(resource, "r1@x.com"));
+        assertTrue(ResourceAction.CANCEL.isAllowedFor(resource, "m1@x.com"));
+        assertFalse(ResourceAction.CANCEL.isAllowedFor(resource, "r1@x.com"));
+        assertFalse(ResourceAction.DELIVER.isAllowedFor(resource, "r1@x.com"));
+
+        resource.setReceiver(user("r1@x.com"));
+        assertTrue(ResourceAction.DELIVER.isAllowedFor(resource, "r1@x.com"));
+        assertFalse(ResourceAction.DELIVER.isAllowedFor(resource, "m1@x.com"));
+    }
+
+    @Test
+    void conflictMessageNamesTheCurrentState() {
+        assertEquals("No se puede cancelar un recurso en estado DELIVERED",
+                ResourceAction.CANCEL.conflictMessage(ResourceStatus.DELIVERED));
+        assertEquals("El recurso no está disponible", ResourceAction.CLAIM.conflictMessage(ResourceStatus.CLAIMED));
+    }
+
+    private String sql(ResourceAction action) {
+        return capture(action).sql;
+    }
+
+    private Object fromParameter(ResourceAction action) {
+        return capture(action).params.getValue("from");
+    }
+
+    private Captured capture(ResourceAction action) {
+        clearInvocations(jdbcTemplate);
+        stateMachine.apply(action, List.of(1L), "m1@x.com", LocalDateTime.now());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<SqlParameterSource> params = ArgumentCaptor.forClass(SqlParameterSource.class);
+        verify(jdbcTemplate).query(sql.capture(), params.capture(), any(RowCallbackHandler.class));
+        return new Captured(sql.getValue(), params.getValue());
+    }
+
+    private record Captured(String sql, SqlParameterSource params) {
+    }
+
+    private static User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        return user;
+    }
+}
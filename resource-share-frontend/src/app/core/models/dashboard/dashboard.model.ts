@@ -0,0 +1,27 @@
+import { UserRole } from '../../enums/user-role.enum';
+import { Resource } from '../resource/resource.model';
+
+/**
+ * Datos de la pantalla de inicio (GET /api/dashboard)
+ * Los contadores de donante o de receptor vienen en null según el rol
+ */
+export interface Dashboard {
+  role: UserRole;
+  firstName: string;
+  email: string;
+
+  // Contadores del donante
+  totalDonations?: number;
+  activeDonations?: number;
+  completedDonations?: number;
+  claimedCount?: number;
+
+  // Contadores del receptor
+  nearbyResources?: number;
+  claimedResources?: number;
+
+  recentResources?: Resource[];
+
+  // true cuando alguna consulta del backend no respondió a tiempo
+  partial: boolean;
+}
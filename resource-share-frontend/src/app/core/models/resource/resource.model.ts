@@ -27,6 +27,9 @@ export interface Resource {
   
   // URL de la imagen del recurso (opcional)
   imageUrl?: string;
+
+  // URL de la miniatura, usada en los listados en lugar de la imagen original
+  thumbnailUrl?: string;
   
   // Configuración de confirmación automática
   autoConfirm?: boolean;
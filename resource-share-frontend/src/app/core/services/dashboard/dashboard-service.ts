@@ -0,0 +1,30 @@
+import { Injectable } from '@angular/core';
+import { HttpClient } from '@angular/common/http';
+import { Observable, catchError, throwError } from 'rxjs';
+import { Dashboard } from '../../models/dashboard/dashboard.model';
+
+/**
+ * Servicio de la pantalla de inicio
+ * Obtiene en una sola llamada los contadores y recursos recientes del usuario
+ */
+@Injectable({
+  providedIn: 'root'
+})
+export class DashboardService {
+  private readonly API_URL = 'http://localhost:8080/api/dashboard';
+
+  constructor(private http: HttpClient) {}
+
+  /**
+   * Obtener los datos de inicio del usuario actual
+   */
+  getDashboard(): Observable<Dashboard> {
+    return this.http.get<Dashboard>(this.API_URL)
+      .pipe(
+        catchError(error => {
+          console.error('❌ Error obteniendo el dashboard:', error);
+          return throwError(() => error);
+        })
+      );
+  }
+}
@@ -1,6 +1,6 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
-import { Observable, tap, catchError, throwError } from 'rxjs';
+import { HttpClient, HttpErrorResponse, HttpHeaders } from '@angular/common/http';
+import { Observable, tap, catchError, throwError, retry, timer } from 'rxjs';
 import { Resource } from '../../models/resource/resource.model';
 import { ResourceRequest } from '../../models/resource/resource-request.model';
 
@@ -14,14 +14,36 @@ import { ResourceRequest } from '../../models/resource/resource-request.model';
 export class ResourceService {
   private readonly API_URL = 'http://localhost:8080/api/resources';
 
+  // Reintentos ante fallas de red; el backend reconoce la clave y no repite la operación
+  private readonly NETWORK_RETRIES = 2;
+  private readonly RETRY_DELAY_MS = 1000;
+
   constructor(private http: HttpClient) {}
 
+  /**
+   * Cabecera Idempotency-Key nueva por operación; se reutiliza en todos sus reintentos
+   */
+  private idempotencyHeaders(): HttpHeaders {
+    return new HttpHeaders({ 'Idempotency-Key': crypto.randomUUID() });
+  }
+
+  /**
+   * Reintenta solo cuando la petición no llegó a tener respuesta (status 0)
+   */
+  private retryOnNetworkError<T>() {
+    return retry<T>({
+      count: this.NETWORK_RETRIES,
+      delay: (error: HttpErrorResponse) => error.status === 0 ? timer(this.RETRY_DELAY_MS) : throwError(() => error)
+    });
+  }
+
   /**
    * Publicar un nuevo recurso (solo DONOR)
    */
   publishResource(resourceRequest: ResourceRequest): Observable<Resource> {
-    return this.http.post<Resource>(`${this.API_URL}`, resourceRequest)
+    return this.http.post<Resource>(`${this.API_URL}`, resourceRequest, { headers: this.idempotencyHeaders() })
       .pipe(
+        this.retryOnNetworkError(),
         tap(response => {
           console.log('✅ Recurso publicado:', response.id);
         }),
@@ -92,8 +114,9 @@ export class ResourceService {
    * Si autoConfirm=true pasa a IN_TRANSIT, si es false pasa a CLAIMED
    */
   claimResource(resourceId: number): Observable<Resource> {
-    return this.http.post<Resource>(`${this.API_URL}/${resourceId}/claim`, null)
+    return this.http.post<Resource>(`${this.API_URL}/${resourceId}/claim`, null, { headers: this.idempotencyHeaders() })
       .pipe(
+        this.retryOnNetworkError(),
         tap(response => {
           console.log('✅ Recurso reclamado:', response.id);
         }),
@@ -244,8 +244,8 @@ export class MyDonationsComponent implements OnInit {
             setTimeout(() => {
               this.successMessage = '';
             }, 3000);
-          } else if (error.status === 400) {
-            this.errorMessage = error.error.message || 'No se puede cancelar este recurso';
+          } else if (error.status === 403 || error.status === 409) {
+            this.errorMessage = error.error?.message || 'No se puede cancelar este recurso';
           } else {
             this.errorMessage = 'Error al cancelar la donación';
           }
@@ -4,9 +4,10 @@ import { Router } from '@angular/router';
 import { IonicModule } from '@ionic/angular';
 import { Subscription } from 'rxjs';
 import { AuthService } from '../core/services/auth/auth-service';
-import { ResourceService } from '../core/services/resource/resource-service';
+import { DashboardService } from '../core/services/dashboard/dashboard-service';
 import { User } from '../core/models/auth/user.model';
 import { Resource } from '../core/models/resource/resource.model';
+import { Dashboard } from '../core/models/dashboard/dashboard.model';
 import { ResourceStatus } from '../core/enums/resource-status.enum';
 import { ResourceCategory } from '../core/enums/resource-category.enum';
 
@@ -57,7 +58,7 @@ export class HomePage implements OnInit, OnDestroy {
 
   constructor(
     private authService: AuthService,
-    private resourceService: ResourceService,
+    private dashboardService: DashboardService,
     private router: Router
   ) {}
 
@@ -156,24 +157,24 @@ export class HomePage implements OnInit, OnDestroy {
   }
 
   /**
-   * Carga las estadísticas y recursos del donante
-   * Calcula totales, recursos activos y completados
+   * Carga las estadísticas y recursos recientes del donante
+   * El backend entrega los contadores ya calculados en una sola llamada
    */
   private loadDonorData() {
-    this.resourceService.getMyDonorResources().subscribe({
-      next: (resources: Resource[]) => {
-        this.donorStats.totalDonations = resources.length;
-        this.donorStats.activeDonations = resources.filter(r => r.status === ResourceStatus.AVAILABLE).length;
-        this.donorStats.completedDonations = resources.filter(r => r.status === ResourceStatus.DELIVERED).length;
-        this.donorStats.claimedCount = resources.filter(r => r.status === ResourceStatus.CLAIMED || r.status === ResourceStatus.IN_TRANSIT).length;
-        
-        this.recentResources = resources.slice(0, 3);
+    this.dashboardService.getDashboard().subscribe({
+      next: (dashboard: Dashboard) => {
+        this.donorStats.totalDonations = dashboard.totalDonations ?? 0;
+        this.donorStats.activeDonations = dashboard.activeDonations ?? 0;
+        this.donorStats.completedDonations = dashboard.completedDonations ?? 0;
+        this.donorStats.claimedCount = dashboard.claimedCount ?? 0;
+
+        this.recentResources = dashboard.recentResources ?? [];
         this.isLoading = false;
-        
+
         console.log('✅ Datos de donante cargados');
       },
       error: (error) => {
-        console.error('❌ Error cargando recursos del donante:', error);
+        console.error('❌ Error cargando datos del donante:', error);
         this.isLoading = false;
       }
     });
@@ -181,42 +182,21 @@ export class HomePage implements OnInit, OnDestroy {
 
   /**
    * Carga los datos del receptor
-   * Obtiene recursos disponibles cercanos y recursos reclamados
+   * Recursos disponibles, recursos reclamados y los disponibles más recientes en una sola llamada
    */
   private loadReceiverData() {
-    this.resourceService.getAvailableResources().subscribe({
-      next: (resources: Resource[]) => {
-        this.receiverData.nearbyResources = resources.length;
-        this.recentResources = resources.slice(0, 3);
-        this.loadClaimedResourcesCount();
-        
+    this.dashboardService.getDashboard().subscribe({
+      next: (dashboard: Dashboard) => {
+        this.receiverData.nearbyResources = dashboard.nearbyResources ?? 0;
+        this.receiverData.claimedResources = dashboard.claimedResources ?? 0;
+        this.recentResources = dashboard.recentResources ?? [];
+        this.isLoading = false;
+
         console.log('✅ Datos de receptor cargados');
       },
       error: (error) => {
-        console.error('❌ Error cargando recursos disponibles:', error);
+        console.error('❌ Error cargando datos del receptor:', error);
         this.receiverData.nearbyResources = 0;
-        this.isLoading = false;
-      }
-    });
-  }
-
-  /**
-   * Carga el conteo de recursos reclamados por el receptor
-   */
-  private loadClaimedResourcesCount() {
-    this.resourceService.getMyReceivedResources().subscribe({
-      next: (resources: Resource[]) => {
-        this.receiverData.claimedResources = resources.filter(
-          r => r.status === ResourceStatus.CLAIMED || 
-              r.status === ResourceStatus.IN_TRANSIT || 
-              r.status === ResourceStatus.DELIVERED
-        ).length;
-        this.isLoading = false;
-        
-        console.log('✅ Recursos reclamados contados');
-      },
-      error: (error: any) => {
-        console.error('❌ Error cargando recursos reclamados:', error);
         this.receiverData.claimedResources = 0;
         this.isLoading = false;
       }
@@ -391,6 +391,9 @@ export class BrowseResourcesComponent implements OnInit, OnDestroy {
             setTimeout(() => {
               this.successMessage = '';
             }, 3000);
+          } else if (error.status === 409) {
+            // Otro receptor lo reclamó primero
+            this.errorMessage = error.error?.message || 'El recurso ya no está disponible';
           } else {
             this.errorMessage = 'Error al reclamar el recurso. Intenta de nuevo';
           }